@@ -0,0 +1,123 @@
+package com.axon.messaging.codec;
+
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-layout binary encoding of {@link CampaignActivityKafkaProducerDto}.
+ *
+ * <p>Layout (big-endian), version 1:
+ * <pre>
+ * byte  magic (0xA7)     byte  version (1)      byte  presence bits
+ * byte  type code        long  campaignActivityId long userId
+ * long  productId        long  timestamp         int   quantity
+ * [int scale, short length, byte[length] unscaled]  price, only if present
+ * </pre>
+ * A cleared presence bit means the field was {@code null}; its slot is still
+ * written (as zero) so every field has a fixed position. The magic byte can
+ * never start a JSON document, so readers can accept both encodings while
+ * producers are switched over. Type codes are the enum ordinals:
+ * {@link CampaignActivityType} constants may only be appended.
+ */
+public final class CampaignActivityCommandCodec {
+
+    public static final byte MAGIC = (byte) 0xA7;
+    public static final byte VERSION = 1;
+
+    static final int FIXED_BYTES = 3 + 1 + 4 * Long.BYTES + Integer.BYTES;
+
+    private static final int TYPE = 1;
+    private static final int ACTIVITY_ID = 1 << 1;
+    private static final int USER_ID = 1 << 2;
+    private static final int PRODUCT_ID = 1 << 3;
+    private static final int TIMESTAMP = 1 << 4;
+    private static final int QUANTITY = 1 << 5;
+    private static final int PRICE = 1 << 6;
+
+    private static final CampaignActivityType[] TYPES = CampaignActivityType.values();
+
+    private CampaignActivityCommandCodec() {
+    }
+
+    /**
+     * Returns whether {@code data} starts with the binary codec's magic byte.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(CampaignActivityKafkaProducerDto message) {
+        BigDecimal price = message.getPrice();
+        byte[] unscaled = price == null ? null : price.unscaledValue().toByteArray();
+        int presence = (message.getCampaignActivityType() != null ? TYPE : 0)
+                | (message.getCampaignActivityId() != null ? ACTIVITY_ID : 0)
+                | (message.getUserId() != null ? USER_ID : 0)
+                | (message.getProductId() != null ? PRODUCT_ID : 0)
+                | (message.getTimestamp() != null ? TIMESTAMP : 0)
+                | (message.getQuantity() != null ? QUANTITY : 0)
+                | (price != null ? PRICE : 0);
+
+        byte[] data = new byte[FIXED_BYTES + (unscaled == null ? 0 : Integer.BYTES + Short.BYTES + unscaled.length)];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.put(MAGIC).put(VERSION).put((byte) presence);
+        buffer.put(message.getCampaignActivityType() == null ? 0 : (byte) message.getCampaignActivityType().ordinal());
+        buffer.putLong(orZero(message.getCampaignActivityId()));
+        buffer.putLong(orZero(message.getUserId()));
+        buffer.putLong(orZero(message.getProductId()));
+        buffer.putLong(orZero(message.getTimestamp()));
+        buffer.putInt(message.getQuantity() == null ? 0 : message.getQuantity());
+        if (unscaled != null) {
+            buffer.putInt(price.scale()).putShort((short) unscaled.length).put(unscaled);
+        }
+        return data;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code data} is not a supported binary encoding
+     */
+    public static CampaignActivityKafkaProducerDto decode(byte[] data) {
+        if (!isBinary(data) || data.length < FIXED_BYTES) {
+            throw new IllegalArgumentException("Not a binary campaign activity command");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.position(1);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported campaign activity command version " + version);
+        }
+        int presence = buffer.get();
+        int typeCode = buffer.get();
+        long activityId = buffer.getLong();
+        long userId = buffer.getLong();
+        long productId = buffer.getLong();
+        long timestamp = buffer.getLong();
+        int quantity = buffer.getInt();
+        BigDecimal price = null;
+        if ((presence & PRICE) != 0) {
+            int scale = buffer.getInt();
+            byte[] unscaled = new byte[buffer.getShort()];
+            buffer.get(unscaled);
+            price = new BigDecimal(new BigInteger(unscaled), scale);
+        }
+        if ((presence & TYPE) != 0 && (typeCode < 0 || typeCode >= TYPES.length)) {
+            throw new IllegalArgumentException("Unknown campaign activity type code " + typeCode);
+        }
+
+        return CampaignActivityKafkaProducerDto.builder()
+                .campaignActivityType((presence & TYPE) != 0 ? TYPES[typeCode] : null)
+                .campaignActivityId((presence & ACTIVITY_ID) != 0 ? activityId : null)
+                .userId((presence & USER_ID) != 0 ? userId : null)
+                .productId((presence & PRODUCT_ID) != 0 ? productId : null)
+                .timestamp((presence & TIMESTAMP) != 0 ? timestamp : null)
+                .quantity((presence & QUANTITY) != 0 ? quantity : null)
+                .price(price)
+                .build();
+    }
+
+    private static long orZero(Long value) {
+        return value == null ? 0L : value;
+    }
+}
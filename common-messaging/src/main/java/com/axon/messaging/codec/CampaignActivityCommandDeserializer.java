@@ -0,0 +1,57 @@
+package com.axon.messaging.codec;
+
+import java.util.Map;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer that reads {@link CampaignActivityCommandCodec}
+ * binary records and hands everything else (JSON from producers that have not
+ * switched yet, other message types) to a fallback deserializer.
+ */
+public class CampaignActivityCommandDeserializer implements Deserializer<Object> {
+
+    private final Deserializer<?> fallback;
+
+    /**
+     * @param fallback deserializer for records without the binary magic byte; configured and closed along with this one
+     */
+    public CampaignActivityCommandDeserializer(Deserializer<?> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallback.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (CampaignActivityCommandCodec.isBinary(data)) {
+            return decode(data);
+        }
+        return fallback.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (CampaignActivityCommandCodec.isBinary(data)) {
+            return decode(data);
+        }
+        return fallback.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+
+    private static Object decode(byte[] data) {
+        try {
+            return CampaignActivityCommandCodec.decode(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot decode binary campaign activity command", e);
+        }
+    }
+}
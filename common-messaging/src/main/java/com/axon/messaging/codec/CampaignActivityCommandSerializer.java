@@ -0,0 +1,15 @@
+package com.axon.messaging.codec;
+
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer writing {@link CampaignActivityCommandCodec} binary records.
+ */
+public class CampaignActivityCommandSerializer implements Serializer<CampaignActivityKafkaProducerDto> {
+
+    @Override
+    public byte[] serialize(String topic, CampaignActivityKafkaProducerDto data) {
+        return data == null ? null : CampaignActivityCommandCodec.encode(data);
+    }
+}
@@ -0,0 +1,69 @@
+package com.axon.messaging.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader matching {@link CompactOutput}.
+ */
+public final class CompactInput {
+
+    private final byte[] bytes;
+    private int position;
+
+    CompactInput(byte[] bytes, int position) {
+        this.bytes = bytes;
+        this.position = position;
+    }
+
+    public Long readLong() {
+        return present() ? readVarLong() : null;
+    }
+
+    public Integer readInt() {
+        return present() ? (int) readVarLong() : null;
+    }
+
+    public <E extends Enum<E>> E readEnum(E[] constants) {
+        if (!present()) {
+            return null;
+        }
+        int ordinal = (int) readVarLong();
+        if (ordinal < 0 || ordinal >= constants.length) {
+            throw new IllegalArgumentException("Unknown enum ordinal " + ordinal);
+        }
+        return constants[ordinal];
+    }
+
+    public String readString() {
+        if (!present()) {
+            return null;
+        }
+        int length = (int) readVarLong();
+        String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    int readByte() {
+        if (position >= bytes.length) {
+            throw new IllegalArgumentException("Truncated compact value");
+        }
+        return bytes[position++];
+    }
+
+    private boolean present() {
+        return readByte() != 0;
+    }
+
+    private long readVarLong() {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,78 @@
+package com.axon.messaging.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte sink for {@link CompactValueCodec}s. Nullable fields are
+ * prefixed with a presence byte; integers are zigzag varints.
+ */
+public final class CompactOutput {
+
+    private byte[] bytes = new byte[64];
+    private int size;
+
+    CompactOutput() {
+    }
+
+    public CompactOutput writeLong(Long value) {
+        if (present(value)) {
+            writeVarLong(value);
+        }
+        return this;
+    }
+
+    public CompactOutput writeInt(Integer value) {
+        if (present(value)) {
+            writeVarLong(value);
+        }
+        return this;
+    }
+
+    public CompactOutput writeEnum(Enum<?> value) {
+        if (present(value)) {
+            writeVarLong(value.ordinal());
+        }
+        return this;
+    }
+
+    public CompactOutput writeString(String value) {
+        if (present(value)) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+        return this;
+    }
+
+    void writeByte(int value) {
+        ensure(1);
+        bytes[size++] = (byte) value;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private boolean present(Object value) {
+        writeByte(value == null ? 0 : 1);
+        return value != null;
+    }
+
+    private void writeVarLong(long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        writeByte((int) zigzag);
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.axon.messaging.codec;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Redis value serializer writing registered types in a compact binary form:
+ * {@code [0xB3][type id][version][fields...]}, fields as written by the
+ * type's {@link CompactValueCodec}. Other values go to the fallback (JSON)
+ * serializer. Reads accept both, so keys written as JSON before the switch stay
+ * readable until they expire. With {@code writeBinary} off, registered types
+ * are still read in binary but written as JSON, for rolling out readers first.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    public static final byte MAGIC = (byte) 0xB3;
+
+    private final RedisSerializer<Object> fallback;
+    private final boolean writeBinary;
+    private final Map<Class<?>, CompactValueCodec<?>> byType = new HashMap<>();
+    private final CompactValueCodec<?>[] byId = new CompactValueCodec<?>[128];
+
+    public CompactRedisSerializer(RedisSerializer<Object> fallback, boolean writeBinary) {
+        this.fallback = fallback;
+        this.writeBinary = writeBinary;
+    }
+
+    /**
+     * Registers a codec; call during configuration only.
+     */
+    public CompactRedisSerializer register(CompactValueCodec<?> codec) {
+        int id = codec.typeId();
+        if (id <= 0 || id >= byId.length || byId[id] != null) {
+            throw new IllegalArgumentException("Compact type id " + id + " is invalid or already registered");
+        }
+        byId[id] = codec;
+        byType.put(codec.type(), codec);
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) throws SerializationException {
+        CompactValueCodec<Object> codec = value == null ? null : (CompactValueCodec<Object>) byType.get(value.getClass());
+        if (codec == null || !writeBinary) {
+            return fallback.serialize(value);
+        }
+        CompactOutput out = new CompactOutput();
+        out.writeByte(MAGIC);
+        out.writeByte(codec.typeId());
+        out.writeByte(codec.version());
+        codec.write(value, out);
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        try {
+            CompactInput in = new CompactInput(bytes, 1);
+            int id = in.readByte();
+            CompactValueCodec<?> codec = id > 0 && id < byId.length ? byId[id] : null;
+            if (codec == null) {
+                throw new SerializationException("Unknown compact type id " + id);
+            }
+            return codec.read(in, in.readByte());
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Cannot read compact Redis value", e);
+        }
+    }
+}
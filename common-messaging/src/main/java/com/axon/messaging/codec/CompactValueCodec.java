@@ -0,0 +1,23 @@
+package com.axon.messaging.codec;
+
+/**
+ * Binary layout of one value type stored through {@link CompactRedisSerializer}.
+ *
+ * <p>Type ids are part of the stored format: never reuse or renumber them.
+ * Bump {@link #version()} when the layout changes and keep reading the older
+ * versions until their keys have expired.
+ *
+ * @param <T> the value type
+ */
+public interface CompactValueCodec<T> {
+
+    int typeId();
+
+    int version();
+
+    Class<T> type();
+
+    void write(T value, CompactOutput out);
+
+    T read(CompactInput in, int version);
+}
@@ -0,0 +1,44 @@
+package com.axon.messaging.codec;
+
+import com.axon.messaging.dto.validation.Grade;
+import com.axon.messaging.dto.validation.UserCacheDto;
+
+/**
+ * {@code userCache:<userId>} values, written by core-service at login and read
+ * by entry-service's fast validation. {@link Grade} constants may only be appended.
+ */
+public class UserCacheDtoCodec implements CompactValueCodec<UserCacheDto> {
+
+    public static final int TYPE_ID = 1;
+
+    private static final Grade[] GRADES = Grade.values();
+
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<UserCacheDto> type() {
+        return UserCacheDto.class;
+    }
+
+    @Override
+    public void write(UserCacheDto value, CompactOutput out) {
+        out.writeLong(value.getUserId()).writeEnum(value.getGrade()).writeInt(value.getAge());
+    }
+
+    @Override
+    public UserCacheDto read(CompactInput in, int version) {
+        // 새 레이아웃으로 쓰인 값을 잘못 읽지 않도록 모르는 버전은 거절한다
+        if (version != 1) {
+            throw new IllegalArgumentException("Unsupported UserCacheDto layout version " + version);
+        }
+        return new UserCacheDto(in.readLong(), in.readEnum(GRADES), in.readInt());
+    }
+}
@@ -31,4 +31,16 @@ public class CampaignActivityKafkaProducerDto {
     public Instant occurredAt() {
         return timestamp != null ? Instant.ofEpochMilli(timestamp) : Instant.now();
     }
-}
\ No newline at end of file
+
+    /**
+     * Kafka record key for this command: {@code campaignActivityId:userId}.
+     *
+     * All commands of one (activity, user) pair land on the same partition, so consumers see them in
+     * publish order, while the users of a single hot activity are still spread over every partition.
+     *
+     * @return the record key used when publishing to {@code axon.campaign-activity.command}
+     */
+    public String partitionKey() {
+        return campaignActivityId + ":" + userId;
+    }
+}
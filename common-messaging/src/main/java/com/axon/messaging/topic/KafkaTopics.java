@@ -14,6 +14,8 @@ public final class KafkaTopics {
     @Deprecated
     public static final String EVENT_RAW = "axon.event.raw";
     public static final String CAMPAIGN_ACTIVITY_COMMAND = "axon.campaign-activity.command";
+    /** Command records core-service gave up on after retries; same partition count as the command topic. */
+    public static final String CAMPAIGN_ACTIVITY_COMMAND_DLT = "axon.campaign-activity.command.dlt";
     @Deprecated
     public static final String USER_LOGIN = "axon.user.login";
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.axon.messaging.topic;
+
+public final class RedisChannels {
+
+    /**
+     * Prevents instantiation of this utility class containing Redis pub/sub channel name constants.
+     */
+    private RedisChannels() {
+    }
+
+    /**
+     * Published by core-service after a campaign activity is updated, deleted or changes status.
+     * Payload: {@code "<campaignActivityId>:<version>"}.
+     */
+    public static final String CAMPAIGN_ACTIVITY_META_INVALIDATION = "axon:campaign-activity:meta-invalidation";
+
+    /**
+     * Published by core-service when a user logs out, so every pod stops accepting the JWT.
+     * Payload: {@code "<sha-256 hex of the token>:<token expiry epoch millis>"}.
+     */
+    public static final String JWT_REVOCATION = "axon:jwt:revocation";
+
+    /**
+     * Published by core-service after a campaign activity is created, updated or deleted, so entry-service
+     * keeps its activity-to-campaign index current.
+     * Payload: {@code "<campaignActivityId>:<campaignId>"}, with an empty campaignId once the activity is deleted.
+     */
+    public static final String CAMPAIGN_ACTIVITY_INDEX = "axon:campaign-activity:index";
+}
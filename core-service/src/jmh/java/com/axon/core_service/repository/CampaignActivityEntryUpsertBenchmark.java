@@ -0,0 +1,205 @@
+package com.axon.core_service.repository;
+
+import com.axon.core_service.domain.campaign.Campaign;
+import com.axon.core_service.domain.campaignactivity.CampaignActivity;
+import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntry;
+import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntryStatus;
+import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityStatus;
+import com.axon.messaging.CampaignActivityType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writing one command batch into {@code campaign_activity_entries}: the former JPA path
+ * ({@code findByActivityIdsAndUserIds} + {@code saveAll}, one INSERT per IDENTITY row) against
+ * {@link CampaignActivityEntryBulkWriter}, each in its own transaction on H2 in MySQL mode.
+ *
+ * <p>Every invocation starts from an empty table seeded with {@code existingRatio} of the batch,
+ * so the measured call inserts the rest and updates the seeded rows. H2 runs in-process, so the
+ * numbers show statement count and ORM overhead, not network round trips, which add to the JPA
+ * path's cost on a real MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CampaignActivityEntryUpsertBenchmark {
+
+    private static final int ACTIVITIES = 2;
+
+    @Param({"10000"})
+    public int batchSize;
+
+    /** Share of the batch whose (activityId, userId) already has an entry. */
+    @Param({"0", "0.5"})
+    public double existingRatio;
+
+    private SingleConnectionDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private CampaignActivityEntryRepository repository;
+    private CampaignActivityEntryBulkWriter bulkWriter;
+    private List<Long> activityIds;
+
+    private List<CampaignActivityEntryBulkWriter.Row> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:entry-upsert;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "", true);
+        dataSource.setAutoCommit(false);
+
+        // Spring Boot의 JPA 기본값(네이밍 전략)과 같은 스키마를 만든다
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.axon.core_service.domain");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        Properties properties = new Properties();
+        properties.put("hibernate.hbm2ddl.auto", "create");
+        properties.put("hibernate.physical_naming_strategy",
+                "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
+        properties.put("hibernate.implicit_naming_strategy",
+                "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy");
+        factoryBean.setJpaProperties(properties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.setDataSource(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new JpaRepositoryFactory(entityManager).getRepository(CampaignActivityEntryRepository.class);
+        bulkWriter = new CampaignActivityEntryBulkWriter(jdbcTemplate);
+
+        activityIds = transactionTemplate.execute(status -> {
+            Campaign campaign = Campaign.builder().name("benchmark").build();
+            entityManager.persist(campaign);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < ACTIVITIES; i++) {
+                CampaignActivity activity = CampaignActivity.builder()
+                        .campaign(campaign)
+                        .name("benchmark-" + i)
+                        .limitCount(batchSize)
+                        .status(CampaignActivityStatus.ACTIVE)
+                        .startDate(LocalDateTime.now())
+                        .endDate(LocalDateTime.now().plusDays(1))
+                        .activityType(CampaignActivityType.FIRST_COME_FIRST_SERVE)
+                        .price(BigDecimal.valueOf(10_000))
+                        .quantity(1)
+                        .build();
+                entityManager.persist(activity);
+                ids.add(activity.getId());
+            }
+            return ids;
+        });
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            rows.add(new CampaignActivityEntryBulkWriter.Row(activityIds.get(random.nextInt(ACTIVITIES)),
+                    1_000_000L + i, 99L, CampaignActivityEntryStatus.APPROVED, now, now));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM campaign_activity_entries");
+            List<CampaignActivityEntryBulkWriter.Row> existing = rows.stream()
+                    .filter(row -> random.nextDouble() < existingRatio)
+                    .map(row -> new CampaignActivityEntryBulkWriter.Row(row.campaignActivityId(), row.userId(),
+                            row.productId(), CampaignActivityEntryStatus.PENDING, now, null))
+                    .toList();
+            bulkWriter.upsert(existing);
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactory.close();
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int jpaSaveAll() {
+        return transactionTemplate.execute(status -> {
+            List<Long> userIds = rows.stream().map(CampaignActivityEntryBulkWriter.Row::userId).distinct().toList();
+            Map<String, CampaignActivityEntry> existing = repository.findByActivityIdsAndUserIds(activityIds, userIds)
+                    .stream()
+                    .collect(Collectors.toMap(
+                            entry -> entry.getCampaignActivity().getId() + ":" + entry.getUserId(),
+                            Function.identity()));
+
+            List<CampaignActivityEntry> toSave = new ArrayList<>(rows.size());
+            int inserted = 0;
+            for (CampaignActivityEntryBulkWriter.Row row : rows) {
+                CampaignActivityEntry entry = existing.get(row.campaignActivityId() + ":" + row.userId());
+                if (entry == null) {
+                    entry = CampaignActivityEntry.create(
+                            entityManager.getReference(CampaignActivity.class, row.campaignActivityId()),
+                            row.userId(), row.productId(),
+                            row.requestedAt().atZone(ZoneId.of("Asia/Seoul")).toInstant());
+                    inserted++;
+                }
+                entry.updateProduct(row.productId());
+                entry.updateStatus(row.status());
+                entry.markProcessedAt(Instant.now());
+                toSave.add(entry);
+            }
+            repository.saveAll(toSave);
+            return inserted;
+        });
+    }
+
+    @Benchmark
+    public int jdbcBulkUpsert() {
+        return transactionTemplate.execute(status -> {
+            boolean[] inserted = bulkWriter.upsert(rows);
+            int count = 0;
+            for (boolean created : inserted) {
+                count += created ? 1 : 0;
+            }
+            return count;
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package com.axon.core_service.service;
+
+import com.axon.core_service.domain.purchase.Purchase;
+import com.axon.core_service.domain.purchase.PurchaseType;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CohortAnalysisService#analyzeRepeatPurchases} over an in-memory cohort
+ * (about three purchases per user), i.e. the aggregation cost of the cohort
+ * dashboard without the purchase query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CohortAnalysisBenchmark {
+
+    @Param({"1000", "100000"})
+    public int cohortSize;
+
+    private CohortAnalysisService cohortAnalysisService;
+    private List<Long> cohortUserIds;
+    private List<Purchase> purchases;
+
+    @Setup
+    public void setUp() {
+        cohortAnalysisService = new CohortAnalysisService(null, null);
+        SplittableRandom random = new SplittableRandom(42);
+        Instant start = Instant.now().minus(365, ChronoUnit.DAYS);
+        cohortUserIds = new ArrayList<>(cohortSize);
+        purchases = new ArrayList<>(cohortSize * 3);
+        for (long userId = 1; userId <= cohortSize; userId++) {
+            cohortUserIds.add(userId);
+            int count = 1 + random.nextInt(5);
+            for (int i = 0; i < count; i++) {
+                purchases.add(Purchase.builder()
+                        .userId(userId)
+                        .productId(1L + random.nextInt(50))
+                        .campaignActivityId(1L)
+                        .purchaseType(PurchaseType.CAMPAIGNACTIVITY)
+                        .price(BigDecimal.valueOf(1_000L * (1 + random.nextInt(100))))
+                        .quantity(1 + random.nextInt(3))
+                        .purchasedAt(start.plus(random.nextInt(365), ChronoUnit.DAYS))
+                        .build());
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> analyzeRepeatPurchases() {
+        return cohortAnalysisService.analyzeRepeatPurchases(cohortUserIds, purchases);
+    }
+}
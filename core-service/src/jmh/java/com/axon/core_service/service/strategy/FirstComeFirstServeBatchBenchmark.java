@@ -0,0 +1,113 @@
+package com.axon.core_service.service.strategy;
+
+import com.axon.core_service.domain.campaignactivity.CampaignActivity;
+import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntryStatus;
+import com.axon.core_service.repository.CampaignActivityRepository;
+import com.axon.core_service.service.CampaignActivityEntryService;
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * In-memory part of {@link FirstComeFirstServeStrategy#processBatch}: dedupe by
+ * (activityId, userId), activity grouping and validation. The repository
+ * returns pre-built activities and the entry upsert is a no-op, so no database
+ * time is included; INFO logging is off (see {@code src/jmh/resources/logback.xml}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FirstComeFirstServeBatchBenchmark {
+
+    private static final int ACTIVITIES = 10;
+
+    /** Kafka listener batch size. */
+    @Param({"500"})
+    public int batchSize;
+
+    /** Share of messages that repeat an earlier (activityId, userId). */
+    @Param({"0.1"})
+    public double duplicateRatio;
+
+    private FirstComeFirstServeStrategy strategy;
+    private List<CampaignActivityKafkaProducerDto> messages;
+    private int upserted;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<CampaignActivity> activities = new ArrayList<>();
+        Constructor<CampaignActivity> constructor = CampaignActivity.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        Field id = CampaignActivity.class.getDeclaredField("id");
+        id.setAccessible(true);
+        for (long activityId = 1; activityId <= ACTIVITIES; activityId++) {
+            CampaignActivity activity = constructor.newInstance();
+            id.set(activity, activityId);
+            activities.add(activity);
+        }
+
+        CampaignActivityRepository repository = (CampaignActivityRepository) Proxy.newProxyInstance(
+                CampaignActivityRepository.class.getClassLoader(), new Class<?>[]{CampaignActivityRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAllById" -> activities;
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "CampaignActivityRepository stub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        CampaignActivityEntryService entryService = new CampaignActivityEntryService(null, null, null) {
+            @Override
+            public void upsertBatch(Map<Long, CampaignActivity> activityMap,
+                                    List<CampaignActivityKafkaProducerDto> batch,
+                                    CampaignActivityEntryStatus status) {
+                upserted += batch.size();
+            }
+        };
+        strategy = new FirstComeFirstServeStrategy(repository, entryService);
+
+        SplittableRandom random = new SplittableRandom(42);
+        messages = new ArrayList<>(batchSize);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < batchSize; i++) {
+            CampaignActivityKafkaProducerDto previous = i > 0 && random.nextDouble() < duplicateRatio
+                    ? messages.get(random.nextInt(i)) : null;
+            messages.add(CampaignActivityKafkaProducerDto.builder()
+                    .campaignActivityType(CampaignActivityType.FIRST_COME_FIRST_SERVE)
+                    .campaignActivityId(previous != null ? previous.getCampaignActivityId() : 1L + random.nextInt(ACTIVITIES))
+                    .userId(previous != null ? previous.getUserId() : 1_000_000L + i)
+                    .productId(99L)
+                    .quantity(1)
+                    .price(BigDecimal.valueOf(10_000))
+                    .timestamp(now + i)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public int processBatch() {
+        strategy.processBatch(messages);
+        return upserted;
+    }
+}
@@ -0,0 +1,129 @@
+package com.axon.core_service.config;
+
+import com.axon.messaging.codec.CampaignActivityCommandDeserializer;
+import com.axon.messaging.codec.CampaignActivityCommandSerializer;
+import com.axon.core_service.service.CampaignActivityConsumerService;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import com.axon.messaging.topic.KafkaTopics;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+/**
+ * Plugs the binary campaign activity command codec into the auto-configured
+ * Kafka factories; everything else in {@code spring.kafka} still applies.
+ */
+@Slf4j
+@Configuration
+public class KafkaConfig {
+
+    /** Suffix of the topic failed command records are published to, e.g. {@link KafkaTopics#CAMPAIGN_ACTIVITY_COMMAND_DLT}. */
+    public static final String DEAD_LETTER_SUFFIX = ".dlt";
+
+    /**
+     * Serializer for campaign activity commands in the compact binary layout.
+     *
+     * @return a serializer writing {@link com.axon.messaging.codec.CampaignActivityCommandCodec} records
+     */
+    @Bean
+    public CampaignActivityCommandSerializer campaignActivityCommandSerializer() {
+        return new CampaignActivityCommandSerializer();
+    }
+
+    /**
+     * Value deserializer for the consumer factory: binary commands are decoded directly, anything else
+     * (JSON from producers that have not switched yet) goes to a JsonDeserializer configured from
+     * {@code spring.kafka.consumer.properties}. Both are wrapped in an {@link ErrorHandlingDeserializer}, so a
+     * record that cannot be decoded reaches the listener with a {@code null} value and the exception in a header
+     * instead of failing {@code poll()} over and over; the listener reports it and the error handler dead-letters
+     * its original bytes.
+     *
+     * @return a customizer installing {@link CampaignActivityCommandDeserializer} as value deserializer
+     */
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public DefaultKafkaConsumerFactoryCustomizer campaignActivityCommandDeserializerCustomizer() {
+        return factory -> ((DefaultKafkaConsumerFactory) factory).setValueDeserializerSupplier(
+                () -> new ErrorHandlingDeserializer<>(new CampaignActivityCommandDeserializer(new JsonDeserializer<>())));
+    }
+
+    /**
+     * Value serializer for the producer factory: campaign activity commands are written with the binary
+     * codec, raw bytes (undecodable records sent to the dead-letter topic) as they are, every other payload
+     * stays JSON.
+     *
+     * @return a customizer installing a {@link DelegatingByTypeSerializer} as value serializer
+     */
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public DefaultKafkaProducerFactoryCustomizer campaignActivityCommandSerializerCustomizer(
+            CampaignActivityCommandSerializer commandSerializer) {
+        return factory -> ((DefaultKafkaProducerFactory) factory).setValueSerializerSupplier(() -> {
+            Map<Class<?>, Serializer<?>> serializers = new LinkedHashMap<>();
+            serializers.put(CampaignActivityKafkaProducerDto.class, commandSerializer);
+            serializers.put(byte[].class, new ByteArraySerializer());
+            serializers.put(Object.class, new JsonSerializer<>());
+            return new DelegatingByTypeSerializer(serializers, true);
+        });
+    }
+
+    /**
+     * Error handler picked up by the auto-configured listener container factory. The command listener reports the
+     * failing record with a {@link org.springframework.kafka.listener.BatchListenerFailedException}; the records
+     * before it are committed and the rest of the batch is re-delivered from it.
+     * <ul>
+     *   <li>Database or transaction outages ({@link CampaignActivityConsumerService#isTransient}) are retried with an
+     *       exponential back-off capped at {@code max-interval-ms} and no attempt limit, so nothing is given up while
+     *       MySQL is down.</li>
+     *   <li>Any other failure is retried {@code max-attempts} times, then only that record is published to
+     *       {@code <topic>.dlt} (same partition, original headers plus the exception) and the batch continues.</li>
+     * </ul>
+     * If the dead-letter publish itself fails the record is not committed and is delivered again.
+     *
+     * @return a {@link DefaultErrorHandler} recovering failed records to the dead-letter topic
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler(
+            KafkaTemplate<Object, Object> kafkaTemplate,
+            @Value("${axon.kafka.command-consumer.retry.interval-ms:1000}") long intervalMs,
+            @Value("${axon.kafka.command-consumer.retry.max-interval-ms:30000}") long maxIntervalMs,
+            @Value("${axon.kafka.command-consumer.retry.max-attempts:5}") int maxAttempts) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> {
+                    log.error("Sending record to dead-letter topic: topic={}, partition={}, offset={}, value={}",
+                            record.topic(), record.partition(), record.offset(), record.value(), exception);
+                    return new TopicPartition(record.topic() + DEAD_LETTER_SUFFIX, record.partition());
+                });
+
+        ExponentialBackOffWithMaxRetries bounded = new ExponentialBackOffWithMaxRetries(maxAttempts);
+        bounded.setInitialInterval(intervalMs);
+        bounded.setMaxInterval(maxIntervalMs);
+        ExponentialBackOff unbounded = new ExponentialBackOff(intervalMs, ExponentialBackOff.DEFAULT_MULTIPLIER);
+        unbounded.setMaxInterval(maxIntervalMs);
+
+        DefaultErrorHandler handler = new DefaultErrorHandler(recoverer, bounded);
+        handler.setBackOffFunction((record, exception) ->
+                CampaignActivityConsumerService.isTransient(exception) ? unbounded : bounded);
+        handler.setCommitRecovered(true);
+        return handler;
+    }
+}
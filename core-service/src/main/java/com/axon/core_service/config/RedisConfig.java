@@ -1,20 +1,30 @@
 package com.axon.core_service.config;
 
+import com.axon.messaging.codec.CompactRedisSerializer;
+import com.axon.messaging.codec.UserCacheDtoCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 public class RedisConfig {
+
+    // false: registered types are still read in binary but written as JSON (roll out readers first)
+    @Value("${axon.redis.compact-values:true}")
+    private boolean writeCompactValues;
+
     /**
-     * Create and configure a RedisTemplate for String keys and JSON-serialized values.
+     * Create and configure a RedisTemplate for String keys and compact binary / JSON-serialized values.
      *
      * @param redisConnectionFactory the factory used to obtain Redis connections for the template
      * @return a RedisTemplate<String, Object> configured with String serialization for keys and hash keys,
-     *         and JSON serialization for values and hash values
+     *         and {@link #compactValueSerializer()} for values and hash values
      */
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
@@ -24,11 +34,31 @@ public class RedisConfig {
         //Key -> String으로 직렬화
         redisTemplate.setKeySerializer(new StringRedisSerializer());
 
-        // Value는 JSON으로 직렬화 (객체 지정을 위함)
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Value는 등록된 타입(UserCacheDto)은 바이너리, 그 외는 JSON으로 직렬화 (객체 지정을 위함)
+        RedisSerializer<Object> valueSerializer = compactValueSerializer();
+        redisTemplate.setValueSerializer(valueSerializer);
 
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        redisTemplate.setHashValueSerializer(valueSerializer);
         return redisTemplate;
     }
-}
\ No newline at end of file
+
+    /**
+     * Value serializer storing the user cache in the compact binary layout and
+     * everything else as JSON; legacy JSON values of the registered types are still readable.
+     *
+     * @return a CompactRedisSerializer with a GenericJackson2JsonRedisSerializer fallback
+     */
+    @Bean
+    public CompactRedisSerializer compactValueSerializer() {
+        return new CompactRedisSerializer(new GenericJackson2JsonRedisSerializer(), writeCompactValues)
+                .register(new UserCacheDtoCodec());
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
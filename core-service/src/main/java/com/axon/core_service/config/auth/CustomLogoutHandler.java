@@ -2,6 +2,8 @@ package com.axon.core_service.config.auth;
 
 import com.axon.core_service.domain.user.CustomOAuth2User;
 import com.axon.core_service.event.UserLogoutEvent;
+import com.axon.util.CookieUtils;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +13,14 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.time.Instant;
 
 /**
  * Custom logout handler for JWT-based authentication.
  * Handles cleanup tasks during logout:
+ * - Revokes the presented JWT on every pod
  * - Deletes user cache from Redis
  * - Publishes logout event for analytics
  */
@@ -27,6 +31,7 @@ public class CustomLogoutHandler implements LogoutHandler {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final ApplicationEventPublisher eventPublisher;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     /**
      * Performs logout cleanup operations when a user logs out.
@@ -37,6 +42,8 @@ public class CustomLogoutHandler implements LogoutHandler {
      */
     @Override
     public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
+        revokeToken(request);
+
         if (authentication == null) {
             log.debug("Logout called with null authentication, skipping cleanup");
             return;
@@ -65,4 +72,25 @@ public class CustomLogoutHandler implements LogoutHandler {
             // Don't throw exception - allow logout to proceed even if cleanup fails
         }
     }
+
+    /**
+     * Revokes the JWT carried by the logout request (Authorization header or accessToken cookie),
+     * so cached authentications for it stop being accepted before it expires.
+     */
+    private void revokeToken(HttpServletRequest request) {
+        String bearerToken = request.getHeader(JwtAuthenticationFilter.AUTHORIZATION_HEADER);
+        String token = StringUtils.hasText(bearerToken) && bearerToken.startsWith(JwtAuthenticationFilter.BEARER_PREFIX)
+                ? bearerToken.substring(JwtAuthenticationFilter.BEARER_PREFIX.length())
+                : CookieUtils.getCookie(request, JwtAuthenticationFilter.ACCESS_TOKEN_COOKIE_NAME)
+                        .map(Cookie::getValue)
+                        .orElse(null);
+        if (!StringUtils.hasText(token)) {
+            return;
+        }
+        try {
+            jwtAuthenticationCache.revoke(token);
+        } catch (Exception e) {
+            log.error("Error revoking JWT during logout", e);
+        }
+    }
 }
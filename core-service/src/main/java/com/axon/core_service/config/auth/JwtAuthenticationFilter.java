@@ -29,7 +29,7 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
     // 쿠키 이름을 상수로 정의
     public static final String ACCESS_TOKEN_COOKIE_NAME = "accessToken";
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     /**
      * Extracts a JWT from the incoming HTTP request, validates it, and if valid places the corresponding
@@ -44,8 +44,8 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
         String jwt = resolveToken(httpServletRequest);
         String requestURI = httpServletRequest.getRequestURI();
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                Authentication authentication = jwtTokenProvider.getAuthentication(jwt);
+            Authentication authentication = StringUtils.hasText(jwt) ? jwtAuthenticationCache.authenticate(jwt) : null;
+            if (authentication != null) {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 log.debug("JWT Auth OK: Security Context에 '{}' 인증 정보를 저장했습니다, uri: {}", authentication.getName(), requestURI);
             } else {
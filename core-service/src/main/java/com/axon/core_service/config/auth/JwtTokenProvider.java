@@ -26,12 +26,14 @@ import java.util.stream.Collectors;
 public class JwtTokenProvider {
 
     private final SecretKey key;
+    private final JwtParser jwtParser;
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 30 * 60 * 1000L; // 30분
     private static final long REFRESH_TOKEN_EXPIRE_TIME = 7 * 24 * 60 * 60 * 1000L; // 7일
 
     public JwtTokenProvider(@Value("${jwt.secret}") String secretKey) {
         byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateAccessToken(Authentication authentication) {
@@ -91,8 +93,10 @@ public class JwtTokenProvider {
     }
 
     public Authentication getAuthentication(String accessToken) {
-        Claims claims = parseClaims(accessToken);
+        return getAuthentication(parseClaims(accessToken));
+    }
 
+    public Authentication getAuthentication(Claims claims) {
         if (claims.get("auth") == null) {
             throw new RuntimeException("권한 정보가 없는 토큰입니다.");
         }
@@ -125,9 +129,12 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return verifyClaims(token) != null;
+    }
+
+    public Claims verifyClaims(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("잘못된 JWT 서명입니다.");
         } catch (ExpiredJwtException e) {
@@ -137,12 +144,12 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException e) {
             log.info("JWT 토큰이 잘못되었습니다.");
         }
-        return false;
+        return null;
     }
 
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parser().verifyWith(key).build().parseSignedClaims(accessToken).getPayload();
+            return jwtParser.parseSignedClaims(accessToken).getPayload();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -22,7 +22,7 @@ import static org.springframework.security.web.util.matcher.AntPathRequestMatche
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-        private final JwtTokenProvider jwtTokenProvider;
+        private final JwtAuthenticationCache jwtAuthenticationCache;
         private final CustomOAuth2UserService customOAuth2UserService;
         private final OAuth2AuthenticationSuccessHandler oAuth2AuthenticationSuccessHandler;
         private final HttpCookieOAuth2AuthorizationRequestRepository httpCookieOAuth2AuthorizationRequestRepository;
@@ -30,14 +30,14 @@ public class SecurityConfig {
 
         /**
          * Creates a JwtAuthenticationFilter initialized with the configured
-         * JwtTokenProvider.
+         * JwtAuthenticationCache.
          *
-         * @return a JwtAuthenticationFilter that validates JWTs using the application's
-         *         JwtTokenProvider
+         * @return a JwtAuthenticationFilter that validates JWTs through the application's
+         *         JwtAuthenticationCache
          */
         @Bean
         public JwtAuthenticationFilter jwtAuthenticationFilter() {
-                return new JwtAuthenticationFilter(jwtTokenProvider);
+                return new JwtAuthenticationFilter(jwtAuthenticationCache);
         }
 
         /**
@@ -54,7 +54,7 @@ public class BatchInitalTableConfig {
         try {
             // Check if table exists in INFORMATION_SCHEMA (works for both empty and populated tables)
             Integer count = jdbcTemplate.queryForObject(
-                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ?",
                 Integer.class,
                 jobInstanceTable
             );
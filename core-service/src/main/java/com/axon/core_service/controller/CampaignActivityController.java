@@ -1,5 +1,6 @@
 package com.axon.core_service.controller;
 
+import com.axon.core_service.domain.dto.campaignactivity.ActivityCampaignIndexEntry;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityRequest;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityResponse;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityStatus;
@@ -100,6 +101,17 @@ public class CampaignActivityController {
         return ResponseEntity.ok(campaignActivityService.getAllCampaignActivities());
     }
 
+    /**
+     * Retrieves the campaign of every campaign activity in one call.
+     * Bulk-loaded by entry-service at startup; later changes arrive over Redis pub/sub.
+     *
+     * @return a list of (activityId, campaignId) pairs
+     */
+    @GetMapping("/activities/campaign-index")
+    public ResponseEntity<List<ActivityCampaignIndexEntry>> getActivityCampaignIndex() {
+        return ResponseEntity.ok(campaignActivityService.getActivityCampaignIndex());
+    }
+
     /**
      * Retrieves the total number of campaign activities.
      *
@@ -0,0 +1,8 @@
+package com.axon.core_service.domain.dto.campaignactivity;
+
+/**
+ * One row of the activity-to-campaign index served to entry-service for
+ * behavior-event enrichment.
+ */
+public record ActivityCampaignIndexEntry(Long activityId, Long campaignId) {
+}
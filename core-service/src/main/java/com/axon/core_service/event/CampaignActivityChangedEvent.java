@@ -0,0 +1,10 @@
+package com.axon.core_service.event;
+
+/**
+ * Domain event published when a campaign activity is created, updated, deleted or changes status,
+ * so caches derived from it can be invalidated once the transaction commits.
+ */
+public record CampaignActivityChangedEvent(
+        Long campaignActivityId
+) {
+}
@@ -0,0 +1,12 @@
+package com.axon.core_service.event;
+
+import java.util.Set;
+
+/**
+ * Domain event published after users' purchase summaries were updated, so data derived from
+ * {@code UserSummary} (such as eligibility bitmaps) can be refreshed for just those users.
+ */
+public record UserPurchaseRecordedEvent(
+        Set<Long> userIds
+) {
+}
@@ -0,0 +1,130 @@
+package com.axon.core_service.repository;
+
+import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntryStatus;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC bulk upsert for {@code campaign_activity_entries}.
+ *
+ * <p>{@code CampaignActivityEntry} uses IDENTITY ids, so Hibernate cannot batch its inserts and
+ * {@code saveAll} issues one INSERT per row. This writer sends the rows as one JDBC batch of
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE} (keyed by {@code uk_campaign_activity_entry_user});
+ * with {@code rewriteBatchedStatements=true} the MySQL driver turns the batch into multi-row
+ * INSERTs. H2 in MySQL mode accepts the same statement.
+ *
+ * <p>Which rows are new is decided from the keys that already existed before the upsert, looked up
+ * per activity with a single {@code user_id IN (...)} query instead of an activity x user cross
+ * product. The command consumer handles each (activity, user) pair on a single lane, so no other
+ * batch writes the same key in between.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CampaignActivityEntryBulkWriter {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO campaign_activity_entries
+                (campaign_activity_id, user_id, product_id, status, requested_at, processed_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                product_id = COALESCE(VALUES(product_id), product_id),
+                status = VALUES(status),
+                processed_at = VALUES(processed_at),
+                updated_at = VALUES(updated_at)
+            """;
+
+    private static final String EXISTING_USERS_SQL = """
+            SELECT user_id FROM campaign_activity_entries
+            WHERE campaign_activity_id = :activityId AND user_id IN (:userIds)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${axon.entry.bulk-writer.batch-size:1000}")
+    private int batchSize = 1000;
+
+    /**
+     * One row to upsert; {@code productId} {@code null} keeps the stored product of an existing entry.
+     */
+    public record Row(Long campaignActivityId,
+                      Long userId,
+                      Long productId,
+                      CampaignActivityEntryStatus status,
+                      LocalDateTime requestedAt,
+                      LocalDateTime processedAt) {
+
+        String key() {
+            return campaignActivityId + ":" + userId;
+        }
+    }
+
+    /**
+     * Inserts the rows that do not exist yet and updates product, status and processed time of the rest.
+     *
+     * @param rows rows to write; a repeated (activity, user) is written in order, the later row winning
+     * @return for each input row, {@code true} if it created the entry
+     */
+    public boolean[] upsert(List<Row> rows) {
+        boolean[] inserted = new boolean[rows.size()];
+        if (rows.isEmpty()) {
+            return inserted;
+        }
+
+        Set<String> seen = findExistingKeys(rows);
+        for (int i = 0; i < rows.size(); i++) {
+            // add() 성공 = DB에도 없고 배치 안에서도 처음 등장
+            inserted[i] = seen.add(rows.get(i).key());
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.campaignActivityId());
+            ps.setLong(2, row.userId());
+            if (row.productId() == null) {
+                ps.setNull(3, Types.BIGINT);
+            } else {
+                ps.setLong(3, row.productId());
+            }
+            ps.setString(4, row.status().name());
+            ps.setTimestamp(5, Timestamp.valueOf(row.requestedAt()));
+            ps.setTimestamp(6, row.processedAt() == null ? null : Timestamp.valueOf(row.processedAt()));
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+        return inserted;
+    }
+
+    private Set<String> findExistingKeys(List<Row> rows) {
+        Map<Long, Set<Long>> usersByActivity = new LinkedHashMap<>();
+        for (Row row : rows) {
+            usersByActivity.computeIfAbsent(row.campaignActivityId(), id -> new LinkedHashSet<>()).add(row.userId());
+        }
+
+        NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+        Set<String> existing = new HashSet<>();
+        usersByActivity.forEach((activityId, userIds) -> {
+            List<Long> ids = List.copyOf(userIds);
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                MapSqlParameterSource params = new MapSqlParameterSource("activityId", activityId)
+                        .addValue("userIds", ids.subList(from, Math.min(from + batchSize, ids.size())));
+                named.query(EXISTING_USERS_SQL, params, rs -> {
+                    existing.add(activityId + ":" + rs.getLong(1));
+                });
+            }
+        });
+        return existing;
+    }
+}
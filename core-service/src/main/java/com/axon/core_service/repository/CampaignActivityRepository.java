@@ -1,10 +1,12 @@
 package com.axon.core_service.repository;
 
 import com.axon.core_service.domain.campaignactivity.CampaignActivity;
+import com.axon.core_service.domain.dto.campaignactivity.ActivityCampaignIndexEntry;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityStatus;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CampaignActivityRepository extends JpaRepository<CampaignActivity, Long> {
 
@@ -33,4 +35,13 @@ public interface CampaignActivityRepository extends JpaRepository<CampaignActivi
      * @return list of campaigns that ended in the time range with the given status
      */
     List<CampaignActivity> findByEndDateBetweenAndStatus(LocalDateTime startTime, LocalDateTime endTime, CampaignActivityStatus status);
-}
\ No newline at end of file
+
+    /**
+     * Lists the campaign of every campaign activity without loading the entities.
+     *
+     * @return one (activityId, campaignId) pair per campaign activity
+     */
+    @Query("SELECT new com.axon.core_service.domain.dto.campaignactivity.ActivityCampaignIndexEntry(a.id, a.campaign.id) " +
+            "FROM CampaignActivity a")
+    List<ActivityCampaignIndexEntry> findActivityCampaignIndex();
+}
@@ -6,6 +6,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 public interface UserCouponRepository extends JpaRepository<UserCoupon, Long> {
     boolean existsByUserIdAndCouponId(Long userId, Long couponId);
 
+    @org.springframework.data.jpa.repository.Query("SELECT uc.userId FROM UserCoupon uc WHERE uc.coupon.id = :couponId AND uc.userId IN :userIds")
+    java.util.List<Long> findUserIdsByCouponIdAndUserIdIn(Long couponId, java.util.Collection<Long> userIds);
+
     @org.springframework.data.jpa.repository.Query("SELECT uc.coupon.id FROM UserCoupon uc WHERE uc.userId = :userId")
     java.util.List<Long> findAllCouponIdsByUserId(Long userId);
 
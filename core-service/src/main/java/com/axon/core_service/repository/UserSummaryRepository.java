@@ -1,7 +1,17 @@
 package com.axon.core_service.repository;
 
 import com.axon.core_service.domain.user.UserSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface UserSummaryRepository extends JpaRepository<UserSummary, Long> {
+
+    /**
+     * Page through all user summaries without issuing a count query per page.
+     *
+     * @param pageable the page request, typically sorted by userId
+     * @return a slice of user summaries
+     */
+    Slice<UserSummary> findAllBy(Pageable pageable);
 }
@@ -7,147 +7,233 @@ import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
 import com.axon.messaging.topic.KafkaTopics;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 
 @Slf4j
 @Service
 public class CampaignActivityConsumerService {
 
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(CampaignActivityConsumerService.class);
+
     private final Map<CampaignActivityType, CampaignStrategy> strategies;
-    private final int kafkaBatchBuffer = 20;  // Reduced from 50 to decrease transaction time and lock contention
+    private final int chunkSize;
+
+    // 파티션별 worker lane (poll마다 파티션당 가상 스레드 1개)
+    private final ExecutorService lanes = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("command-lane-", 0).factory());
 
-    // 메시지 버퍼 (Thread-safe Queue)
-    private final ConcurrentLinkedQueue<CampaignActivityKafkaProducerDto> buffer = new ConcurrentLinkedQueue<>();
     /**
      * Creates a CampaignActivityConsumerService and builds an unmodifiable map from each strategy's type to the strategy.
      *
      * @param strategyList list of CampaignStrategy instances used to populate the internal unmodifiable map keyed by each strategy's type
+     * @param chunkSize    maximum number of messages handed to one {@link BatchStrategy#processBatch} call (one DB transaction)
      */
-    public CampaignActivityConsumerService(List<CampaignStrategy> strategyList) {
+    public CampaignActivityConsumerService(List<CampaignStrategy> strategyList,
+                                           @Value("${axon.kafka.command-consumer.chunk-size:200}") int chunkSize) {
         this.strategies = strategyList.stream()
                 .collect(Collectors.toUnmodifiableMap(CampaignStrategy::getType, Function.identity()));
+        this.chunkSize = chunkSize;
     }
 
     /**
-     * Handles an incoming campaign activity message from the CAMPAIGN_ACTIVITY_COMMAND topic and delegates processing to the matching CampaignStrategy.
+     * Handles one {@code poll()} worth of CAMPAIGN_ACTIVITY_COMMAND records.
+     *
+     * 역할:
+     * 1. 파티션별로 분리해 각 파티션을 자신의 lane(가상 스레드)에서 동시에 처리
+     * 2. lane 안에서는 파티션 순서를 유지한 채 같은 타입이 연속된 구간을 Strategy에 chunk 단위로 위임 (chunk마다 1 트랜잭션)
+     * 3. 모든 lane이 끝나고 정상 반환된 경우에만 컨테이너가 오프셋 커밋 (AckMode.BATCH)
+     *
+     * entry-service가 {@code activityId:userId}로 키를 지정하므로 같은 (activity, user)는 항상 같은 파티션,
+     * 즉 같은 lane에서 순서대로 처리된다. 서로 다른 lane은 겹치는 Entry를 건드리지 않으므로 락이 필요 없다.
      *
-     * If a strategy for the message's CampaignActivityType exists, the strategy's processing is invoked; otherwise a warning is logged. The consumed message is also logged.
+     * 실패한 레코드는 {@link BatchListenerFailedException}의 index로 알린다. lane은 실패 지점에서 멈추므로
+     * 그 앞의 레코드는 모두 처리된 상태이고, 에러 핸들러는 그 앞까지만 커밋한 뒤 실패 레코드부터 다시 전달한다.
+     * DB/트랜잭션 장애({@link #isTransient})는 chunk 첫 레코드를 가리켜 복구될 때까지 재시도되고,
+     * 그 외 예외는 chunk를 한 건씩 다시 처리해 실제로 실패한 레코드를 찾아낸다. 그 레코드는 재시도 후
+     * DLT로 보내지고 나머지는 계속 처리된다 ({@code KafkaConfig#kafkaErrorHandler}).
+     * 디코딩하지 못한 레코드({@code ErrorHandlingDeserializer}가 예외를 헤더에 담아 value를 null로 전달)는
+     * 그 앞의 레코드까지만 처리한 뒤 그 index로 실패를 알려, 재시도 없이 원본 바이트 그대로 DLT로 보내진다.
+     * 이미 커밋된 chunk가 재처리되어도 Strategy들은 기존 Entry/쿠폰을 조회해 중복 저장하지 않는다.
      *
-     * @param message the incoming campaign activity message to process
+     * @param records the records returned by one poll, in partition order
      */
-    @KafkaListener(topics = KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND, groupId = "axon-group")
-    public void consume(CampaignActivityKafkaProducerDto message) {
-        buffer.offer(message);
-        log.info("📥 [Kafka] Consumed message: userId={}, activityId={}, bufferSize={}",
-            message.getUserId(), message.getCampaignActivityId(), buffer.size());
-
-        if(buffer.size() >= kafkaBatchBuffer) {
-            flushBatch();
+    @KafkaListener(topics = KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND, groupId = "axon-group", batch = "true",
+            concurrency = "${axon.kafka.command-consumer.concurrency:1}",
+            properties = {
+                    "max.poll.records=${axon.kafka.command-consumer.max-poll-records:500}",
+                    "fetch.min.bytes=${axon.kafka.command-consumer.fetch-min-bytes:1}",
+                    "fetch.max.wait.ms=${axon.kafka.command-consumer.fetch-max-wait-ms:100}"
+            })
+    public void consume(List<ConsumerRecord<String, CampaignActivityKafkaProducerDto>> records) {
+        // 디코딩에 실패한 첫 레코드: 그 앞까지만 처리하고 그 레코드를 실패로 보고한다 (DLT로 이동)
+        int undecodable = -1;
+        DeserializationException decodeError = null;
+        for (int i = 0; i < records.size() && undecodable < 0; i++) {
+            decodeError = SerializationUtils.getExceptionFromHeader(records.get(i),
+                    SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+            if (decodeError != null) {
+                undecodable = i;
+            }
+        }
+        int end = undecodable < 0 ? records.size() : undecodable;
+
+        // 파티션별 레코드 index (records 기준)
+        Map<Integer, List<Integer>> byPartition = new LinkedHashMap<>();
+        for (int i = 0; i < end; i++) {
+            ConsumerRecord<String, CampaignActivityKafkaProducerDto> record = records.get(i);
+            // value가 null인데 디코딩 예외 헤더도 없으면 tombstone이므로 처리할 것이 없다
+            if (record.value() != null) {
+                byPartition.computeIfAbsent(record.partition(), partition -> new ArrayList<>()).add(i);
+            }
+        }
+        log.info("📥 [Kafka] Consumed batch: {} messages from {} partitions", records.size(), byPartition.size());
+
+        runLanes(records, byPartition);
+        if (undecodable >= 0) {
+            throw new BatchListenerFailedException("Cannot decode campaign activity command", decodeError, undecodable);
         }
     }
+
+    private void runLanes(List<ConsumerRecord<String, CampaignActivityKafkaProducerDto>> records,
+                          Map<Integer, List<Integer>> byPartition) {
+        if (byPartition.size() <= 1) {
+            byPartition.values().forEach(lane -> processLane(records, lane));
+            return;
+        }
+
+        List<CompletableFuture<Void>> running = byPartition.values().stream()
+                .map(lane -> CompletableFuture.runAsync(() -> processLane(records, lane), lanes))
+                .toList();
+        try {
+            CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            // 실패한 lane 중 가장 앞선 레코드를 알려야 그 앞까지만 커밋된다
+            RuntimeException earliest = null;
+            for (CompletableFuture<Void> lane : running) {
+                Throwable failure = lane.handle((ok, error) -> error).join();
+                if (failure instanceof CompletionException) {
+                    failure = failure.getCause();
+                }
+                if (!(failure instanceof RuntimeException cause)) {
+                    continue;
+                }
+                if (!(cause instanceof BatchListenerFailedException failed)) {
+                    throw cause;
+                }
+                if (earliest == null || failed.getIndex() < ((BatchListenerFailedException) earliest).getIndex()) {
+                    earliest = failed;
+                }
+            }
+            throw earliest != null ? earliest : e;
+        }
+    }
+
     /**
-     * 100ms마다 자동으로 버퍼 플러시
-     *
-     * 역할: 메시지가 적게 들어와도 100ms 이내에 처리 보장
+     * Whether a failure comes from the database or transaction infrastructure rather than from a record,
+     * so the same records are expected to succeed once it recovers.
      */
-    @Scheduled(fixedDelay = 100)
-    public void scheduledFlush() {
-        if (!buffer.isEmpty()) {
-            flushBatch();
+    public static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransactionException) {
+                return true;
+            }
         }
+        return false;
     }
 
     /**
-     * 버퍼의 메시지를 배치로 처리
-     *
-     * 역할:
-     * 1. 버퍼에서 메시지 추출
-     * 2. 타입별로 그룹핑
-     * 3. 각 Strategy에 배치 처리 위임
+     * 한 파티션의 메시지를 순서대로 처리 (같은 타입이 연속된 구간을 chunkSize 단위로 묶음)
      */
-    private synchronized void flushBatch() {
-        if (buffer.isEmpty()) {
-            return;
+    private void processLane(List<ConsumerRecord<String, CampaignActivityKafkaProducerDto>> records,
+                             List<Integer> lane) {
+        int from = 0;
+        while (from < lane.size()) {
+            CampaignActivityType type = records.get(lane.get(from)).value().getCampaignActivityType();
+            int to = from + 1;
+            while (to < lane.size() && to - from < chunkSize
+                    && records.get(lane.get(to)).value().getCampaignActivityType() == type) {
+                to++;
+            }
+            process(type, records, lane.subList(from, to));
+            from = to;
         }
+    }
 
-        // 1. 버퍼에서 메시지 추출 (최대 BATCH_SIZE개)
-        List<CampaignActivityKafkaProducerDto> messages = drainBuffer();
-
-        if (messages.isEmpty()) {
+    private void process(CampaignActivityType type,
+                         List<ConsumerRecord<String, CampaignActivityKafkaProducerDto>> records,
+                         List<Integer> chunk) {
+        CampaignStrategy strategy = strategies.get(type);
+        if (strategy == null) {
+            // 재시도해도 처리할 수 없으므로 건너뜀
+            log.warn("지원하지 않는 캠페인 활동 타입입니다: {} ({} messages skipped)", type, chunk.size());
             return;
         }
 
-        log.info("Processing Micro batch: {} messages", messages.size());
-
-        // 2. 타입별로 그룹핑 (FCFS, Coupon)
-        Map<CampaignActivityType, List<CampaignActivityKafkaProducerDto>> groupedByType =
-                messages.stream()
-                        .collect(Collectors.groupingBy(
-                                CampaignActivityKafkaProducerDto::getCampaignActivityType
-                        ));
-
-        // 3. 각 타입별로 처리
-        groupedByType.forEach((type, batch) -> {
-            CampaignStrategy strategy = strategies.get(type);
-
-            if (strategy == null) {
-                log.warn("지원하지 않는 캠페인 활동 타입입니다: {}", type);
+        // 배치 처리 지원하면 배치로, 아니면 개별 처리
+        if (strategy instanceof BatchStrategy batchStrategy) {
+            List<CampaignActivityKafkaProducerDto> messages = chunk.stream().map(i -> records.get(i).value()).toList();
+            try {
+                batchStrategy.processBatch(messages);
+                log.info("Batch processed: type={}, count={}", type, messages.size());
                 return;
+            } catch (RuntimeException e) {
+                if (isTransient(e) || chunk.size() == 1) {
+                    throw new BatchListenerFailedException("Command batch failed: type=" + type, e, chunk.get(0));
+                }
+                log.warn("Batch failed, retrying one by one to find the failing record: type={}, count={}",
+                        type, chunk.size(), e);
             }
-
-            try {
-                // 배치 처리 지원하면 배치로, 아니면 개별 처리
-                if (strategy instanceof BatchStrategy) {
-                    ((BatchStrategy) strategy).processBatch(batch);
-                    log.info("Batch processed: type={}, count={}", type, batch.size());
-                } else {
-                    // Fallback: 개별 처리
-                    batch.forEach(msg -> {
-                        strategy.process(msg);
-                        log.info("Consumed message: {}", msg);
-                    });
+            for (int index : chunk) {
+                try {
+                    batchStrategy.processBatch(List.of(records.get(index).value()));
+                } catch (RuntimeException e) {
+                    throw new BatchListenerFailedException("Command failed: type=" + type, e, index);
                 }
-            } catch (Exception e) {
-                log.error("Error processing batch for type {}: {}", type, e.getMessage(), e);
             }
-        });
-    }
-    /**
-     * 버퍼에서 메시지 추출
-     *
-     * 역할: Thread-safe하게 버퍼 비우기 (최대 BATCH_SIZE개)
-     */
-    private List<CampaignActivityKafkaProducerDto> drainBuffer() {
-        List<CampaignActivityKafkaProducerDto> drained = new ArrayList<>(kafkaBatchBuffer);
-
-        for (int i = 0; i < kafkaBatchBuffer; i++) {
-            CampaignActivityKafkaProducerDto message = buffer.poll();
-            if (message == null) {
-                break;
+        } else {
+            // Fallback: 개별 처리
+            for (int index : chunk) {
+                try {
+                    strategy.process(records.get(index).value());
+                } catch (RuntimeException e) {
+                    throw new BatchListenerFailedException("Command failed: type=" + type, e, index);
+                }
+                log.debug("Consumed message: {}", records.get(index).value());
             }
-            drained.add(message);
         }
-
-        return drained;
     }
 
     /**
-     * 서비스 종료 시 남은 메시지 처리
+     * 서비스 종료 시 진행 중인 lane이 끝날 때까지 대기
      */
     @PreDestroy
-    public void onShutdown() {
-        log.info("Shutting down consumer, flushing remaining messages...");
-        flushBatch();
+    public void shutdownLanes() {
+        lanes.close();
     }
-
-}
\ No newline at end of file
+}
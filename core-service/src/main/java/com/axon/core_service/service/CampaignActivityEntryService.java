@@ -6,9 +6,12 @@ import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntry;
 import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntryStatus;
 import com.axon.core_service.domain.dto.purchase.PurchaseInfoDto;
 import com.axon.core_service.domain.purchase.PurchaseType;
+import com.axon.core_service.repository.CampaignActivityEntryBulkWriter;
 import com.axon.core_service.repository.CampaignActivityEntryRepository;
 import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -18,7 +21,6 @@ import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +32,7 @@ public class CampaignActivityEntryService {
 
     private final CampaignActivityEntryRepository campaignActivityEntryRepository;
     private final ApplicationEventPublisher eventPublisher;
+    private final CampaignActivityEntryBulkWriter campaignActivityEntryBulkWriter;
 
     /**
      * Upserts a CampaignActivityEntry for the given campaign activity and DTO,
@@ -97,10 +100,9 @@ public class CampaignActivityEntryService {
      * Bulk upsert (신규)
      *
      * 역할:
-     * 1. 기존 Entry bulk 조회
-     * 2. 신규/업데이트 Entry 준비
-     * 3. Bulk save
-     * 4. Bulk event 발행
+     * 1. Entry row 준비
+     * 2. JDBC batch upsert (INSERT ... ON DUPLICATE KEY UPDATE) 위임
+     * 3. 새로 생성된 Entry에 대해서만 구매 이벤트 발행
      *
      * @param activityMap activityId -> CampaignActivity 맵
      * @param messages 처리할 메시지 리스트
@@ -118,107 +120,52 @@ public class CampaignActivityEntryService {
 
         log.info("Bulk upsert: {} entries", messages.size());
 
-        // 1. activityId, userId 추출
-        List<Long> activityIds = messages.stream()
-                .map(CampaignActivityKafkaProducerDto::getCampaignActivityId)
-                .distinct()
-                .toList();
-
-        List<Long> userIds = messages.stream()
-                .map(CampaignActivityKafkaProducerDto::getUserId)
-                .distinct()
-                .toList();
-
-        // 2. 기존 Entry bulk 조회 (1회 DB 접근)
-        List<CampaignActivityEntry> existingEntries = campaignActivityEntryRepository.findByActivityIdsAndUserIds(activityIds, userIds);
-
-        // 3. 기존 Entry를 Map으로 변환 (빠른 조회용)
-        Map<String, CampaignActivityEntry> existingMap = existingEntries.stream()
-                .collect(Collectors.toMap(
-                        entry -> entry.getCampaignActivity().getId() + ":" + entry.getUserId(),
-                        entry -> entry
-                ));
-
-        // 4. 저장할 Entry 리스트 + 발행할 이벤트 리스트 준비
-        List<CampaignActivityEntry> toSave = new ArrayList<>();
-        List<PurchaseInfoDto> purchaseEvents = new ArrayList<>();
-
+        // 1. 저장할 row 준비 (Strategy에서 이미 필터링 됐지만 activity 없는 메시지는 제외)
+        List<CampaignActivityKafkaProducerDto> targets = new ArrayList<>(messages.size());
+        List<CampaignActivityEntryBulkWriter.Row> rows = new ArrayList<>(messages.size());
+        LocalDateTime processedAt = LocalDateTime.now();
         for (CampaignActivityKafkaProducerDto dto : messages) {
-            CampaignActivity activity = activityMap.get(dto.getCampaignActivityId());
-            if (activity == null) {
-                continue;  // 이미 Strategy에서 필터링 됨
+            if (!activityMap.containsKey(dto.getCampaignActivityId())) {
+                continue;
             }
+            targets.add(dto);
+            rows.add(new CampaignActivityEntryBulkWriter.Row(
+                    dto.getCampaignActivityId(),
+                    dto.getUserId(),
+                    dto.getProductId(),
+                    status,
+                    LocalDateTime.ofInstant(requestedAt(dto), ZoneId.of("Asia/Seoul")),
+                    processedAt));
+        }
 
-            String key = activity.getId() + ":" + dto.getUserId();
-            Instant requestedAt = Optional.ofNullable(dto.getTimestamp())
-                    .map(Instant::ofEpochMilli)
-                    .orElseGet(Instant::now);
-
-            // 기존 Entry 있으면 업데이트, 없으면 신규 생성
-            CampaignActivityEntry entry = existingMap.getOrDefault(key,
-                    CampaignActivityEntry.create(
-                            activity,
-                            dto.getUserId(),
-                            dto.getProductId(),
-                            requestedAt
-                    ));
-
-            entry.updateProduct(dto.getProductId());
-            entry.updateStatus(status);
-            entry.markProcessedNow();
-            toSave.add(entry);
-
-            // 구매 관련 활동이면 이벤트 준비
-            boolean isApproved = (status == CampaignActivityEntryStatus.APPROVED);
-            boolean isPurchaseRelated = activity.getActivityType().isPurchaseRelated();
-            boolean isNewEntry = !existingMap.containsKey(key);  // 새로운 Entry인지 확인
-
-            log.info("Checking event condition: userId={}, status={}, type={}, isApproved={}, isPurchaseRelated={}, isNewEntry={}",
-                    dto.getUserId(), status, activity.getActivityType(), isApproved, isPurchaseRelated, isNewEntry);
+        // 2. Bulk upsert (JDBC batch)
+        boolean[] inserted = campaignActivityEntryBulkWriter.upsert(rows);
+        log.info("✅ [Entry] Upserted {} entries", rows.size());
 
-            if (isApproved && isPurchaseRelated && isNewEntry) {  // isNewEntry 조건 추가
-                log.info("Adding purchase event for NEW entry userId={}", dto.getUserId());
-                purchaseEvents.add(new PurchaseInfoDto(
-                        activity.getCampaignId(),
-                        activity.getId(),
-                        dto.getUserId(),
-                        dto.getProductId(),
-                        dto.occurredAt(),
-                        PurchaseType.CAMPAIGNACTIVITY,
-                        activity.getPrice(),
-                        (int) (dto.getQuantity() != null ? dto.getQuantity().longValue() : 1L),
-                        requestedAt
-                ));
-            }
+        // 3. 구매 관련 활동이면서 새로 생성된 Entry만 이벤트 발행
+        if (status != CampaignActivityEntryStatus.APPROVED) {
+            return;
         }
-
-        // 5. Bulk save (1회 DB 접근)
-        log.info("📝 [Entry] Attempting to save {} entries (users: {})",
-            toSave.size(),
-            toSave.stream().map(e -> e.getUserId()).limit(10).collect(Collectors.toList()));
-
-        if (!toSave.isEmpty()) {
-            try {
-                campaignActivityEntryRepository.saveAll(toSave);
-                log.info("✅ [Entry] Saved {} entries successfully", toSave.size());
-            } catch (DataIntegrityViolationException e) {
-                // Handle duplicates gracefully - process individually
-                log.warn("⚠️ [Entry] Duplicate entries detected in batch, processing individually");
-                int saved = 0;
-                for (CampaignActivityEntry entry : toSave) {
-                    try {
-                        campaignActivityEntryRepository.save(entry);
-                        saved++;
-                    } catch (DataIntegrityViolationException ex) {
-                        log.debug("Skipping duplicate entry: activity={}, user={}",
-                            entry.getCampaignActivity().getId(), entry.getUserId());
-                    }
-                }
-                log.info("✅ [Entry] Saved {} entries ({} duplicates skipped)", saved, toSave.size() - saved);
+        List<PurchaseInfoDto> purchaseEvents = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            CampaignActivityKafkaProducerDto dto = targets.get(i);
+            CampaignActivity activity = activityMap.get(dto.getCampaignActivityId());
+            if (!inserted[i] || !activity.getActivityType().isPurchaseRelated()) {
+                continue;
             }
+            purchaseEvents.add(new PurchaseInfoDto(
+                    activity.getCampaignId(),
+                    activity.getId(),
+                    dto.getUserId(),
+                    dto.getProductId(),
+                    dto.occurredAt(),
+                    PurchaseType.CAMPAIGNACTIVITY,
+                    activity.getPrice(),
+                    (int) (dto.getQuantity() != null ? dto.getQuantity().longValue() : 1L),
+                    requestedAt(dto)
+            ));
         }
 
-        // 6. Bulk event 발행
         if (!purchaseEvents.isEmpty()) {
             log.info("📢 [Purchase Event] Publishing {} events for users: {}",
                 purchaseEvents.size(),
@@ -227,5 +174,9 @@ public class CampaignActivityEntryService {
         }
     }
 
-
-}
\ No newline at end of file
+    private static Instant requestedAt(CampaignActivityKafkaProducerDto dto) {
+        return Optional.ofNullable(dto.getTimestamp())
+                .map(Instant::ofEpochMilli)
+                .orElseGet(Instant::now);
+    }
+}
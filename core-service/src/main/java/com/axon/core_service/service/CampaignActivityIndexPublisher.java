@@ -0,0 +1,46 @@
+package com.axon.core_service.service;
+
+import com.axon.core_service.domain.campaignactivity.CampaignActivity;
+import com.axon.core_service.event.CampaignActivityChangedEvent;
+import com.axon.core_service.repository.CampaignActivityRepository;
+import com.axon.messaging.topic.RedisChannels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Change feed for entry-service's activity-to-campaign index.
+ *
+ * After a campaign activity is committed, its current campaign (or its removal)
+ * is broadcast on {@link RedisChannels#CAMPAIGN_ACTIVITY_INDEX}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CampaignActivityIndexPublisher {
+
+    private final CampaignActivityRepository campaignActivityRepository;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Publish the activity's current campaign id, or an empty one if it no longer exists.
+     *
+     * @param event the change event carrying the campaign activity id
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCampaignActivityChanged(CampaignActivityChangedEvent event) {
+        Long campaignActivityId = event.campaignActivityId();
+        try {
+            Long campaignId = campaignActivityRepository.findById(campaignActivityId)
+                    .map(CampaignActivity::getCampaignId)
+                    .orElse(null);
+            redisTemplate.convertAndSend(RedisChannels.CAMPAIGN_ACTIVITY_INDEX,
+                    campaignActivityId + ":" + (campaignId == null ? "" : campaignId));
+        } catch (Exception e) {
+            log.error("Failed to publish campaign index change. activityId={}", campaignActivityId, e);
+        }
+    }
+}
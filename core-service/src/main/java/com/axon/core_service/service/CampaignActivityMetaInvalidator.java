@@ -0,0 +1,44 @@
+package com.axon.core_service.service;
+
+import com.axon.core_service.event.CampaignActivityChangedEvent;
+import com.axon.messaging.topic.RedisChannels;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalidates the campaign activity meta cached by entry-service.
+ *
+ * Runs after the surrounding transaction commits so entry-service can never reload
+ * the old row into its caches. The shared Redis copy is deleted and a versioned
+ * invalidation is published for the in-JVM caches of every entry-service pod.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CampaignActivityMetaInvalidator {
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Delete the shared meta cache entry and broadcast the new meta version.
+     *
+     * @param event the change event carrying the campaign activity id
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCampaignActivityChanged(CampaignActivityChangedEvent event) {
+        Long campaignActivityId = event.campaignActivityId();
+        try {
+            redisTemplate.delete("campaign:%s:meta".formatted(campaignActivityId));
+            Long version = redisTemplate.opsForValue()
+                    .increment("campaign:%s:meta:version".formatted(campaignActivityId));
+            redisTemplate.convertAndSend(RedisChannels.CAMPAIGN_ACTIVITY_META_INVALIDATION,
+                    campaignActivityId + ":" + version);
+        } catch (Exception e) {
+            log.error("Failed to invalidate campaign activity meta. activityId={}", campaignActivityId, e);
+        }
+    }
+}
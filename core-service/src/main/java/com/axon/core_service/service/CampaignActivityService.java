@@ -2,10 +2,12 @@ package com.axon.core_service.service;
 
 import com.axon.core_service.domain.campaign.Campaign;
 import com.axon.core_service.domain.campaignactivity.CampaignActivity;
+import com.axon.core_service.domain.dto.campaignactivity.ActivityCampaignIndexEntry;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityRequest;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityResponse;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityStatus;
 import com.axon.core_service.domain.product.Product;
+import com.axon.core_service.event.CampaignActivityChangedEvent;
 import com.axon.core_service.repository.CampaignActivityEntryRepository;
 import com.axon.core_service.repository.CampaignActivityRepository;
 import com.axon.core_service.repository.CampaignRepository;
@@ -13,7 +15,7 @@ import com.axon.core_service.repository.CouponRepository;
 import com.axon.core_service.repository.ProductRepository;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,7 +29,7 @@ public class CampaignActivityService {
     private final CampaignActivityEntryRepository campaignActivityEntryRepository;
     private final ProductRepository productRepository;
     private final CouponRepository couponRepository;
-    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create a new CampaignActivity associated with the given campaign.
@@ -72,6 +74,7 @@ public class CampaignActivityService {
                 .budget(request.getBudget())
                 .build();
         CampaignActivity saved = campaignActivityRepository.save(campaignActivity);
+        evictMetaCache(saved.getId());
         return CampaignActivityResponse.from(saved);
     }
 
@@ -212,6 +215,16 @@ public class CampaignActivityService {
                 .toList();
     }
 
+    /**
+     * Lists the campaign of every campaign activity, for entry-service's enrichment index.
+     *
+     * @return one (activityId, campaignId) pair per campaign activity
+     */
+    @Transactional(readOnly = true)
+    public List<ActivityCampaignIndexEntry> getActivityCampaignIndex() {
+        return campaignActivityRepository.findActivityCampaignIndex();
+    }
+
     /**
      * Retrieves the total number of campaign activities.
      *
@@ -303,8 +316,11 @@ public class CampaignActivityService {
         throw new IllegalStateException("invalid status transition: " + current + " -> " + next);
     }
 
+    /**
+     * Schedule invalidation of the meta cached by entry-service; the actual Redis delete and
+     * pub/sub broadcast happen after commit in {@link CampaignActivityMetaInvalidator}.
+     */
     private void evictMetaCache(Long campaignActivityId) {
-        String key = "campaign:%s:meta".formatted(campaignActivityId);
-        redisTemplate.delete(key);
+        eventPublisher.publishEvent(new CampaignActivityChangedEvent(campaignActivityId));
     }
 }
\ No newline at end of file
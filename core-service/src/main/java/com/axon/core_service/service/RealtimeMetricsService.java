@@ -2,6 +2,8 @@ package com.axon.core_service.service;
 
 import com.axon.core_service.domain.campaignactivity.CampaignActivity;
 import com.axon.core_service.repository.CampaignActivityRepository;
+import java.util.List;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
@@ -12,10 +14,33 @@ public class RealtimeMetricsService {
     private final StringRedisTemplate redisTemplate;
     private final CampaignActivityRepository campaignActivityRepository;
 
+    /**
+     * Reads the number of issued slots for an activity from Redis.
+     *
+     * When entry-service runs the activity in sharded-stock mode, the shard count is
+     * recorded in {@code campaign:{id}:shards} and the per-shard counters are summed.
+     *
+     * @param activityId the campaign activity identifier
+     * @return the issued slot count, or 0 when nothing was issued yet
+     */
     public Long getParticipantCount(Long activityId) {
-        String key = "campaign:" + activityId + ":counter";
-        String value = redisTemplate.opsForValue().get(key);
-        return value !=  null ? Long.parseLong(value) : 0L;
+        String shards = redisTemplate.opsForValue().get("campaign:" + activityId + ":shards");
+        if (shards == null) {
+            String value = redisTemplate.opsForValue().get("campaign:" + activityId + ":counter");
+            return value != null ? Long.parseLong(value) : 0L;
+        }
+
+        List<String> shardKeys = IntStream.range(0, Integer.parseInt(shards))
+                .mapToObj(shard -> "campaign:{" + activityId + ":" + shard + "}:counter")
+                .toList();
+        List<String> values = redisTemplate.opsForValue().multiGet(shardKeys);
+        if (values == null) {
+            return 0L;
+        }
+        return values.stream()
+                .filter(value -> value != null)
+                .mapToLong(Long::parseLong)
+                .sum();
     }
 
     public Long getRemainingStock(Long participantCount, Long totalStock) {
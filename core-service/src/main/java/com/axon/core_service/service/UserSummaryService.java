@@ -2,17 +2,20 @@ package com.axon.core_service.service;
 
 import com.axon.core_service.domain.user.User;
 import com.axon.core_service.domain.user.UserSummary;
+import com.axon.core_service.event.UserPurchaseRecordedEvent;
 import com.axon.core_service.repository.UserRepository;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.axon.core_service.repository.UserSummaryRepository;
 import com.axon.core_service.service.purchase.PurchaseHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +26,7 @@ public class UserSummaryService {
 
     private final UserRepository userRepository;
     private final UserSummaryRepository userSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
     /**
      * Updates the user's purchase activity by recording a purchase that occurred at the given instant.
      *
@@ -35,6 +39,7 @@ public class UserSummaryService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
         user.recordPurchase(occurredAt);
+        eventPublisher.publishEvent(new UserPurchaseRecordedEvent(Set.of(userId)));
     }
 
     /**
@@ -63,6 +68,7 @@ public class UserSummaryService {
 
         // 3. Dirty Checking으로 자동 UPDATE
         log.info("Updated purchase time for {} users", users.size());
+        eventPublisher.publishEvent(new UserPurchaseRecordedEvent(Set.copyOf(userSummaries.keySet())));
     }
     /**
         * Records a login event for the specified user at the given timestamp, updating the user's activity summary.
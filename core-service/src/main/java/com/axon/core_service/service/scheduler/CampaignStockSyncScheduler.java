@@ -4,9 +4,9 @@ import com.axon.core_service.domain.campaignactivity.CampaignActivity;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityStatus;
 import com.axon.core_service.repository.CampaignActivityRepository;
 import com.axon.core_service.service.ProductService;
+import com.axon.core_service.service.RealtimeMetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,7 +28,7 @@ public class CampaignStockSyncScheduler {
 
     private final CampaignActivityRepository campaignActivityRepository;
     private final ProductService productService;
-    private final RedisTemplate<String, String> redisTemplate;
+    private final RealtimeMetricsService realtimeMetricsService;
 
     /**
      * Runs every 5 minutes to sync stock for ended campaigns.
@@ -66,11 +66,8 @@ public class CampaignStockSyncScheduler {
      * Syncs a single campaign's stock from Redis to MySQL.
      */
     private void syncCampaignStock(CampaignActivity campaign) {
-        String counterKey = "campaign:" + campaign.getId() + ":counter";
-
-        // Get sold count from Redis
-        String soldCountStr = redisTemplate.opsForValue().get(counterKey);
-        Long soldCount = soldCountStr != null ? Long.parseLong(soldCountStr) : 0L;
+        // Get sold count from Redis (sums the stock shards when the activity is sharded)
+        Long soldCount = realtimeMetricsService.getParticipantCount(campaign.getId());
 
         log.info("Syncing campaign {}: soldCount={}, limit={}",
             campaign.getId(), soldCount, campaign.getLimitCount());
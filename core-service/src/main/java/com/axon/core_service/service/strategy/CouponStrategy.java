@@ -12,8 +12,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -50,35 +54,37 @@ public class CouponStrategy implements BatchStrategy {
         Map<Long, Coupon> couponMap = couponRepository.findAllById(couponIds).stream()
                 .collect(Collectors.toMap(Coupon::getId, c -> c));
 
-        // 3. UserCoupon 엔티티 생성 (중복 체크 포함)
-        List<UserCoupon> userCoupons = messages.stream()
-                .map(msg -> {
-                    Long couponId = msg.getProductId();
-                    Long userId = msg.getUserId();
-                    Coupon coupon = couponMap.get(couponId);
+        // 3. 이미 발급된 (쿠폰, 사용자) 조회 - 쿠폰별 1회 IN 쿼리 (메시지별 exists 쿼리 대신)
+        Map<Long, Set<Long>> issuedUserIds = new HashMap<>();
+        messages.stream()
+                .filter(msg -> couponMap.containsKey(msg.getProductId()))
+                .collect(Collectors.groupingBy(CampaignActivityKafkaProducerDto::getProductId,
+                        Collectors.mapping(CampaignActivityKafkaProducerDto::getUserId, Collectors.toSet())))
+                .forEach((couponId, userIds) -> issuedUserIds.put(couponId,
+                        new HashSet<>(userCouponRepository.findUserIdsByCouponIdAndUserIdIn(couponId, userIds))));
 
-                    if (coupon == null) {
-                        log.warn("Coupon not found for ID: {}", couponId);
-                        return null;
-                    }
+        // 4. UserCoupon 엔티티 생성 (DB 및 같은 배치 내 중복 제외)
+        List<UserCoupon> userCoupons = new ArrayList<>();
+        for (CampaignActivityKafkaProducerDto msg : messages) {
+            Long couponId = msg.getProductId();
+            Long userId = msg.getUserId();
+            Coupon coupon = couponMap.get(couponId);
 
-                    // DB 레벨 중복 체크 (이미 발급된 경우 스킵)
-                    // 주의: 대량 배치 시 이 부분이 병목이 될 수 있으므로,
-                    // 실제로는 INSERT IGNORE나 복합 Unique Key로 DB에서 막는 게 더 빠름.
-                    if (userCouponRepository.existsByUserIdAndCouponId(userId, couponId)) {
-                        log.info("User {} already has coupon {}", userId, couponId);
-                        return null;
-                    }
-
-                    return UserCoupon.builder()
-                            .userId(userId)
-                            .coupon(coupon)
-                            .build();
-                })
-                .filter(java.util.Objects::nonNull)
-                .collect(Collectors.toList());
+            if (coupon == null) {
+                log.warn("Coupon not found for ID: {}", couponId);
+                continue;
+            }
+            if (!issuedUserIds.get(couponId).add(userId)) {
+                log.debug("User {} already has coupon {}", userId, couponId);
+                continue;
+            }
+            userCoupons.add(UserCoupon.builder()
+                    .userId(userId)
+                    .coupon(coupon)
+                    .build());
+        }
 
-        // 4. Bulk Insert
+        // 5. Bulk Insert
         if (!userCoupons.isEmpty()) {
             userCouponRepository.saveAll(userCoupons);
             log.info("Saved {} user coupons", userCoupons.size());
@@ -23,7 +23,8 @@ public class DynamicValidationService {
      * Validates whether a user satisfies the participation limits of a campaign activity.
      *
      * <p>When the campaign has no filters, returns an eligible response. For each filter with phase
-     * "HEAVY", delegates validation to the corresponding ValidationLimitStrategy and returns its result.
+     * "HEAVY", delegates validation to the corresponding ValidationLimitStrategy; the user is eligible
+     * only when every HEAVY filter passes, otherwise the first failing result is returned.
      * If a strategy for a filter does not exist or an error occurs during validation, returns an
      * ineligible response with a user-facing error message.</p>
      *
@@ -41,6 +42,7 @@ public class DynamicValidationService {
         log.info("리미트 필터 확인 limitFilter : {}", limitFilter);
         //filter가 없으면 바로 통과시키기
         if(limitFilter == null || limitFilter.isEmpty()) {return ValidationResponse.builder().eligible(true).build();}
+        boolean evaluated = false;
         try {
             for(FilterDetail filter : limitFilter) {
                 if(!"HEAVY".equals(filter.getPhase())) {continue;}
@@ -54,12 +56,16 @@ public class DynamicValidationService {
                     log.warn("{} 의 전략함수는 존재하지 않습니다.", filterName);
                     return ValidationResponse.builder().eligible(false).errorMessage("응모 요청 페이지에 오류가 발생했습니다.").build();
                 }
-                return strategy.validateCampaignActivityLimit(userId, operator, filterValues);
+                ValidationResponse result = strategy.validateCampaignActivityLimit(userId, operator, filterValues);
+                // 모든 HEAVY 조건을 만족해야 통과 (사전 계산 비트맵과 동일한 의미)
+                if(!result.isEligible()) {return result;}
+                evaluated = true;
             }
         } catch (Exception err) {
             log.error("Dynamic Validation Error (userId: {})", userId, err);
             return ValidationResponse.builder().eligible(false).errorMessage("해당 페이지의 참여조건을 알 수 없습니다.").build();
         }
+        if(evaluated) {return ValidationResponse.builder().eligible(true).build();}
         return ValidationResponse.builder().eligible(false).errorMessage("UNKNOWN_ERROR").build();
     }
 }
\ No newline at end of file
@@ -13,6 +13,7 @@ import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
@@ -56,24 +57,60 @@ public class RecentPurchaseLimit implements ValidationLimitStrategy {
         LocalDateTime startDateTime = parseToLocalDateTime(values.getFirst());
         LocalDateTime endDateTime = values.size() == 2 ? parseToLocalDateTime(values.get(1)) : null;
 
+        Boolean matched = matches(lastPurchaseAt, operator, startDateTime, endDateTime, values.size());
+        if (matched == null) {return valueErrMsg();}
+        return resultReturn(matched, errorMSG);
+    }
+
+    /**
+     * Compiles the recent-purchase condition into a predicate over the user summary, parsing the
+     * bounds once. Users without a summary row or purchase history are ineligible, as in
+     * {@link #validateCampaignActivityLimit}.
+     *
+     * @param operator one of "BETWEEN", "NOT_BETWEEN", "GTE", or "LTE"
+     * @param values   ISO-8601 bounds as accepted by {@link #validateCampaignActivityLimit}
+     * @return the eligibility predicate, or {@code null} when the bounds cannot be parsed
+     */
+    @Override
+    public Predicate<UserSummary> compileEligibility(String operator, List<String> values) {
+        if (values == null || values.isEmpty()) {return summary -> false;}
+        LocalDateTime startDateTime;
+        LocalDateTime endDateTime;
+        try {
+            startDateTime = parseToLocalDateTime(values.getFirst());
+            endDateTime = values.size() == 2 ? parseToLocalDateTime(values.get(1)) : null;
+        } catch (DateTimeParseException e) {
+            log.warn("Cannot compile RECENT_PURCHASE filter. operator={}, values={}", operator, values);
+            return null;
+        }
+        int size = values.size();
+        return summary -> summary.getLastPurchaseAt() != null
+                && Boolean.TRUE.equals(matches(summary.getLastPurchaseAt(), operator, startDateTime, endDateTime, size));
+    }
+
+    /**
+     * Evaluates the operator against the user's last purchase time.
+     *
+     * @return whether the condition holds, or {@code null} when the values are malformed for the operator
+     */
+    private Boolean matches(LocalDateTime lastPurchaseAt, String operator,
+                            LocalDateTime startDateTime, LocalDateTime endDateTime, int size) {
         switch(operator) {
             case "BETWEEN":
-                if(endDateTime == null) return valueErrMsg();
-                return resultReturn(!lastPurchaseAt.isBefore(startDateTime) && !lastPurchaseAt.isAfter(endDateTime),errorMSG);
+                if(endDateTime == null) return null;
+                return !lastPurchaseAt.isBefore(startDateTime) && !lastPurchaseAt.isAfter(endDateTime);
             case "NOT_BETWEEN":
-                if(endDateTime == null) return valueErrMsg();
-                return resultReturn(lastPurchaseAt.isBefore(startDateTime) || lastPurchaseAt.isAfter(endDateTime), errorMSG);
+                if(endDateTime == null) return null;
+                return lastPurchaseAt.isBefore(startDateTime) || lastPurchaseAt.isAfter(endDateTime);
             case "GTE": //이상
-                if (values.size() != 1) return valueErrMsg();
-                return resultReturn(!lastPurchaseAt.isBefore(startDateTime),errorMSG);
+                if (size != 1) return null;
+                return !lastPurchaseAt.isBefore(startDateTime);
             case "LTE": // 이하
-                if (values.size() != 1) return valueErrMsg();
-                log.info("last: {} ||start: {}", lastPurchaseAt, startDateTime);
-                return resultReturn(!lastPurchaseAt.isAfter(startDateTime), errorMSG);
+                if (size != 1) return null;
+                return !lastPurchaseAt.isAfter(startDateTime);
             default:
-                break;
+                return null;
         }
-        return valueErrMsg();
     }
 
     /**
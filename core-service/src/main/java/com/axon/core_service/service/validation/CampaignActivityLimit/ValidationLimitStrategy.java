@@ -1,9 +1,11 @@
 package com.axon.core_service.service.validation.CampaignActivityLimit;
 
+import com.axon.core_service.domain.user.UserSummary;
 import com.axon.messaging.dto.validation.ValidationResponse;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 public interface ValidationLimitStrategy {
     /**
@@ -21,4 +23,17 @@ String getLimitName();
  * @return        a ValidationResponse describing the outcome (success or failure and related details)
  */
 ValidationResponse validateCampaignActivityLimit(Long userId, String operator, List<String> limit);
-}
\ No newline at end of file
+
+    /**
+     * Compile the limit into an in-memory predicate over {@link UserSummary}, used to
+     * pre-compute eligibility bitmaps without a per-user query.
+     *
+     * @param operator the comparison operator of the filter
+     * @param limit    the filter values
+     * @return a predicate matching eligible users, or {@code null} if this limit cannot be
+     *         evaluated from the user summary alone (callers then fall back to per-user validation)
+     */
+    default Predicate<UserSummary> compileEligibility(String operator, List<String> limit) {
+        return null;
+    }
+}
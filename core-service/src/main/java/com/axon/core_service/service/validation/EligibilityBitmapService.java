@@ -0,0 +1,288 @@
+package com.axon.core_service.service.validation;
+
+import com.axon.core_service.domain.campaignactivity.CampaignActivity;
+import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityStatus;
+import com.axon.core_service.domain.dto.campaignactivity.filter.FilterDetail;
+import com.axon.core_service.domain.user.UserSummary;
+import com.axon.core_service.event.CampaignActivityChangedEvent;
+import com.axon.core_service.event.UserPurchaseRecordedEvent;
+import com.axon.core_service.repository.CampaignActivityRepository;
+import com.axon.core_service.repository.UserSummaryRepository;
+import com.axon.core_service.service.validation.CampaignActivityLimit.ValidationLimitFactoryService;
+import com.axon.core_service.service.validation.CampaignActivityLimit.ValidationLimitStrategy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pre-computes, for every ACTIVE campaign activity with HEAVY filters, the set of eligible
+ * user ids as a Redis bitmap ({@code campaign:{id}:eligible}, bit = user id).
+ *
+ * entry-service checks the bitmap with a single GETBIT instead of calling the validation API,
+ * and falls back to the API whenever {@code campaign:{id}:eligible:built-at} is missing or too old.
+ * Bitmaps are rebuilt periodically by one pod (Redisson lock) and patched per user as purchases
+ * are recorded. Activities whose HEAVY filters cannot be evaluated from {@link UserSummary}
+ * get no bitmap and keep using the API.
+ *
+ * A rebuild scans for minutes and then replaces the live bitmap, so a patch written to the live
+ * key in the meantime would be overwritten with the value the scan read earlier. While a rebuild
+ * runs ({@code eligibility-bitmap:rebuilding}), every pod also records the patched user ids in
+ * {@code eligibility-bitmap:rebuild:dirty-users}; after the swap the rebuilding pod re-evaluates
+ * those users from the database and patches the new bitmaps.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EligibilityBitmapService {
+
+    private static final int PAGE_SIZE = 5_000;
+    private static final long MAX_BITMAP_USER_ID = (1L << 32) - 1;
+    private static final String REBUILDING_KEY = "eligibility-bitmap:rebuilding";
+    private static final String DIRTY_USERS_KEY = "eligibility-bitmap:rebuild:dirty-users";
+    // 재빌드 도중 파드가 죽어도 표시가 영원히 남지 않도록
+    private static final Duration REBUILDING_TTL = Duration.ofHours(1);
+
+    private final CampaignActivityRepository campaignActivityRepository;
+    private final UserSummaryRepository userSummaryRepository;
+    private final ValidationLimitFactoryService validationLimitFactoryService;
+    private final StringRedisTemplate redisTemplate;
+    private final RedissonClient redissonClient;
+
+    /**
+     * HEAVY filters of the ACTIVE activities compiled on this pod, used for incremental updates.
+     */
+    private volatile Map<Long, Predicate<UserSummary>> compiledActivities = Map.of();
+
+    /**
+     * Recompile the ACTIVE activities and, if this pod wins the lock, rebuild every bitmap.
+     */
+    @Scheduled(fixedDelayString = "${axon.eligibility-bitmap.refresh-interval-ms:600000}",
+            initialDelayString = "${axon.eligibility-bitmap.initial-delay-ms:30000}")
+    public void rebuildAll() {
+        Map<Long, Predicate<UserSummary>> compiled = compileActiveActivities();
+        compiledActivities = compiled;
+        if (compiled.isEmpty()) {
+            return;
+        }
+
+        RLock lock = redissonClient.getLock("lock:eligibility-bitmap:rebuild");
+        if (!lock.tryLock()) {
+            log.debug("Eligibility bitmap rebuild is running on another pod");
+            return;
+        }
+        try {
+            long startedAt = System.currentTimeMillis();
+            redisTemplate.opsForValue().set(REBUILDING_KEY, String.valueOf(startedAt), REBUILDING_TTL);
+            Map<Long, BitmapBuilder> bitmaps = scanUserSummaries(compiled);
+            bitmaps.forEach(this::publish);
+            redisTemplate.delete(REBUILDING_KEY);
+            int replayed = replayDirtyUsers(compiled);
+            log.info("Eligibility bitmaps rebuilt. activities={}, replayedUsers={}, elapsedMs={}",
+                    bitmaps.size(), replayed, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Failed to rebuild eligibility bitmaps", e);
+        } finally {
+            // 실패 시 남은 dirty 사용자는 다음 재빌드가 처리
+            redisTemplate.delete(REBUILDING_KEY);
+            if (lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Re-evaluate the users whose purchases were just recorded and patch their bits.
+     *
+     * @param event the users whose summaries changed
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleUserPurchaseRecorded(UserPurchaseRecordedEvent event) {
+        Map<Long, Predicate<UserSummary>> compiled = compiledActivities;
+        if (compiled.isEmpty() || event.userIds().isEmpty()) {
+            return;
+        }
+        patch(event.userIds(), compiled);
+    }
+
+    /**
+     * Re-evaluate the given users against the compiled filters and set their bits. While a rebuild is
+     * running the users are recorded first (same pipeline, so before the bits), letting the rebuild
+     * replay them if its swap lands after these writes.
+     */
+    private void patch(Collection<Long> userIds, Map<Long, Predicate<UserSummary>> compiled) {
+        boolean rebuilding = Boolean.TRUE.equals(redisTemplate.hasKey(REBUILDING_KEY));
+        List<UserSummary> summaries = userSummaryRepository.findAllById(userIds);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            if (rebuilding) {
+                connection.setCommands().sAdd(DIRTY_USERS_KEY.getBytes(StandardCharsets.UTF_8),
+                        userIds.stream().map(id -> String.valueOf(id).getBytes(StandardCharsets.UTF_8))
+                                .toArray(byte[][]::new));
+            }
+            compiled.forEach((activityId, predicate) -> {
+                byte[] key = bitmapKey(activityId).getBytes(StandardCharsets.UTF_8);
+                for (UserSummary summary : summaries) {
+                    if (summary.getUserId() <= MAX_BITMAP_USER_ID) {
+                        connection.stringCommands().setBit(key, summary.getUserId(), predicate.test(summary));
+                    }
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Patch the users recorded while the bitmaps were being rebuilt; their bits may have been
+     * overwritten by the swap.
+     *
+     * @return the number of users re-evaluated
+     */
+    private int replayDirtyUsers(Map<Long, Predicate<UserSummary>> compiled) {
+        int replayed = 0;
+        List<String> popped;
+        while ((popped = redisTemplate.opsForSet().pop(DIRTY_USERS_KEY, PAGE_SIZE)) != null && !popped.isEmpty()) {
+            patch(popped.stream().map(Long::valueOf).toList(), compiled);
+            replayed += popped.size();
+        }
+        return replayed;
+    }
+
+    /**
+     * Mark the bitmap of a changed activity as stale right away; its filters may have changed,
+     * so entry-service falls back to the API until the next rebuild.
+     *
+     * @param event the change event carrying the campaign activity id
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void handleCampaignActivityChanged(CampaignActivityChangedEvent event) {
+        redisTemplate.delete(builtAtKey(event.campaignActivityId()));
+    }
+
+    private Map<Long, Predicate<UserSummary>> compileActiveActivities() {
+        Map<Long, Predicate<UserSummary>> compiled = new HashMap<>();
+        for (CampaignActivity activity : campaignActivityRepository.findAllByStatus(CampaignActivityStatus.ACTIVE)) {
+            Predicate<UserSummary> predicate = compileHeavyFilters(activity.getFilters());
+            if (predicate != null) {
+                compiled.put(activity.getId(), predicate);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * @return the conjunction of all HEAVY filters, or {@code null} when there are none or one of
+     *         them cannot be evaluated from the user summary
+     */
+    private Predicate<UserSummary> compileHeavyFilters(List<FilterDetail> filters) {
+        if (filters == null) {
+            return null;
+        }
+        Predicate<UserSummary> combined = null;
+        for (FilterDetail filter : filters) {
+            if (!"HEAVY".equals(filter.getPhase())) {
+                continue;
+            }
+            ValidationLimitStrategy strategy = validationLimitFactoryService.getStrategy(filter.getType());
+            String operator = filter.getOperator() != null ? filter.getOperator() : "BETWEEN";
+            Predicate<UserSummary> predicate = strategy != null
+                    ? strategy.compileEligibility(operator, filter.getValues())
+                    : null;
+            if (predicate == null) {
+                return null;
+            }
+            combined = combined == null ? predicate : combined.and(predicate);
+        }
+        return combined;
+    }
+
+    private Map<Long, BitmapBuilder> scanUserSummaries(Map<Long, Predicate<UserSummary>> compiled) {
+        Map<Long, BitmapBuilder> bitmaps = new HashMap<>();
+        compiled.keySet().forEach(activityId -> bitmaps.put(activityId, new BitmapBuilder()));
+
+        PageRequest page = PageRequest.of(0, PAGE_SIZE, Sort.by("userId"));
+        Slice<UserSummary> slice;
+        do {
+            slice = userSummaryRepository.findAllBy(page);
+            for (UserSummary summary : slice) {
+                long userId = summary.getUserId();
+                if (userId < 0 || userId > MAX_BITMAP_USER_ID) {
+                    continue;
+                }
+                compiled.forEach((activityId, predicate) -> {
+                    if (predicate.test(summary)) {
+                        bitmaps.get(activityId).set(userId);
+                    }
+                });
+            }
+            page = page.next();
+        } while (slice.hasNext());
+        return bitmaps;
+    }
+
+    /**
+     * Swap in the new bitmap atomically (write to a temp key, then RENAME) and stamp its build time.
+     */
+    private void publish(Long activityId, BitmapBuilder bitmap) {
+        byte[] liveKey = bitmapKey(activityId).getBytes(StandardCharsets.UTF_8);
+        byte[] tempKey = (bitmapKey(activityId) + ":building").getBytes(StandardCharsets.UTF_8);
+        byte[] builtAtKey = builtAtKey(activityId).getBytes(StandardCharsets.UTF_8);
+        byte[] builtAt = String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8);
+
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.stringCommands().set(tempKey, bitmap.toRedisBytes());
+            connection.keyCommands().rename(tempKey, liveKey);
+            connection.stringCommands().set(builtAtKey, builtAt);
+            return null;
+        });
+    }
+
+    private static String bitmapKey(Long activityId) {
+        return "campaign:" + activityId + ":eligible";
+    }
+
+    private static String builtAtKey(Long activityId) {
+        return "campaign:" + activityId + ":eligible:built-at";
+    }
+
+    /**
+     * Growable bitmap laid out the way Redis stores bitmaps: bit {@code n} is the
+     * most significant bit first within byte {@code n / 8}.
+     */
+    static final class BitmapBuilder {
+
+        private byte[] bytes = new byte[1024];
+        private int length;
+
+        void set(long userId) {
+            int index = (int) (userId >>> 3);
+            if (index >= bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(index + 1, bytes.length * 2));
+            }
+            bytes[index] |= (byte) (0x80 >>> (userId & 7));
+            length = Math.max(length, index + 1);
+        }
+
+        byte[] toRedisBytes() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+}
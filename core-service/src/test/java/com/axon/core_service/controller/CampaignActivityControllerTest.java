@@ -8,6 +8,7 @@ import com.axon.core_service.service.CampaignActivityService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -56,6 +57,8 @@ class CampaignActivityControllerTest {
                 .startDate(startDate)
                 .endDate(endDate)
                 .activityType(CampaignActivityType.FIRST_COME_FIRST_SERVE)
+                .price(BigDecimal.valueOf(10000))
+                .quantity(1)
                 .build();
 
         CampaignActivityResponse response = CampaignActivityResponse.builder()
@@ -0,0 +1,86 @@
+package com.axon.core_service.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntryStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+class CampaignActivityEntryBulkWriterTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private CampaignActivityEntryBulkWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:bulk-writer;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE campaign_activity_entries (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    campaign_activity_id BIGINT NOT NULL,
+                    user_id BIGINT NOT NULL,
+                    product_id BIGINT,
+                    status VARCHAR(50) NOT NULL,
+                    requested_at TIMESTAMP NOT NULL,
+                    processed_at TIMESTAMP,
+                    additional_data VARCHAR(255),
+                    created_at TIMESTAMP,
+                    updated_at TIMESTAMP,
+                    CONSTRAINT uk_campaign_activity_entry_user UNIQUE (campaign_activity_id, user_id)
+                )
+                """);
+        writer = new CampaignActivityEntryBulkWriter(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    void reportsOnlyRowsThatCreatedAnEntry() {
+        LocalDateTime now = LocalDateTime.now();
+        writer.upsert(List.of(row(1L, 10L, 5L, CampaignActivityEntryStatus.PENDING, now)));
+
+        boolean[] inserted = writer.upsert(List.of(
+                row(1L, 10L, null, CampaignActivityEntryStatus.APPROVED, now),
+                row(1L, 11L, 5L, CampaignActivityEntryStatus.APPROVED, now),
+                row(2L, 10L, 5L, CampaignActivityEntryStatus.APPROVED, now),
+                row(1L, 11L, 6L, CampaignActivityEntryStatus.APPROVED, now)));
+
+        assertThat(inserted).containsExactly(false, true, true, false);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM campaign_activity_entries", Long.class))
+                .isEqualTo(3L);
+    }
+
+    @Test
+    void existingEntryGetsNewStatusAndKeepsProductWhenNoneIsGiven() {
+        LocalDateTime now = LocalDateTime.now();
+        writer.upsert(List.of(row(1L, 10L, 5L, CampaignActivityEntryStatus.PENDING, null)));
+
+        writer.upsert(List.of(row(1L, 10L, null, CampaignActivityEntryStatus.APPROVED, now)));
+
+        Map<String, Object> entry = jdbcTemplate.queryForMap(
+                "SELECT product_id, status, processed_at, created_at FROM campaign_activity_entries");
+        assertThat(entry.get("product_id")).isEqualTo(5L);
+        assertThat(entry.get("status")).isEqualTo("APPROVED");
+        assertThat(entry.get("processed_at")).isNotNull();
+        assertThat(entry.get("created_at")).isNotNull();
+    }
+
+    private static CampaignActivityEntryBulkWriter.Row row(Long activityId, Long userId, Long productId,
+                                                           CampaignActivityEntryStatus status,
+                                                           LocalDateTime processedAt) {
+        return new CampaignActivityEntryBulkWriter.Row(activityId, userId, productId, status,
+                LocalDateTime.now(), processedAt);
+    }
+}
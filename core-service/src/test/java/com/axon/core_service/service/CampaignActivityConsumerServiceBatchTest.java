@@ -0,0 +1,198 @@
+package com.axon.core_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.axon.core_service.service.batch.BatchStrategy;
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+class CampaignActivityConsumerServiceBatchTest {
+
+    private BatchStrategy fcfs;
+    private BatchStrategy coupon;
+    private CampaignActivityConsumerService consumerService;
+
+    @BeforeEach
+    void setUp() {
+        fcfs = mock(BatchStrategy.class);
+        coupon = mock(BatchStrategy.class);
+        when(fcfs.getType()).thenReturn(CampaignActivityType.FIRST_COME_FIRST_SERVE);
+        when(coupon.getType()).thenReturn(CampaignActivityType.COUPON);
+        consumerService = new CampaignActivityConsumerService(List.of(fcfs, coupon), 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void wholePollIsGroupedByTypeAndSplitIntoChunks() {
+        List<ConsumerRecord<String, CampaignActivityKafkaProducerDto>> records = new ArrayList<>();
+        for (long userId = 1; userId <= 7; userId++) {
+            records.add(record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, userId));
+        }
+        records.add(record(0, CampaignActivityType.COUPON, 100L));
+
+        consumerService.consume(records);
+
+        ArgumentCaptor<List<CampaignActivityKafkaProducerDto>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(fcfs, times(3)).processBatch(chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(List::size).containsExactly(3, 3, 1);
+        assertThat(chunks.getAllValues().get(0)).extracting(CampaignActivityKafkaProducerDto::getUserId)
+                .containsExactly(1L, 2L, 3L);
+        verify(coupon).processBatch(List.of(records.get(7).value()));
+    }
+
+    @Test
+    void databaseOutageFailsAtTheChunkStartWithoutRetryingRecordsOneByOne() {
+        doThrow(new CannotCreateTransactionException("db down")).when(fcfs).processBatch(anyList());
+
+        assertThatThrownBy(() -> consumerService.consume(List.of(
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 1L),
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 2L))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getIndex()).isZero();
+                    assertThat(CampaignActivityConsumerService.isTransient(e)).isTrue();
+                });
+        verify(fcfs, times(1)).processBatch(anyList());
+    }
+
+    @Test
+    void poisonRecordInAChunkIsReportedByItsOwnIndex() {
+        doAnswer(invocation -> {
+            List<CampaignActivityKafkaProducerDto> chunk = invocation.getArgument(0);
+            if (chunk.stream().anyMatch(msg -> msg.getUserId() == 2L)) {
+                throw new IllegalStateException("bad command");
+            }
+            return null;
+        }).when(fcfs).processBatch(anyList());
+
+        assertThatThrownBy(() -> consumerService.consume(List.of(
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 1L),
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 2L),
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 3L))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getIndex()).isEqualTo(1);
+                    assertThat(CampaignActivityConsumerService.isTransient(e)).isFalse();
+                });
+    }
+
+    @Test
+    void typesAreProcessedInPartitionOrder() {
+        List<Long> processed = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<CampaignActivityKafkaProducerDto> chunk = invocation.getArgument(0);
+            chunk.forEach(msg -> processed.add(msg.getUserId()));
+            return null;
+        }).when(fcfs).processBatch(anyList());
+        doAnswer(invocation -> {
+            List<CampaignActivityKafkaProducerDto> chunk = invocation.getArgument(0);
+            chunk.forEach(msg -> processed.add(msg.getUserId()));
+            return null;
+        }).when(coupon).processBatch(anyList());
+
+        consumerService.consume(List.of(
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 1L),
+                record(0, CampaignActivityType.COUPON, 2L),
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 3L)));
+
+        assertThat(processed).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void partitionsRunInTheirOwnLanesInPartitionOrder() {
+        Set<String> laneThreads = ConcurrentHashMap.newKeySet();
+        List<Long> partitionOneUsers = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<CampaignActivityKafkaProducerDto> chunk = invocation.getArgument(0);
+            laneThreads.add(Thread.currentThread().getName());
+            if (chunk.get(0).getUserId() >= 10) {
+                synchronized (partitionOneUsers) {
+                    chunk.forEach(msg -> partitionOneUsers.add(msg.getUserId()));
+                }
+            }
+            return null;
+        }).when(fcfs).processBatch(anyList());
+
+        consumerService.consume(List.of(
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 1L),
+                record(1, CampaignActivityType.FIRST_COME_FIRST_SERVE, 10L),
+                record(1, CampaignActivityType.FIRST_COME_FIRST_SERVE, 11L),
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 2L),
+                record(1, CampaignActivityType.FIRST_COME_FIRST_SERVE, 12L),
+                record(1, CampaignActivityType.FIRST_COME_FIRST_SERVE, 13L)));
+
+        assertThat(laneThreads).hasSize(2).allMatch(name -> name.startsWith("command-lane-"));
+        assertThat(partitionOneUsers).containsExactly(10L, 11L, 12L, 13L);
+    }
+
+    @Test
+    void failureInOneLaneReportsTheEarliestFailedRecord() {
+        doAnswer(invocation -> {
+            List<CampaignActivityKafkaProducerDto> chunk = invocation.getArgument(0);
+            if (chunk.get(0).getUserId() >= 10L) {
+                throw new IllegalStateException("bad command");
+            }
+            return null;
+        }).when(fcfs).processBatch(anyList());
+
+        assertThatThrownBy(() -> consumerService.consume(List.of(
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 1L),
+                record(2, CampaignActivityType.FIRST_COME_FIRST_SERVE, 20L),
+                record(1, CampaignActivityType.FIRST_COME_FIRST_SERVE, 10L))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+    }
+
+    @Test
+    void undecodableRecordIsReportedAfterTheRecordsBeforeItAreProcessed() {
+        ConsumerRecord<String, CampaignActivityKafkaProducerDto> undecodable =
+                new ConsumerRecord<>("axon.campaign-activity.command", 1, 0L, "1:2", null);
+        SerializationUtils.deserializationException(undecodable.headers(), new byte[]{(byte) 0xC1, 9},
+                new SerializationException("unknown codec version"), false);
+        ConsumerRecord<String, CampaignActivityKafkaProducerDto> first =
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 1L);
+
+        assertThatThrownBy(() -> consumerService.consume(List.of(
+                first,
+                undecodable,
+                record(0, CampaignActivityType.FIRST_COME_FIRST_SERVE, 3L))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getIndex()).isEqualTo(1);
+                    assertThat(e.getCause()).isInstanceOf(DeserializationException.class);
+                });
+        verify(fcfs, times(1)).processBatch(anyList());
+        verify(fcfs).processBatch(List.of(first.value()));
+    }
+
+    private static ConsumerRecord<String, CampaignActivityKafkaProducerDto> record(int partition,
+                                                                                   CampaignActivityType type,
+                                                                                   Long userId) {
+        CampaignActivityKafkaProducerDto message = CampaignActivityKafkaProducerDto.builder()
+                .campaignActivityType(type)
+                .campaignActivityId(1L)
+                .userId(userId)
+                .productId(1L)
+                .timestamp(System.currentTimeMillis())
+                .build();
+        return new ConsumerRecord<>("axon.campaign-activity.command", partition, 0L, message.partitionKey(), message);
+    }
+}
@@ -5,13 +5,13 @@ import com.axon.core_service.domain.campaignactivity.CampaignActivity;
 import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityStatus;
 import com.axon.core_service.domain.event.Event;
 import com.axon.core_service.domain.event.TriggerType;
-import com.axon.core_service.domain.product.Product;
+import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntry;
+import com.axon.core_service.domain.campaignactivityentry.CampaignActivityEntryStatus;
+import com.axon.core_service.repository.CampaignActivityEntryRepository;
 import com.axon.core_service.repository.CampaignActivityRepository;
 import com.axon.core_service.repository.CampaignRepository;
 import com.axon.core_service.repository.EventRepository;
-import com.axon.core_service.repository.ProductRepository;
 import com.axon.core_service.repository.UserRepository;
-import com.axon.core_service.repository.UserSummaryRepository;
 import com.axon.messaging.CampaignActivityType;
 import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
 import com.axon.messaging.topic.KafkaTopics;
@@ -43,7 +43,7 @@ class CampaignActivityConsumerServiceTest {
     private KafkaTemplate<String, CampaignActivityKafkaProducerDto> kafkaTemplate;
 
     @Autowired
-    private ProductRepository productRepository;
+    private CampaignActivityEntryRepository campaignActivityEntryRepository;
 
     @Autowired
     private CampaignActivityRepository campaignActivityRepository;
@@ -54,9 +54,6 @@ class CampaignActivityConsumerServiceTest {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
-    private UserSummaryRepository userSummaryRepository;
-
     @Autowired
     private EventRepository eventRepository;
 
@@ -67,7 +64,7 @@ class CampaignActivityConsumerServiceTest {
 
     @BeforeEach
     void setUp() {
-        productRepository.deleteAll();
+        campaignActivityEntryRepository.deleteAll();
         campaignActivityRepository.deleteAll();
         campaignRepository.deleteAll();
         userRepository.deleteAll();
@@ -95,13 +92,12 @@ class CampaignActivityConsumerServiceTest {
                 .endDate(LocalDateTime.now().plusDays(1))
                 .activityType(CampaignActivityType.FIRST_COME_FIRST_SERVE)
                 .filters(null)
+                .price(java.math.BigDecimal.valueOf(10000))
+                .quantity(1)
                 .build();
         CampaignActivity saved = campaignActivityRepository.save(activity);
         this.campaignActivityId = saved.getId();
 
-        Product testProduct = new Product("테스트 상품", 100L, java.math.BigDecimal.valueOf(10000));
-        productRepository.save(testProduct);
-
         userIds = new ArrayList<>(NUMBER_OF_THREADS);
         for (int i = 0; i < NUMBER_OF_THREADS; i++) {
             userIds.add(userRepository.save(
@@ -117,8 +113,8 @@ class CampaignActivityConsumerServiceTest {
     }
 
     @Test
-    @DisplayName("100개의 재고에 300개의 동시 요청이 발생하면, 재고는 0이 되고 100명만 성공해야 한다.")
-    void decreaseStock_ConcurrencyTest() throws InterruptedException {
+    @DisplayName("100명의 응모 커맨드가 동시에 발행되면, 사용자마다 승인된 응모 내역이 1건씩 저장되어야 한다.")
+    void concurrentCommands_CreateOneApprovedEntryPerUser() throws InterruptedException {
         ExecutorService executorService = Executors.newFixedThreadPool(32);
         CountDownLatch latch = new CountDownLatch(NUMBER_OF_THREADS);
 
@@ -141,15 +137,21 @@ class CampaignActivityConsumerServiceTest {
         }
 
         latch.await();
-        Thread.sleep(5000);
+        kafkaTemplate.flush();
 
-        Product product = productRepository.findById(productId).orElseThrow();
-        assertThat(product.getStock()).isEqualTo(0L);
+        // 재고는 캠페인 종료 후 Redis 카운터 기준으로 동기화되므로 여기서는 응모 내역만 확인
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (campaignActivityEntryRepository.countByCampaignActivity_Id(campaignActivityId) < NUMBER_OF_THREADS
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(200);
+        }
 
+        assertThat(campaignActivityEntryRepository.countByCampaignActivity_Id(campaignActivityId))
+                .isEqualTo((long) NUMBER_OF_THREADS);
         userIds.forEach(id -> assertThat(
-                userSummaryRepository.findById(id)
-                        .map(summary -> summary.getLastPurchaseAt())
+                campaignActivityEntryRepository.findByCampaignActivity_IdAndUserId(campaignActivityId, id)
+                        .map(CampaignActivityEntry::getStatus)
                         .orElse(null))
-                .isNotNull());
+                .isEqualTo(CampaignActivityEntryStatus.APPROVED));
     }
 }
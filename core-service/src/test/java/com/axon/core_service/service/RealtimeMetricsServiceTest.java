@@ -2,6 +2,9 @@ package com.axon.core_service.service;
 
 
 import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,8 +12,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -23,14 +26,14 @@ public class RealtimeMetricsServiceTest {
     private StringRedisTemplate redisTemplate;
 
     @Mock
-    private SetOperations<String, String> setOperations;
+    private ValueOperations<String, String> valueOperations;
 
     @InjectMocks
     private RealtimeMetricsService realtimeMetricsService;
 
     @BeforeEach
     void setUp() {
-        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
     }
 
     @Test
@@ -38,13 +41,26 @@ public class RealtimeMetricsServiceTest {
     void getParticipantCountTest() {
         //given
         Long activityId = 1L;
-        String expectedKey = "campaignActivity:1:participants";
-        when(redisTemplate.opsForSet()).thenReturn(setOperations);
-        when(setOperations.size(expectedKey)).thenReturn(10L);
+        when(valueOperations.get("campaign:1:shards")).thenReturn(null);
+        when(valueOperations.get("campaign:1:counter")).thenReturn("10");
         //when
         Long count = realtimeMetricsService.getParticipantCount(activityId);
         //then
         assertThat(count).isEqualTo(10L);
-        verify(setOperations).size(expectedKey);
+    }
+
+    @Test
+    @DisplayName("샤딩된 재고는 샤드별 카운터를 합산한다")
+    void getParticipantCountSumsShardsTest() {
+        //given
+        Long activityId = 1L;
+        when(valueOperations.get("campaign:1:shards")).thenReturn("3");
+        when(valueOperations.multiGet(List.of(
+                "campaign:{1:0}:counter", "campaign:{1:1}:counter", "campaign:{1:2}:counter")))
+                .thenReturn(Arrays.asList("4", null, "3"));
+        //when
+        Long count = realtimeMetricsService.getParticipantCount(activityId);
+        //then
+        assertThat(count).isEqualTo(7L);
     }
 }
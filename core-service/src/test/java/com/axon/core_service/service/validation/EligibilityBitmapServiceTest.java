@@ -0,0 +1,126 @@
+package com.axon.core_service.service.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.axon.core_service.domain.campaignactivity.CampaignActivity;
+import com.axon.core_service.domain.dto.campaignactivity.CampaignActivityStatus;
+import com.axon.core_service.domain.dto.campaignactivity.filter.FilterDetail;
+import com.axon.core_service.domain.user.UserSummary;
+import com.axon.core_service.event.UserPurchaseRecordedEvent;
+import com.axon.core_service.repository.CampaignActivityRepository;
+import com.axon.core_service.repository.UserSummaryRepository;
+import com.axon.core_service.service.validation.CampaignActivityLimit.ValidationLimitFactoryService;
+import com.axon.core_service.service.validation.CampaignActivityLimit.ValidationLimitStrategy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+class EligibilityBitmapServiceTest {
+
+    private static final long ACTIVITY_ID = 9_001L;
+    private static final String LIVE_KEY = "campaign:" + ACTIVITY_ID + ":eligible";
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private UserSummaryRepository userSummaryRepository;
+    private EligibilityBitmapService service;
+    private final Set<Long> eligibleUsers = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory("localhost", 6379);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        redisTemplate.delete(List.of(LIVE_KEY, LIVE_KEY + ":built-at", "eligibility-bitmap:rebuilding",
+                "eligibility-bitmap:rebuild:dirty-users"));
+
+        CampaignActivity activity = mock(CampaignActivity.class);
+        when(activity.getId()).thenReturn(ACTIVITY_ID);
+        when(activity.getFilters()).thenReturn(List.of(new FilterDetail("PURCHASED", "EQ", List.of(), "HEAVY")));
+        CampaignActivityRepository campaignActivityRepository = mock(CampaignActivityRepository.class);
+        when(campaignActivityRepository.findAllByStatus(CampaignActivityStatus.ACTIVE)).thenReturn(List.of(activity));
+
+        ValidationLimitStrategy strategy = mock(ValidationLimitStrategy.class);
+        when(strategy.compileEligibility(any(), any()))
+                .thenReturn(summary -> eligibleUsers.contains(summary.getUserId()));
+        ValidationLimitFactoryService factoryService = mock(ValidationLimitFactoryService.class);
+        when(factoryService.getStrategy("PURCHASED")).thenReturn(strategy);
+
+        RLock lock = mock(RLock.class);
+        when(lock.tryLock()).thenReturn(true);
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getLock(any(String.class))).thenReturn(lock);
+
+        userSummaryRepository = mock(UserSummaryRepository.class);
+        when(userSummaryRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(EligibilityBitmapServiceTest::summary).toList();
+        });
+
+        service = new EligibilityBitmapService(campaignActivityRepository, userSummaryRepository,
+                factoryService, redisTemplate, redissonClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(List.of(LIVE_KEY, LIVE_KEY + ":built-at"));
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void patchRecordedDuringRebuildSurvivesTheSwap() {
+        eligibleUsers.add(1L);
+        when(userSummaryRepository.findAllBy(any(Pageable.class))).thenAnswer(invocation -> {
+            Pageable page = invocation.getArgument(0);
+            if (page.getPageNumber() == 0) {
+                return new SliceImpl<>(List.of(summary(1L), summary(2L), summary(3L)), page, true);
+            }
+            // user 2 buys after the scan has already read them as ineligible
+            eligibleUsers.add(2L);
+            service.handleUserPurchaseRecorded(new UserPurchaseRecordedEvent(Set.of(2L)));
+            return new SliceImpl<UserSummary>(List.of(), page, false);
+        });
+
+        service.rebuildAll();
+
+        assertThat(redisTemplate.opsForValue().getBit(LIVE_KEY, 1L)).isTrue();
+        assertThat(redisTemplate.opsForValue().getBit(LIVE_KEY, 2L)).isTrue();
+        assertThat(redisTemplate.opsForValue().getBit(LIVE_KEY, 3L)).isFalse();
+        assertThat(redisTemplate.hasKey("eligibility-bitmap:rebuilding")).isFalse();
+        assertThat(redisTemplate.opsForSet().size("eligibility-bitmap:rebuild:dirty-users")).isZero();
+    }
+
+    @Test
+    void patchOutsideRebuildIsNotRecorded() {
+        SliceImpl<UserSummary> onlyPage = new SliceImpl<>(List.of(summary(1L)), PageRequest.of(0, 5_000), false);
+        when(userSummaryRepository.findAllBy(any(Pageable.class))).thenReturn(onlyPage);
+        service.rebuildAll();
+
+        eligibleUsers.add(1L);
+        service.handleUserPurchaseRecorded(new UserPurchaseRecordedEvent(Set.of(1L)));
+
+        assertThat(redisTemplate.opsForValue().getBit(LIVE_KEY, 1L)).isTrue();
+        assertThat(redisTemplate.opsForSet().size("eligibility-bitmap:rebuild:dirty-users")).isZero();
+    }
+
+    private static UserSummary summary(long userId) {
+        UserSummary summary = mock(UserSummary.class);
+        when(summary.getUserId()).thenReturn(userId);
+        return summary;
+    }
+}
@@ -0,0 +1,99 @@
+package com.axon.entry_service.config;
+
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.codec.CampaignActivityCommandDeserializer;
+import com.axon.messaging.codec.CampaignActivityCommandSerializer;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import com.axon.messaging.topic.KafkaTopics;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+/**
+ * Encode/decode throughput of a campaign activity command: the previous
+ * {@link JsonSerializer}/{@link JsonDeserializer} pair with type headers
+ * against the binary codec. Run with {@code -prof gc} for allocation per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CampaignActivityCommandCodecBenchmark {
+
+    private static final String TOPIC = KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND;
+
+    private CampaignActivityKafkaProducerDto message;
+    private JsonSerializer<Object> jsonSerializer;
+    private JsonDeserializer<Object> jsonDeserializer;
+    private CampaignActivityCommandSerializer binarySerializer;
+    private CampaignActivityCommandDeserializer binaryDeserializer;
+    private RecordHeaders jsonHeaders;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        message = CampaignActivityKafkaProducerDto.builder()
+                .campaignActivityType(CampaignActivityType.FIRST_COME_FIRST_SERVE)
+                .campaignActivityId(1_024L)
+                .userId(987_654L)
+                .productId(77L)
+                .quantity(1)
+                .timestamp(1_700_000_000_000L)
+                .build();
+
+        jsonSerializer = new JsonSerializer<>();
+        jsonDeserializer = new JsonDeserializer<>();
+        // keep the type header on the shared record headers between invocations
+        jsonDeserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.REMOVE_TYPE_INFO_HEADERS, false), false);
+        binarySerializer = new CampaignActivityCommandSerializer();
+        binaryDeserializer = new CampaignActivityCommandDeserializer(new JsonDeserializer<>());
+
+        jsonHeaders = new RecordHeaders();
+        jsonBytes = jsonSerializer.serialize(TOPIC, jsonHeaders, message);
+        binaryBytes = binarySerializer.serialize(TOPIC, message);
+        if (!message.equals(binaryDeserializer.deserialize(TOPIC, new RecordHeaders(), binaryBytes))
+                || !message.equals(jsonDeserializer.deserialize(TOPIC, jsonHeaders, jsonBytes))) {
+            throw new IllegalStateException("codecs do not round-trip");
+        }
+        System.out.printf("%nencoded size: json=%d bytes (+type header), binary=%d bytes%n",
+                jsonBytes.length, binaryBytes.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return jsonSerializer.serialize(TOPIC, new RecordHeaders(), message);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binarySerializer.serialize(TOPIC, message);
+    }
+
+    @Benchmark
+    public Object jsonDecode() {
+        return jsonDeserializer.deserialize(TOPIC, jsonHeaders, jsonBytes);
+    }
+
+    @Benchmark
+    public Object binaryDecode() {
+        return binaryDeserializer.deserialize(TOPIC, jsonHeaders, binaryBytes);
+    }
+}
@@ -0,0 +1,101 @@
+package com.axon.entry_service.config.redis;
+
+import com.axon.entry_service.dto.Payment.PaymentApprovalPayload;
+import com.axon.entry_service.dto.Payment.ReservationTokenPayload;
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.codec.CompactRedisSerializer;
+import com.axon.messaging.codec.UserCacheDtoCodec;
+import com.axon.messaging.dto.validation.Grade;
+import com.axon.messaging.dto.validation.UserCacheDto;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+/**
+ * Deserialize cost of the hottest Redis values with the previous
+ * {@link GenericJackson2JsonRedisSerializer} and with {@link CompactRedisSerializer}.
+ * Bytes per key are printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompactRedisSerializerBenchmark {
+
+    private GenericJackson2JsonRedisSerializer json;
+    private CompactRedisSerializer compact;
+    private byte[] userCacheJson;
+    private byte[] userCacheCompact;
+    private byte[] reservationJson;
+    private byte[] reservationCompact;
+    private byte[] approvalJson;
+    private byte[] approvalCompact;
+
+    @Setup
+    public void setUp() {
+        json = new GenericJackson2JsonRedisSerializer();
+        compact = new CompactRedisSerializer(new GenericJackson2JsonRedisSerializer(), true)
+                .register(new UserCacheDtoCodec())
+                .register(new ReservationTokenPayloadCodec())
+                .register(new PaymentApprovalPayloadCodec());
+
+        UserCacheDto userCache = new UserCacheDto(987_654L, Grade.GOLD, 31);
+        ReservationTokenPayload reservation = new ReservationTokenPayload(987_654L, 1_024L, 77L,
+                CampaignActivityType.FIRST_COME_FIRST_SERVE, 1);
+        PaymentApprovalPayload approval = new PaymentApprovalPayload(987_654L, 1_024L, 77L,
+                CampaignActivityType.FIRST_COME_FIRST_SERVE, 1, "4b0a3c9e-8d0f-4c55-9a43-7f7b1f1e2d6a");
+
+        userCacheJson = json.serialize(userCache);
+        userCacheCompact = compact.serialize(userCache);
+        reservationJson = json.serialize(reservation);
+        reservationCompact = compact.serialize(reservation);
+        approvalJson = json.serialize(approval);
+        approvalCompact = compact.serialize(approval);
+        System.out.printf("%nbytes per key (json/compact): UserCacheDto %d/%d, ReservationTokenPayload %d/%d, PaymentApprovalPayload %d/%d%n",
+                userCacheJson.length, userCacheCompact.length, reservationJson.length, reservationCompact.length,
+                approvalJson.length, approvalCompact.length);
+    }
+
+    @Benchmark
+    public Object userCacheJson() {
+        return json.deserialize(userCacheJson);
+    }
+
+    @Benchmark
+    public Object userCacheCompact() {
+        return compact.deserialize(userCacheCompact);
+    }
+
+    @Benchmark
+    public Object reservationTokenJson() {
+        return json.deserialize(reservationJson);
+    }
+
+    @Benchmark
+    public Object reservationTokenCompact() {
+        return compact.deserialize(reservationCompact);
+    }
+
+    @Benchmark
+    public Object approvalTokenJson() {
+        return json.deserialize(approvalJson);
+    }
+
+    @Benchmark
+    public Object approvalTokenCompact() {
+        return compact.deserialize(approvalCompact);
+    }
+}
@@ -0,0 +1,123 @@
+package com.axon.entry_service.domain.rule;
+
+import com.axon.messaging.dto.validation.Grade;
+import com.axon.messaging.dto.validation.UserCacheDto;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the map-walking FAST filter evaluator and {@code LocalDateTime}
+ * window check with the pre-compiled {@link ParticipationRules}.
+ *
+ * <p>Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastValidationBenchmark {
+
+    private List<Map<String, Object>> filters;
+    private ParticipationRules rules;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private UserCacheDto user;
+    private Instant now;
+
+    @Setup
+    public void setUp() {
+        filters = List.of(
+                Map.of("phase", "FAST", "type", "AGE", "operator", "BETWEEN", "values", List.of("20", "39")),
+                Map.of("phase", "FAST", "type", "GRADE", "operator", "IN", "values", List.of("GOLD", "VIP", "VVIP")),
+                Map.of("phase", "HEAVY", "type", "RECENT_PURCHASE", "operator", "GTE", "values", List.of("2025-01-01")));
+        startDate = LocalDateTime.now().minusHours(1);
+        endDate = LocalDateTime.now().plusHours(1);
+        rules = ParticipationRules.compile(filters, startDate, endDate);
+        user = UserCacheDto.builder().userId(1L).grade(Grade.VIP).age(27).build();
+        now = Instant.now();
+    }
+
+    @Benchmark
+    public boolean legacyEvaluator() {
+        return legacyWithinWindow(now) && legacyFastValidation(user, filters);
+    }
+
+    @Benchmark
+    public boolean compiledRules() {
+        return rules.isWithinWindow(now.toEpochMilli()) && rules.firstFailedFastRule(user) == null;
+    }
+
+    // --- copy of the evaluator that walked the raw filter maps per request ---
+
+    private boolean legacyWithinWindow(Instant instant) {
+        LocalDateTime current = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        if (startDate != null && current.isBefore(startDate)) {
+            return false;
+        }
+        return endDate == null || !current.isAfter(endDate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean legacyFastValidation(UserCacheDto userCache, List<Map<String, Object>> filters) {
+        for (Map<String, Object> filter : filters) {
+            if (!"FAST".equals(filter.get("phase"))) {
+                continue;
+            }
+            String type = (String) filter.get("type");
+            String operator = (String) filter.get("operator");
+            List<String> values = (List<String>) filter.get("values");
+            boolean passed = switch (type) {
+                case "AGE" -> legacyAge(userCache.getAge(), operator, values);
+                case "GRADE" -> legacyGrade(userCache.getGrade(), operator, values);
+                default -> false;
+            };
+            if (!passed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean legacyAge(Integer age, String operator, List<String> values) {
+        if (age == null || values == null || values.isEmpty()) {
+            return false;
+        }
+        int first = Integer.parseInt(values.getFirst());
+        return switch (operator) {
+            case "GTE" -> age >= first;
+            case "LTE" -> age <= first;
+            case "BETWEEN" -> values.size() == 2 && first <= age && age <= Integer.parseInt(values.get(1));
+            case "NOT_GTE" -> !(age >= first);
+            case "NOT_LTE" -> !(age <= first);
+            case "NOT_BETWEEN" -> values.size() == 2 && !(first <= age && age <= Integer.parseInt(values.get(1)));
+            default -> false;
+        };
+    }
+
+    private static boolean legacyGrade(Grade grade, String operator, List<String> values) {
+        if (grade == null || values == null || values.isEmpty()) {
+            return false;
+        }
+        return switch (operator) {
+            case "IN" -> values.contains(grade.toString());
+            case "NOT_IN" -> !values.contains(grade.toString());
+            default -> false;
+        };
+    }
+}
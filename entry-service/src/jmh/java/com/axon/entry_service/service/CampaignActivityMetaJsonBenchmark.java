@@ -0,0 +1,74 @@
+package com.axon.entry_service.service;
+
+import com.axon.entry_service.domain.CampaignActivityMeta;
+import com.axon.entry_service.domain.CampaignActivityStatus;
+import com.axon.messaging.CampaignActivityType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Campaign meta JSON as stored in {@code campaign:{id}:meta}: the read on a
+ * near-cache miss (which also compiles the participation rules) and the write
+ * after a core fetch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CampaignActivityMetaJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectReader metaReader;
+    private CampaignActivityMeta meta;
+    private String json;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Spring Boot 기본 ObjectMapper와 같은 설정
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        metaReader = objectMapper.readerFor(CampaignActivityMeta.class);
+        List<Map<String, Object>> filters = List.of(
+                Map.of("phase", "FAST", "type", "AGE", "operator", "BETWEEN", "values", List.of("20", "39")),
+                Map.of("phase", "FAST", "type", "GRADE", "operator", "IN", "values", List.of("GOLD", "VIP", "VVIP")),
+                Map.of("phase", "HEAVY", "type", "RECENT_PURCHASE", "operator", "GTE", "values", List.of("2025-01-01")));
+        meta = new CampaignActivityMeta(42L, 7L, 1000, CampaignActivityStatus.ACTIVE,
+                LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1), filters, true, true, 99L, null,
+                CampaignActivityType.FIRST_COME_FIRST_SERVE);
+        json = objectMapper.writeValueAsString(meta);
+    }
+
+    @Benchmark
+    public CampaignActivityMeta readValue() throws Exception {
+        return objectMapper.readValue(json, CampaignActivityMeta.class);
+    }
+
+    @Benchmark
+    public CampaignActivityMeta boundReader() throws Exception {
+        return metaReader.readValue(json);
+    }
+
+    @Benchmark
+    public String writeValue() throws Exception {
+        return objectMapper.writeValueAsString(meta);
+    }
+}
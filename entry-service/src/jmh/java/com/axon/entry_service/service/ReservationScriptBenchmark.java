@@ -0,0 +1,99 @@
+package com.axon.entry_service.service;
+
+import com.axon.entry_service.domain.ReservationResult;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Compares the legacy SADD/INCR reservation path with the single-call script
+ * path against a real Redis instance.
+ *
+ * <p>Requires a local Redis (override with {@code -Dredis.host} / {@code -Dredis.port}).
+ * Throughput mode reports ops/sec, sample mode reports the latency
+ * distribution including p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(16)
+public class ReservationScriptBenchmark {
+
+    private static final long ACTIVITY_ID = 9_000_001L;
+    private static final int SOLD_OUT_LIMIT = 100;
+
+    /**
+     * {@code available}: every call reserves a fresh user with stock left.
+     * {@code soldOut}: the limit is already reached, so the legacy path pays
+     * for the compensating SREM/DECR.
+     */
+    @Param({"available", "soldOut"})
+    public String scenario;
+
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private EntryReservationService reservationService;
+    private Integer limitCount;
+    private final AtomicLong userSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void connect() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        reservationService = new EntryReservationService(
+                redisTemplate, event -> { }, new ShardedStockService(redisTemplate),
+                null); // the raw paths below never touch the sold-out registry
+        limitCount = "soldOut".equals(scenario) ? SOLD_OUT_LIMIT : null;
+    }
+
+    @Setup(Level.Iteration)
+    public void resetKeys() {
+        redisTemplate.delete(java.util.List.of(
+                "campaign:%d:users".formatted(ACTIVITY_ID),
+                "campaign:%d:counter".formatted(ACTIVITY_ID)));
+        if (limitCount != null) {
+            redisTemplate.opsForValue().set("campaign:%d:counter".formatted(ACTIVITY_ID),
+                    String.valueOf(limitCount));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public ReservationResult legacyCommands() {
+        return reservationService.reserveWithCommands(ACTIVITY_ID, userSequence.incrementAndGet(), limitCount);
+    }
+
+    @Benchmark
+    public ReservationResult atomicScript() {
+        return reservationService.reserveWithScript(ACTIVITY_ID, userSequence.incrementAndGet(), limitCount);
+    }
+}
@@ -32,6 +32,7 @@ public class BehaviorEventAdapter {
         String syntheticUrl = generateApprovedUrl(event.campaignActivityId());
         Map<String, Object> properties = new HashMap<>();
         properties.put("activityId", event.campaignActivityId());
+        // Shard-local when stock is sharded: repeats across shards, not a global rank
         properties.put("order", event.order());
         properties.put("source", "backend");
 
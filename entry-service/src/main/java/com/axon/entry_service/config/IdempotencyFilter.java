@@ -0,0 +1,283 @@
+package com.axon.entry_service.config;
+
+import com.axon.entry_service.service.IdempotencyStore;
+import com.axon.entry_service.service.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * {@code Idempotency-Key} support for the entry, coupon and payment endpoints.
+ *
+ * <p>The first request with a key runs normally and its response is stored in
+ * {@link IdempotencyStore}; a retry with the same key (per user and endpoint) gets that
+ * response back with {@code Idempotent-Replayed: true} and does not reserve, publish or
+ * confirm again. A duplicate that arrives while the first request is still running waits
+ * for it (up to {@code axon.idempotency.wait-timeout}, then 409 with {@code Retry-After}).
+ * The stored response carries a SHA-256 of the request body; reusing a key with a different
+ * body is answered with 422 instead of the other request's response.
+ *
+ * <p>5xx and 429 responses are not stored, so the retry runs the request again. Requests
+ * without the header, without an authenticated user or while Redis is unavailable are
+ * passed through unchanged.
+ */
+@Slf4j
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private final IdempotencyStore store;
+    private final List<String> paths;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+    private final Counter replayed;
+    private final Counter waitTimeouts;
+    private final Counter mismatches;
+
+    public IdempotencyFilter(IdempotencyStore store, MeterRegistry meterRegistry,
+                             @Value("${axon.idempotency.paths:/entry/api/v1/entries,/entry/api/v1/entries/coupon,/entry/api/v1/payments/prepare,/entry/api/v1/payments/confirm}") List<String> paths,
+                             @Value("${axon.idempotency.wait-timeout:5s}") Duration waitTimeout,
+                             @Value("${axon.idempotency.poll-interval:20ms}") Duration pollInterval) {
+        this.store = store;
+        this.paths = paths;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+        this.replayed = Counter.builder("axon.idempotency.replayed")
+                .description("Requests answered from a stored Idempotency-Key response")
+                .register(meterRegistry);
+        this.waitTimeouts = Counter.builder("axon.idempotency.wait.timeout")
+                .description("Duplicate requests rejected while the first one was still running")
+                .register(meterRegistry);
+        this.mismatches = Counter.builder("axon.idempotency.mismatch")
+                .description("Requests rejected because their Idempotency-Key was used with a different body")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+                || !paths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (!StringUtils.hasText(idempotencyKey) || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + IDEMPOTENCY_KEY_HEADER);
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = KEY_PREFIX + authentication.getName() + ":" + request.getRequestURI() + ":" + idempotencyKey;
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        byte[] requestHash = sha256(cachedRequest.body);
+
+        StoredResponse previous;
+        try {
+            previous = awaitTurn(key);
+        } catch (DataAccessException e) {
+            log.warn("Idempotency store unavailable, processing request without it: {}", e.getMessage());
+            chain.doFilter(cachedRequest, response);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        if (previous == null) {
+            runAndStore(key, requestHash, cachedRequest, response, chain);
+        } else if (previous.inFlight()) {
+            waitTimeouts.increment();
+            response.setStatus(HttpStatus.CONFLICT.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        } else if (!previous.matches(requestHash)) {
+            mismatches.increment();
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    IDEMPOTENCY_KEY_HEADER + " was already used with a different request body");
+        } else {
+            replay(previous, response);
+        }
+    }
+
+    /**
+     * @return {@code null} once this request owns the key, the stored response of an earlier
+     *         request, or {@link StoredResponse#IN_FLIGHT} if the earlier request is still
+     *         running after {@code wait-timeout}
+     */
+    private StoredResponse awaitTurn(String key) throws InterruptedException {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            if (store.tryClaim(key)) {
+                return null;
+            }
+            StoredResponse stored = store.find(key);
+            if (stored != null && !stored.inFlight()) {
+                return stored;
+            }
+            if (System.nanoTime() >= deadline) {
+                return StoredResponse.IN_FLIGHT;
+            }
+            // in flight on this or another pod; a null means it was just released, so claim again right away
+            if (stored != null) {
+                Thread.sleep(pollInterval.toMillis());
+            }
+        }
+    }
+
+    private void runAndStore(String key, byte[] requestHash, HttpServletRequest request, HttpServletResponse response,
+                             FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            int status = wrapper.getStatus();
+            if (status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                stored = storeQuietly(key, new StoredResponse(status, wrapper.getContentType(),
+                        wrapper.getContentAsByteArray(), requestHash));
+            }
+        } finally {
+            if (!stored) {
+                releaseQuietly(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean storeQuietly(String key, StoredResponse response) {
+        try {
+            store.complete(key, response);
+            return true;
+        } catch (DataAccessException e) {
+            // the request itself has run; only its replay is lost
+            log.warn("Could not store idempotent response for {}: {}", key, e.getMessage());
+            return false;
+        }
+    }
+
+    private void releaseQuietly(String key) {
+        try {
+            store.release(key);
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key {}; it expires with the in-flight TTL", key);
+        }
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static byte[] sha256(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Reads the request body once, so it can be hashed before the request runs and still be
+     * read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Async reads are not supported");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.axon.entry_service.config;
 
+import com.axon.messaging.codec.CampaignActivityCommandDeserializer;
+import com.axon.messaging.codec.CampaignActivityCommandSerializer;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,10 +15,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @EnableKafka
@@ -22,19 +29,54 @@ public class KafkaConfig {
 
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String broker_port;
+
+    // binary: CampaignActivityKafkaProducerDto as CampaignActivityCommandCodec records, json: JSON for everything
+    @Value("${axon.kafka.command-codec:binary}")
+    private String commandCodec;
+
+    /**
+     * Serializer for campaign activity commands in the compact binary layout.
+     *
+     * @return a serializer writing {@link com.axon.messaging.codec.CampaignActivityCommandCodec} records
+     */
+    @Bean
+    public CampaignActivityCommandSerializer campaignActivityCommandSerializer() {
+        return new CampaignActivityCommandSerializer();
+    }
+
     /**
-     * Create a ProducerFactory configured for String keys and JSON-serialized values using the configured broker address.
+     * Deserializer accepting binary campaign activity commands and falling back to JSON for anything else.
      *
-     * @return a ProducerFactory that produces String-keyed, JSON-valued Kafka producers configured with the application's broker address
+     * @return a deserializer that reads both encodings, so JSON and binary producers can coexist
+     */
+    @Bean
+    public CampaignActivityCommandDeserializer campaignActivityCommandDeserializer() {
+        JsonDeserializer<Object> json = new JsonDeserializer<>();
+        json.addTrustedPackages("*");
+        return new CampaignActivityCommandDeserializer(json);
+    }
+
+    /**
+     * Create a ProducerFactory configured for String keys using the configured broker address.
+     * Campaign activity commands are written with the binary codec (unless {@code axon.kafka.command-codec=json}),
+     * raw bytes (commands the outbox journaled already encoded) as they are, and every other value is JSON-serialized.
+     *
+     * @return a ProducerFactory that produces String-keyed Kafka producers configured with the application's broker address
      */
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> data = new HashMap<>();
         data.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker_port);
-        data.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        data.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
 
-        return new DefaultKafkaProducerFactory<>(data);
+        Map<Class<?>, Serializer<?>> serializers = new LinkedHashMap<>();
+        if ("binary".equalsIgnoreCase(commandCodec)) {
+            serializers.put(CampaignActivityKafkaProducerDto.class, campaignActivityCommandSerializer());
+        }
+        serializers.put(byte[].class, new ByteArraySerializer());
+        serializers.put(Object.class, new JsonSerializer<>());
+
+        return new DefaultKafkaProducerFactory<>(data, new StringSerializer(),
+                new DelegatingByTypeSerializer(serializers, true));
     }
 
     /**
@@ -48,25 +90,23 @@ public class KafkaConfig {
     }
 
     /**
-     * Create a ConsumerFactory<String, Object> configured for JSON value deserialization.
+     * Create a ConsumerFactory<String, Object> configured for binary command and JSON value deserialization.
      *
      * The factory is configured to connect to the broker at {@code broker_port}, use the consumer group
      * id "axon-group", use {@link org.apache.kafka.common.serialization.StringDeserializer} for keys,
-     * and a {@link org.springframework.kafka.support.serializer.JsonDeserializer} for values with all
-     * packages trusted.
+     * and a {@link CampaignActivityCommandDeserializer} for values that falls back to a
+     * {@link org.springframework.kafka.support.serializer.JsonDeserializer} with all packages trusted.
      *
      * @return a {@code DefaultKafkaConsumerFactory<String,Object>} with the described key and value deserializers
      */
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
-        JsonDeserializer<Object> deserializer = new JsonDeserializer<>();
-        deserializer.addTrustedPackages("*");
+        CampaignActivityCommandDeserializer deserializer = campaignActivityCommandDeserializer();
 
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker_port);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, "axon-group");
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, deserializer);
 
         return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), deserializer);
     }
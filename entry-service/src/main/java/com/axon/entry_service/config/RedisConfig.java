@@ -1,20 +1,31 @@
 package com.axon.entry_service.config;
 
+import com.axon.entry_service.config.redis.PaymentApprovalPayloadCodec;
+import com.axon.entry_service.config.redis.ReservationTokenPayloadCodec;
+import com.axon.messaging.codec.CompactRedisSerializer;
+import com.axon.messaging.codec.UserCacheDtoCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 public class RedisConfig {
+
+    // false: registered types are still read in binary but written as JSON (roll out readers first)
+    @Value("${axon.redis.compact-values:true}")
+    private boolean writeCompactValues;
+
     /**
      * Configure and provide a RedisTemplate<String, Object> that uses string serialization for keys
-     * and JSON serialization for values.
+     * and compact binary (registered types) or JSON serialization for values.
      *
-     * @return a RedisTemplate configured to serialize keys and hash keys as strings and values and hash values as JSON
+     * @return a RedisTemplate configured to serialize keys and hash keys as strings and values and hash values with {@link #compactValueSerializer()}
      */
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
@@ -24,14 +35,29 @@ public class RedisConfig {
         //Key -> String으로 직렬화
         redisTemplate.setKeySerializer(new StringRedisSerializer());
 
-        // Value는 JSON으로 직렬화 (객체 지정을 위함)
-        redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Value는 등록된 타입(토큰 payload, UserCacheDto)은 바이너리, 그 외는 JSON으로 직렬화 (객체 지정을 위함)
+        RedisSerializer<Object> valueSerializer = compactValueSerializer();
+        redisTemplate.setValueSerializer(valueSerializer);
 
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        redisTemplate.setHashValueSerializer(valueSerializer);
         return redisTemplate;
     }
 
+    /**
+     * Value serializer storing token payloads and the user cache in the compact binary layout and
+     * everything else as JSON; legacy JSON values of the registered types are still readable.
+     *
+     * @return a CompactRedisSerializer with a GenericJackson2JsonRedisSerializer fallback
+     */
+    @Bean
+    public CompactRedisSerializer compactValueSerializer() {
+        return new CompactRedisSerializer(new GenericJackson2JsonRedisSerializer(), writeCompactValues)
+                .register(new UserCacheDtoCodec())
+                .register(new ReservationTokenPayloadCodec())
+                .register(new PaymentApprovalPayloadCodec());
+    }
+
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
@@ -0,0 +1,155 @@
+package com.axon.entry_service.config.auth;
+
+import com.axon.messaging.topic.RedisChannels;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the authentication built from a verified JWT until the token expires, keyed by the
+ * SHA-256 of the token, so a token is parsed and signature-checked once per pod instead of
+ * twice per request.
+ *
+ * <p>Tokens revoked on logout arrive over {@link RedisChannels#JWT_REVOCATION}; the sorted set
+ * {@code jwt:revoked} (score = token expiry) is read at startup so a pod started after a
+ * logout still rejects the token.
+ */
+@Slf4j
+@Component
+public class JwtAuthenticationCache implements MessageListener {
+
+    static final String REVOKED_KEY = "jwt:revoked";
+
+    private record CachedAuthentication(Authentication authentication, long expiresAtMillis) {
+    }
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<String, CachedAuthentication> authentications;
+    private final Cache<String, Long> revokedTokens;
+
+    public JwtAuthenticationCache(JwtTokenProvider jwtTokenProvider,
+                                  StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  @Value("${axon.jwt-cache.max-size:100000}") long maxSize) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.authentications = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(expiringAt(CachedAuthentication::expiresAtMillis))
+                .build();
+        this.revokedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(expiringAt(Long::longValue))
+                .build();
+    }
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisChannels.JWT_REVOCATION));
+        try {
+            Set<ZSetOperations.TypedTuple<String>> revoked = redisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(REVOKED_KEY, System.currentTimeMillis(), Double.MAX_VALUE);
+            if (revoked != null) {
+                revoked.forEach(tuple -> markRevoked(tuple.getValue(), tuple.getScore().longValue()));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load revoked JWTs from Redis", e);
+        }
+    }
+
+    /**
+     * Resolves the authentication for a token, verifying it only on the first sighting.
+     *
+     * @param token the JWT compact-serialization string
+     * @return a fresh Authentication for this request, or {@code null} if the token is invalid, expired or revoked
+     */
+    public Authentication authenticate(String token) {
+        String tokenHash = hash(token);
+        if (revokedTokens.getIfPresent(tokenHash) != null) {
+            return null;
+        }
+        CachedAuthentication cached = authentications.getIfPresent(tokenHash);
+        if (cached == null || cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            Claims claims = jwtTokenProvider.verifyClaims(token);
+            if (claims == null) {
+                return null;
+            }
+            Authentication authentication = jwtTokenProvider.getAuthentication(claims);
+            if (claims.getExpiration() == null) {
+                return authentication;
+            }
+            cached = new CachedAuthentication(authentication, claims.getExpiration().getTime());
+            authentications.put(tokenHash, cached);
+        }
+        // 요청마다 새 인스턴스를 넘겨 SecurityContext 간 공유를 막는다
+        Authentication authentication = cached.authentication();
+        return new UsernamePasswordAuthenticationToken(
+                authentication.getPrincipal(), authentication.getCredentials(), authentication.getAuthorities());
+    }
+
+    /**
+     * Stops accepting a token on this pod until it expires.
+     *
+     * @param tokenHash       the SHA-256 hex of the token
+     * @param expiresAtMillis the token expiry in epoch millis
+     */
+    public void markRevoked(String tokenHash, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedTokens.put(tokenHash, expiresAtMillis);
+        authentications.invalidate(tokenHash);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed JWT revocation message: {}", body);
+            return;
+        }
+        try {
+            markRevoked(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed JWT revocation message: {}", body);
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static <V> Expiry<String, V> expiringAt(ToLongFunction<V> expiresAtMillis) {
+        return Expiry.creating((key, value) ->
+                Duration.ofMillis(Math.max(0, expiresAtMillis.applyAsLong(value) - System.currentTimeMillis())));
+    }
+}
@@ -24,13 +24,13 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
     public static final String AUTHORIZATION_HEADER = "Authorization";
     public static final String BEARER_PREFIX = "Bearer ";
     public static final String ACCESS_TOKEN_COOKIE_NAME = "accessToken";
-    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     /**
      * Populates the security context with an Authentication derived from a valid JWT on the incoming request.
      *
      * <p>Extracts a JWT from the Authorization header (Bearer) or the "accessToken" cookie, validates it using
-     * the JwtTokenProvider, and sets the resulting Authentication into SecurityContextHolder when valid.
+     * the JwtAuthenticationCache (verified once per token, then cached until expiry), and sets the resulting Authentication into SecurityContextHolder when valid.
      * The filter chain is always continued regardless of token presence or validity.</p>
      */
     @Override
@@ -39,8 +39,8 @@ public class JwtAuthenticationFilter extends GenericFilterBean {
         String jwt = resolveToken(httpServletRequest);
         String requestURI = httpServletRequest.getRequestURI();
 
-        if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-            Authentication authentication = jwtTokenProvider.getAuthentication(jwt);
+        Authentication authentication = StringUtils.hasText(jwt) ? jwtAuthenticationCache.authenticate(jwt) : null;
+        if (authentication != null) {
             SecurityContextHolder.getContext().setAuthentication(authentication);
             logger.info("Security Context에 '" + authentication.getName() + "' 인증 정보를 저장했습니다, uri: " + requestURI);
         } else {
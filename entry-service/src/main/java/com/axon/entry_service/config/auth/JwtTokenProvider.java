@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
 public class JwtTokenProvider {
 
     private final SecretKey key;
+    private final JwtParser jwtParser;
 
     // Token 만료 시간
     private static final long ACCESS_TOKEN_EXPIRE_TIME = 30 * 60 * 1000L; // 30분
@@ -36,6 +37,7 @@ public class JwtTokenProvider {
     public JwtTokenProvider(@Value("${jwt.secret}") String secretKey) {
         byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser().verifyWith(key).build();
     }
 
     /**
@@ -137,8 +139,17 @@ public class JwtTokenProvider {
      * @throws RuntimeException if the token does not contain an "auth" claim
      */
     public Authentication getAuthentication(String accessToken) {
-        Claims claims = parseClaims(accessToken);
+        return getAuthentication(parseClaims(accessToken));
+    }
 
+    /**
+     * Builds an Authentication from already verified claims.
+     *
+     * @param claims the token claims containing the subject and an "auth" claim
+     * @return an Authentication whose principal is the token subject and whose authorities come from the "auth" claim
+     * @throws RuntimeException if the claims do not contain an "auth" claim
+     */
+    public Authentication getAuthentication(Claims claims) {
         if (claims.get("auth") == null) {
             throw new RuntimeException("권한 정보가 없는 토큰입니다.");
         }
@@ -159,9 +170,18 @@ public class JwtTokenProvider {
      * @return `true` if the token is valid and not expired, `false` otherwise
      */
     public boolean validateToken(String token) {
+        return verifyClaims(token) != null;
+    }
+
+    /**
+     * Verify a JWT's signature and expiry once and return its claims.
+     *
+     * @param token the JWT compact-serialization string to verify
+     * @return the verified claims, or {@code null} if the token is invalid or expired
+     */
+    public Claims verifyClaims(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-            return true;
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("잘못된 JWT 서명입니다.");
         } catch (ExpiredJwtException e) {
@@ -171,7 +191,7 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException e) {
             log.info("JWT 토큰이 잘못되었습니다.");
         }
-        return false;
+        return null;
     }
 
     /**
@@ -182,7 +202,7 @@ public class JwtTokenProvider {
      */
     private Claims parseClaims(String accessToken) {
         try {
-            return Jwts.parser().verifyWith(key).build().parseSignedClaims(accessToken).getPayload();
+            return jwtParser.parseSignedClaims(accessToken).getPayload();
         } catch (ExpiredJwtException e) {
             return e.getClaims();
         }
@@ -1,5 +1,6 @@
 package com.axon.entry_service.config.auth;
 
+import com.axon.entry_service.config.IdempotencyFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -19,21 +20,21 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
 
     @Value("${axon.core-service.base-url:http://localhost:8080}")
     private String coreServiceUrl;
 
     /**
      * Create a JwtAuthenticationFilter configured with the injected
-     * JwtTokenProvider.
+     * JwtAuthenticationCache.
      *
      * @return a JwtAuthenticationFilter initialized with the configured
-     *         JwtTokenProvider
+     *         JwtAuthenticationCache
      */
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter(jwtTokenProvider);
+        return new JwtAuthenticationFilter(jwtAuthenticationCache);
     }
 
     /**
@@ -42,15 +43,15 @@ public class SecurityConfig {
      * with specific methods, headers, and credentials enabled for all paths.
      *
      * @return a CorsConfigurationSource that allows origin http://localhost:8080;
-     *         methods GET, POST, PUT, DELETE, OPTIONS; headers Authorization and
-     *         Content-Type; credentials enabled; registered for /**.
+     *         methods GET, POST, PUT, DELETE, OPTIONS; headers Authorization,
+     *         Content-Type and Idempotency-Key; credentials enabled; registered for /**.
      */
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of(coreServiceUrl)); // core-service의 출처 허용
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", IdempotencyFilter.IDEMPOTENCY_KEY_HEADER));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -61,7 +62,8 @@ public class SecurityConfig {
      * Configures and builds the application's security filter chain: applies CORS,
      * disables HTTP Basic and CSRF,
      * sets stateless session management, permits behavior tracking and test endpoints,
-     * requires authentication for "/api/v1/entries", and permits all other requests,
+     * requires authentication for "/api/v1/entries", ROLE_ADMIN for "/api/v1/admin/**",
+     * and permits all other requests,
      * and registers the provided JWT authentication filter before the
      * username/password filter.
      *
@@ -78,11 +80,13 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers("/api/v1/behavior/events", "/entry/api/v1/behavior/events").permitAll() // Behavior tracking (frontend JS)
+                        .requestMatchers("/api/v1/behavior/events/**", "/entry/api/v1/behavior/events/**").permitAll() // Behavior tracking (frontend JS)
                         .requestMatchers("/api/v1/test/**", "/entry/api/v1/test/**").permitAll() // Test endpoints (!prod only)
                         .requestMatchers("/actuator/health").permitAll() // Health checks
                         .requestMatchers("/api/v1/entries", "/entry/api/v1/entries").authenticated() // FCFS entry endpoint
+                        .requestMatchers("/api/v1/queue/**", "/entry/api/v1/queue/**").authenticated() // Waiting room
                         .requestMatchers("/api/v1/payments/**", "/entry/api/v1/payments/**").authenticated() // Payment endpoints
+                        .requestMatchers("/api/v1/admin/**", "/entry/api/v1/admin/**").hasRole("ADMIN") // Operator endpoints (waiting room rate)
                         .anyRequest().permitAll()) // Allow other requests
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
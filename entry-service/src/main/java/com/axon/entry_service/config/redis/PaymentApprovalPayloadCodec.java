@@ -0,0 +1,52 @@
+package com.axon.entry_service.config.redis;
+
+import com.axon.entry_service.dto.Payment.PaymentApprovalPayload;
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.codec.CompactInput;
+import com.axon.messaging.codec.CompactOutput;
+import com.axon.messaging.codec.CompactValueCodec;
+
+/**
+ * {@code PAYMENT_APPROVED_TOKEN:<userId>:<activityId>} values (2차 토큰).
+ */
+public class PaymentApprovalPayloadCodec implements CompactValueCodec<PaymentApprovalPayload> {
+
+    public static final int TYPE_ID = 3;
+
+    private static final CampaignActivityType[] TYPES = CampaignActivityType.values();
+
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<PaymentApprovalPayload> type() {
+        return PaymentApprovalPayload.class;
+    }
+
+    @Override
+    public void write(PaymentApprovalPayload value, CompactOutput out) {
+        out.writeLong(value.getUserId())
+                .writeLong(value.getCampaignActivityId())
+                .writeLong(value.getProductId())
+                .writeEnum(value.getCampaignActivityType())
+                .writeInt(value.getQuantity())
+                .writeString(value.getReservationToken());
+    }
+
+    @Override
+    public PaymentApprovalPayload read(CompactInput in, int version) {
+        // 새 레이아웃으로 쓰인 값을 잘못 읽지 않도록 모르는 버전은 거절한다
+        if (version != 1) {
+            throw new IllegalArgumentException("Unsupported PaymentApprovalPayload layout version " + version);
+        }
+        return new PaymentApprovalPayload(in.readLong(), in.readLong(), in.readLong(), in.readEnum(TYPES),
+                in.readInt(), in.readString());
+    }
+}
@@ -0,0 +1,50 @@
+package com.axon.entry_service.config.redis;
+
+import com.axon.entry_service.dto.Payment.ReservationTokenPayload;
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.codec.CompactInput;
+import com.axon.messaging.codec.CompactOutput;
+import com.axon.messaging.codec.CompactValueCodec;
+
+/**
+ * {@code RESERVATION_TOKEN:<token>} values (1차 토큰).
+ */
+public class ReservationTokenPayloadCodec implements CompactValueCodec<ReservationTokenPayload> {
+
+    public static final int TYPE_ID = 2;
+
+    private static final CampaignActivityType[] TYPES = CampaignActivityType.values();
+
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<ReservationTokenPayload> type() {
+        return ReservationTokenPayload.class;
+    }
+
+    @Override
+    public void write(ReservationTokenPayload value, CompactOutput out) {
+        out.writeLong(value.getUserId())
+                .writeLong(value.getCampaignActivityId())
+                .writeLong(value.getProductId())
+                .writeEnum(value.getCampaignActivityType())
+                .writeInt(value.getQuantity());
+    }
+
+    @Override
+    public ReservationTokenPayload read(CompactInput in, int version) {
+        // 새 레이아웃으로 쓰인 값을 잘못 읽지 않도록 모르는 버전은 거절한다
+        if (version != 1) {
+            throw new IllegalArgumentException("Unsupported ReservationTokenPayload layout version " + version);
+        }
+        return new ReservationTokenPayload(in.readLong(), in.readLong(), in.readLong(), in.readEnum(TYPES), in.readInt());
+    }
+}
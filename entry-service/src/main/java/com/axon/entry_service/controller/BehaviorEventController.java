@@ -1,13 +1,23 @@
 package com.axon.entry_service.controller;
 
 import com.axon.entry_service.domain.behavior.UserBehaviorEvent;
+import com.axon.entry_service.dto.BehaviorEventBatchResponse;
 import com.axon.entry_service.dto.BehaviorEventRequest;
+import com.axon.entry_service.service.behavior.BehaviorEventIngestionPolicy;
 import com.axon.entry_service.service.behavior.BehaviorEventPublisher;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import java.time.Instant;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,9 +27,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.axon.entry_service.domain.CampaignActivityMeta;
-import com.axon.entry_service.service.CampaignActivityMetaService;
+import com.axon.entry_service.service.behavior.ActivityCampaignIndex;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -29,7 +40,13 @@ import java.util.Map;
 public class BehaviorEventController {
 
     private final BehaviorEventPublisher publisher;
-    private final CampaignActivityMetaService metaService;
+    private final ActivityCampaignIndex activityCampaignIndex;
+    private final BehaviorEventIngestionPolicy ingestionPolicy;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${axon.behavior.batch.max-events:100}")
+    private int maxBatchEvents;
 
     /**
      * Accepts a behavior event request, builds a UserBehaviorEvent enriched with user and HTTP metadata, and publishes it for processing.
@@ -43,13 +60,93 @@ public class BehaviorEventController {
     public ResponseEntity<Void> recordBehaviorEvent(@Valid @RequestBody BehaviorEventRequest request,
                                                     @AuthenticationPrincipal UserDetails userDetails,
                                                     HttpServletRequest servletRequest) {
-        log.info("recordBehaviorEvent request={}", request);
+        log.debug("recordBehaviorEvent request={}", request);
         Long userId = resolveUserId(request, userDetails);
         
         Map<String, Object> enrichedProperties = new HashMap<>(request.getProperties());
         enrichWithCampaignId(enrichedProperties);
 
-        UserBehaviorEvent event = UserBehaviorEvent.builder()
+        UserBehaviorEvent event = toEvent(request, userId, extractUserAgent(servletRequest), enrichedProperties);
+        if (ingestionPolicy.admit(event)) {
+            publisher.publish(event);
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Accepts a batch of behavior events in one request: a JSON array of events or an object with an
+     * {@code events} array, sent as {@code application/json} or as {@code text/plain} (navigator.sendBeacon).
+     * The caller is authenticated once, campaign metas are looked up once for all events and the valid
+     * events are published together; invalid events are reported by index without failing the batch.
+     * {@code accepted} counts the events actually published, after {@link BehaviorEventIngestionPolicy};
+     * valid events the policy left out are counted in {@code dropped}.
+     *
+     * @param body           the raw request body
+     * @param userDetails    the authenticated principal (may be null); applies to every event of the batch
+     * @param servletRequest the servlet request used to extract HTTP metadata (for example, the User-Agent header)
+     * @return HTTP 202 with the accepted and dropped counts and the rejected events, 400 for a malformed body,
+     *         or 413 if the batch has more than {@code axon.behavior.batch.max-events} events
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<BehaviorEventBatchResponse> recordBehaviorEvents(@RequestBody String body,
+                                                                           @AuthenticationPrincipal UserDetails userDetails,
+                                                                           HttpServletRequest servletRequest) {
+        JsonNode events;
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            events = root != null && root.isObject() ? root.get("events") : root;
+        } catch (JsonProcessingException e) {
+            events = null;
+        }
+        if (events == null || !events.isArray()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (events.size() > maxBatchEvents) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        List<BehaviorEventRequest> requests = new ArrayList<>(events.size());
+        List<BehaviorEventBatchResponse.Rejected> rejected = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            BehaviorEventRequest request = null;
+            List<String> errors = new ArrayList<>();
+            try {
+                request = objectMapper.treeToValue(events.get(i), BehaviorEventRequest.class);
+                for (ConstraintViolation<BehaviorEventRequest> violation : validator.validate(request)) {
+                    errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+                }
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                errors.add("malformed event");
+            }
+            if (errors.isEmpty()) {
+                requests.add(request);
+            } else {
+                rejected.add(new BehaviorEventBatchResponse.Rejected(i, errors));
+            }
+        }
+
+        String userAgent = extractUserAgent(servletRequest);
+        List<UserBehaviorEvent> valid = new ArrayList<>(requests.size());
+        for (BehaviorEventRequest request : requests) {
+            Map<String, Object> properties = request.getProperties() == null ? new HashMap<>() : new HashMap<>(request.getProperties());
+            enrichWithCampaignId(properties);
+            valid.add(toEvent(request, resolveUserId(request, userDetails), userAgent, properties));
+        }
+
+        List<UserBehaviorEvent> accepted = ingestionPolicy.filter(valid);
+        publisher.publishAll(accepted);
+        int dropped = valid.size() - accepted.size();
+        log.debug("recordBehaviorEvents accepted={} dropped={} rejected={}", accepted.size(), dropped, rejected.size());
+        return ResponseEntity.accepted().body(BehaviorEventBatchResponse.builder()
+                .accepted(accepted.size())
+                .dropped(dropped)
+                .rejected(rejected)
+                .build());
+    }
+
+    private UserBehaviorEvent toEvent(BehaviorEventRequest request, Long userId, String userAgent,
+                                      Map<String, Object> properties) {
+        return UserBehaviorEvent.builder()
                 .eventId(request.getEventId())
                 .eventName(request.getEventName())
                 .triggerType(request.getTriggerType())
@@ -58,35 +155,40 @@ public class BehaviorEventController {
                 .sessionId(request.getSessionId())
                 .pageUrl(request.getPageUrl())
                 .referrer(request.getReferrer())
-                .userAgent(extractUserAgent(servletRequest))
-                .properties(enrichedProperties)
+                .userAgent(userAgent)
+                .properties(properties)
                 .build();
-
-        publisher.publish(event);
-        return ResponseEntity.accepted().build();
     }
 
+    /**
+     * Adds {@code campaignId} from the local index; never blocks on I/O. Events for an activity the
+     * index has not learned yet go out without it.
+     */
     private void enrichWithCampaignId(Map<String, Object> properties) {
-        if (properties != null && properties.containsKey("activityId")) {
-            try {
-                Object activityIdObj = properties.get("activityId");
-                Long activityId = null;
-                if (activityIdObj instanceof Number) {
-                    activityId = ((Number) activityIdObj).longValue();
-                } else if (activityIdObj instanceof String) {
-                    activityId = Long.parseLong((String) activityIdObj);
-                }
+        Long campaignId = activityCampaignIndex.campaignIdOf(activityIdOf(properties));
+        if (campaignId != null) {
+            properties.put("campaignId", campaignId);
+        }
+    }
 
-                if (activityId != null) {
-                    CampaignActivityMeta meta = metaService.getMeta(activityId);
-                    if (meta != null && meta.campaignId() != null) {
-                        properties.put("campaignId", meta.campaignId());
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("Failed to enrich event with campaignId", e);
+    /**
+     * Reads the {@code activityId} event property, sent by the frontend as a number or a string.
+     *
+     * @return the activity id, or {@code null} if absent or not numeric
+     */
+    private Long activityIdOf(Map<String, Object> properties) {
+        Object activityIdObj = properties == null ? null : properties.get("activityId");
+        if (activityIdObj instanceof Number number) {
+            return number.longValue();
+        }
+        if (activityIdObj instanceof String text) {
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return null;
             }
         }
+        return null;
     }
 
     /**
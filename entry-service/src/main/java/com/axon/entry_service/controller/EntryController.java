@@ -4,9 +4,9 @@ import com.axon.entry_service.domain.CampaignActivityMeta;
 import com.axon.entry_service.domain.CampaignActivityStatus;
 import com.axon.entry_service.domain.ReservationResult;
 import com.axon.entry_service.domain.ReservationStatus;
-import com.axon.entry_service.dto.CouponRequestDto;
 import com.axon.entry_service.dto.EntryRequestDto;
 import com.axon.entry_service.dto.Payment.PaymentConfirmationResponse;
+import com.axon.entry_service.dto.Payment.PendingReservationToken;
 import com.axon.entry_service.dto.Payment.ReservationTokenPayload;
 import com.axon.entry_service.service.*;
 import com.axon.entry_service.service.Payment.ReservationTokenService;
@@ -15,6 +15,7 @@ import com.axon.messaging.CampaignActivityType;
 import com.axon.messaging.dto.validation.ValidationResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -36,6 +37,9 @@ public class EntryController {
     private final FastValidationService fastValidationService;
     private final ReservationTokenService reservationTokenService;
     private final CouponEntryService couponEntryService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final WaitingRoomService waitingRoomService;
+    private final EntryStageMetrics entryStageMetrics;
 
     @PostMapping("/coupon")
     public ResponseEntity<?> issueCoupon(@RequestBody EntryRequestDto requestDto,
@@ -43,11 +47,22 @@ public class EntryController {
             @AuthenticationPrincipal UserDetails userDetails) {
         long campaignActivityId = requestDto.getCampaignActivityId();
         long userId = Long.parseLong(userDetails.getUsername());
+        Instant now = Instant.now();
+
+        // 소진/종료된 쿠폰은 Redis, Core 호출 없이 즉시 거절
+        SoldOutRegistry.Flag flag = soldOutRegistry.flagOf(campaignActivityId);
+        if (flag == SoldOutRegistry.Flag.SOLD_OUT) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        if (flag == SoldOutRegistry.Flag.CLOSED) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
         CampaignActivityMeta meta = campaignActivityMetaService.getMeta(campaignActivityId);
         if (meta == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
-        if (!meta.isParticipatableTime(Instant.now())) {
+        if (!meta.isParticipatableTime(now)) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(PaymentConfirmationResponse.failure(ReservationResult.error(), "쿠폰 발급 기간이 아닙니다."));
         }
@@ -68,7 +83,7 @@ public class EntryController {
         }
         // 무거운 검증 (Core API)
         if (meta.hasHeavyValidation()) {
-            ValidationResponse response = coreValidationService.isEligible(token, campaignActivityId);
+            ValidationResponse response = coreValidationService.isEligible(token, campaignActivityId, userId);
             if (!response.isEligible()) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
                         PaymentConfirmationResponse.failure(ReservationResult.error(), response.getErrorMessage()));
@@ -83,17 +98,38 @@ public class EntryController {
                     .body(PaymentConfirmationResponse.failure(ReservationResult.error(), "쿠폰 정보가 일치하지 않습니다."));
         }
 
-        CouponRequestDto payload = new CouponRequestDto(userId, meta.id(), meta.couponId(), meta.campaignActivityType());
-
-        // 쿠폰 발급 이벤트 발행 (Kafka)
-        couponEntryService.publishCouponIssue(payload);
+        // 재고 + 중복 확인 (Redis) 후 당첨된 요청만 쿠폰 발급 이벤트 발행 (Kafka)
+        ReservationResult result;
+        try {
+            result = couponEntryService.issue(meta, userId, now);
+        } catch (IllegalStateException e) {
+            log.warn("쿠폰 발급 커맨드 기록에 실패했습니다. userId={}, campaignActivityId={}", userId, campaignActivityId, e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(PaymentConfirmationResponse.failure(ReservationResult.error(), "일시적인 오류로 쿠폰이 발급되지 않았습니다."));
+        }
+        if (result.status() == ReservationStatus.DUPLICATED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        if (result.status() == ReservationStatus.SOLD_OUT) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        if (result.status() == ReservationStatus.CLOSED) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if (!result.isSuccess()) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
 
         return ResponseEntity.ok(PaymentConfirmationResponse.success("COUPON_ISSUED"));
     }
 
     /**
-     * Processes an entry creation request: validates eligibility, attempts an
-     * atomic reservation, and emits a campaign activity event.
+     * Processes an entry creation request: rejects sold-out or closed activities
+     * from the local flag, returns the held reservation token to a user retrying
+     * payment before the waiting-room and validation checks, otherwise validates
+     * eligibility and atomically reserves a slot together with a new token.
+     * Once the activity is flagged, only a caller presenting its own reservation
+     * token ({@code reservationToken}) is looked up in Redis.
      *
      * @param requestDto  the entry request containing campaignActivityId,
      *                    productId, and optional activityType
@@ -101,108 +137,181 @@ public class EntryController {
      *                    eligibility validation
      * @param userDetails the authenticated principal whose username is parsed as
      *                    the numeric userId
+     * @param queueTicket the waiting-room ticket, required only while the
+     *                    activity has a waiting room
      * @return a ResponseEntity with status:
-     *         202 Accepted on successful reservation and event emission;
+     *         200 OK with the reservation token on success, or with the
+     *         existing token (isRetry) when the user already holds one;
      *         404 Not Found if campaign metadata is missing;
      *         400 Bad Request for fast- or heavy-validation failures or when the
      *         activity is closed;
      *         409 Conflict when the entry is duplicated;
      *         410 Gone when the activity is sold out;
+     *         429 Too Many Requests when the waiting-room ticket is missing
+     *         or not admitted yet;
      *         500 Internal Server Error for unexpected reservation failures.
      */
 
     @PostMapping
     public ResponseEntity<?> createEntry(@RequestBody EntryRequestDto requestDto,
             @RequestHeader("Authorization") String token,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        log.info("요청 확인 {}", requestDto);
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestHeader(value = WaitingRoomController.TICKET_HEADER, required = false) String queueTicket) {
+        if (entryStageMetrics.debugSampled(log)) {
+            log.debug("요청 확인 {}", requestDto);
+        }
+        long requestStart = entryStageMetrics.start();
         long campaignActivityId = requestDto.getCampaignActivityId();
         long userId = Long.parseLong(userDetails.getUsername());
         Instant now = Instant.now();
 
         CampaignActivityMeta meta = campaignActivityMetaService.getMeta(campaignActivityId);
+        entryStageMetrics.stop(requestStart, EntryStageMetrics.META, meta == null ? null : meta.campaignActivityType(),
+                meta == null ? EntryStageMetrics.NOT_FOUND : EntryStageMetrics.OK);
         if (meta == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            return finish(requestStart, null, EntryStageMetrics.NOT_FOUND, ResponseEntity.status(HttpStatus.NOT_FOUND).build());
         }
+        CampaignActivityType activityType = meta.campaignActivityType();
 
         // 캠페인 활동 데이터 조작 방어용 검증
         if (meta.productId() != null && !meta.productId().equals(requestDto.getProductId())) {
             log.warn("요청 중에 상품 정보가 일치하지 않는 요청이 있습니다. Meta {} || Request {}", meta.productId(),
                     requestDto.getProductId());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(PaymentConfirmationResponse.failure(ReservationResult.error(), "상품 정보가 일치하지 않습니다."));
+            return finish(requestStart, activityType, EntryStageMetrics.REJECTED, ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(PaymentConfirmationResponse.failure(ReservationResult.error(), "상품 정보가 일치하지 않습니다.")));
         }
 
         CampaignActivityType requestedType = requestDto.getCampaignActivityType() != null
                 ? requestDto.getCampaignActivityType()
                 : CampaignActivityType.FIRST_COME_FIRST_SERVE; // TODO: Default값 바꾸기
-        if (meta.campaignActivityType() != null && !meta.campaignActivityType().equals(requestedType)) {
-            log.warn("요청 정보 중에 캠페인 타입이 다른 요청이 있습니다. Meta {} || Request {}", meta.campaignActivityType(), requestedType);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(PaymentConfirmationResponse.failure(ReservationResult.error(), "캠페인 타입이 일치하지 않습니다."));
+        if (activityType != null && !activityType.equals(requestedType)) {
+            log.warn("요청 정보 중에 캠페인 타입이 다른 요청이 있습니다. Meta {} || Request {}", activityType, requestedType);
+            return finish(requestStart, activityType, EntryStageMetrics.REJECTED, ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(PaymentConfirmationResponse.failure(ReservationResult.error(), "캠페인 타입이 일치하지 않습니다.")));
         }
 
-        // 재결제 용 1차 토큰 검증
-        String deterministicToken = reservationTokenService.generateDeterministicToken(userId, campaignActivityId);
-        Optional<ReservationTokenPayload> existingToken = reservationTokenService
-                .getPayloadFromToken(deterministicToken);
+        // 매진/종료 플래그가 있으면 Redis, Core 호출 없이 즉시 거절
+        long stageStart = entryStageMetrics.start();
+        SoldOutRegistry.Flag flag = soldOutRegistry.flagOf(campaignActivityId);
+        entryStageMetrics.stop(stageStart, EntryStageMetrics.SOLD_OUT_CHECK, activityType,
+                flag == null ? EntryStageMetrics.OK : flag.name());
+
+        stageStart = entryStageMetrics.start();
+        ReservationTokenPayload tokenPayload = ReservationTokenPayload.builder()
+                .userId(userId)
+                .campaignActivityId(meta.id())
+                .productId(meta.productId())
+                .campaignActivityType(activityType)
+                .quantity(requestDto.getQuantity())
+                .build();
+        PendingReservationToken pendingToken = reservationTokenService.prepareToken(tokenPayload);
+        stageStart = entryStageMetrics.stop(stageStart, EntryStageMetrics.TOKEN_PREPARE, activityType, EntryStageMetrics.OK);
 
-        if (existingToken.isPresent()) {
-            // 기존 1차 토큰 존재 → 재결제 시나리오
-            log.info("재결제 시나리오: 기존 1차 토큰 재사용, userId={}, campaignActivityId={}, token={}...", userId,
-                    campaignActivityId, deterministicToken.substring(0, Math.min(10, deterministicToken.length())));
+        // 재결제: 이미 1차 토큰을 가진 사용자는 대기열/검증 스킵하고 기존 토큰 반환.
+        // 매진/종료 후에는 자신의 1차 토큰을 제시한 요청만 Redis에서 확인한다.
+        if (flag == null || reservationTokenService.matchesHeldToken(pendingToken, requestDto.getReservationToken())) {
+            Optional<String> heldToken = reservationTokenService.findRetryToken(pendingToken);
+            entryStageMetrics.stop(stageStart, EntryStageMetrics.RETRY_LOOKUP, activityType,
+                    heldToken.isPresent() ? ReservationStatus.RETRY.name() : EntryStageMetrics.OK);
+            if (heldToken.isPresent()) {
+                if (entryStageMetrics.debugSampled(log)) {
+                    log.debug("재결제 시나리오: 기존 1차 토큰 재사용, userId={}, campaignActivityId={}", userId, campaignActivityId);
+                }
+                return finish(requestStart, activityType, ReservationStatus.RETRY.name(),
+                        ResponseEntity.ok(PaymentConfirmationResponse.successWithRetry(heldToken.get())));
+            }
+        }
+        if (flag == SoldOutRegistry.Flag.SOLD_OUT) {
+            return finish(requestStart, activityType, ReservationStatus.SOLD_OUT.name(), ResponseEntity.status(HttpStatus.GONE).build());
+        }
+        if (flag == SoldOutRegistry.Flag.CLOSED) {
+            return finish(requestStart, activityType, ReservationStatus.CLOSED.name(), ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+        }
 
-            // 검증 스킵, 기존 토큰 그대로 반환 (isRetry=true)
-            return ResponseEntity.ok(PaymentConfirmationResponse.successWithRetry(deterministicToken));
+        stageStart = entryStageMetrics.start();
+        // 대기열이 켜진 활동은 입장 허가된 티켓만 통과
+        boolean admitted = waitingRoomService.isAdmitted(campaignActivityId, userId, queueTicket);
+        entryStageMetrics.stop(stageStart, EntryStageMetrics.WAITING_ROOM, activityType,
+                admitted ? EntryStageMetrics.OK : EntryStageMetrics.REJECTED);
+        if (!admitted) {
+            long retryAfterMillis = waitingRoomService.retryAfterMillis(campaignActivityId, userId, queueTicket);
+            return finish(requestStart, activityType, "QUEUED", ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterMillis / 1000)))
+                    .build());
         }
 
         // 빠른 검증
         if (meta.hasFastValidation()) {
+            stageStart = entryStageMetrics.start();
             try {
                 fastValidationService.fastValidation(userId, meta);
+                entryStageMetrics.stop(stageStart, EntryStageMetrics.FAST_VALIDATION, activityType, EntryStageMetrics.OK);
             } catch (FastValidationException e) {
-                log.info("{}번 사용자가 [빠른검증]: {} 조건에서 실패!", userId, e.getType());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(PaymentConfirmationResponse.failure(ReservationResult.error(), e.getMessage()));
+                entryStageMetrics.stop(stageStart, EntryStageMetrics.FAST_VALIDATION, activityType, EntryStageMetrics.REJECTED);
+                if (entryStageMetrics.debugSampled(log)) {
+                    log.debug("{}번 사용자가 [빠른검증]: {} 조건에서 실패!", userId, e.getType());
+                }
+                return finish(requestStart, activityType, EntryStageMetrics.REJECTED, ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(PaymentConfirmationResponse.failure(ReservationResult.error(), e.getMessage())));
             }
         }
 
         // 무거운 검증
         if (meta.hasHeavyValidation()) {
-            ValidationResponse response = coreValidationService.isEligible(token, requestDto.getCampaignActivityId());
+            stageStart = entryStageMetrics.start();
+            ValidationResponse response = coreValidationService.isEligible(token, campaignActivityId, userId);
+            entryStageMetrics.stop(stageStart, EntryStageMetrics.HEAVY_VALIDATION, activityType,
+                    response.isEligible() ? EntryStageMetrics.OK : EntryStageMetrics.REJECTED);
             if (!response.isEligible()) {
-                log.info("{} 사용자의 요청이 {}번 응모요청의 자격미달로 통과하지 못했습니다.", userDetails.getUsername(),
-                        requestDto.getCampaignActivityId());
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
-                        PaymentConfirmationResponse.failure(ReservationResult.error(), response.getErrorMessage()));
+                if (entryStageMetrics.debugSampled(log)) {
+                    log.debug("{} 사용자의 요청이 {}번 응모요청의 자격미달로 통과하지 못했습니다.", userDetails.getUsername(),
+                            requestDto.getCampaignActivityId());
+                }
+                return finish(requestStart, activityType, EntryStageMetrics.REJECTED, ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                        PaymentConfirmationResponse.failure(ReservationResult.error(), response.getErrorMessage())));
             }
         }
 
-        // 원자적 검증
-        ReservationResult result = reservationService.reserve(campaignActivityId, userId, meta, now);
+        // 원자적 검증 + 1차 토큰 발급 (그 사이 토큰이 생겼으면 기존 토큰 반환)
+        stageStart = entryStageMetrics.start();
+        ReservationResult result = reservationService.reserve(campaignActivityId, userId, meta, now, pendingToken);
+        String outcome = result.status() == null ? EntryStageMetrics.ERROR : result.status().name();
+        stageStart = entryStageMetrics.stop(stageStart, EntryStageMetrics.RESERVE, activityType, outcome);
 
+        if (result.status() == ReservationStatus.RETRY) {
+            if (entryStageMetrics.debugSampled(log)) {
+                log.debug("재결제 시나리오: 기존 1차 토큰 재사용, userId={}, campaignActivityId={}", userId, campaignActivityId);
+            }
+            String retryToken = reservationTokenService.retryToken(pendingToken);
+            entryStageMetrics.stop(stageStart, EntryStageMetrics.TOKEN_ISSUE, activityType, outcome);
+            return finish(requestStart, activityType, outcome, ResponseEntity.ok(PaymentConfirmationResponse.successWithRetry(retryToken)));
+        }
         if (result.status() == ReservationStatus.DUPLICATED) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+            return finish(requestStart, activityType, outcome, ResponseEntity.status(HttpStatus.CONFLICT).build());
         }
         if (result.status() == ReservationStatus.SOLD_OUT) {
-            return ResponseEntity.status(HttpStatus.GONE).build();
+            return finish(requestStart, activityType, outcome, ResponseEntity.status(HttpStatus.GONE).build());
         }
         if (result.status() == ReservationStatus.CLOSED) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+            return finish(requestStart, activityType, outcome, ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
         }
         if (!result.isSuccess()) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return finish(requestStart, activityType, outcome, ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
         }
 
-        ReservationTokenPayload tokenPayload = ReservationTokenPayload.builder()
-                .userId(userId)
-                .campaignActivityId(meta.id())
-                .productId(meta.productId())
-                .campaignActivityType(meta.campaignActivityType())
-                .quantity(requestDto.getQuantity())
-                .build();
-        String reservationToken = reservationTokenService.issueToken(tokenPayload);
-        return ResponseEntity.ok(PaymentConfirmationResponse.success(reservationToken));
+        if (entryStageMetrics.debugSampled(log)) {
+            log.debug("1차 토큰 발급: userId={}, campaignActivityId={}", userId, campaignActivityId);
+        }
+        return finish(requestStart, activityType, outcome, ResponseEntity.ok(PaymentConfirmationResponse.success(pendingToken.token())));
+    }
+
+    /**
+     * Records the whole request as stage {@code total} and returns the response unchanged.
+     */
+    private ResponseEntity<?> finish(long requestStart, CampaignActivityType activityType, String outcome,
+                                     ResponseEntity<?> response) {
+        entryStageMetrics.stop(requestStart, EntryStageMetrics.TOTAL, activityType, outcome);
+        return response;
     }
 
-}
\ No newline at end of file
+}
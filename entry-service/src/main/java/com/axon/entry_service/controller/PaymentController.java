@@ -2,6 +2,7 @@ package com.axon.entry_service.controller;
 
 import com.axon.entry_service.domain.ReservationResult;
 import com.axon.entry_service.dto.Payment.*;
+import com.axon.entry_service.service.EntryReservationService;
 import com.axon.entry_service.service.Payment.PaymentService;
 import com.axon.entry_service.service.Payment.ReservationTokenService;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,7 @@ import java.util.Optional;
 public class PaymentController {
     private final ReservationTokenService reservationTokenService;
     private final PaymentService paymentService;
+    private final EntryReservationService reservationService;
 
 
     @PostMapping("/prepare")
@@ -35,6 +37,9 @@ public class PaymentController {
         // 1차 토큰
         return reservationTokenService.getPayloadFromToken(reservationToken)
                 .filter(payload -> payload.getUserId() == userId)
+                // 결제를 시작했으므로 재고 복구 기한을 2차 토큰 만료까지 연장 (이미 복구됐다면 만료 처리)
+                .filter(payload -> reservationService.extendRelease(payload.getCampaignActivityId(), userId,
+                        reservationTokenService.approvalTokenTtl()))
                 .map(payload -> {
                     // 2차 토큰 생성 (결제 중 데이터 백업용)
                     PaymentApprovalPayload approvalPayload = PaymentApprovalPayload.builder()
@@ -78,8 +83,13 @@ public class PaymentController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(PaymentConfirmationResponse.failure(ReservationResult.error(), "응모자와 요청자가 다릅니다."));
         }
 
-        // Kafka 전송 (3회 재시도)
-        boolean success = paymentService.sendToKafkaWithRetry(payload, 3);
+        // 재고 복구 예약에서 제외 (중복 확정 및 이미 재고가 복구된 예약 차단)
+        if (!reservationService.claimForConfirmation(payload.getCampaignActivityId(), currentUserId)) {
+            return ResponseEntity.status(HttpStatus.GONE).body(PaymentConfirmationResponse.failure(ReservationResult.error(), "결제 시간이 만료되었거나 이미 처리된 결제입니다."));
+        }
+
+        // outbox 기록 (Kafka 전송은 백그라운드 relay)
+        boolean success = paymentService.submitApproval(payload);
 
         if (success) {
             // 성공 시 모든 토큰 삭제
@@ -87,20 +97,10 @@ public class PaymentController {
             return ResponseEntity.ok(PaymentConfirmationResponse.success(null));
         } else {
             // 실패 시 환불 처리
-            log.warn("[카프카 전송] 카프카 전송에 오류가 발생했습니다.");
+            log.warn("[outbox] 결제 커맨드 기록에 실패했습니다.");
+            reservationService.scheduleRelease(payload.getCampaignActivityId(), currentUserId,
+                    reservationTokenService.reservationTokenTtl());
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(PaymentConfirmationResponse.failure(ReservationResult.error(), "일시적인 오류로 결제가 취소되었습니다. 처음부터 다시 응모해주세요."));
         }
     }
 }
-
-
-
-
-
-
-
-
-
-
-
-
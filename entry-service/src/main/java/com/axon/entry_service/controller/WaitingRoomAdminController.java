@@ -0,0 +1,57 @@
+package com.axon.entry_service.controller;
+
+import com.axon.entry_service.dto.QueueRateRequest;
+import com.axon.entry_service.service.CampaignActivityMetaService;
+import com.axon.entry_service.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operator endpoints for the per-activity waiting room; requires {@code ROLE_ADMIN}.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/entry/api/v1/admin/queue")
+@RequiredArgsConstructor
+public class WaitingRoomAdminController {
+
+    private final WaitingRoomService waitingRoomService;
+    private final CampaignActivityMetaService campaignActivityMetaService;
+
+    /**
+     * Opens the waiting room of a campaign activity, or changes its admission rate.
+     *
+     * @param campaignActivityId the campaign activity to put behind the waiting room
+     * @param request            the admissions per second
+     * @return 204 No Content once the rate is stored;
+     *         400 Bad Request when the rate is missing or not positive;
+     *         404 Not Found for an unknown activity
+     */
+    @PutMapping("/{campaignActivityId}/rate")
+    public ResponseEntity<Void> setRate(@PathVariable long campaignActivityId,
+            @RequestBody QueueRateRequest request) {
+        if (request.admissionsPerSecond() == null || request.admissionsPerSecond() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        if (campaignActivityMetaService.getMeta(campaignActivityId) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        waitingRoomService.setRate(campaignActivityId, request.admissionsPerSecond());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Closes the waiting room of a campaign activity.
+     *
+     * @param campaignActivityId the campaign activity whose waiting room is removed
+     * @return 204 No Content
+     */
+    @DeleteMapping("/{campaignActivityId}/rate")
+    public ResponseEntity<Void> clearRate(@PathVariable long campaignActivityId) {
+        waitingRoomService.clearRate(campaignActivityId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,73 @@
+package com.axon.entry_service.controller;
+
+import com.axon.entry_service.dto.QueueTicketResponse;
+import com.axon.entry_service.service.CampaignActivityMetaService;
+import com.axon.entry_service.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@Slf4j
+@RestController
+@RequestMapping("/entry/api/v1/queue")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class WaitingRoomController {
+    public static final String TICKET_HEADER = "X-Queue-Ticket";
+
+    private final WaitingRoomService waitingRoomService;
+    private final CampaignActivityMetaService campaignActivityMetaService;
+
+    /**
+     * Joins the waiting room of a campaign activity and returns a signed ticket with the user's position.
+     * Joining again returns the same position.
+     *
+     * @param campaignActivityId the campaign activity to wait for
+     * @param userDetails        the authenticated principal whose username is the numeric userId
+     * @return 200 OK with the ticket and standing ({@code waitingRoom=false} when the activity has no queue);
+     *         404 Not Found for an unknown activity;
+     *         503 Service Unavailable when the position could not be issued
+     */
+    @PostMapping("/{campaignActivityId}")
+    public ResponseEntity<QueueTicketResponse> join(@PathVariable long campaignActivityId,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        long userId = Long.parseLong(userDetails.getUsername());
+        if (campaignActivityMetaService.getMeta(campaignActivityId) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        try {
+            return ResponseEntity.ok(waitingRoomService.join(campaignActivityId, userId));
+        } catch (Exception e) {
+            log.error("대기열 진입 실패: campaignActivityId={}, userId={}", campaignActivityId, userId, e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Reports the ticket holder's position from in-memory state; meant to be polled.
+     *
+     * @param campaignActivityId the campaign activity to wait for
+     * @param ticket             the ticket returned by {@link #join}
+     * @param userDetails        the authenticated principal whose username is the numeric userId
+     * @return 200 OK with the current standing; 400 Bad Request when the ticket is invalid;
+     *         404 Not Found for an unknown activity
+     */
+    @GetMapping("/{campaignActivityId}")
+    public ResponseEntity<QueueTicketResponse> status(@PathVariable long campaignActivityId,
+            @RequestHeader(value = TICKET_HEADER, required = false) String ticket,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        long userId = Long.parseLong(userDetails.getUsername());
+        if (campaignActivityMetaService.getMeta(campaignActivityId) == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        QueueTicketResponse response = waitingRoomService.status(campaignActivityId, userId, ticket);
+        if (response == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,10 +1,11 @@
 package com.axon.entry_service.domain;
 
+import com.axon.entry_service.domain.rule.ParticipationRules;
 import com.axon.messaging.CampaignActivityType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -21,19 +22,43 @@ public record CampaignActivityMeta(
         boolean hasHeavyValidation,
         Long productId,
         Long couponId,
-        CampaignActivityType campaignActivityType) {
+        CampaignActivityType campaignActivityType,
+        @JsonIgnore ParticipationRules rules) {
 
+    /**
+     * Canonical constructor; compiles {@code rules} from the filters and dates
+     * when not supplied, so every loaded meta carries its pre-compiled rules.
+     */
     public CampaignActivityMeta {
         Objects.requireNonNull(id, "campaignActivityId must not be null");
         Objects.requireNonNull(status, "status must not be null");
+        if (rules == null) {
+            rules = ParticipationRules.compile(filters, startDate, endDate);
+        }
+    }
+
+    public CampaignActivityMeta(
+            Long id,
+            Long campaignId,
+            Integer limitCount,
+            CampaignActivityStatus status,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            List<Map<String, Object>> filters,
+            boolean hasFastValidation,
+            boolean hasHeavyValidation,
+            Long productId,
+            Long couponId,
+            CampaignActivityType campaignActivityType) {
+        this(id, campaignId, limitCount, status, startDate, endDate, filters, hasFastValidation,
+                hasHeavyValidation, productId, couponId, campaignActivityType, null);
     }
 
     /**
      * Determines whether the campaign activity is eligible for participation at the
      * given instant.
      *
-     * @param now the reference instant used to evaluate eligibility (converted to
-     *            the system default time zone)
+     * @param now the reference instant used to evaluate eligibility
      * @return true if the activity's limit is greater than zero or unset, the
      *         status is active, the reference time is not before `startDate` (if
      *         set), and not after `endDate` (if set); false otherwise
@@ -49,11 +74,24 @@ public record CampaignActivityMeta(
         return isParticipatableTime(now);
     }
 
+    /**
+     * Determines whether the activity can never accept entries again, i.e. it
+     * has ended rather than being paused or not started yet.
+     *
+     * @param now the reference instant
+     * @return true if the status is ENDED or {@code endDate} has passed
+     */
+    public boolean isTerminated(Instant now) {
+        return status == CampaignActivityStatus.ENDED || now.toEpochMilli() > rules.endMillis();
+    }
+
+    /**
+     * Checks the participation window against the pre-compiled epoch-millis bounds.
+     *
+     * @param now the reference instant
+     * @return true if {@code now} is not before {@code startDate} and not after {@code endDate}
+     */
     public boolean isParticipatableTime(Instant now) {
-        LocalDateTime current = LocalDateTime.ofInstant(now, ZoneId.systemDefault());
-        if (startDate != null && current.isBefore(startDate)) {
-            return false;
-        }
-        return endDate == null || !current.isAfter(endDate);
+        return rules.isWithinWindow(now.toEpochMilli());
     }
 }
\ No newline at end of file
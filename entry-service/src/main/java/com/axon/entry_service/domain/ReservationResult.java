@@ -41,6 +41,16 @@ public record ReservationResult(ReservationStatus status, Long order) {
         return new ReservationResult(ReservationStatus.CLOSED, null);
     }
 
+    /**
+     * Create a reservation result indicating the user still holds a live reservation token,
+     * i.e. a payment retry that must reuse the existing token.
+     *
+     * @return a ReservationResult with status RETRY and a null order
+     */
+    public static ReservationResult retry() {
+        return new ReservationResult(ReservationStatus.RETRY, null);
+    }
+
     /**
      * Creates a ReservationResult representing a failed reservation due to an error.
      *
@@ -89,6 +99,12 @@ public record ReservationResult(ReservationStatus status, Long order) {
     /**
      * The order identifier associated with this reservation.
      *
+     * <p>For an unsharded activity this is the activity-wide 1-based position
+     * from {@code campaign:{id}:counter}. With stock sharding
+     * ({@code axon.reservation.stock-shards > 1}) it is the position within the
+     * issuing shard only, so it repeats across shards and is neither unique nor
+     * a global rank.
+     *
      * @return the order identifier, or `null` if no order was assigned
      */
     public Long order() {
@@ -5,5 +5,6 @@ public enum ReservationStatus {
     DUPLICATED,
     SOLD_OUT,
     CLOSED,
+    RETRY,
     ERROR
 }
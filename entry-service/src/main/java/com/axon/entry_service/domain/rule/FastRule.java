@@ -0,0 +1,98 @@
+package com.axon.entry_service.domain.rule;
+
+import com.axon.messaging.dto.validation.Grade;
+import com.axon.messaging.dto.validation.UserCacheDto;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A FAST-phase filter compiled into a typed, immutable predicate.
+ *
+ * <p>Rules are built once when the meta is loaded; {@link #test} only reads
+ * primitive fields so request-time validation allocates nothing.
+ */
+public sealed interface FastRule {
+
+    /**
+     * @param user the cached user profile
+     * @return true if the user satisfies this rule
+     */
+    boolean test(UserCacheDto user);
+
+    /**
+     * @return the failure type reported through {@code FastValidationException}
+     */
+    String type();
+
+    /**
+     * @return the user-facing failure message
+     */
+    String message();
+
+    /**
+     * Age condition as an inclusive {@code [min, max]} range, optionally negated.
+     * A range with {@code min > max} never matches.
+     */
+    record AgeRange(int min, int max, boolean negate) implements FastRule {
+
+        static final AgeRange NEVER = new AgeRange(1, 0, false);
+
+        @Override
+        public boolean test(UserCacheDto user) {
+            Integer age = user.getAge();
+            if (age == null) {
+                return false;
+            }
+            boolean inRange = min <= age && age <= max;
+            return negate != inRange;
+        }
+
+        @Override
+        public String type() {
+            return "AGE";
+        }
+
+        @Override
+        public String message() {
+            return "나이가 응모 조건에 맞지 않습니다!";
+        }
+    }
+
+    /**
+     * Grade condition as the set of allowed grades; {@code NOT_IN} is compiled
+     * into the complement.
+     */
+    record GradeSet(Set<Grade> allowed) implements FastRule {
+
+        public GradeSet {
+            allowed = allowed.isEmpty() ? EnumSet.noneOf(Grade.class) : EnumSet.copyOf(allowed);
+        }
+
+        @Override
+        public boolean test(UserCacheDto user) {
+            Grade grade = user.getGrade();
+            return grade != null && allowed.contains(grade);
+        }
+
+        @Override
+        public String type() {
+            return "GRADE";
+        }
+
+        @Override
+        public String message() {
+            return "등급이 응모 조건에 맞지 않습니다!";
+        }
+    }
+
+    /**
+     * Always fails, for filter definitions that cannot be evaluated.
+     */
+    record Reject(String type, String message) implements FastRule {
+
+        @Override
+        public boolean test(UserCacheDto user) {
+            return false;
+        }
+    }
+}
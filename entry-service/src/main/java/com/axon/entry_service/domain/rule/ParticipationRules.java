@@ -0,0 +1,149 @@
+package com.axon.entry_service.domain.rule;
+
+import com.axon.messaging.dto.validation.Grade;
+import com.axon.messaging.dto.validation.UserCacheDto;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Participation rules of a campaign activity compiled once at meta load time:
+ * the participation window as epoch-millis bounds and the FAST-phase filters
+ * as an immutable list of {@link FastRule}s.
+ *
+ * @param startMillis inclusive start of the window, {@link Long#MIN_VALUE} when unbounded
+ * @param endMillis   inclusive end of the window, {@link Long#MAX_VALUE} when unbounded
+ * @param fastRules   FAST-phase rules evaluated in filter order
+ */
+@Slf4j
+public record ParticipationRules(long startMillis, long endMillis, List<FastRule> fastRules) {
+
+    static final FastRule MISSING_FILTERS = new FastRule.Reject("NULL FILTER", "응모 참여 조건 조회에 실패했습니다.");
+    static final FastRule UNKNOWN_TYPE = new FastRule.Reject("NULL TYPE", "응모조건 조회에 오류가 발생했습니다.");
+
+    public ParticipationRules {
+        fastRules = List.copyOf(fastRules);
+    }
+
+    /**
+     * Compiles the raw filter maps and date bounds of a campaign activity.
+     *
+     * @param filters   the raw filter definitions ({@code phase}, {@code type},
+     *                  {@code operator}, {@code values})
+     * @param startDate the activity start in the system time zone, or {@code null}
+     * @param endDate   the activity end in the system time zone, or {@code null}
+     * @return the compiled rules
+     */
+    public static ParticipationRules compile(List<Map<String, Object>> filters,
+                                             LocalDateTime startDate,
+                                             LocalDateTime endDate) {
+        ZoneId zone = ZoneId.systemDefault();
+        long start = startDate == null ? Long.MIN_VALUE : startDate.atZone(zone).toInstant().toEpochMilli();
+        long end = endDate == null ? Long.MAX_VALUE : endDate.atZone(zone).toInstant().toEpochMilli();
+        return new ParticipationRules(start, end, compileFastRules(filters));
+    }
+
+    /**
+     * @param nowMillis the reference time in epoch millis
+     * @return true if the reference time lies within the participation window
+     */
+    public boolean isWithinWindow(long nowMillis) {
+        return startMillis <= nowMillis && nowMillis <= endMillis;
+    }
+
+    /**
+     * Evaluates the FAST-phase rules in order.
+     *
+     * @param user the cached user profile
+     * @return the first rule the user fails, or {@code null} when all pass
+     */
+    public FastRule firstFailedFastRule(UserCacheDto user) {
+        for (int i = 0, size = fastRules.size(); i < size; i++) {
+            FastRule rule = fastRules.get(i);
+            if (!rule.test(user)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static List<FastRule> compileFastRules(List<Map<String, Object>> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return List.of(MISSING_FILTERS);
+        }
+        List<FastRule> rules = new ArrayList<>();
+        for (Map<String, Object> filter : filters) {
+            if (!"FAST".equals(filter.get("phase"))) {
+                continue;
+            }
+            Object type = filter.get("type");
+            String operator = String.valueOf(filter.get("operator"));
+            List<String> values = stringValues(filter.get("values"));
+            if ("AGE".equals(type)) {
+                rules.add(compileAge(operator, values));
+            } else if ("GRADE".equals(type)) {
+                rules.add(compileGrade(operator, values));
+            } else {
+                rules.add(UNKNOWN_TYPE);
+            }
+        }
+        return rules;
+    }
+
+    private static FastRule compileAge(String operator, List<String> values) {
+        if (values.isEmpty()) {
+            return FastRule.AgeRange.NEVER;
+        }
+        try {
+            int first = Integer.parseInt(values.getFirst());
+            boolean range = operator.endsWith("BETWEEN");
+            if (range && values.size() != 2) {
+                return FastRule.AgeRange.NEVER;
+            }
+            return switch (operator) {
+                case "GTE" -> new FastRule.AgeRange(first, Integer.MAX_VALUE, false);
+                case "LTE" -> new FastRule.AgeRange(Integer.MIN_VALUE, first, false);
+                case "BETWEEN" -> new FastRule.AgeRange(first, Integer.parseInt(values.get(1)), false);
+                case "NOT_GTE" -> new FastRule.AgeRange(first, Integer.MAX_VALUE, true);
+                case "NOT_LTE" -> new FastRule.AgeRange(Integer.MIN_VALUE, first, true);
+                case "NOT_BETWEEN" -> new FastRule.AgeRange(first, Integer.parseInt(values.get(1)), true);
+                default -> FastRule.AgeRange.NEVER;
+            };
+        } catch (NumberFormatException e) {
+            log.warn("Invalid AGE filter bounds. operator={}, values={}", operator, values);
+            return FastRule.AgeRange.NEVER;
+        }
+    }
+
+    private static FastRule compileGrade(String operator, List<String> values) {
+        EnumSet<Grade> listed = EnumSet.noneOf(Grade.class);
+        for (Grade grade : Grade.values()) {
+            if (values.contains(grade.toString())) {
+                listed.add(grade);
+            }
+        }
+        if (values.isEmpty()) {
+            return new FastRule.GradeSet(EnumSet.noneOf(Grade.class));
+        }
+        return switch (operator) {
+            case "IN" -> new FastRule.GradeSet(listed);
+            case "NOT_IN" -> new FastRule.GradeSet(EnumSet.complementOf(listed));
+            default -> new FastRule.GradeSet(EnumSet.noneOf(Grade.class));
+        };
+    }
+
+    private static List<String> stringValues(Object raw) {
+        if (!(raw instanceof List<?> list)) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>(list.size());
+        for (Object value : list) {
+            values.add(String.valueOf(value));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,24 @@
+package com.axon.entry_service.dto;
+
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BehaviorEventBatchResponse {
+    /** Events published to Kafka. */
+    private int accepted;
+    /** Valid events the ingestion policy left out (duplicate, sampled out or over the session rate limit). */
+    private int dropped;
+    private List<Rejected> rejected;
+
+    /**
+     * An event of the batch that was not published.
+     *
+     * @param index  position of the event in the submitted batch
+     * @param errors validation messages, e.g. {@code "triggerType: must not be blank"}
+     */
+    public record Rejected(int index, List<String> errors) {
+    }
+}
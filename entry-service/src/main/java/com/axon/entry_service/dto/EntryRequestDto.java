@@ -9,4 +9,5 @@ public class EntryRequestDto {
     private Long campaignActivityId;
     private Long productId;
     private Integer quantity = 1; // Default to 1
+    private String reservationToken; // 재결제 시 이미 받은 1차 토큰 (매진 후에도 재발급받기 위함)
 }
@@ -0,0 +1,13 @@
+package com.axon.entry_service.dto.Payment;
+
+/**
+ * A 1차 reservation token prepared before the reservation, so the slot and the token
+ * can be written to Redis together.
+ *
+ * @param token      the deterministic token handed to the client
+ * @param redisKey   the Redis key the payload is stored under
+ * @param value      the payload serialized exactly as {@code ReservationTokenService} reads it back
+ * @param ttlSeconds the token TTL in seconds
+ */
+public record PendingReservationToken(String token, String redisKey, byte[] value, long ttlSeconds) {
+}
@@ -0,0 +1,11 @@
+package com.axon.entry_service.dto;
+
+/**
+ * Admin request opening a waiting room or changing its rate.
+ *
+ * @param admissionsPerSecond users let through per second, must be positive
+ */
+public record QueueRateRequest(
+        Long admissionsPerSecond
+)
+{}
@@ -0,0 +1,24 @@
+package com.axon.entry_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class QueueTicketResponse {
+    private Long campaignActivityId;
+    private boolean waitingRoom;
+    private String ticket;
+    private long position;
+    private boolean admitted;
+    private long aheadCount;
+    private long retryAfterMillis;
+
+    public static QueueTicketResponse open(Long campaignActivityId) {
+        return QueueTicketResponse.builder()
+                .campaignActivityId(campaignActivityId)
+                .waitingRoom(false)
+                .admitted(true)
+                .build();
+    }
+}
@@ -10,6 +10,8 @@ import java.time.Instant;
  * This event is internal to entry-service and will be converted to CDP standard
  * format
  * by BehaviorEventAdapter before publishing to Kafka.
+ * {@code order} is shard-local when the activity's stock is sharded (see
+ * {@link com.axon.entry_service.domain.ReservationResult#order()}).
  */
 public record ReservationApprovedEvent(
                 Long campaignActivityId,
@@ -5,12 +5,22 @@ import com.axon.entry_service.domain.CampaignActivityMeta;
 import com.axon.entry_service.dto.CampaignActivitySummaryResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -27,13 +37,42 @@ public class CampaignActivityMetaService {
     private final StringRedisTemplate redisTemplate;
     private final ObjectMapper objectMapper;
     private final JwtTokenProvider jwtTokenProvider;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Highest invalidation version received per activity. A load only populates the
+     * near-cache if no newer invalidation arrived while it was in flight.
+     */
+    private final Map<Long, Long> invalidatedVersions = new ConcurrentHashMap<>();
+
+    @Value("${axon.meta-cache.max-size:10000}")
+    private long nearCacheMaxSize;
+
+    // 무효화 메시지 유실 대비 안전망
+    @Value("${axon.meta-cache.ttl:5m}")
+    private Duration nearCacheTtl;
+
+    private Cache<Long, VersionedMeta> nearCache;
+
+    private record VersionedMeta(CampaignActivityMeta meta, long version) {
+    }
+
+    @PostConstruct
+    void initNearCache() {
+        nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxSize)
+                .expireAfterWrite(nearCacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "campaignActivityMeta");
+    }
 
     /**
      * Retrieves the CampaignActivityMeta for the given campaign activity ID and
      * stores it in the cache.
      *
-     * Attempts to return a cached meta if present; otherwise fetches the campaign
-     * activity, derives
+     * Checks the in-JVM near-cache first, then the shared Redis cache; otherwise
+     * fetches the campaign activity, derives
      * validation-phase flags, constructs the meta, caches it (5-minute TTL), and
      * returns it.
      *
@@ -43,18 +82,117 @@ public class CampaignActivityMetaService {
      */
     public CampaignActivityMeta getMeta(Long campaignActivityId) {
         Objects.requireNonNull(campaignActivityId, "campaignActivityId must not be null");
-        String cacheKey = metaCacheKey(campaignActivityId);
+        VersionedMeta local = nearCache.getIfPresent(campaignActivityId);
+        if (local != null) {
+            return local.meta();
+        }
+
+        long version = invalidatedVersions.getOrDefault(campaignActivityId, 0L);
+        CampaignActivityMeta meta = loadMeta(campaignActivityId);
+        if (meta != null && invalidatedVersions.getOrDefault(campaignActivityId, 0L) == version) {
+            nearCache.put(campaignActivityId, new VersionedMeta(meta, version));
+        }
+        return meta;
+    }
+
+    /**
+     * Applies an invalidation broadcast by core-service. Entries loaded before the
+     * given version are dropped, and loads still in flight will not be cached.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param version            the meta version published by core-service
+     */
+    public void invalidate(Long campaignActivityId, long version) {
+        invalidatedVersions.merge(campaignActivityId, version, Math::max);
+        nearCache.asMap().computeIfPresent(campaignActivityId,
+                (id, cached) -> cached.version() < version ? null : cached);
+    }
 
-        String cached = redisTemplate.opsForValue().get(cacheKey);
-        if (cached != null) {
-            try {
-                return objectMapper.readValue(cached, CampaignActivityMeta.class);
-            } catch (JsonProcessingException e) {
-                log.warn("Failed to deserialize campaign meta cache. key={}", cacheKey, e);
-                redisTemplate.delete(cacheKey);
+    /**
+     * Retrieves the metas of several campaign activities at once: near-cache hits
+     * first, then one Redis MGET for the rest, and core-service only for activities
+     * missing from both.
+     *
+     * @param campaignActivityIds the campaign activity identifiers (duplicates and nulls are ignored)
+     * @return the metas by campaign activity id; activities that do not exist are absent
+     */
+    public Map<Long, CampaignActivityMeta> getMetas(Collection<Long> campaignActivityIds) {
+        Map<Long, CampaignActivityMeta> metas = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long campaignActivityId : campaignActivityIds) {
+            if (campaignActivityId == null || metas.containsKey(campaignActivityId) || misses.contains(campaignActivityId)) {
+                continue;
             }
+            VersionedMeta local = nearCache.getIfPresent(campaignActivityId);
+            if (local != null) {
+                metas.put(campaignActivityId, local.meta());
+            } else {
+                misses.add(campaignActivityId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return metas;
         }
 
+        List<Long> versions = misses.stream().map(id -> invalidatedVersions.getOrDefault(id, 0L)).toList();
+        List<String> cached = redisTemplate.opsForValue().multiGet(misses.stream().map(this::metaCacheKey).toList());
+        for (int i = 0; i < misses.size(); i++) {
+            Long campaignActivityId = misses.get(i);
+            CampaignActivityMeta meta = cached == null ? null : readCached(campaignActivityId, cached.get(i));
+            if (meta == null) {
+                meta = fetchAndCache(campaignActivityId);
+            }
+            if (meta == null) {
+                continue;
+            }
+            metas.put(campaignActivityId, meta);
+            if (invalidatedVersions.getOrDefault(campaignActivityId, 0L).equals(versions.get(i))) {
+                nearCache.put(campaignActivityId, new VersionedMeta(meta, versions.get(i)));
+            }
+        }
+        return metas;
+    }
+
+    /**
+     * Loads the meta from the shared Redis cache, falling back to core-service.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @return the meta, or {@code null} if the activity is not found
+     */
+    private CampaignActivityMeta loadMeta(Long campaignActivityId) {
+        CampaignActivityMeta cached = readCached(campaignActivityId,
+                redisTemplate.opsForValue().get(metaCacheKey(campaignActivityId)));
+        return cached != null ? cached : fetchAndCache(campaignActivityId);
+    }
+
+    /**
+     * Parses a shared-cache entry, dropping it if it cannot be read.
+     *
+     * @return the meta, or {@code null} if there was no usable entry
+     */
+    private CampaignActivityMeta readCached(Long campaignActivityId, String cached) {
+        if (cached == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(cached, CampaignActivityMeta.class);
+        } catch (JsonProcessingException e) {
+            String cacheKey = metaCacheKey(campaignActivityId);
+            log.warn("Failed to deserialize campaign meta cache. key={}", cacheKey, e);
+            redisTemplate.delete(cacheKey);
+            return null;
+        }
+    }
+
+    /**
+     * Fetches the activity from core-service, derives the validation-phase flags and
+     * stores the meta in the shared Redis cache.
+     *
+     * @return the meta, or {@code null} if the activity is not found
+     */
+    private CampaignActivityMeta fetchAndCache(Long campaignActivityId) {
+        String cacheKey = metaCacheKey(campaignActivityId);
+
         CampaignActivitySummaryResponse response = fetchCampaignActivity(campaignActivityId);
         if (response == null) {
             return null;
@@ -108,6 +246,7 @@ public class CampaignActivityMetaService {
      *                           will be removed
      */
     public void evictMeta(Long campaignActivityId) {
+        nearCache.invalidate(campaignActivityId);
         redisTemplate.delete(metaCacheKey(campaignActivityId));
     }
 
@@ -1,23 +1,27 @@
 package com.axon.entry_service.service;
 
+import com.axon.entry_service.service.outbox.CommandJournal;
+import com.axon.messaging.codec.CampaignActivityCommandCodec;
 import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class CampaignActivityProducerService {
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final CommandJournal commandJournal;
 
     /**
-     * Publishes the given campaign activity message to the specified Kafka topic.
+     * Durably records the given campaign activity message for publishing to the specified Kafka topic.
+     * The message is written to the local outbox journal in the {@link CampaignActivityCommandCodec} layout
+     * and relayed to Kafka in the background, keyed by {@link CampaignActivityKafkaProducerDto#partitionKey()}
+     * so core-service handles each (activity, user) pair in order on one partition.
      *
      * @param topic the Kafka topic name to which the message will be sent
      * @param msg the campaign activity payload to publish
+     * @throws IllegalStateException if the message could not be journaled (e.g. the outbox backlog is full)
      */
     public void send(String topic, CampaignActivityKafkaProducerDto msg){
-        kafkaTemplate.send(topic, msg);
-        //System.out.println("Send to " +  topic + " : " + msg);
+        commandJournal.append(topic, msg.partitionKey(), CampaignActivityCommandCodec.encode(msg));
     }
-}
\ No newline at end of file
+}
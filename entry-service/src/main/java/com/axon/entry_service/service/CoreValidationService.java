@@ -12,6 +12,28 @@ import org.springframework.web.client.RestClient;
 @RequiredArgsConstructor
 public class CoreValidationService {
     private final RestClient webClient;
+    private final EligibilityBitmapService eligibilityBitmapService;
+    private final EntryStageMetrics entryStageMetrics;
+
+    /**
+     * Determine eligibility from the pre-computed eligibility bitmap, falling back to the core
+     * validation API when the bitmap is missing or stale.
+     *
+     * @param Token               the Authorization header value (including scheme, e.g. "Bearer ...")
+     * @param campaignActivityId  the ID of the campaign activity to validate
+     * @param userId              the ID of the requesting user
+     * @return                    a ValidationResponse containing the eligibility result
+     */
+    public ValidationResponse isEligible(String Token, Long campaignActivityId, long userId) {
+        Boolean eligible = eligibilityBitmapService.lookup(campaignActivityId, userId);
+        if (eligible == null) {
+            return isEligible(Token, campaignActivityId);
+        }
+        if (eligible) {
+            return ValidationResponse.builder().eligible(true).build();
+        }
+        return ValidationResponse.builder().eligible(false).errorMessage("참여 조건을 만족하지 않습니다.").build();
+    }
 
     /**
      * Determine eligibility by calling the core validation API for a campaign activity.
@@ -30,7 +52,9 @@ public class CoreValidationService {
                     .header(HttpHeaders.AUTHORIZATION,Token)
                     .retrieve()
                     .body(ValidationResponse.class);
-            log.info("SERVICE - return {} || {} ", response.isEligible(),response);
+            if (entryStageMetrics.debugSampled(log)) {
+                log.debug("SERVICE - return {} || {} ", response.isEligible(), response);
+            }
             return response;
         } catch (Exception e) {
             log.error("CoreService로의 검증 로직에 오류가 발생 ", e);
@@ -1,7 +1,9 @@
 package com.axon.entry_service.service;
 
+import com.axon.entry_service.domain.CampaignActivityMeta;
+import com.axon.entry_service.domain.ReservationResult;
+import com.axon.entry_service.domain.ReservationStatus;
 import com.axon.entry_service.dto.CouponRequestDto;
-import com.axon.messaging.CampaignActivityType;
 import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
 import com.axon.messaging.topic.KafkaTopics;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +17,33 @@ import java.time.Instant;
 @Slf4j
 public class CouponEntryService {
     private final CampaignActivityProducerService campaignActivityProducerService;
+    private final EntryReservationService reservationService;
+
+    /**
+     * Issues a coupon through the same atomic Redis reservation as FCFS entries (per-activity
+     * issued set and a counter checked against the activity's limit), and only journals the
+     * Kafka command for requests that won a coupon. Duplicates and requests after the stock
+     * ran out are answered from Redis and never reach Kafka or the database.
+     *
+     * @param meta        the coupon activity meta
+     * @param userId      the requesting user
+     * @param requestedAt the request time, checked against the activity window
+     * @return {@code success}, {@code duplicated}, {@code soldOut}, {@code closed} or {@code error}
+     * @throws IllegalStateException if the command could not be journaled; the coupon is returned to stock
+     */
+    public ReservationResult issue(CampaignActivityMeta meta, long userId, Instant requestedAt) {
+        ReservationResult result = reservationService.reserve(meta.id(), userId, meta, requestedAt);
+        if (result.status() != ReservationStatus.SUCCESS) {
+            return result;
+        }
+        try {
+            publishCouponIssue(new CouponRequestDto(userId, meta.id(), meta.couponId(), meta.campaignActivityType()));
+        } catch (RuntimeException e) {
+            reservationService.releaseReservation(meta.id(), userId);
+            throw e;
+        }
+        return result;
+    }
 
     public void publishCouponIssue(CouponRequestDto payload) {
         CampaignActivityKafkaProducerDto message = CampaignActivityKafkaProducerDto.builder()
@@ -25,6 +54,6 @@ public class CouponEntryService {
                 .timestamp(Instant.now().toEpochMilli())
                 .build();
         campaignActivityProducerService.send(KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND, message);
-        log.info("Published coupon issue command for user {} activity {}", payload.userId(), payload.campaignActivityId());
+        log.debug("Published coupon issue command for user {} activity {}", payload.userId(), payload.campaignActivityId());
     }
 }
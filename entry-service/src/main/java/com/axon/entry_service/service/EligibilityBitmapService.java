@@ -0,0 +1,58 @@
+package com.axon.entry_service.service;
+
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads the HEAVY-filter eligibility bitmaps that core-service pre-computes
+ * ({@code campaign:{id}:eligible}) so most entries skip the validation API call.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EligibilityBitmapService {
+
+    private static final RedisScript<Long> ELIGIBILITY_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/eligibility.lua"), Long.class);
+    private static final long MAX_BITMAP_USER_ID = (1L << 32) - 1;
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Value("${axon.eligibility-bitmap.max-age:15m}")
+    private Duration maxAge;
+
+    /**
+     * Looks the user up in the activity's eligibility bitmap.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier
+     * @return {@code TRUE}/{@code FALSE} from a fresh bitmap, or {@code null} when the bitmap
+     *         is missing, stale or unreachable and the caller must fall back to core-service
+     */
+    public Boolean lookup(long campaignActivityId, long userId) {
+        if (userId < 0 || userId > MAX_BITMAP_USER_ID) {
+            return null;
+        }
+        String prefix = "campaign:" + campaignActivityId + ":eligible";
+        long oldestBuiltAt = System.currentTimeMillis() - maxAge.toMillis();
+        try {
+            Long result = redisTemplate.execute(ELIGIBILITY_SCRIPT,
+                    List.of(prefix, prefix + ":built-at"),
+                    String.valueOf(userId), String.valueOf(oldestBuiltAt));
+            if (result == null || result < 0) {
+                return null;
+            }
+            return result == 1L;
+        } catch (Exception e) {
+            log.warn("Eligibility bitmap lookup failed. activityId={}, userId={}", campaignActivityId, userId, e);
+            return null;
+        }
+    }
+}
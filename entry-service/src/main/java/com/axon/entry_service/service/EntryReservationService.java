@@ -3,18 +3,49 @@ package com.axon.entry_service.service;
 import com.axon.entry_service.domain.CampaignActivityMeta;
 import com.axon.entry_service.domain.ReservationResult;
 import com.axon.entry_service.event.ReservationApprovedEvent;
+import com.axon.entry_service.domain.ReservationStatus;
+import com.axon.entry_service.dto.Payment.PendingReservationToken;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class EntryReservationService {
 
+    private static final RedisScript<Long> RESERVE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/reserve.lua"), Long.class);
+    private static final RedisScript<Long> RESERVE_WITH_TOKEN_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/reserve_with_token.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/release.lua"), Long.class);
+    private static final long SCRIPT_DUPLICATED = -1L;
+    private static final long SCRIPT_SOLD_OUT = -2L;
+    private static final long SCRIPT_TOKEN_EXISTS = 0L;
+    static final String DEADLINE_INDEX_KEY = "reservation:deadline:activities";
+    private static final RedisSerializer<Long> LONG_REPLY_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
     private final StringRedisTemplate redisTemplate;
     private final ApplicationEventPublisher eventPublisher;
+    private final ShardedStockService shardedStockService;
+    private final SoldOutRegistry soldOutRegistry;
+
+    @Value("${axon.reservation.atomic-script:true}")
+    private boolean atomicScriptEnabled;
 
     /**
      * Attempt to reserve a participation slot for a user in a campaign activity.
@@ -26,7 +57,9 @@ public class EntryReservationService {
      * @param requestedAt        the timestamp of the reservation request (used to
      *                           check participatability)
      * @return a {@code ReservationResult} indicating the outcome:
-     *         {@code success(order)} with the allocated order number on success;
+     *         {@code success(order)} with the allocated order number on success
+     *         (shard-local when the activity's stock is sharded, see
+     *         {@link ReservationResult#order()});
      *         {@code duplicated} if the user already reserved;
      *         {@code soldOut} if the activity's limit was reached;
      *         {@code closed} if the activity is not open at {@code requestedAt};
@@ -36,15 +69,230 @@ public class EntryReservationService {
             long userId,
             CampaignActivityMeta meta,
             Instant requestedAt) {
+        return reserve(campaignActivityId, userId, meta, requestedAt, null);
+    }
+
+    /**
+     * Attempt to reserve a participation slot and store the user's reservation
+     * token in the same step.
+     *
+     * <p>On the default single-key layout this is one script call that returns
+     * early when the token already exists (payment retry), otherwise reserves the
+     * slot and stores the token atomically. Sharded or legacy layouts fall back to
+     * a token existence check, the reservation and a separate token write.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier attempting the reservation
+     * @param meta               campaign activity metadata
+     * @param requestedAt        the timestamp of the reservation request
+     * @param token              the prepared reservation token, or {@code null} to
+     *                           reserve without issuing one
+     * @return as {@link #reserve(long, long, CampaignActivityMeta, Instant)}, plus
+     *         {@code retry} when the user still holds a live token
+     */
+    public ReservationResult reserve(long campaignActivityId,
+            long userId,
+            CampaignActivityMeta meta,
+            Instant requestedAt,
+            PendingReservationToken token) {
 
         if (meta == null) {
             return ReservationResult.error();
         }
 
         if (!meta.isParticipatable(requestedAt)) {
+            if (meta.isTerminated(requestedAt)) {
+                soldOutRegistry.mark(campaignActivityId, SoldOutRegistry.Flag.CLOSED);
+            }
             return ReservationResult.closed();
         }
 
+        Integer limitCount = meta.limitCount();
+        int shards = shardedStockService.shardCount(campaignActivityId, limitCount);
+        ReservationResult result;
+        if (token != null && shards == 1 && atomicScriptEnabled) {
+            result = reserveWithTokenScript(campaignActivityId, userId, limitCount, token);
+        } else if (token != null && Boolean.TRUE.equals(redisTemplate.hasKey(token.redisKey()))) {
+            result = ReservationResult.retry();
+        } else if (shards > 1) {
+            result = shardedStockService.reserve(campaignActivityId, userId, limitCount, shards);
+        } else if (atomicScriptEnabled) {
+            result = reserveWithScript(campaignActivityId, userId, limitCount);
+        } else {
+            result = reserveWithCommands(campaignActivityId, userId, limitCount);
+        }
+        if (result.status() == ReservationStatus.SOLD_OUT) {
+            soldOutRegistry.mark(campaignActivityId, SoldOutRegistry.Flag.SOLD_OUT);
+        }
+        if (result.status() != ReservationStatus.SUCCESS) {
+            return result;
+        }
+        if (token != null && !(shards == 1 && atomicScriptEnabled)) {
+            storeToken(token);
+            scheduleRelease(campaignActivityId, userId, Duration.ofSeconds(token.ttlSeconds()));
+        }
+
+        // Publish APPROVED event for dashboard tracking
+        eventPublisher.publishEvent(new ReservationApprovedEvent(
+                campaignActivityId,
+                userId,
+                result.order(),
+                requestedAt,
+                meta.productId(),
+                meta.campaignActivityType()));
+
+        return result;
+    }
+
+    /**
+     * Reserves a slot with a single server-side script call that checks
+     * membership, checks the limit, adds the user and increments the counter
+     * atomically, so the counter never overshoots the limit.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier attempting the reservation
+     * @param limitCount         the activity limit, or {@code null} when unlimited
+     * @return {@code success(order)}, {@code duplicated}, {@code soldOut} or
+     *         {@code error} when Redis returned no reply
+     */
+    ReservationResult reserveWithScript(long campaignActivityId, long userId, Integer limitCount) {
+        Long reply = redisTemplate.execute(
+                RESERVE_SCRIPT,
+                List.of(participantsKey(campaignActivityId), counterKey(campaignActivityId)),
+                String.valueOf(userId),
+                String.valueOf(limitCount == null ? -1 : limitCount));
+        if (reply == null) {
+            return ReservationResult.error();
+        }
+        if (reply == SCRIPT_DUPLICATED) {
+            return ReservationResult.duplicated();
+        }
+        if (reply == SCRIPT_SOLD_OUT) {
+            return ReservationResult.soldOut();
+        }
+        return ReservationResult.success(reply);
+    }
+
+    /**
+     * Reserves a slot and stores the reservation token with a single script
+     * call. Script arguments are passed as raw bytes so the token payload keeps
+     * the exact serialized form the token service reads back.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier attempting the reservation
+     * @param limitCount         the activity limit, or {@code null} when unlimited
+     * @param token              the prepared reservation token
+     * @return {@code retry}, {@code success(order)}, {@code duplicated},
+     *         {@code soldOut} or {@code error} when Redis returned no reply
+     */
+    ReservationResult reserveWithTokenScript(long campaignActivityId, long userId, Integer limitCount,
+            PendingReservationToken token) {
+        Long reply = redisTemplate.execute(
+                RESERVE_WITH_TOKEN_SCRIPT,
+                RedisSerializer.byteArray(),
+                LONG_REPLY_SERIALIZER,
+                List.of(participantsKey(campaignActivityId), counterKey(campaignActivityId), token.redisKey(),
+                        deadlinesKey(campaignActivityId), DEADLINE_INDEX_KEY),
+                ascii(userId),
+                ascii(limitCount == null ? -1 : limitCount),
+                token.value(),
+                ascii(token.ttlSeconds()),
+                ascii(campaignActivityId));
+        if (reply == null) {
+            return ReservationResult.error();
+        }
+        if (reply == SCRIPT_TOKEN_EXISTS) {
+            return ReservationResult.retry();
+        }
+        if (reply == SCRIPT_DUPLICATED) {
+            return ReservationResult.duplicated();
+        }
+        if (reply == SCRIPT_SOLD_OUT) {
+            return ReservationResult.soldOut();
+        }
+        return ReservationResult.success(reply);
+    }
+
+    /**
+     * Writes a prepared token on the layouts that cannot store it inside the
+     * reservation script.
+     */
+    private void storeToken(PendingReservationToken token) {
+        byte[] key = token.redisKey().getBytes(StandardCharsets.UTF_8);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(key, token.value(), Expiration.seconds(token.ttlSeconds()),
+                        RedisStringCommands.SetOption.upsert()));
+    }
+
+    /**
+     * Schedules a reservation's stock to be returned after {@code delay} unless
+     * payment confirms it first; {@link ReservationReclaimSweeper} performs the
+     * release.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user holding the reservation
+     * @param delay              time until the stock is released
+     */
+    public void scheduleRelease(long campaignActivityId, long userId, Duration delay) {
+        long deadline = System.currentTimeMillis() + delay.toMillis();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.zSetCommands().zAdd(bytes(deadlinesKey(campaignActivityId)), deadline, ascii(userId));
+            connection.setCommands().sAdd(bytes(DEADLINE_INDEX_KEY), ascii(campaignActivityId));
+            return null;
+        });
+    }
+
+    /**
+     * Pushes back the release deadline of a reservation that is still pending,
+     * e.g. once the user has started paying.
+     *
+     * @return {@code false} when the reservation was already confirmed or reclaimed
+     */
+    public boolean extendRelease(long campaignActivityId, long userId, Duration delay) {
+        long deadline = System.currentTimeMillis() + delay.toMillis();
+        Boolean updated = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.zSetCommands()
+                .zAdd(bytes(deadlinesKey(campaignActivityId)), deadline, ascii(userId),
+                        RedisZSetCommands.ZAddArgs.ifExists().ch()));
+        return Boolean.TRUE.equals(updated)
+                || redisTemplate.opsForZSet().score(deadlinesKey(campaignActivityId), String.valueOf(userId)) != null;
+    }
+
+    /**
+     * Takes a reservation off the release schedule so payment can confirm it.
+     * Exactly one caller wins, and a reservation whose stock was already
+     * reclaimed cannot be confirmed.
+     *
+     * @return {@code true} if the caller may confirm the reservation
+     */
+    public boolean claimForConfirmation(long campaignActivityId, long userId) {
+        Long removed = redisTemplate.opsForZSet().remove(deadlinesKey(campaignActivityId), String.valueOf(userId));
+        return removed != null && removed == 1L;
+    }
+
+    static String deadlinesKey(long campaignActivityId) {
+        return "campaign:%d:deadlines".formatted(campaignActivityId);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Reserves a slot with individual SADD/INCR commands, compensating with
+     * SREM/DECR when the limit is exceeded. Kept as the fallback path when
+     * {@code axon.reservation.atomic-script} is disabled.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier attempting the reservation
+     * @param limitCount         the activity limit, or {@code null} when unlimited
+     * @return {@code success(order)}, {@code duplicated}, {@code soldOut} or
+     *         {@code error} when Redis returned no reply
+     */
+    ReservationResult reserveWithCommands(long campaignActivityId, long userId, Integer limitCount) {
         String userKey = String.valueOf(userId);
         String userSetKey = participantsKey(campaignActivityId);
         String counterKey = counterKey(campaignActivityId);
@@ -58,25 +306,43 @@ public class EntryReservationService {
         }
 
         Long order = redisTemplate.opsForValue().increment(counterKey);
-        Integer limitCount = meta.limitCount();
         if (order == null || (limitCount != null && order > limitCount)) {
             redisTemplate.opsForSet().remove(userSetKey, userKey);
             redisTemplate.opsForValue().decrement(counterKey);
             return ReservationResult.soldOut();
         }
-
-        // Publish APPROVED event for dashboard tracking
-        eventPublisher.publishEvent(new ReservationApprovedEvent(
-                campaignActivityId,
-                userId,
-                order,
-                requestedAt,
-                meta.productId(),
-                meta.campaignActivityType()));
-
         return ReservationResult.success(order);
     }
 
+    /**
+     * Returns a reserved slot to stock, e.g. when the reservation token expired
+     * without payment. Works for both the single-key and the sharded layout and
+     * only decrements a counter when the user actually held a slot. Releasing a
+     * slot clears the sold-out flag on every pod.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier whose slot is released
+     * @return {@code true} if a slot was released
+     */
+    public boolean releaseReservation(long campaignActivityId, long userId) {
+        int shards = shardedStockService.recordedShardCount(campaignActivityId);
+        boolean released;
+        if (shards > 1) {
+            released = shardedStockService.release(campaignActivityId, userId, shards);
+        } else {
+            Long reply = redisTemplate.execute(
+                    RELEASE_SCRIPT,
+                    List.of(participantsKey(campaignActivityId), counterKey(campaignActivityId)),
+                    String.valueOf(userId));
+            released = reply != null && reply == 1L;
+        }
+        if (released) {
+            // Other pods may hold the flag even when this one does not
+            soldOutRegistry.clear(campaignActivityId);
+        }
+        return released;
+    }
+
     /**
      * Removes a user's reservation from the participant set for the specified
      * campaign activity in Redis.
@@ -97,7 +363,7 @@ public class EntryReservationService {
      * @return the Redis key in the form
      *         {@code "campaign:<campaignActivityId>:users"}
      */
-    private String participantsKey(long campaignActivityId) {
+    static String participantsKey(long campaignActivityId) {
         return "campaign:%d:users".formatted(campaignActivityId);
     }
 
@@ -106,7 +372,7 @@ public class EntryReservationService {
      *
      * @return the Redis key in the form "campaign:{id}:counter"
      */
-    private String counterKey(long campaignActivityId) {
+    static String counterKey(long campaignActivityId) {
         return "campaign:%d:counter".formatted(campaignActivityId);
     }
 }
\ No newline at end of file
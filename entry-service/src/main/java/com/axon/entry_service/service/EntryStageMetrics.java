@@ -0,0 +1,113 @@
+package com.axon.entry_service.service;
+
+import com.axon.messaging.CampaignActivityType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-stage latency timers for the entry request path
+ * ({@code axon.entry.stage{stage, activity_type, outcome}}), so the cost of
+ * the sold-out/waiting-room checks, meta lookup, validation, reservation and
+ * token issue can be compared separately, per activity type and per result
+ * (e.g. {@code DUPLICATED}, {@code SOLD_OUT}). The whole request is recorded as
+ * stage {@link #TOTAL}.
+ *
+ * <p>Callers take a {@link #start()} timestamp and {@link #stop} it once the
+ * outcome is known; timers are created once per tag combination and cached,
+ * so a stop is a map lookup plus a histogram update. The cardinality is bounded
+ * by stages × activity types × outcomes.
+ *
+ * <p>Also decides which hot-path DEBUG lines are written ({@link #debugSampled}),
+ * so DEBUG can be enabled in production without logging every request.
+ */
+@Component
+public class EntryStageMetrics {
+
+    public static final String TOTAL = "total";
+    public static final String SOLD_OUT_CHECK = "sold_out_check";
+    public static final String WAITING_ROOM = "waiting_room";
+    public static final String META = "meta";
+    public static final String RETRY_LOOKUP = "retry_lookup";
+    public static final String FAST_VALIDATION = "fast_validation";
+    public static final String HEAVY_VALIDATION = "heavy_validation";
+    public static final String TOKEN_PREPARE = "token_prepare";
+    public static final String RESERVE = "reserve";
+    public static final String TOKEN_ISSUE = "token_issue";
+
+    public static final String OK = "OK";
+    public static final String REJECTED = "REJECTED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String ERROR = "ERROR";
+
+    private static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    private record StageKey(String stage, CampaignActivityType activityType, String outcome) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Map<StageKey, Timer> timers = new ConcurrentHashMap<>();
+    private final double debugLogSampleRate;
+
+    public EntryStageMetrics(MeterRegistry meterRegistry,
+                             @Value("${axon.entry.debug-log-sample-rate:0.01}") double debugLogSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.debugLogSampleRate = debugLogSampleRate;
+    }
+
+    /**
+     * @return a start timestamp for {@link #stop}
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time since {@code startNanos} for one stage.
+     *
+     * @param startNanos   the value returned by {@link #start()}
+     * @param stage        one of the stage constants
+     * @param activityType the activity type, or {@code null} before the meta is known
+     * @param outcome      the stage result, e.g. {@link #OK} or a {@code ReservationStatus} name
+     * @return the current timestamp, so consecutive stages can be chained
+     */
+    public long stop(long startNanos, String stage, CampaignActivityType activityType, String outcome) {
+        long now = System.nanoTime();
+        timer(new StageKey(stage, activityType, outcome)).record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Whether a hot-path DEBUG line should be written for this call: DEBUG must be enabled on
+     * {@code log} and the call must fall into {@code axon.entry.debug-log-sample-rate}.
+     *
+     * @param log the caller's logger
+     * @return {@code true} if the caller should log
+     */
+    public boolean debugSampled(Logger log) {
+        return log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < debugLogSampleRate;
+    }
+
+    private Timer timer(StageKey key) {
+        Timer timer = timers.get(key);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(key, k -> Timer.builder("axon.entry.stage")
+                .description("Latency of one stage of the entry request path")
+                .tag("stage", k.stage())
+                .tag("activity_type", k.activityType() == null ? UNKNOWN_TYPE : k.activityType().name())
+                .tag("outcome", k.outcome())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,137 @@
+package com.axon.entry_service.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+/**
+ * Responses of requests sent with an {@code Idempotency-Key}, kept in Redis so a retried
+ * request is answered from the first response instead of being processed again.
+ *
+ * <p>A key is first claimed with a one-byte in-flight marker ({@code SET NX}, short TTL so a
+ * crashed pod does not block the key for long), then overwritten with the response record:
+ * {@code [version][status u16][content-type length u16][content-type][hash length u8][request hash][body]}.
+ * Records of version 1 have no request hash.
+ */
+@Service
+public class IdempotencyStore {
+
+    private static final byte IN_FLIGHT_MARKER = 0;
+    private static final byte VERSION_WITHOUT_HASH = 1;
+    private static final byte VERSION = 2;
+
+    /**
+     * A stored response; {@link #IN_FLIGHT} while the first request is still running.
+     *
+     * @param requestHash SHA-256 of the request body that produced the response, or {@code null} if unknown
+     */
+    public record StoredResponse(int status, String contentType, byte[] body, byte[] requestHash) {
+
+        public static final StoredResponse IN_FLIGHT = new StoredResponse(0, null, new byte[0], null);
+
+        public boolean inFlight() {
+            return status == 0;
+        }
+
+        /**
+         * @return {@code false} if the response is known to belong to a request with a different body
+         */
+        public boolean matches(byte[] otherRequestHash) {
+            return requestHash == null || otherRequestHash == null
+                    || MessageDigest.isEqual(requestHash, otherRequestHash);
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+    private final Duration inFlightTtl;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            @Value("${axon.idempotency.ttl:10m}") Duration ttl,
+                            @Value("${axon.idempotency.in-flight-ttl:30s}") Duration inFlightTtl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.inFlightTtl = inFlightTtl;
+    }
+
+    /**
+     * @param key the Redis key of the request
+     * @return {@code true} if the caller now owns the key and must run the request
+     */
+    public boolean tryClaim(String key) {
+        Boolean claimed = redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(bytes(key), new byte[]{IN_FLIGHT_MARKER}, Expiration.from(inFlightTtl), SetOption.ifAbsent()));
+        return Boolean.TRUE.equals(claimed);
+    }
+
+    /**
+     * @param key the Redis key of the request
+     * @return the stored response, {@link StoredResponse#IN_FLIGHT}, or {@code null} if the key is free
+     */
+    public StoredResponse find(String key) {
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.stringCommands()
+                .get(bytes(key)));
+        return value == null ? null : decode(value);
+    }
+
+    /**
+     * Replaces the in-flight marker with the response, kept for {@code axon.idempotency.ttl}.
+     */
+    public void complete(String key, StoredResponse response) {
+        byte[] value = encode(response);
+        redisTemplate.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+                .set(bytes(key), value, Expiration.from(ttl), SetOption.upsert()));
+    }
+
+    /**
+     * Frees a claimed key without storing a response, so a retry runs the request again.
+     */
+    public void release(String key) {
+        redisTemplate.delete(key);
+    }
+
+    static byte[] encode(StoredResponse response) {
+        byte[] contentType = response.contentType() == null ? new byte[0] : bytes(response.contentType());
+        byte[] requestHash = response.requestHash() == null ? new byte[0] : response.requestHash();
+        return ByteBuffer.allocate(1 + 2 + 2 + contentType.length + 1 + requestHash.length + response.body().length)
+                .put(VERSION)
+                .putShort((short) response.status())
+                .putShort((short) contentType.length)
+                .put(contentType)
+                .put((byte) requestHash.length)
+                .put(requestHash)
+                .put(response.body())
+                .array();
+    }
+
+    static StoredResponse decode(byte[] value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        byte version = buffer.get();
+        if (version == IN_FLIGHT_MARKER) {
+            return StoredResponse.IN_FLIGHT;
+        }
+        int status = Short.toUnsignedInt(buffer.getShort());
+        byte[] contentType = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(contentType);
+        byte[] requestHash = null;
+        if (version != VERSION_WITHOUT_HASH) {
+            requestHash = new byte[Byte.toUnsignedInt(buffer.get())];
+            buffer.get(requestHash);
+        }
+        byte[] body = new byte[buffer.remaining()];
+        buffer.get(body);
+        return new StoredResponse(status, contentType.length == 0 ? null : new String(contentType, StandardCharsets.UTF_8),
+                body, requestHash == null || requestHash.length == 0 ? null : requestHash);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
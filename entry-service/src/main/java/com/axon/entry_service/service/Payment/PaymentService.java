@@ -16,45 +16,26 @@ import java.time.Instant;
 public class PaymentService {
     private final CampaignActivityProducerService campaignActivityProducerService;
 
-    // 카프카 전송 retry
-    public boolean sendToKafkaWithRetry(PaymentApprovalPayload payload, int maxRetries) {
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                // DTO 변환
-                CampaignActivityKafkaProducerDto message = CampaignActivityKafkaProducerDto.builder()
-                        .userId(payload.getUserId())
-                        .campaignActivityId(payload.getCampaignActivityId())
-                        .productId(payload.getProductId())
-                        .campaignActivityType(payload.getCampaignActivityType())
-                        .quantity(payload.getQuantity())
-                        .timestamp(Instant.now().toEpochMilli())
-                        .build();
-
-                // Kafka 전송
-                campaignActivityProducerService.send(KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND, message);
-                log.info("Kafka 전송 성공 (attempt {}): userId={}, campaignActivityId={}", attempt, payload.getUserId(), payload.getCampaignActivityId());
-                return true;
-
-            } catch (Exception e) {
-                log.error("Kafka 전송 실패 (attempt {}/{}): userId={}, error={}",attempt, maxRetries, payload.getUserId(), e.getMessage());
-
-        // 마지막 시도가 아니면 대기 후 재시도
-        if (attempt < maxRetries) {
-            try {
-                // 지수 백오프: 1초, 2초, 3초
-                Thread.sleep(1000L * attempt);
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-                log.error("재시도 대기 중 인터럽트 발생", ie);
-                return false;
-            }
+    // 결제 확정 커맨드를 로컬 outbox에 기록 (Kafka 전송은 OutboxRelay가 비동기로 처리)
+    public boolean submitApproval(PaymentApprovalPayload payload) {
+        try {
+            // DTO 변환
+            CampaignActivityKafkaProducerDto message = CampaignActivityKafkaProducerDto.builder()
+                    .userId(payload.getUserId())
+                    .campaignActivityId(payload.getCampaignActivityId())
+                    .productId(payload.getProductId())
+                    .campaignActivityType(payload.getCampaignActivityType())
+                    .quantity(payload.getQuantity())
+                    .timestamp(Instant.now().toEpochMilli())
+                    .build();
+
+            campaignActivityProducerService.send(KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND, message);
+            log.info("결제 커맨드 기록 완료: userId={}, campaignActivityId={}", payload.getUserId(), payload.getCampaignActivityId());
+            return true;
+        } catch (Exception e) {
+            log.error("결제 커맨드 기록 실패: userId={}, campaignActivityId={}, error={}", payload.getUserId(), payload.getCampaignActivityId(), e.getMessage());
+            return false;
         }
     }
-}
-
-        // 3회 모두 실패
-        log.error("Kafka 전송 최종 실패: userId={}, campaignActivityId={}", payload.getUserId(), payload.getCampaignActivityId());
-        return false;
-    }
 
 }
@@ -1,15 +1,20 @@
 package com.axon.entry_service.service.Payment;
 
 import com.axon.entry_service.dto.Payment.PaymentApprovalPayload;
+import com.axon.entry_service.dto.Payment.PendingReservationToken;
 import com.axon.entry_service.dto.Payment.ReservationTokenPayload;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.codec.digest.HmacAlgorithms;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Optional;
 import org.apache.commons.codec.digest.HmacUtils;
@@ -26,11 +31,26 @@ public class ReservationTokenService {
 
     private static final String TOKEN_PREFIX = "RESERVATION_TOKEN:";
     private static final String APPROVAL_PREFIX = "PAYMENT_APPROVED_TOKEN:";
+    private static final String HOLD_PREFIX = "RESERVATION_HOLD:";
+    private static final String HOLD_VALUE = "1";
 
     //TODO: TTL 시간 상의 현재 5분
     private static final long TOKEN_TTL_MINUTES = 5;
     private static final long APPROVALTOKEN_TTL_MINUTES = 30;
 
+    /**
+     * Stateless 모드: 1차/2차 토큰을 Redis에 저장하지 않고 서명된 바이너리 토큰으로 발급한다.
+     * Redis에는 재결제 판별용 RESERVATION_HOLD:{userId}:{campaignActivityId} 키만 남는다.
+     */
+    @Value("${axon.reservation.stateless-tokens:false}")
+    private boolean statelessTokens;
+
+    private SignedTokenCodec signedTokenCodec;
+
+    @PostConstruct
+    void initSignedTokenCodec() {
+        signedTokenCodec = new SignedTokenCodec(SECRET_TOKEN_KEY);
+    }
 
     /**
      * 스레드별 HmacUtils 인스턴스 캐시 (Thread-Safe + 고성능)
@@ -79,31 +99,107 @@ public class ReservationTokenService {
 
     // 1차 토큰 생성
     public String issueToken(ReservationTokenPayload payload) {
+        PendingReservationToken pending = prepareToken(payload);
+
+        // 무조건 저장 및 TTL 갱신 (덮어쓰기)
+        Object value = statelessTokens ? HOLD_VALUE : payload;
+        redisTemplate.opsForValue().set(pending.redisKey(), value, TOKEN_TTL_MINUTES, TimeUnit.MINUTES);
+
+        log.debug("1차 토큰 발급/갱신: userId={}, campaignActivityId={}, token={}...", payload.getUserId(), payload.getCampaignActivityId(), pending.token().substring(0, Math.min(10, pending.token().length())));
+
+        return pending.token();
+    }
+
+    /**
+     * 예약 스크립트가 슬롯 확보와 함께 저장할 수 있도록 1차 토큰을 미리 만든다.
+     * 값은 {@link #getPayloadFromToken}이 읽을 수 있도록 같은 직렬화기로 직렬화한다.
+     * Stateless 모드에서는 서명된 토큰과 함께 재결제 판별용 hold 키를 준비한다.
+     */
+    public PendingReservationToken prepareToken(ReservationTokenPayload payload) {
+        long ttlSeconds = TimeUnit.MINUTES.toSeconds(TOKEN_TTL_MINUTES);
+        if (statelessTokens) {
+            String token = signedTokenCodec.encode(reservationClaims(payload, Instant.now().getEpochSecond() + ttlSeconds));
+            return new PendingReservationToken(token, holdKey(payload.getUserId(), payload.getCampaignActivityId()),
+                    serialize(HOLD_VALUE), ttlSeconds);
+        }
         String token = generateDeterministicToken(payload.getUserId(), payload.getCampaignActivityId());
-        String redisKey = TOKEN_PREFIX + token;
+        return new PendingReservationToken(token, TOKEN_PREFIX + token, serialize(payload), ttlSeconds);
+    }
 
-        log.error("DEBUG_TOKEN_SET: [{}] len={} hash={}", token, token.length(), token.hashCode());
-        log.error("DEBUG: issueToken CALLED! User={}, Key={}", payload.getUserId(), redisKey);
+    /**
+     * 재결제 시 돌려줄 1차 토큰. Stateless 모드에서는 남은 hold TTL에 맞춰 만료 시각을 다시 서명한다.
+     */
+    public String retryToken(PendingReservationToken pending) {
+        if (!statelessTokens) {
+            return pending.token();
+        }
+        Long remainingSeconds = redisTemplate.getExpire(pending.redisKey(), TimeUnit.SECONDS);
+        if (remainingSeconds == null || remainingSeconds <= 0) {
+            return pending.token();
+        }
+        long now = Instant.now().getEpochSecond();
+        return signedTokenCodec.decode(pending.token(), SignedTokenCodec.Kind.RESERVATION, now)
+                .map(claims -> signedTokenCodec.encode(new SignedTokenCodec.TokenClaims(claims.kind(), claims.userId(),
+                        claims.campaignActivityId(), claims.productId(), claims.quantity(),
+                        claims.campaignActivityType(), now + remainingSeconds)))
+                .orElse(pending.token());
+    }
 
-        // 무조건 저장 및 TTL 갱신 (덮어쓰기)
-        redisTemplate.opsForValue().set(redisKey, payload, TOKEN_TTL_MINUTES, TimeUnit.MINUTES);
-        
-        log.error("DEBUG: Redis SET COMPLETE! User={}, Key={}", payload.getUserId(), redisKey);
-        log.info("1차 토큰 발급/갱신: userId={}, campaignActivityId={}, token={}...", payload.getUserId(), payload.getCampaignActivityId(), token.substring(0, Math.min(10, token.length())));
+    /**
+     * 사용자가 아직 살아있는 1차 토큰(Stateless 모드에서는 hold 키)을 갖고 있으면 재결제용 토큰을 돌려준다.
+     * 검증과 예약보다 먼저 확인해, 이미 재고를 확보한 사용자의 재결제가 다른 단계에서 막히지 않게 한다.
+     *
+     * @param pending {@link #prepareToken}으로 준비한 토큰
+     * @return 재결제용 1차 토큰, 보유 중인 토큰이 없으면 empty
+     */
+    public Optional<String> findRetryToken(PendingReservationToken pending) {
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(pending.redisKey()))) {
+            return Optional.empty();
+        }
+        return Optional.of(retryToken(pending));
+    }
 
-        return token;
+    /**
+     * 클라이언트가 제시한 1차 토큰이 이 사용자/활동의 토큰인지 Redis 조회 없이 확인한다.
+     * 매진 후에는 이 검사를 통과한 요청만 {@link #findRetryToken}으로 Redis를 확인한다.
+     *
+     * @param pending   {@link #prepareToken}으로 준비한 토큰
+     * @param presented 요청에 담긴 1차 토큰, 없으면 {@code null}
+     */
+    public boolean matchesHeldToken(PendingReservationToken pending, String presented) {
+        if (presented == null || presented.isEmpty()) {
+            return false;
+        }
+        if (!statelessTokens) {
+            return pending.token().equals(presented);
+        }
+        return signedTokenCodec.decode(presented, SignedTokenCodec.Kind.RESERVATION, Instant.now().getEpochSecond())
+                .map(claims -> holdKey(claims.userId(), claims.campaignActivityId()).equals(pending.redisKey()))
+                .orElse(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] serialize(Object value) {
+        return ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(value);
     }
 
     // 1차 토큰 유효성 확인
     public boolean isReservationTokenValid(String reservationToken) {
         String redisKey = TOKEN_PREFIX + reservationToken;
         boolean exists = redisTemplate.hasKey(redisKey);
-        log.error("DEBUG: isReservationTokenValid CALLED! Key={}, Exists={}", redisKey, exists);
+        log.debug("1차 토큰 존재 확인: key={}, exists={}", redisKey, exists);
         return exists;
     }
 
     // 2차 토큰 생성 또는 refresh
     public String CreateApprovalToken(PaymentApprovalPayload paymentApprovalPayload) {
+        if (statelessTokens) {
+            long expiresAt = Instant.now().getEpochSecond() + TimeUnit.MINUTES.toSeconds(APPROVALTOKEN_TTL_MINUTES);
+            return signedTokenCodec.encode(new SignedTokenCodec.TokenClaims(SignedTokenCodec.Kind.APPROVAL,
+                    paymentApprovalPayload.getUserId(), paymentApprovalPayload.getCampaignActivityId(),
+                    paymentApprovalPayload.getProductId(), paymentApprovalPayload.getQuantity(),
+                    paymentApprovalPayload.getCampaignActivityType(), expiresAt));
+        }
         String redisKey = paymentApprovalPayload.getUserId() + ":" + paymentApprovalPayload.getCampaignActivityId();
         String approvalToken = approvalRedisKey(redisKey);
 
@@ -128,8 +224,17 @@ public class ReservationTokenService {
 
     // 1차 토큰 조회
     public Optional<ReservationTokenPayload> getPayloadFromToken(String token) {
-        log.error("DEBUG_TOKEN_GET: [{}] len={} hash={}", token, token.length(), token.hashCode());
-        
+        if (statelessTokens) {
+            // 서명/만료만 확인 (Redis 조회 없음)
+            return signedTokenCodec.decode(token, SignedTokenCodec.Kind.RESERVATION, Instant.now().getEpochSecond())
+                    .map(claims -> ReservationTokenPayload.builder()
+                            .userId(claims.userId())
+                            .campaignActivityId(claims.campaignActivityId())
+                            .productId(claims.productId())
+                            .campaignActivityType(claims.campaignActivityType())
+                            .quantity(claims.quantity())
+                            .build());
+        }
         String redisKey = TOKEN_PREFIX + token;
         Object payload = redisTemplate.opsForValue().get(redisKey);
         String substring = token.substring(0, Math.min(10, token.length()));
@@ -150,7 +255,7 @@ public class ReservationTokenService {
     }
 
     // 토큰 탈취 위험이 감지 되면 시행되는 강력 검증기
-    private boolean verifyTokenSignature(String token) {
+    boolean verifyTokenSignature(String token) {
         try {
             // 1. Base64 디코딩
             String decoded = new String(
@@ -196,6 +301,16 @@ public class ReservationTokenService {
 
     // 2차 토큰 조회
     public Optional<PaymentApprovalPayload> getApprovalPayload(String token) {
+        if (statelessTokens) {
+            return signedTokenCodec.decode(token, SignedTokenCodec.Kind.APPROVAL, Instant.now().getEpochSecond())
+                    .map(claims -> PaymentApprovalPayload.builder()
+                            .userId(claims.userId())
+                            .campaignActivityId(claims.campaignActivityId())
+                            .productId(claims.productId())
+                            .campaignActivityType(claims.campaignActivityType())
+                            .quantity(claims.quantity())
+                            .build());
+        }
         String redisKey = approvalRedisKey(token);
         Object payload = redisTemplate.opsForValue().get(redisKey);
         return Optional.ofNullable((PaymentApprovalPayload) payload);
@@ -220,8 +335,37 @@ public class ReservationTokenService {
         redisTemplate.delete(redisKey);
     }
 
+    /**
+     * 1차 토큰 유효 시간 (확정 실패 시 재고 복구 기한으로 사용)
+     */
+    public Duration reservationTokenTtl() {
+        return Duration.ofMinutes(TOKEN_TTL_MINUTES);
+    }
+
+    /**
+     * 2차 토큰 유효 시간 (결제 진행 중 재고 복구 기한 연장에 사용)
+     */
+    public Duration approvalTokenTtl() {
+        return Duration.ofMinutes(APPROVALTOKEN_TTL_MINUTES);
+    }
+
+    private SignedTokenCodec.TokenClaims reservationClaims(ReservationTokenPayload payload, long expiresAtEpochSecond) {
+        return new SignedTokenCodec.TokenClaims(SignedTokenCodec.Kind.RESERVATION, payload.getUserId(),
+                payload.getCampaignActivityId(), payload.getProductId(), payload.getQuantity(),
+                payload.getCampaignActivityType(), expiresAtEpochSecond);
+    }
+
+    private static String holdKey(Long userId, Long campaignActivityId) {
+        return HOLD_PREFIX + userId + ":" + campaignActivityId;
+    }
+
     // 토큰 전체 삭제
     public void cleanup(PaymentApprovalPayload payload) {
+        if (statelessTokens) {
+            // 재결제 판별용 hold 키만 삭제
+            redisTemplate.delete(holdKey(payload.getUserId(), payload.getCampaignActivityId()));
+            return;
+        }
         try {
             // 1차 토큰 삭제
             removeToken(payload.getReservationToken());
@@ -0,0 +1,104 @@
+package com.axon.entry_service.service.Payment;
+
+import com.axon.messaging.CampaignActivityType;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+
+/**
+ * Self-contained, HMAC-signed reservation and approval tokens used by the stateless token mode.
+ *
+ * <pre>
+ * version(1) kind(1) userId(8) campaignActivityId(8) productId(8, -1 = none)
+ * quantity(4) activityType(1, -1 = none) expiresAt epoch seconds(8) | HMAC-SHA256 truncated to 16 bytes
+ * </pre>
+ *
+ * <p>The token is the Base64url (no padding) form of the bytes above, 74 characters.
+ * Bump {@link #VERSION} whenever the layout or {@link CampaignActivityType} order changes.
+ */
+class SignedTokenCodec {
+
+    static final byte VERSION = 1;
+    private static final int BODY_LENGTH = 1 + 1 + 8 + 8 + 8 + 4 + 1 + 8;
+    private static final int MAC_LENGTH = 16;
+    private static final CampaignActivityType[] ACTIVITY_TYPES = CampaignActivityType.values();
+
+    enum Kind {
+        RESERVATION, APPROVAL
+    }
+
+    record TokenClaims(Kind kind, long userId, long campaignActivityId, Long productId, Integer quantity,
+                       CampaignActivityType campaignActivityType, long expiresAtEpochSecond) {
+    }
+
+    private final ThreadLocal<HmacUtils> hmacUtilsThreadLocal;
+
+    SignedTokenCodec(String secret) {
+        this.hmacUtilsThreadLocal = ThreadLocal.withInitial(() -> new HmacUtils(HmacAlgorithms.HMAC_SHA_256, secret));
+    }
+
+    String encode(TokenClaims claims) {
+        ByteBuffer buffer = ByteBuffer.allocate(BODY_LENGTH + MAC_LENGTH);
+        buffer.put(VERSION)
+                .put((byte) claims.kind().ordinal())
+                .putLong(claims.userId())
+                .putLong(claims.campaignActivityId())
+                .putLong(claims.productId() == null ? -1L : claims.productId())
+                .putInt(claims.quantity() == null ? -1 : claims.quantity())
+                .put(claims.campaignActivityType() == null ? -1 : (byte) claims.campaignActivityType().ordinal())
+                .putLong(claims.expiresAtEpochSecond());
+        byte[] bytes = buffer.array();
+        System.arraycopy(mac(bytes), 0, bytes, BODY_LENGTH, MAC_LENGTH);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @return the claims of a well-formed, correctly signed, unexpired token of the expected kind
+     */
+    Optional<TokenClaims> decode(String token, Kind expectedKind, long nowEpochSecond) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length != BODY_LENGTH + MAC_LENGTH || bytes[0] != VERSION) {
+            return Optional.empty();
+        }
+        byte[] expectedMac = Arrays.copyOf(mac(bytes), MAC_LENGTH);
+        if (!MessageDigest.isEqual(expectedMac, Arrays.copyOfRange(bytes, BODY_LENGTH, bytes.length))) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, BODY_LENGTH - 1);
+        int kind = buffer.get();
+        if (kind != expectedKind.ordinal()) {
+            return Optional.empty();
+        }
+        long userId = buffer.getLong();
+        long campaignActivityId = buffer.getLong();
+        long productId = buffer.getLong();
+        int quantity = buffer.getInt();
+        int activityType = buffer.get();
+        long expiresAt = buffer.getLong();
+        if (expiresAt <= nowEpochSecond || activityType >= ACTIVITY_TYPES.length) {
+            return Optional.empty();
+        }
+        return Optional.of(new TokenClaims(expectedKind, userId, campaignActivityId,
+                productId < 0 ? null : productId,
+                quantity < 0 ? null : quantity,
+                activityType < 0 ? null : ACTIVITY_TYPES[activityType],
+                expiresAt));
+    }
+
+    private byte[] mac(byte[] bytes) {
+        return hmacUtilsThreadLocal.get().hmac(Arrays.copyOf(bytes, BODY_LENGTH));
+    }
+}
@@ -0,0 +1,180 @@
+package com.axon.entry_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Returns the stock of reservations that were not paid before their deadline.
+ *
+ * <p>Every reservation that issues a token is added to
+ * {@code campaign:{id}:deadlines} (score = release deadline) and its activity
+ * to {@code reservation:deadline:activities}. Each pod sweeps the activities it
+ * owns: owners are assigned by hashing the activity id over the live pods
+ * registered in {@code reservation:sweeper:pods}. A sweep claims due entries
+ * in batches with {@code reclaim.lua}, which removes them from the deadline set
+ * and returns their stock atomically, so an entry is released exactly once even
+ * while pod membership changes. Sharded stock lives in per-shard keys the script
+ * cannot reach, so for sharded activities the script parks claimed entries in
+ * {@code campaign:{id}:reclaiming} under a lease; the sweeper releases each one
+ * and only then drops its lease, and a lease left behind by a crashed pod is
+ * claimed again once it expires. Nothing depends on keyspace notifications; an
+ * entry stays in the sets until some pod reclaims it or payment confirms it.
+ */
+@Slf4j
+@Service
+public class ReservationReclaimSweeper {
+
+    private static final RedisScript<List> RECLAIM_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/reclaim.lua"), List.class);
+    static final String PODS_KEY = "reservation:sweeper:pods";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ShardedStockService shardedStockService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final String podId = UUID.randomUUID().toString();
+    private final Timer reclaimLag;
+    private final Counter reclaimed;
+
+    @Value("${axon.reservation.reclaim.batch-size:500}")
+    private int batchSize;
+
+    @Value("${axon.reservation.reclaim.interval-ms:1000}")
+    private long intervalMillis;
+
+    @Value("${axon.reservation.reclaim.lease-ms:30000}")
+    private long leaseMillis;
+
+    public ReservationReclaimSweeper(StringRedisTemplate redisTemplate,
+                                     ShardedStockService shardedStockService,
+                                     SoldOutRegistry soldOutRegistry,
+                                     MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.shardedStockService = shardedStockService;
+        this.soldOutRegistry = soldOutRegistry;
+        this.reclaimLag = Timer.builder("axon.reservation.reclaim.lag")
+                .description("Delay between a reservation's release deadline and its reclaim")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.reclaimed = Counter.builder("axon.reservation.reclaimed")
+                .description("Reservations whose stock was returned after their deadline")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${axon.reservation.reclaim.interval-ms:1000}")
+    public void sweep() {
+        try {
+            List<String> pods = heartbeat();
+            int podIndex = pods.indexOf(podId);
+            if (podIndex < 0) {
+                return;
+            }
+            Set<String> activities = redisTemplate.opsForSet().members(EntryReservationService.DEADLINE_INDEX_KEY);
+            if (activities == null) {
+                return;
+            }
+            for (String activity : activities) {
+                long campaignActivityId = Long.parseLong(activity);
+                if (Math.floorMod(Long.hashCode(campaignActivityId), pods.size()) == podIndex) {
+                    sweepActivity(campaignActivityId);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Reservation reclaim sweep failed", e);
+        }
+    }
+
+    /**
+     * Registers this pod and returns the live pods in a stable order.
+     */
+    private List<String> heartbeat() {
+        long now = System.currentTimeMillis();
+        redisTemplate.opsForZSet().add(PODS_KEY, podId, now);
+        redisTemplate.opsForZSet().removeRangeByScore(PODS_KEY, 0, now - Math.max(intervalMillis * 5, 5_000L));
+        Set<String> pods = redisTemplate.opsForZSet().range(PODS_KEY, 0, -1);
+        List<String> sorted = pods == null ? new ArrayList<>() : new ArrayList<>(pods);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    void sweepActivity(long campaignActivityId) {
+        int shards = shardedStockService.recordedShardCount(campaignActivityId);
+        boolean sharded = shards > 1;
+        int claimedInBatch;
+        do {
+            List<?> reply = redisTemplate.execute(RECLAIM_SCRIPT,
+                    List.of(EntryReservationService.deadlinesKey(campaignActivityId),
+                            EntryReservationService.participantsKey(campaignActivityId),
+                            EntryReservationService.counterKey(campaignActivityId),
+                            EntryReservationService.DEADLINE_INDEX_KEY,
+                            reclaimingKey(campaignActivityId)),
+                    String.valueOf(campaignActivityId), String.valueOf(batchSize), sharded ? "0" : "1",
+                    String.valueOf(leaseMillis));
+            if (reply == null || reply.size() < 3) {
+                return;
+            }
+            claimedInBatch = reply.size() - 3;
+            long released = ((Number) reply.get(claimedInBatch)).longValue();
+            long oldestDeadline = ((Number) reply.get(claimedInBatch + 1)).longValue();
+            long now = ((Number) reply.get(claimedInBatch + 2)).longValue();
+            if (claimedInBatch == 0) {
+                return;
+            }
+
+            if (sharded) {
+                released += releaseLeased(campaignActivityId, shards, reply.subList(0, claimedInBatch));
+            }
+            if (released > 0) {
+                soldOutRegistry.clear(campaignActivityId);
+            }
+
+            if (oldestDeadline >= 0) {
+                reclaimLag.record(Duration.ofMillis(Math.max(0, now - oldestDeadline)));
+            }
+            reclaimed.increment(released);
+            log.info("♻️ Stock Restored! Activity: {}, Claimed: {}, Released: {}", campaignActivityId, claimedInBatch, released);
+        } while (claimedInBatch == batchSize);
+    }
+
+    /**
+     * Releases sharded stock for entries the script parked under a lease and
+     * drops each lease only once its release went through. An entry whose
+     * release failed keeps its lease and is handed out again when it expires.
+     */
+    private long releaseLeased(long campaignActivityId, int shards, List<?> userIds) {
+        long released = 0;
+        List<String> done = new ArrayList<>(userIds.size());
+        for (Object userId : userIds) {
+            String member = userId.toString();
+            try {
+                if (shardedStockService.release(campaignActivityId, Long.parseLong(member), shards)) {
+                    released++;
+                }
+                done.add(member);
+            } catch (Exception e) {
+                log.warn("Reclaim release failed, retrying after the lease. activityId={}, userId={}",
+                        campaignActivityId, member, e);
+            }
+        }
+        if (!done.isEmpty()) {
+            redisTemplate.opsForZSet().remove(reclaimingKey(campaignActivityId), done.toArray());
+        }
+        return released;
+    }
+
+    static String reclaimingKey(long campaignActivityId) {
+        return "campaign:%d:reclaiming".formatted(campaignActivityId);
+    }
+}
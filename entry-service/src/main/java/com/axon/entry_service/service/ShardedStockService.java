@@ -0,0 +1,191 @@
+package com.axon.entry_service.service;
+
+import com.axon.entry_service.domain.ReservationResult;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+/**
+ * Splits an activity's stock across several sub-counters so a single hot
+ * {@code campaign:{id}:counter} key no longer caps throughput.
+ *
+ * <p>Each shard owns its own counter, participant set and borrower set under
+ * the hash tag {@code {activityId:shard}}, so the three keys stay in one
+ * cluster slot while different shards spread across slots. Users are routed
+ * to a home shard by hash; when the home shard is exhausted the remaining
+ * stock is borrowed from sibling shards in a fixed order.
+ *
+ * <p>Order numbers are shard-local: every shard counts its own slots from 1,
+ * so with {@code n} shards up to {@code n} reservations share the same order
+ * number and the numbers say nothing about arrival order across shards. They
+ * are not drawn from one global {@code INCR} on purpose, because that would
+ * put the single hot key back on every reservation. Anything that needs a
+ * global rank or a unique id must not use them (see
+ * {@link ReservationResult#order()}).
+ *
+ * <p>The shard count chosen for an activity is recorded in
+ * {@code campaign:{id}:shards} on first use so every pod, and core-service
+ * when it sums the counters, agrees on the layout even if the configuration
+ * changes mid-campaign.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShardedStockService {
+
+    private static final RedisScript<Long> RESERVE_SHARD_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/reserve_shard.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/release.lua"), Long.class);
+    private static final long SCRIPT_DUPLICATED = -1L;
+    private static final long SCRIPT_SOLD_OUT = -2L;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<Long, Integer> shardLayouts = new ConcurrentHashMap<>();
+
+    @Value("${axon.reservation.stock-shards:1}")
+    private int configuredShards;
+
+    /**
+     * Resolves how many stock shards an activity uses.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param limitCount         the activity limit, or {@code null} when unlimited
+     * @return the shard count; {@code 1} means the unsharded keys are used
+     */
+    public int shardCount(long campaignActivityId, Integer limitCount) {
+        if (configuredShards <= 1 || limitCount == null || limitCount <= 1) {
+            return 1;
+        }
+        return shardLayouts.computeIfAbsent(campaignActivityId,
+                id -> loadLayout(id, Math.min(configuredShards, limitCount)));
+    }
+
+    /**
+     * Returns the shard count already recorded for an activity without
+     * choosing a new layout, for callers that only release stock.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @return the recorded shard count, or {@code 1} when the activity is unsharded
+     */
+    public int recordedShardCount(long campaignActivityId) {
+        Integer cached = shardLayouts.get(campaignActivityId);
+        if (cached != null) {
+            return cached;
+        }
+        String stored = redisTemplate.opsForValue().get(layoutKey(campaignActivityId));
+        if (stored == null) {
+            return 1;
+        }
+        int shards = Integer.parseInt(stored);
+        shardLayouts.put(campaignActivityId, shards);
+        return shards;
+    }
+
+    /**
+     * Reserves a slot for the user on their home shard, borrowing from sibling
+     * shards once the home shard is exhausted.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier attempting the reservation
+     * @param limitCount         the total activity limit
+     * @param shards             the shard count returned by {@link #shardCount}
+     * @return {@code success(order)} with the shard-local order number (unique
+     *         only within the shard that issued the slot),
+     *         {@code duplicated}, {@code soldOut} when every shard is exhausted,
+     *         or {@code error} when Redis returned no reply
+     */
+    public ReservationResult reserve(long campaignActivityId, long userId, int limitCount, int shards) {
+        String member = String.valueOf(userId);
+        int home = homeShard(userId, shards);
+
+        for (int step = 0; step < shards; step++) {
+            int shard = (home + step) % shards;
+            Long reply = redisTemplate.execute(
+                    RESERVE_SHARD_SCRIPT,
+                    List.of(usersKey(campaignActivityId, shard),
+                            counterKey(campaignActivityId, shard),
+                            borrowersKey(campaignActivityId, shard)),
+                    member,
+                    String.valueOf(shardLimit(limitCount, shards, shard)));
+            if (reply == null) {
+                return ReservationResult.error();
+            }
+            if (reply == SCRIPT_DUPLICATED) {
+                return ReservationResult.duplicated();
+            }
+            if (reply == SCRIPT_SOLD_OUT) {
+                continue;
+            }
+            if (shard != home) {
+                // 재시도 시 홈 샤드에서 바로 중복으로 판정되도록 기록
+                redisTemplate.opsForSet().add(borrowersKey(campaignActivityId, home), member);
+            }
+            return ReservationResult.success(reply);
+        }
+        return ReservationResult.soldOut();
+    }
+
+    /**
+     * Returns the user's slot to whichever shard issued it.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier whose slot is released
+     * @param shards             the shard count returned by {@link #shardCount}
+     * @return {@code true} if a slot was released
+     */
+    public boolean release(long campaignActivityId, long userId, int shards) {
+        String member = String.valueOf(userId);
+        boolean released = false;
+        for (int shard = 0; shard < shards; shard++) {
+            Long reply = redisTemplate.execute(
+                    RELEASE_SCRIPT,
+                    List.of(usersKey(campaignActivityId, shard),
+                            counterKey(campaignActivityId, shard),
+                            borrowersKey(campaignActivityId, shard)),
+                    member);
+            released |= reply != null && reply == 1L;
+        }
+        return released;
+    }
+
+    private int loadLayout(long campaignActivityId, int shards) {
+        String key = layoutKey(campaignActivityId);
+        redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(shards));
+        String stored = redisTemplate.opsForValue().get(key);
+        int resolved = stored != null ? Integer.parseInt(stored) : shards;
+        log.info("Stock shard layout resolved. activityId={}, shards={}", campaignActivityId, resolved);
+        return resolved;
+    }
+
+    static int homeShard(long userId, int shards) {
+        return Math.floorMod(Long.hashCode(userId * 0x9E3779B97F4A7C15L), shards);
+    }
+
+    static int shardLimit(int limitCount, int shards, int shard) {
+        return limitCount / shards + (shard < limitCount % shards ? 1 : 0);
+    }
+
+    private static String layoutKey(long campaignActivityId) {
+        return "campaign:%d:shards".formatted(campaignActivityId);
+    }
+
+    private static String usersKey(long campaignActivityId, int shard) {
+        return "campaign:{%d:%d}:users".formatted(campaignActivityId, shard);
+    }
+
+    private static String counterKey(long campaignActivityId, int shard) {
+        return "campaign:{%d:%d}:counter".formatted(campaignActivityId, shard);
+    }
+
+    private static String borrowersKey(long campaignActivityId, int shard) {
+        return "campaign:{%d:%d}:borrowers".formatted(campaignActivityId, shard);
+    }
+}
@@ -0,0 +1,135 @@
+package com.axon.entry_service.service;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+/**
+ * Pod-local sold-out/closed flags per campaign activity, shared across pods
+ * over Redis pub/sub.
+ *
+ * <p>Once an activity sells out (or ends), later entry requests can be
+ * rejected before the meta lookup, validation and Redis writes. Flags carry a
+ * short TTL so a lost "available" broadcast costs at most one full request
+ * per pod per TTL; that request simply sets the flag again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SoldOutRegistry implements MessageListener {
+
+    static final String CHANNEL = "axon:campaign-activity:availability";
+
+    public enum Flag { SOLD_OUT, CLOSED }
+
+    private record Entry(Flag flag, long expiresAtMillis) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Map<Long, Entry> flags = new ConcurrentHashMap<>();
+
+    @Value("${axon.reservation.sold-out-flag-ttl:30s}")
+    private Duration flagTtl;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Returns the local flag for an activity without touching Redis.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @return the active flag, or {@code null} when the activity may still be open
+     */
+    public Flag flagOf(long campaignActivityId) {
+        Entry entry = flags.get(campaignActivityId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+            flags.remove(campaignActivityId, entry);
+            return null;
+        }
+        return entry.flag();
+    }
+
+    /**
+     * Flags the activity locally and broadcasts the flag to the other pods.
+     * Only the first local transition is broadcast.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param flag               the reason entries are rejected
+     */
+    public void mark(long campaignActivityId, Flag flag) {
+        Entry previous = flags.put(campaignActivityId, newEntry(flag));
+        if (previous == null || previous.flag() != flag) {
+            broadcast(flag.name(), campaignActivityId);
+        }
+    }
+
+    /**
+     * Clears the flag locally and on the other pods, e.g. after stock was put back.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     */
+    public void clear(long campaignActivityId) {
+        flags.remove(campaignActivityId);
+        broadcast("AVAILABLE", campaignActivityId);
+    }
+
+    /**
+     * Drops the local flag without broadcasting, for events every pod receives
+     * on its own (e.g. a meta invalidation).
+     *
+     * @param campaignActivityId the campaign activity identifier
+     */
+    public void forget(long campaignActivityId) {
+        flags.remove(campaignActivityId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0) {
+            log.warn("Ignoring malformed availability message: {}", body);
+            return;
+        }
+        try {
+            String state = body.substring(0, separator);
+            long campaignActivityId = Long.parseLong(body.substring(separator + 1));
+            if ("AVAILABLE".equals(state)) {
+                flags.remove(campaignActivityId);
+            } else {
+                flags.put(campaignActivityId, newEntry(Flag.valueOf(state)));
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed availability message: {}", body);
+        }
+    }
+
+    private Entry newEntry(Flag flag) {
+        return new Entry(flag, System.currentTimeMillis() + flagTtl.toMillis());
+    }
+
+    private void broadcast(String state, long campaignActivityId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, state + ":" + campaignActivityId);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast activity availability. activityId={}, state={}", campaignActivityId, state, e);
+        }
+    }
+}
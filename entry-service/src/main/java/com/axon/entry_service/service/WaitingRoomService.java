@@ -0,0 +1,337 @@
+package com.axon.entry_service.service;
+
+import com.axon.entry_service.dto.QueueTicketResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.HmacAlgorithms;
+import org.apache.commons.codec.digest.HmacUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Optional per-activity waiting room in front of entry creation.
+ *
+ * <p>An activity has a waiting room while {@code campaign:{id}:queue:rate}
+ * holds a positive admissions-per-second value, set and cleared by operators
+ * through {@link #setRate} and {@link #clearRate}. Users join once and get a
+ * signed ticket carrying their position; a Redis token bucket advances the
+ * admitted frontier at the configured rate and only tickets at or below the
+ * frontier are let through to {@code createEntry}.
+ *
+ * <p>Each pod refreshes the frontier of the rooms it has seen on a short
+ * schedule and answers status polls and admission checks from that local
+ * copy, so waiting users cost no Redis round trip per poll. Callers pass only
+ * ids of activities that exist; the local copy is bounded in size and a room
+ * nobody has asked about for {@code axon.waiting-room.idle-expiry} is dropped
+ * and no longer refreshed.
+ */
+@Slf4j
+@Service
+public class WaitingRoomService {
+
+    private static final RedisScript<Long> JOIN_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/queue_join.lua"), Long.class);
+    private static final RedisScript<Long> ADVANCE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/queue_advance.lua"), Long.class);
+    private static final long QUEUE_TTL_SECONDS = Duration.ofDays(1).toSeconds();
+
+    /**
+     * Local view of one activity's waiting room; {@code rate == 0} means disabled.
+     */
+    private record RoomState(long rate, long frontier, long loadedAtMillis) {
+        boolean enabled() {
+            return rate > 0;
+        }
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<Long, RoomState> rooms;
+    private final ThreadLocal<HmacUtils> hmacUtilsThreadLocal;
+    private final long disabledRecheckMillis;
+
+    @Autowired
+    public WaitingRoomService(StringRedisTemplate redisTemplate,
+                              @Value("${axon.waiting-room.secret:${payment.token.secret}}") String secret,
+                              @Value("${axon.waiting-room.disabled-recheck:5s}") Duration disabledRecheck,
+                              @Value("${axon.waiting-room.max-rooms:10000}") long maxRooms,
+                              @Value("${axon.waiting-room.idle-expiry:10m}") Duration idleExpiry) {
+        this(redisTemplate, secret, disabledRecheck, maxRooms, idleExpiry, Ticker.systemTicker());
+    }
+
+    WaitingRoomService(StringRedisTemplate redisTemplate, String secret, Duration disabledRecheck,
+                       long maxRooms, Duration idleExpiry, Ticker ticker) {
+        this.redisTemplate = redisTemplate;
+        this.hmacUtilsThreadLocal = ThreadLocal.withInitial(() -> new HmacUtils(HmacAlgorithms.HMAC_SHA_256, secret));
+        this.disabledRecheckMillis = disabledRecheck.toMillis();
+        this.rooms = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .expireAfter(idleFor(idleExpiry))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Expires a room once nobody has read it for {@code idleExpiry}; the scheduled refresh
+     * only updates the entry and does not keep an abandoned room alive.
+     */
+    private static Expiry<Long, RoomState> idleFor(Duration idleExpiry) {
+        long idleNanos = idleExpiry.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Long campaignActivityId, RoomState room, long currentTime) {
+                return idleNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Long campaignActivityId, RoomState room, long currentTime,
+                                          long currentDuration) {
+                return currentDuration;
+            }
+
+            @Override
+            public long expireAfterRead(Long campaignActivityId, RoomState room, long currentTime,
+                                        long currentDuration) {
+                return idleNanos;
+            }
+        };
+    }
+
+    /**
+     * @param campaignActivityId the campaign activity identifier
+     * @return whether entries for the activity currently go through the waiting room
+     */
+    public boolean isEnabled(long campaignActivityId) {
+        return room(campaignActivityId).enabled();
+    }
+
+    /**
+     * Opens the waiting room of an activity, or changes its rate. This pod applies it at once;
+     * other pods pick up a new room within {@code axon.waiting-room.disabled-recheck} and a rate
+     * change on their next refresh.
+     *
+     * @param campaignActivityId  the campaign activity identifier
+     * @param admissionsPerSecond users let through per second
+     * @throws IllegalArgumentException if {@code admissionsPerSecond} is not positive
+     */
+    public void setRate(long campaignActivityId, long admissionsPerSecond) {
+        if (admissionsPerSecond <= 0) {
+            throw new IllegalArgumentException("admissionsPerSecond must be positive: " + admissionsPerSecond);
+        }
+        redisTemplate.opsForValue().set(queueKey(campaignActivityId, "rate"), String.valueOf(admissionsPerSecond));
+        rooms.invalidate(campaignActivityId);
+        log.info("Waiting room of activity {} set to {} admissions/s", campaignActivityId, admissionsPerSecond);
+    }
+
+    /**
+     * Closes the waiting room of an activity; entries go straight through again once each pod
+     * refreshes the room. Tickets already issued are simply no longer checked.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     */
+    public void clearRate(long campaignActivityId) {
+        redisTemplate.delete(queueKey(campaignActivityId, "rate"));
+        rooms.invalidate(campaignActivityId);
+        log.info("Waiting room of activity {} cleared", campaignActivityId);
+    }
+
+    /**
+     * Puts the user in line (idempotently) and returns a signed ticket.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier
+     * @return the ticket and current standing, or an "open" response when the activity has no waiting room
+     */
+    public QueueTicketResponse join(long campaignActivityId, long userId) {
+        RoomState room = room(campaignActivityId);
+        if (!room.enabled()) {
+            return QueueTicketResponse.open(campaignActivityId);
+        }
+        Long position = redisTemplate.execute(JOIN_SCRIPT,
+                List.of(queueKey(campaignActivityId, "tickets"), queueKey(campaignActivityId, "seq")),
+                String.valueOf(userId), String.valueOf(QUEUE_TTL_SECONDS));
+        if (position == null) {
+            throw new IllegalStateException("Waiting room join returned no position for activity " + campaignActivityId);
+        }
+        return standing(campaignActivityId, room, sign(campaignActivityId, userId, position), position);
+    }
+
+    /**
+     * Reports the ticket holder's standing from local state only.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier
+     * @param ticket             the ticket returned by {@link #join}
+     * @return the standing, an "open" response when the room is disabled, or {@code null} when the ticket is invalid
+     */
+    public QueueTicketResponse status(long campaignActivityId, long userId, String ticket) {
+        RoomState room = room(campaignActivityId);
+        if (!room.enabled()) {
+            return QueueTicketResponse.open(campaignActivityId);
+        }
+        long position = verify(campaignActivityId, userId, ticket);
+        if (position < 0) {
+            return null;
+        }
+        return standing(campaignActivityId, room, ticket, position);
+    }
+
+    /**
+     * Checks whether the user may create an entry now. Always true when the activity has no waiting room.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier
+     * @param ticket             the ticket presented with the request, may be {@code null}
+     * @return {@code true} when the ticket is valid and its position has been admitted
+     */
+    public boolean isAdmitted(long campaignActivityId, long userId, String ticket) {
+        RoomState room = room(campaignActivityId);
+        if (!room.enabled()) {
+            return true;
+        }
+        long position = verify(campaignActivityId, userId, ticket);
+        return position > 0 && position <= room.frontier();
+    }
+
+    /**
+     * Milliseconds a not-yet-admitted client should wait before retrying.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @param userId             the user identifier
+     * @param ticket             the presented ticket, may be {@code null}
+     * @return the estimated wait, at least one refresh interval
+     */
+    public long retryAfterMillis(long campaignActivityId, long userId, String ticket) {
+        RoomState room = room(campaignActivityId);
+        long position = verify(campaignActivityId, userId, ticket);
+        if (!room.enabled() || position < 0) {
+            return 1000L;
+        }
+        return estimateWaitMillis(room, position);
+    }
+
+    /**
+     * Advances the frontier of every enabled room this pod still tracks.
+     */
+    @Scheduled(fixedDelayString = "${axon.waiting-room.refresh-interval-ms:200}")
+    public void refreshRooms() {
+        rooms.asMap().forEach((campaignActivityId, room) -> {
+            if (room.enabled()) {
+                try {
+                    RoomState refreshed = load(campaignActivityId);
+                    // 그 사이 만료/제거된 방은 되살리지 않는다
+                    rooms.asMap().replace(campaignActivityId, refreshed);
+                } catch (Exception e) {
+                    log.warn("Failed to refresh waiting room of activity {}", campaignActivityId, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of rooms this pod currently tracks
+     */
+    long trackedRooms() {
+        rooms.cleanUp();
+        return rooms.estimatedSize();
+    }
+
+    private RoomState room(long campaignActivityId) {
+        RoomState room = rooms.getIfPresent(campaignActivityId);
+        if (room != null && (room.enabled()
+                || System.currentTimeMillis() - room.loadedAtMillis() < disabledRecheckMillis)) {
+            return room;
+        }
+        try {
+            room = load(campaignActivityId);
+        } catch (Exception e) {
+            // Redis 장애 시 대기열 없이 통과시킨다 (이후 예약 단계에서 다시 실패함)
+            log.warn("Failed to load waiting room of activity {}, letting requests through", campaignActivityId, e);
+            room = new RoomState(0, 0, System.currentTimeMillis());
+        }
+        rooms.put(campaignActivityId, room);
+        return room;
+    }
+
+    private RoomState load(long campaignActivityId) {
+        long now = System.currentTimeMillis();
+        String rateValue = redisTemplate.opsForValue().get(queueKey(campaignActivityId, "rate"));
+        long rate = rateValue == null ? 0 : Long.parseLong(rateValue);
+        if (rate <= 0) {
+            return new RoomState(0, 0, now);
+        }
+        Long frontier = redisTemplate.execute(ADVANCE_SCRIPT,
+                List.of(queueKey(campaignActivityId, "admitted"),
+                        queueKey(campaignActivityId, "refilled-at"),
+                        queueKey(campaignActivityId, "seq")),
+                String.valueOf(rate), String.valueOf(rate), String.valueOf(QUEUE_TTL_SECONDS));
+        return new RoomState(rate, frontier == null ? 0 : frontier, now);
+    }
+
+    private QueueTicketResponse standing(long campaignActivityId, RoomState room, String ticket, long position) {
+        boolean admitted = position <= room.frontier();
+        return QueueTicketResponse.builder()
+                .campaignActivityId(campaignActivityId)
+                .waitingRoom(true)
+                .ticket(ticket)
+                .position(position)
+                .admitted(admitted)
+                .aheadCount(admitted ? 0 : position - room.frontier() - 1)
+                .retryAfterMillis(admitted ? 0 : estimateWaitMillis(room, position))
+                .build();
+    }
+
+    private static long estimateWaitMillis(RoomState room, long position) {
+        long waiting = Math.max(position - room.frontier(), 1);
+        return Math.max(waiting * 1000 / room.rate(), 200L);
+    }
+
+    String sign(long campaignActivityId, long userId, long position) {
+        String payload = campaignActivityId + ":" + userId + ":" + position;
+        String signature = hmacUtilsThreadLocal.get().hmacHex(payload);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((payload + ":" + signature).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the position carried by a valid ticket for this activity and user, or {@code -1}
+     */
+    long verify(long campaignActivityId, long userId, String ticket) {
+        if (ticket == null || ticket.isBlank()) {
+            return -1;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(ticket), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(":");
+            if (parts.length != 4
+                    || Long.parseLong(parts[0]) != campaignActivityId
+                    || Long.parseLong(parts[1]) != userId) {
+                return -1;
+            }
+            String payload = parts[0] + ":" + parts[1] + ":" + parts[2];
+            byte[] expected = hmacUtilsThreadLocal.get().hmacHex(payload).getBytes(StandardCharsets.UTF_8);
+            if (!MessageDigest.isEqual(expected, parts[3].getBytes(StandardCharsets.UTF_8))) {
+                return -1;
+            }
+            return Long.parseLong(parts[2]);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static String queueKey(long campaignActivityId, String suffix) {
+        return "campaign:" + campaignActivityId + ":queue:" + suffix;
+    }
+}
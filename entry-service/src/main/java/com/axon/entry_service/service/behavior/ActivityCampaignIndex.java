@@ -0,0 +1,175 @@
+package com.axon.entry_service.service.behavior;
+
+import com.axon.entry_service.config.auth.JwtTokenProvider;
+import com.axon.entry_service.domain.CampaignActivityMeta;
+import com.axon.entry_service.service.CampaignActivityMetaService;
+import com.axon.messaging.topic.RedisChannels;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * In-memory activityId → campaignId map used to enrich behavior events.
+ *
+ * <p>The whole index is bulk-loaded from core-service at startup (and reloaded
+ * periodically as a safety net); creates, moves and deletes arrive on
+ * {@link RedisChannels#CAMPAIGN_ACTIVITY_INDEX}. Lookups never do I/O: an
+ * unknown id returns {@code null} and is queued for a background lookup, so
+ * later events for the same activity are enriched. Ids that do not resolve are
+ * not retried for {@code unresolved-retry}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ActivityCampaignIndex implements MessageListener {
+
+    private static final int MAX_PENDING = 10_000;
+
+    private record IndexEntry(Long activityId, Long campaignId) {
+    }
+
+    private final RestClient campaignRestClient;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final CampaignActivityMetaService metaService;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final Map<Long, Long> campaignIds = new ConcurrentHashMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    /** Ids changed by the feed while a bulk load is in flight; the snapshot must not overwrite them. */
+    private volatile Set<Long> changedDuringLoad;
+    private Cache<Long, Boolean> unresolved;
+
+    @Value("${axon.campaign-index.unresolved-retry:1m}")
+    private Duration unresolvedRetry;
+
+    @PostConstruct
+    void subscribe() {
+        unresolved = Caffeine.newBuilder()
+                .maximumSize(MAX_PENDING)
+                .expireAfterWrite(unresolvedRetry)
+                .build();
+        listenerContainer.addMessageListener(this, new ChannelTopic(RedisChannels.CAMPAIGN_ACTIVITY_INDEX));
+    }
+
+    /**
+     * Returns the campaign of an activity without blocking.
+     *
+     * @param campaignActivityId the campaign activity identifier
+     * @return the campaign id, or {@code null} if not known yet (a background lookup is queued)
+     */
+    public Long campaignIdOf(Long campaignActivityId) {
+        if (campaignActivityId == null) {
+            return null;
+        }
+        Long campaignId = campaignIds.get(campaignActivityId);
+        if (campaignId == null && unresolved.getIfPresent(campaignActivityId) == null && pending.size() < MAX_PENDING) {
+            pending.add(campaignActivityId);
+        }
+        return campaignId;
+    }
+
+    /**
+     * Bulk-loads the index from core-service; runs at startup and then as a periodic safety net
+     * for missed change-feed messages.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${axon.campaign-index.reload-interval-ms:600000}")
+    public void reload() {
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringLoad = changed;
+        try {
+            List<IndexEntry> entries = campaignRestClient.get()
+                    .uri("/api/v1/campaign/activities/campaign-index")
+                    .header("Authorization", "Bearer " + jwtTokenProvider.generateAccessToken(0L)) // system user
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<List<IndexEntry>>() {
+                    });
+            if (entries == null) {
+                return;
+            }
+            Map<Long, Long> snapshot = new HashMap<>(entries.size() * 2);
+            for (IndexEntry entry : entries) {
+                if (entry.activityId() != null && entry.campaignId() != null) {
+                    snapshot.put(entry.activityId(), entry.campaignId());
+                }
+            }
+            snapshot.forEach((activityId, campaignId) -> {
+                if (!changed.contains(activityId)) {
+                    campaignIds.put(activityId, campaignId);
+                }
+            });
+            campaignIds.keySet().removeIf(activityId -> !snapshot.containsKey(activityId) && !changed.contains(activityId));
+            log.info("Activity-campaign index loaded. size={}", campaignIds.size());
+        } catch (Exception e) {
+            log.warn("Failed to load activity-campaign index; relying on on-demand lookups", e);
+        } finally {
+            changedDuringLoad = null;
+        }
+    }
+
+    /**
+     * Resolves ids seen by {@link #campaignIdOf} that were not in the index.
+     */
+    @Scheduled(fixedDelayString = "${axon.campaign-index.resolve-interval-ms:200}")
+    public void resolvePending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(pending);
+        pending.removeAll(ids);
+        try {
+            Map<Long, CampaignActivityMeta> metas = metaService.getMetas(ids);
+            for (Long id : ids) {
+                CampaignActivityMeta meta = metas.get(id);
+                if (meta != null && meta.campaignId() != null) {
+                    campaignIds.putIfAbsent(id, meta.campaignId());
+                } else {
+                    unresolved.put(id, Boolean.TRUE);
+                }
+            }
+        } catch (Exception e) {
+            ids.forEach(id -> unresolved.put(id, Boolean.TRUE));
+            log.warn("Failed to resolve campaign ids for activities {}", ids, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        try {
+            long activityId = Long.parseLong(body.substring(0, separator));
+            String campaignId = body.substring(separator + 1);
+            Set<Long> changed = changedDuringLoad;
+            if (changed != null) {
+                changed.add(activityId);
+            }
+            if (campaignId.isEmpty()) {
+                campaignIds.remove(activityId);
+            } else {
+                campaignIds.put(activityId, Long.parseLong(campaignId));
+                unresolved.invalidate(activityId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed campaign index change: {}", body);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.axon.entry_service.service.behavior;
+
+import com.axon.entry_service.domain.behavior.UserBehaviorEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Decides which behavior events are published, in front of {@link BehaviorEventPublisher}.
+ *
+ * <ol>
+ *   <li>Rate limit: at most {@code session-max-events-per-second} events per
+ *       {@code sessionId}; events without a session are not limited.</li>
+ *   <li>Dedupe: an {@code eventId} seen within the last one to two
+ *       {@code dedupe-window}s is dropped (retried beacons). A Bloom filter false
+ *       positive drops a fresh event with probability {@code dedupe-false-positive-rate}.</li>
+ *   <li>Sampling: {@code sample-rates} keeps a fraction of selected trigger types,
+ *       e.g. {@code SCROLL=0.1,SCROLL@12=0.5} (the {@code @campaignId} entry wins for
+ *       that campaign). The decision is made per session, so a sampled session keeps
+ *       all of its events of that type.</li>
+ * </ol>
+ *
+ * Drops are counted as {@code axon.behavior.events.dropped{reason}} and sampled-out
+ * events as {@code axon.behavior.events.sampled{triggerType}}.
+ */
+@Slf4j
+@Component
+public class BehaviorEventIngestionPolicy {
+
+    private final boolean enabled;
+    private final Clock clock;
+    private final SessionRateLimiter rateLimiter;
+    private final RotatingBloomFilter seenEventIds;
+    private final Map<String, Double> sampleRates;
+    private final Counter duplicates;
+    private final Counter rateLimited;
+    private final Map<String, Counter> sampledOut = new HashMap<>();
+
+    @Autowired
+    public BehaviorEventIngestionPolicy(MeterRegistry meterRegistry,
+                                        @Value("${axon.behavior.policy.enabled:true}") boolean enabled,
+                                        @Value("${axon.behavior.policy.session-max-events-per-second:20}") int sessionMaxEventsPerSecond,
+                                        @Value("${axon.behavior.policy.dedupe-expected-events:1000000}") long dedupeExpectedEvents,
+                                        @Value("${axon.behavior.policy.dedupe-false-positive-rate:0.0001}") double dedupeFalsePositiveRate,
+                                        @Value("${axon.behavior.policy.sample-rates:}") String sampleRates) {
+        this(meterRegistry, Clock.systemUTC(), enabled, sessionMaxEventsPerSecond, dedupeExpectedEvents,
+                dedupeFalsePositiveRate, sampleRates);
+    }
+
+    BehaviorEventIngestionPolicy(MeterRegistry meterRegistry, Clock clock, boolean enabled,
+                                 int sessionMaxEventsPerSecond, long dedupeExpectedEvents,
+                                 double dedupeFalsePositiveRate, String sampleRates) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.rateLimiter = new SessionRateLimiter(sessionMaxEventsPerSecond);
+        this.seenEventIds = new RotatingBloomFilter(dedupeExpectedEvents, dedupeFalsePositiveRate);
+        this.sampleRates = parseSampleRates(sampleRates);
+        this.duplicates = droppedCounter(meterRegistry, "duplicate");
+        this.rateLimited = droppedCounter(meterRegistry, "rate_limited");
+        for (String key : this.sampleRates.keySet()) {
+            String triggerType = key.contains("@") ? key.substring(0, key.indexOf('@')) : key;
+            sampledOut.computeIfAbsent(triggerType, type -> Counter.builder("axon.behavior.events.sampled")
+                    .description("Behavior events left out by trigger-type sampling")
+                    .tag("triggerType", type)
+                    .register(meterRegistry));
+        }
+        log.info("Behavior event ingestion policy enabled={} sessionLimit={}/s dedupeBits={} sampleRates={}",
+                enabled, sessionMaxEventsPerSecond, seenEventIds.bitSize(), this.sampleRates);
+    }
+
+    /**
+     * @param event the enriched event about to be published
+     * @return {@code true} if the event should be published
+     */
+    public boolean admit(UserBehaviorEvent event) {
+        if (!enabled) {
+            return true;
+        }
+        if (StringUtils.hasText(event.getSessionId())
+                && !rateLimiter.tryAcquire(event.getSessionId(), clock.millis() / 1000)) {
+            rateLimited.increment();
+            return false;
+        }
+        if (event.getEventId() != null && seenEventIds.putIfAbsentMightContain(event.getEventId())) {
+            duplicates.increment();
+            return false;
+        }
+        return sampled(event);
+    }
+
+    /**
+     * Applies {@link #admit} to each event of a batch.
+     *
+     * @param events the enriched events about to be published
+     * @return the events to publish, in their original order
+     */
+    public List<UserBehaviorEvent> filter(List<UserBehaviorEvent> events) {
+        if (!enabled) {
+            return events;
+        }
+        List<UserBehaviorEvent> admitted = new ArrayList<>(events.size());
+        for (UserBehaviorEvent event : events) {
+            if (admit(event)) {
+                admitted.add(event);
+            }
+        }
+        return admitted;
+    }
+
+    @Scheduled(fixedDelayString = "${axon.behavior.policy.dedupe-window-ms:600000}",
+            initialDelayString = "${axon.behavior.policy.dedupe-window-ms:600000}")
+    public void rotateDedupeWindow() {
+        seenEventIds.rotate();
+    }
+
+    @Scheduled(fixedDelayString = "${axon.behavior.policy.session-eviction-interval-ms:10000}")
+    public void evictIdleSessions() {
+        rateLimiter.evictIdle(clock.millis() / 1000);
+    }
+
+    private boolean sampled(UserBehaviorEvent event) {
+        if (sampleRates.isEmpty() || event.getTriggerType() == null) {
+            return true;
+        }
+        Object campaignId = event.getProperties() == null ? null : event.getProperties().get("campaignId");
+        Double rate = campaignId == null ? null : sampleRates.get(event.getTriggerType() + "@" + campaignId);
+        if (rate == null) {
+            rate = sampleRates.get(event.getTriggerType());
+        }
+        if (rate == null || rate >= 1.0) {
+            return true;
+        }
+        if (bucket(event) < rate) {
+            return true;
+        }
+        sampledOut.get(event.getTriggerType()).increment();
+        return false;
+    }
+
+    /**
+     * Uniform value in [0, 1) that is stable for a session and trigger type.
+     */
+    private static double bucket(UserBehaviorEvent event) {
+        if (!StringUtils.hasText(event.getSessionId())) {
+            return ThreadLocalRandom.current().nextDouble();
+        }
+        long h = event.getSessionId().hashCode() * 0x9E3779B97F4A7C15L ^ event.getTriggerType().hashCode();
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("axon.behavior.events.dropped")
+                .description("Behavior events dropped before publishing")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Parses {@code TRIGGER=rate} or {@code TRIGGER@campaignId=rate} entries separated by commas.
+     */
+    static Map<String, Double> parseSampleRates(String spec) {
+        Map<String, Double> rates = new HashMap<>();
+        if (!StringUtils.hasText(spec)) {
+            return rates;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid behavior sample rate entry: " + entry);
+            }
+            double rate = Double.parseDouble(parts[1].trim());
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Sample rate must be within [0, 1]: " + entry);
+            }
+            rates.put(parts[0].trim(), rate);
+        }
+        return rates;
+    }
+}
@@ -1,6 +1,7 @@
 package com.axon.entry_service.service.behavior;
 
 import com.axon.entry_service.domain.behavior.UserBehaviorEvent;
+import java.util.List;
 
 public interface BehaviorEventPublisher {
 
@@ -10,4 +11,13 @@ public interface BehaviorEventPublisher {
  * @param event the user behavior event to be dispatched
  */
 void publish(UserBehaviorEvent event);
-}
\ No newline at end of file
+
+    /**
+     * Publish several user behavior events, e.g. one batched ingestion request.
+     *
+     * @param events the user behavior events to be dispatched
+     */
+    default void publishAll(List<UserBehaviorEvent> events) {
+        events.forEach(this::publish);
+    }
+}
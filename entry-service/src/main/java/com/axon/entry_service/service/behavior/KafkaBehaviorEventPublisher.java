@@ -4,7 +4,10 @@ import com.axon.entry_service.domain.behavior.UserBehaviorEvent;
 import com.axon.messaging.dto.UserBehaviorEventMessage;
 import com.axon.messaging.topic.KafkaTopics;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -29,7 +32,7 @@ public class KafkaBehaviorEventPublisher implements BehaviorEventPublisher {
     @Override
     public void publish(UserBehaviorEvent event) {
         UserBehaviorEventMessage message = mapToMessage(event);
-        log.info("publishing behavior event");
+        log.debug("publishing behavior event");
         kafkaTemplate.send(KafkaTopics.BEHAVIOR_EVENT, message).whenComplete((result, ex) -> {
             if (ex != null) {
                 log.error("Failed to publish behavior event. eventId={} triggerType={}",
@@ -41,6 +44,39 @@ public class KafkaBehaviorEventPublisher implements BehaviorEventPublisher {
         });
     }
 
+    /**
+     * Publish a batch of behavior events to the behavior Kafka topic.
+     *
+     * All records are handed to the producer back to back, so they leave in the same
+     * per-partition produce requests instead of one request per HTTP call. Failures are
+     * logged once per batch rather than once per event.
+     *
+     * @param events the user behavior events to publish
+     */
+    @Override
+    public void publishAll(List<UserBehaviorEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        AtomicInteger failed = new AtomicInteger();
+        CompletableFuture<?>[] sends = new CompletableFuture<?>[events.size()];
+        for (int i = 0; i < sends.length; i++) {
+            sends[i] = kafkaTemplate.send(KafkaTopics.BEHAVIOR_EVENT, mapToMessage(events.get(i)))
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            failed.incrementAndGet();
+                        }
+                    });
+        }
+        CompletableFuture.allOf(sends).whenComplete((ignored, ex) -> {
+            if (failed.get() > 0) {
+                log.error("Failed to publish {} of {} behavior events in batch", failed.get(), events.size(), ex);
+            } else if (log.isDebugEnabled()) {
+                log.debug("Published behavior event batch of {} to topic={}", events.size(), KafkaTopics.BEHAVIOR_EVENT);
+            }
+        });
+    }
+
     /**
      * Convert a UserBehaviorEvent into a UserBehaviorEventMessage.
      *
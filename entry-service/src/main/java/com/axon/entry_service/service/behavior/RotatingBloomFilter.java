@@ -0,0 +1,112 @@
+package com.axon.entry_service.service.behavior;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over {@code long} keys that forgets old keys by rotation.
+ *
+ * <p>Two generations are kept: keys are added to the current one and looked up
+ * in both. {@link #rotate()} drops the previous generation and starts an empty
+ * current one, so a key is remembered for at least one and at most two rotation
+ * windows. Like any Bloom filter it can report a key it never saw (with the
+ * configured false-positive rate per generation), but never misses one it did.
+ */
+public class RotatingBloomFilter {
+
+    private final int bits;
+    private final int hashes;
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    /**
+     * @param expectedKeys      keys expected per rotation window
+     * @param falsePositiveRate target false-positive rate of one generation, e.g. {@code 0.001}
+     */
+    public RotatingBloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (expectedKeys <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedKeys must be positive and falsePositiveRate in (0, 1)");
+        }
+        long optimalBits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedKeys * Math.log(2)));
+        this.current = new Generation(bits);
+        this.previous = new Generation(bits);
+    }
+
+    /**
+     * Adds the key and reports whether it may have been added before.
+     *
+     * @param key the key to record
+     * @return {@code true} if the key was (probably) seen within the last two windows
+     */
+    public boolean putIfAbsentMightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        Generation cur = current;
+        Generation prev = previous;
+        boolean seen = true;
+        boolean seenBefore = true;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, bits);
+            seen &= cur.set(bit);
+            if (seenBefore) {
+                seenBefore = prev.get(bit);
+            }
+        }
+        return seen || seenBefore;
+    }
+
+    /**
+     * Starts a new window: the previous generation is discarded.
+     */
+    public void rotate() {
+        previous = current;
+        current = new Generation(bits);
+    }
+
+    /**
+     * @return the size of one generation in bits
+     */
+    public int bitSize() {
+        return bits;
+    }
+
+    /**
+     * SplitMix64 finalizer; event ids are often sequential, so they are scrambled before indexing.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+
+        private Generation(int bits) {
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        private boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+
+        /**
+         * Sets the bit and returns whether it was already set.
+         */
+        private boolean set(int bit) {
+            int index = bit >>> 6;
+            long mask = 1L << bit;
+            long word = words.get(index);
+            while ((word & mask) == 0) {
+                long witness = words.compareAndExchange(index, word, word | mask);
+                if (witness == word) {
+                    return false;
+                }
+                word = witness;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.axon.entry_service.service.behavior;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-window limiter: at most {@code permitsPerSecond} events per session per second.
+ *
+ * <p>Each session holds one {@link AtomicLong} packing the window second (high
+ * bits) and the count in that window (low 20 bits), updated with a CAS loop, so
+ * callers never block each other. Sessions idle for more than a window are
+ * removed by {@link #evictIdle(long)}.
+ */
+public class SessionRateLimiter {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final int permitsPerSecond;
+    private final Map<String, AtomicLong> windows = new ConcurrentHashMap<>();
+
+    public SessionRateLimiter(int permitsPerSecond) {
+        if (permitsPerSecond <= 0 || permitsPerSecond > COUNT_MASK) {
+            throw new IllegalArgumentException("permitsPerSecond out of range: " + permitsPerSecond);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * Takes one permit for the session in the given second.
+     *
+     * @param sessionId   the session identifier
+     * @param epochSecond the current time in epoch seconds
+     * @return {@code true} if the event is within the session's budget for that second
+     */
+    public boolean tryAcquire(String sessionId, long epochSecond) {
+        AtomicLong window = windows.computeIfAbsent(sessionId, id -> new AtomicLong());
+        while (true) {
+            long state = window.get();
+            long next;
+            if (state >>> COUNT_BITS != epochSecond) {
+                next = (epochSecond << COUNT_BITS) | 1;
+            } else if ((state & COUNT_MASK) < permitsPerSecond) {
+                next = state + 1;
+            } else {
+                return false;
+            }
+            if (window.compareAndSet(state, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes sessions that have not sent anything since before {@code epochSecond}.
+     *
+     * @param epochSecond the current time in epoch seconds
+     */
+    public void evictIdle(long epochSecond) {
+        windows.values().removeIf(window -> window.get() >>> COUNT_BITS < epochSecond);
+    }
+
+    /**
+     * @return the number of sessions currently tracked
+     */
+    public int trackedSessions() {
+        return windows.size();
+    }
+}
@@ -0,0 +1,379 @@
+package com.axon.entry_service.service.outbox;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Append-only, memory-mapped journal of Kafka commands waiting to be published.
+ *
+ * <p>The journal is a sequence of fixed-size segment files
+ * ({@code segment-<index>.log}). A record is {@code [int length][int crc32][payload]}
+ * and its offset is {@code index * segmentSize + position}; a length of
+ * {@code -1} marks the unused tail of a segment and {@code 0} the end of the
+ * written data. {@link #append} returns once the record is in the mapped file
+ * and, with {@code fsync} on, forced to disk; concurrent appenders share one
+ * force (group commit). {@link OutboxRelay} reads from the checkpoint and
+ * moves it forward as Kafka acknowledges records; segments behind the
+ * checkpoint are deleted. On restart the tail of the last segment is found by
+ * scanning records until the first empty or corrupt (torn) one. Records that
+ * can never be published are copied to {@code dead-letter.log} by
+ * {@link #quarantine} before the checkpoint moves past them.
+ */
+@Slf4j
+@Component
+public class CommandJournal {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int END_OF_SEGMENT = -1;
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String DEAD_LETTER_FILE = "dead-letter.log";
+
+    /**
+     * One journaled command.
+     *
+     * @param offset     journal offset of the record
+     * @param nextOffset offset right after the record; commit this once it is delivered
+     * @param topic      Kafka topic to publish to
+     * @param key        Kafka record key, may be {@code null}
+     * @param value      serialized message
+     */
+    public record Entry(long offset, long nextOffset, String topic, String key, byte[] value) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final long maxBacklogBytes;
+    private final Map<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    private final MappedByteBuffer checkpointBuffer;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile long writeOffset;
+    private volatile long flushedOffset;
+    private volatile long checkpoint;
+
+    public CommandJournal(@Value("${axon.outbox.dir:./data/outbox}") String directory,
+                          @Value("${axon.outbox.segment-size-bytes:67108864}") int segmentSize,
+                          @Value("${axon.outbox.fsync:true}") boolean fsync,
+                          @Value("${axon.outbox.max-backlog-bytes:1073741824}") long maxBacklogBytes) {
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.maxBacklogBytes = maxBacklogBytes;
+        try {
+            Files.createDirectories(this.directory);
+            try (FileChannel channel = FileChannel.open(this.directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                this.checkpointBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+            }
+            this.checkpoint = checkpointBuffer.getLong(0);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open outbox journal at " + directory, e);
+        }
+        log.info("Outbox journal opened at {} (checkpoint={}, end={})", this.directory.toAbsolutePath(), checkpoint, writeOffset);
+    }
+
+    /**
+     * Appends a command and returns once it is durable.
+     *
+     * @return the offset right after the appended record
+     * @throws IllegalStateException if the undelivered backlog is over its limit
+     */
+    public long append(String topic, String key, byte[] value) {
+        byte[] payload = encode(topic, key, value);
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentSize) {
+            throw new IllegalArgumentException("Outbox record of " + recordBytes + " bytes exceeds the segment size");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        long end;
+        appendLock.lock();
+        try {
+            if (writeOffset - checkpoint + recordBytes > maxBacklogBytes) {
+                throw new IllegalStateException("Outbox backlog is full (" + (writeOffset - checkpoint) + " bytes undelivered)");
+            }
+            long offset = writeOffset;
+            int position = positionOf(offset);
+            if (position + recordBytes > segmentSize) {
+                MappedByteBuffer current = segment(indexOf(offset));
+                if (position + Integer.BYTES <= segmentSize) {
+                    current.putInt(position, END_OF_SEGMENT);
+                }
+                if (fsync) {
+                    current.force();
+                }
+                offset = (indexOf(offset) + 1) * segmentSize;
+                position = 0;
+            }
+            MappedByteBuffer buffer = segment(indexOf(offset));
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+            buffer.putInt(position, payload.length);
+            end = offset + recordBytes;
+            writeOffset = end;
+        } finally {
+            appendLock.unlock();
+        }
+        if (fsync) {
+            flush(end);
+        }
+        return end;
+    }
+
+    /**
+     * Reads up to {@code max} records starting at {@code fromOffset}.
+     */
+    public List<Entry> read(long fromOffset, int max) {
+        List<Entry> entries = new ArrayList<>();
+        long offset = fromOffset;
+        long end = writeOffset;
+        while (entries.size() < max && offset < end) {
+            MappedByteBuffer buffer = segments.get(indexOf(offset));
+            int position = positionOf(offset);
+            if (buffer == null) {
+                break;
+            }
+            int length = position + HEADER_BYTES <= segmentSize ? buffer.getInt(position) : END_OF_SEGMENT;
+            if (length == END_OF_SEGMENT) {
+                offset = (indexOf(offset) + 1) * segmentSize;
+                continue;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_BYTES, payload);
+            long next = offset + HEADER_BYTES + length;
+            entries.add(decode(offset, next, payload));
+            offset = next;
+        }
+        return entries;
+    }
+
+    /**
+     * Marks every record before {@code offset} as delivered and drops fully delivered segments.
+     */
+    public void commit(long offset) {
+        if (offset <= checkpoint) {
+            return;
+        }
+        checkpointBuffer.putLong(0, offset);
+        checkpointBuffer.force();
+        checkpoint = offset;
+
+        long firstLiveSegment = indexOf(offset);
+        for (Long index : List.copyOf(segments.keySet())) {
+            if (index >= firstLiveSegment) {
+                break;
+            }
+            segments.remove(index);
+            try {
+                Files.deleteIfExists(segmentPath(index));
+            } catch (IOException e) {
+                log.warn("Could not delete delivered outbox segment {}", index, e);
+            }
+        }
+    }
+
+    /**
+     * Appends a record that can never be published to {@code dead-letter.log}, one line of
+     * {@code offset, topic, key, base64 value, reason} separated by tabs, and forces it to disk.
+     * A record is quarantined again if the relay has to retry it before the checkpoint passes it.
+     *
+     * @throws UncheckedIOException if the line could not be written; the record must not be skipped
+     */
+    public void quarantine(Entry entry, String reason) {
+        String line = entry.offset() + "\t" + entry.topic() + "\t" + (entry.key() == null ? "" : entry.key())
+                + "\t" + Base64.getEncoder().encodeToString(entry.value())
+                + "\t" + String.valueOf(reason).replaceAll("\\s+", " ") + "\n";
+        try (FileChannel channel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot quarantine outbox record at offset " + entry.offset(), e);
+        }
+    }
+
+    public long checkpoint() {
+        return checkpoint;
+    }
+
+    public long backlogBytes() {
+        return writeOffset - checkpoint;
+    }
+
+    @PreDestroy
+    void close() {
+        flush(writeOffset);
+    }
+
+    private void flush(long target) {
+        if (flushedOffset >= target) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            if (flushedOffset >= target) {
+                return;
+            }
+            long from = flushedOffset;
+            long upTo = writeOffset;
+            for (long index = indexOf(from); index <= indexOf(Math.max(from, upTo - 1)); index++) {
+                MappedByteBuffer buffer = segments.get(index);
+                if (buffer == null) {
+                    continue;
+                }
+                int start = index == indexOf(from) ? positionOf(from) : 0;
+                int stop = index == indexOf(upTo) ? positionOf(upTo) : segmentSize;
+                if (stop > start) {
+                    buffer.force(start, stop - start);
+                }
+            }
+            flushedOffset = upTo;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        long checkpointSegment = indexOf(checkpoint);
+        List<Long> indexes;
+        try (Stream<Path> files = Files.list(directory)) {
+            indexes = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("segment-") && name.endsWith(".log"))
+                    .map(name -> Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length())))
+                    .sorted()
+                    .toList();
+        }
+        for (long index : indexes) {
+            if (index < checkpointSegment) {
+                Files.deleteIfExists(segmentPath(index));
+            } else {
+                segments.put(index, map(index));
+            }
+        }
+
+        long offset = checkpoint;
+        long last = indexes.isEmpty() ? checkpointSegment : Math.max(checkpointSegment, indexes.get(indexes.size() - 1));
+        while (indexOf(offset) <= last) {
+            MappedByteBuffer buffer = segments.get(indexOf(offset));
+            int position = positionOf(offset);
+            int length = buffer == null || position + HEADER_BYTES > segmentSize ? END_OF_SEGMENT : buffer.getInt(position);
+            if (length == END_OF_SEGMENT) {
+                if (indexOf(offset) == last) {
+                    break;
+                }
+                offset = (indexOf(offset) + 1) * segmentSize;
+                continue;
+            }
+            if (length <= 0 || position + HEADER_BYTES + length > segmentSize || !intact(buffer, position, length)) {
+                if (length != 0) {
+                    log.warn("Outbox journal tail is torn at offset {}; discarding the partial record", offset);
+                    for (int i = position; i < segmentSize; i++) {
+                        buffer.put(i, (byte) 0);
+                    }
+                    buffer.force();
+                }
+                break;
+            }
+            offset += HEADER_BYTES + length;
+        }
+        writeOffset = offset;
+        flushedOffset = offset;
+    }
+
+    private boolean intact(MappedByteBuffer buffer, int position, int length) {
+        byte[] payload = new byte[length];
+        buffer.get(position + HEADER_BYTES, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt(position + Integer.BYTES);
+    }
+
+    private MappedByteBuffer segment(long index) {
+        return segments.computeIfAbsent(index, this::mapUnchecked);
+    }
+
+    private MappedByteBuffer mapUnchecked(long index) {
+        try {
+            return map(index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map outbox segment " + index, e);
+        }
+    }
+
+    private MappedByteBuffer map(long index) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath(index).toFile(), "rw")) {
+            if (file.length() != segmentSize) {
+                file.setLength(segmentSize);
+            }
+            return file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("segment-%019d.log", index));
+    }
+
+    private long indexOf(long offset) {
+        return offset / segmentSize;
+    }
+
+    private int positionOf(long offset) {
+        return (int) (offset % segmentSize);
+    }
+
+    private static byte[] encode(String topic, String key, byte[] value) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+        int keyLength = keyBytes == null ? 0 : keyBytes.length;
+        byte[] payload = new byte[Short.BYTES + topicBytes.length + Short.BYTES + keyLength + value.length];
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        buffer.putShort((short) topicBytes.length).put(topicBytes);
+        buffer.putShort((short) (keyBytes == null ? -1 : keyLength));
+        if (keyBytes != null) {
+            buffer.put(keyBytes);
+        }
+        buffer.put(value);
+        return payload;
+    }
+
+    private static Entry decode(long offset, long nextOffset, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte[] topic = new byte[buffer.getShort()];
+        buffer.get(topic);
+        short keyLength = buffer.getShort();
+        String key = null;
+        if (keyLength >= 0) {
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(keyBytes);
+            key = new String(keyBytes, StandardCharsets.UTF_8);
+        }
+        byte[] value = new byte[buffer.remaining()];
+        buffer.get(value);
+        return new Entry(offset, nextOffset, new String(topic, StandardCharsets.UTF_8), key, value);
+    }
+}
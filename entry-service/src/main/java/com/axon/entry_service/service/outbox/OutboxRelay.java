@@ -0,0 +1,235 @@
+package com.axon.entry_service.service.outbox;
+
+import com.axon.messaging.codec.CampaignActivityCommandCodec;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes journaled commands to Kafka in batches.
+ *
+ * <p>Each run sends every record from the checkpoint onwards (up to
+ * {@code batch-size} at a time), waits for the broker acks and commits the
+ * checkpoint past the longest acknowledged prefix. A failed send stops the run
+ * and the remaining records are retried after {@code failure-backoff-ms}; after
+ * a restart everything past the checkpoint is sent again. Delivery is
+ * therefore at-least-once, in journal order.
+ *
+ * <p>Records are journaled in the {@link CampaignActivityCommandCodec} layout
+ * and sent as they are. Only when {@code axon.kafka.command-codec=json} are
+ * they decoded with the codec so the JSON serializer can write them; records
+ * journaled as JSON before the switch (no magic byte) are read with Jackson.
+ *
+ * <p>A record that can never be published (its payload does not decode, or
+ * Kafka rejects it for serialization or size) would otherwise hold the
+ * checkpoint forever. Such records are written to the journal's dead-letter
+ * file, counted in {@code axon.outbox.quarantined} and skipped.
+ *
+ * <p>On shutdown the relay drains the journal before the context closes: the
+ * pod may be removed by a scale-in and its volume never mounted again, so
+ * undelivered commands must not be left behind. It keeps retrying for up to
+ * {@code drain-timeout-ms}, which has to fit in the pod's termination grace
+ * period.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final CommandJournal journal;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter published;
+    private final Counter failures;
+    private final Counter quarantined;
+    private volatile long retryAtMillis;
+
+    // binary: 저널 바이트를 그대로 전송, json: 디코딩 후 JsonSerializer로 전송 (KafkaConfig와 같은 설정)
+    @Value("${axon.kafka.command-codec:binary}")
+    private String commandCodec = "binary";
+
+    @Value("${axon.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${axon.outbox.ack-timeout-ms:10000}")
+    private long ackTimeoutMillis;
+
+    @Value("${axon.outbox.failure-backoff-ms:1000}")
+    private long failureBackoffMillis;
+
+    @Value("${axon.outbox.drain-timeout-ms:120000}")
+    private long drainTimeoutMillis;
+
+    public OutboxRelay(CommandJournal journal,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry) {
+        this.journal = journal;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.published = Counter.builder("axon.outbox.published")
+                .description("Journaled commands acknowledged by Kafka")
+                .register(meterRegistry);
+        this.failures = Counter.builder("axon.outbox.publish.failures")
+                .description("Relay runs stopped by a failed Kafka send")
+                .register(meterRegistry);
+        this.quarantined = Counter.builder("axon.outbox.quarantined")
+                .description("Journaled commands moved to the dead-letter file because they can never be published")
+                .register(meterRegistry);
+        Gauge.builder("axon.outbox.backlog.bytes", journal, CommandJournal::backlogBytes)
+                .description("Journaled bytes not yet acknowledged by Kafka")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${axon.outbox.relay-interval-ms:20}")
+    public synchronized void relay() {
+        if (System.currentTimeMillis() < retryAtMillis) {
+            return;
+        }
+        List<CommandJournal.Entry> batch;
+        while (!(batch = journal.read(journal.checkpoint(), batchSize)).isEmpty()) {
+            long acked = publish(batch);
+            journal.commit(acked);
+            if (acked != batch.get(batch.size() - 1).nextOffset()) {
+                failures.increment();
+                retryAtMillis = System.currentTimeMillis() + failureBackoffMillis;
+                log.warn("Outbox relay stopped at offset {}; {} bytes left to deliver", acked, journal.backlogBytes());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Publishes until the backlog is empty or {@code drain-timeout-ms} passes. Web requests
+     * have stopped by the time beans are destroyed, so nothing is appended meanwhile.
+     */
+    @PreDestroy
+    void drain() {
+        long deadline = System.currentTimeMillis() + drainTimeoutMillis;
+        while (true) {
+            retryAtMillis = 0;
+            relay();
+            if (journal.backlogBytes() == 0) {
+                log.info("Outbox drained at offset {}", journal.checkpoint());
+                return;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                log.error("Outbox drain timed out with {} bytes undelivered; they are sent when this journal is opened again",
+                        journal.backlogBytes());
+                return;
+            }
+            try {
+                Thread.sleep(Math.min(failureBackoffMillis, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Outbox drain interrupted with {} bytes undelivered", journal.backlogBytes());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sends a batch and returns the offset after its longest acknowledged prefix.
+     * Records that can never be delivered (undecodable, or rejected by Kafka for
+     * the record itself) are quarantined and count as part of the prefix; any
+     * other failure ends the prefix so the rest is retried.
+     */
+    private long publish(List<CommandJournal.Entry> batch) {
+        // null = quarantined
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (CommandJournal.Entry entry : batch) {
+            Object message;
+            try {
+                message = toMessage(entry.value());
+            } catch (IOException | RuntimeException e) {
+                if (!quarantine(entry, e)) {
+                    break;
+                }
+                sends.add(null);
+                continue;
+            }
+            try {
+                sends.add(kafkaTemplate.send(entry.topic(), entry.key(), message));
+            } catch (Exception e) {
+                if (!isPoison(e) || !quarantine(entry, e)) {
+                    log.error("Outbox relay could not send record at offset {}", entry.offset(), e);
+                    break;
+                }
+                sends.add(null);
+            }
+        }
+
+        long acked = batch.get(0).offset();
+        for (int i = 0; i < sends.size(); i++) {
+            CompletableFuture<SendResult<String, Object>> send = sends.get(i);
+            if (send != null) {
+                try {
+                    send.get(ackTimeoutMillis, TimeUnit.MILLISECONDS);
+                    published.increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    if (!isPoison(e) || !quarantine(batch.get(i), e)) {
+                        log.error("Kafka did not acknowledge outbox record at offset {}: {}", batch.get(i).offset(), e.getMessage());
+                        break;
+                    }
+                }
+            }
+            acked = batch.get(i).nextOffset();
+        }
+        return acked;
+    }
+
+    private Object toMessage(byte[] value) throws IOException {
+        if (!CampaignActivityCommandCodec.isBinary(value)) {
+            return objectMapper.readValue(value, CampaignActivityKafkaProducerDto.class);
+        }
+        if ("binary".equalsIgnoreCase(commandCodec)) {
+            return value;
+        }
+        return CampaignActivityCommandCodec.decode(value);
+    }
+
+    private boolean quarantine(CommandJournal.Entry entry, Exception cause) {
+        try {
+            journal.quarantine(entry, cause.toString());
+        } catch (UncheckedIOException e) {
+            log.error("Could not quarantine outbox record at offset {}", entry.offset(), e);
+            return false;
+        }
+        quarantined.increment();
+        log.error("Quarantined undeliverable outbox record at offset {} (topic={}, key={})",
+                entry.offset(), entry.topic(), entry.key(), cause);
+        return true;
+    }
+
+    /**
+     * Whether Kafka rejected the record itself, so resending it can never succeed.
+     */
+    private static boolean isPoison(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SerializationException || cause instanceof RecordTooLargeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
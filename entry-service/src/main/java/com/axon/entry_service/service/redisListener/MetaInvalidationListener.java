@@ -0,0 +1,53 @@
+package com.axon.entry_service.service.redisListener;
+
+import com.axon.entry_service.service.CampaignActivityMetaService;
+import com.axon.entry_service.service.SoldOutRegistry;
+import com.axon.messaging.topic.RedisChannels;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies campaign activity meta invalidations published by core-service to this
+ * pod's near-cache, so stale meta never outlives one pub/sub hop.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MetaInvalidationListener implements MessageListener {
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CampaignActivityMetaService campaignActivityMetaService;
+    private final SoldOutRegistry soldOutRegistry;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this,
+                new ChannelTopic(RedisChannels.CAMPAIGN_ACTIVITY_META_INVALIDATION));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        String[] parts = body.split(":");
+        if (parts.length != 2) {
+            log.warn("Ignoring malformed meta invalidation: {}", body);
+            return;
+        }
+        try {
+            long campaignActivityId = Long.parseLong(parts[0]);
+            campaignActivityMetaService.invalidate(campaignActivityId, Long.parseLong(parts[1]));
+            // 한도/기간/상태 변경 시 로컬 매진·종료 플래그도 다시 판단
+            soldOutRegistry.forget(campaignActivityId);
+            log.debug("Campaign activity meta invalidated. activityId={}, version={}", parts[0], parts[1]);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed meta invalidation: {}", body);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Looks up a user in the pre-computed eligibility bitmap of a campaign activity.
+--
+-- KEYS[1] eligibility bitmap (campaign:{id}:eligible)
+-- KEYS[2] bitmap build time  (campaign:{id}:eligible:built-at, epoch millis)
+-- ARGV[1] user id (bit offset)
+-- ARGV[2] oldest acceptable build time (epoch millis)
+--
+-- Returns 1 when eligible, 0 when not, or -1 when the bitmap is missing or
+-- stale and the caller has to ask core-service instead.
+local builtAt = tonumber(redis.call('GET', KEYS[2]))
+if builtAt == nil or builtAt < tonumber(ARGV[2]) then
+    return -1
+end
+
+return redis.call('GETBIT', KEYS[1], ARGV[1])
@@ -0,0 +1,39 @@
+-- Advances the admission frontier of a waiting room with a token bucket.
+--
+-- KEYS[1] admitted frontier (campaign:{id}:queue:admitted, highest admitted position)
+-- KEYS[2] last refill time  (campaign:{id}:queue:refilled-at, epoch millis)
+-- KEYS[3] ticket sequence   (campaign:{id}:queue:seq)
+-- ARGV[1] admissions per second
+-- ARGV[2] bucket capacity (positions admitted ahead of demand)
+-- ARGV[3] key TTL in seconds
+--
+-- Uses the Redis clock so every pod advances the same bucket consistently,
+-- and returns the new frontier: positions <= frontier are admitted.
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local frontier = tonumber(redis.call('GET', KEYS[1]) or '0')
+local last = tonumber(redis.call('GET', KEYS[2]))
+if last == nil then
+    frontier = math.max(frontier, capacity)
+    last = now
+end
+
+local tokens = math.floor((now - last) * rate / 1000)
+if tokens > 0 then
+    frontier = frontier + tokens
+    last = last + math.floor(tokens * 1000 / rate)
+end
+
+-- an idle bucket only banks up to its capacity beyond the last issued position
+local ceiling = tonumber(redis.call('GET', KEYS[3]) or '0') + capacity
+if frontier >= ceiling then
+    frontier = ceiling
+    last = now
+end
+
+redis.call('SET', KEYS[1], frontier, 'EX', ARGV[3])
+redis.call('SET', KEYS[2], last, 'EX', ARGV[3])
+return frontier
@@ -0,0 +1,19 @@
+-- Hands out a waiting-room position for a campaign activity.
+--
+-- KEYS[1] ticket positions (campaign:{id}:queue:tickets, user id -> position)
+-- KEYS[2] ticket sequence  (campaign:{id}:queue:seq)
+-- ARGV[1] user id
+-- ARGV[2] key TTL in seconds
+--
+-- Returns the user's position (>= 1). Joining again returns the position
+-- handed out the first time, so retries never move a user to the back.
+local existing = redis.call('HGET', KEYS[1], ARGV[1])
+if existing then
+    return tonumber(existing)
+end
+
+local position = redis.call('INCR', KEYS[2])
+redis.call('HSET', KEYS[1], ARGV[1], position)
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+redis.call('EXPIRE', KEYS[2], ARGV[2])
+return position
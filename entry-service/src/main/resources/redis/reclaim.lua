@@ -0,0 +1,65 @@
+-- Claims expired reservations of one campaign activity and returns their
+-- stock, in one atomic step.
+--
+-- KEYS[1] release deadlines  (campaign:{id}:deadlines, user id -> epoch millis)
+-- KEYS[2] participant set    (campaign:{id}:users)
+-- KEYS[3] issued counter     (campaign:{id}:counter)
+-- KEYS[4] activity index     (reservation:deadline:activities)
+-- KEYS[5] reclaim leases     (campaign:{id}:reclaiming, user id -> lease expiry)
+-- ARGV[1] campaign activity id
+-- ARGV[2] batch size
+-- ARGV[3] 1 to release into KEYS[2]/KEYS[3] here, 0 to only claim (sharded
+--         stock, released by the caller per shard)
+-- ARGV[4] lease in millis for entries claimed with ARGV[3] = 0
+--
+-- Returns {claimed user ids..., released count, oldest deadline or -1, now}.
+-- Entries are removed from KEYS[1] as they are claimed, so each expired
+-- reservation is handed to exactly one sweeper and can no longer be confirmed.
+-- With ARGV[3] = 0 the claimed entries are parked in KEYS[5] until the caller
+-- has released them and removes them; a lease that runs out (the caller died
+-- mid-batch) is handed out again first, so the stock is released at least
+-- once. When both sets are empty the activity is dropped from the index.
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local limit = tonumber(ARGV[2])
+local leased = ARGV[3] == '0'
+
+local claimed = {}
+local released = 0
+local oldest = -1
+
+if leased then
+    local stale = redis.call('ZRANGEBYSCORE', KEYS[5], '-inf', now, 'LIMIT', 0, limit)
+    for i = 1, #stale do
+        redis.call('ZADD', KEYS[5], now + tonumber(ARGV[4]), stale[i])
+        claimed[#claimed + 1] = stale[i]
+    end
+end
+
+local due = {}
+if #claimed < limit then
+    due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now, 'WITHSCORES', 'LIMIT', 0, limit - #claimed)
+end
+for i = 1, #due, 2 do
+    local member = due[i]
+    redis.call('ZREM', KEYS[1], member)
+    claimed[#claimed + 1] = member
+    if oldest < 0 then
+        oldest = tonumber(due[i + 1])
+    end
+    if leased then
+        redis.call('ZADD', KEYS[5], now + tonumber(ARGV[4]), member)
+    elseif redis.call('SREM', KEYS[2], member) == 1 then
+        redis.call('DECR', KEYS[3])
+        released = released + 1
+    end
+end
+
+if redis.call('ZCARD', KEYS[1]) == 0 and redis.call('ZCARD', KEYS[5]) == 0 then
+    redis.call('SREM', KEYS[4], ARGV[1])
+end
+
+claimed[#claimed + 1] = released
+claimed[#claimed + 1] = oldest
+claimed[#claimed + 1] = now
+return claimed
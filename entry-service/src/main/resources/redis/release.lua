@@ -0,0 +1,18 @@
+-- Returns a reserved slot to stock.
+--
+-- KEYS[1] participant set
+-- KEYS[2] issued counter
+-- KEYS[3] (optional) borrower set of the same stock shard
+-- ARGV[1] user id
+--
+-- The counter is only decremented when the user actually held a slot in
+-- KEYS[1], so repeated or late releases can never push it below zero.
+-- Returns 1 when a slot was released, 0 otherwise.
+if KEYS[3] then
+    redis.call('SREM', KEYS[3], ARGV[1])
+end
+if redis.call('SREM', KEYS[1], ARGV[1]) == 1 then
+    redis.call('DECR', KEYS[2])
+    return 1
+end
+return 0
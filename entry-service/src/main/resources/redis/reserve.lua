@@ -0,0 +1,23 @@
+-- Atomically reserves a participation slot for a campaign activity.
+--
+-- KEYS[1] participant set   (campaign:{id}:users)
+-- KEYS[2] issued counter    (campaign:{id}:counter)
+-- ARGV[1] user id
+-- ARGV[2] limit count, negative when the activity is unlimited
+--
+-- Returns the allocated order number (>= 1), -1 when the user already
+-- reserved, or -2 when the limit has been reached.
+if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    return -1
+end
+
+local limit = tonumber(ARGV[2])
+if limit >= 0 then
+    local issued = tonumber(redis.call('GET', KEYS[2]) or '0')
+    if issued >= limit then
+        return -2
+    end
+end
+
+redis.call('SADD', KEYS[1], ARGV[1])
+return redis.call('INCR', KEYS[2])
@@ -0,0 +1,25 @@
+-- Atomically reserves a slot from one stock shard of a campaign activity.
+--
+-- KEYS[1] shard participant set  (campaign:{id:shard}:users)
+-- KEYS[2] shard issued counter   (campaign:{id:shard}:counter)
+-- KEYS[3] shard borrower set     (campaign:{id:shard}:borrowers)
+-- ARGV[1] user id
+-- ARGV[2] shard limit
+--
+-- The borrower set holds users routed to this shard who were served by a
+-- sibling shard, so a retry is still reported as a duplicate here.
+--
+-- Returns the shard-local order number (>= 1), -1 when the user already
+-- reserved, or -2 when the shard is exhausted.
+if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1
+        or redis.call('SISMEMBER', KEYS[3], ARGV[1]) == 1 then
+    return -1
+end
+
+local issued = tonumber(redis.call('GET', KEYS[2]) or '0')
+if issued >= tonumber(ARGV[2]) then
+    return -2
+end
+
+redis.call('SADD', KEYS[1], ARGV[1])
+return redis.call('INCR', KEYS[2])
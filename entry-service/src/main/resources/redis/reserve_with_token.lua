@@ -0,0 +1,42 @@
+-- Reserves a participation slot and stores the reservation token in one call.
+--
+-- KEYS[1] participant set   (campaign:{id}:users)
+-- KEYS[2] issued counter    (campaign:{id}:counter)
+-- KEYS[3] reservation token (RESERVATION_TOKEN:<token>, or RESERVATION_HOLD:<user>:<id>)
+-- KEYS[4] release deadlines  (campaign:{id}:deadlines)
+-- KEYS[5] activity index     (reservation:deadline:activities)
+-- ARGV[1] user id
+-- ARGV[2] limit count, negative when the activity is unlimited
+-- ARGV[3] serialized token payload
+-- ARGV[4] token TTL in seconds
+-- ARGV[5] campaign activity id
+--
+-- Returns 0 when the user still holds a live token (payment retry), the
+-- allocated order number (>= 1) on success, -1 when the user already
+-- reserved, or -2 when the limit has been reached. A new reservation is
+-- scheduled for release at the token's expiry unless payment confirms it.
+if redis.call('EXISTS', KEYS[3]) == 1 then
+    return 0
+end
+
+if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    return -1
+end
+
+local limit = tonumber(ARGV[2])
+if limit >= 0 then
+    local issued = tonumber(redis.call('GET', KEYS[2]) or '0')
+    if issued >= limit then
+        return -2
+    end
+end
+
+redis.call('SADD', KEYS[1], ARGV[1])
+local order = redis.call('INCR', KEYS[2])
+redis.call('SET', KEYS[3], ARGV[3], 'EX', ARGV[4])
+
+local time = redis.call('TIME')
+local deadline = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) + tonumber(ARGV[4]) * 1000
+redis.call('ZADD', KEYS[4], deadline, ARGV[1])
+redis.call('SADD', KEYS[5], ARGV[5])
+return order
@@ -0,0 +1,166 @@
+package com.axon.entry_service.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.axon.entry_service.service.IdempotencyStore;
+import com.axon.entry_service.service.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class IdempotencyFilterTest {
+
+    private static final String CONFIRM = "/entry/api/v1/payments/confirm";
+
+    /** In-memory stand-in for the Redis-backed store. */
+    private static class InMemoryStore extends IdempotencyStore {
+        final Map<String, StoredResponse> values = new ConcurrentHashMap<>();
+
+        InMemoryStore() {
+            super(mock(StringRedisTemplate.class), Duration.ofMinutes(10), Duration.ofSeconds(30));
+        }
+
+        @Override
+        public boolean tryClaim(String key) {
+            return values.putIfAbsent(key, StoredResponse.IN_FLIGHT) == null;
+        }
+
+        @Override
+        public StoredResponse find(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void complete(String key, StoredResponse response) {
+            values.put(key, response);
+        }
+
+        @Override
+        public void release(String key) {
+            values.remove(key);
+        }
+    }
+
+    private InMemoryStore store;
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryStore();
+        filter = new IdempotencyFilter(store, new SimpleMeterRegistry(), List.of(CONFIRM),
+                Duration.ofMillis(100), Duration.ofMillis(10));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "42", "", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void retryWithSameKeyReplaysFirstResponseWithoutRunningAgain() throws Exception {
+        MockHttpServletResponse first = send("key-1", 200, "{\"ok\":true}");
+        MockHttpServletResponse retry = send("key-1", 200, "{\"ok\":\"again\"}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.getContentAsString()).isEqualTo("{\"ok\":true}");
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getContentAsString()).isEqualTo("{\"ok\":true}");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void serverErrorIsNotStoredSoRetryRunsAgain() throws Exception {
+        send("key-2", 503, "");
+        MockHttpServletResponse retry = send("key-2", 200, "{}");
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void duplicateOfRequestStillRunningGetsConflictAfterWaitTimeout() throws Exception {
+        store.tryClaim("idempotency:42:" + CONFIRM + ":key-3");
+
+        MockHttpServletResponse duplicate = send("key-3", 200, "{}");
+
+        assertThat(executions).hasValue(0);
+        assertThat(duplicate.getStatus()).isEqualTo(409);
+        assertThat(duplicate.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejectedWithoutRunning() throws Exception {
+        send("key-5", "{\"reservationToken\":\"a\"}", 200, "{\"ok\":true}");
+        MockHttpServletResponse other = send("key-5", "{\"reservationToken\":\"b\"}", 200, "{}");
+        MockHttpServletResponse retry = send("key-5", "{\"reservationToken\":\"a\"}", 200, "{}");
+
+        assertThat(executions).hasValue(1);
+        assertThat(other.getStatus()).isEqualTo(422);
+        assertThat(other.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getContentAsString()).isEqualTo("{\"ok\":true}");
+    }
+
+    @Test
+    void controllerStillReadsTheHashedBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", CONFIRM);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-6");
+        request.setContent("{\"reservationToken\":\"a\"}".getBytes(StandardCharsets.UTF_8));
+        StringBuilder seen = new StringBuilder();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen.append(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8)));
+
+        assertThat(seen.toString()).isEqualTo("{\"reservationToken\":\"a\"}");
+    }
+
+    @Test
+    void requestsWithoutKeyOrOtherPathsAreNotTracked() throws Exception {
+        MockHttpServletRequest noKey = new MockHttpServletRequest("POST", CONFIRM);
+        filter.doFilter(noKey, new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletRequest otherPath = new MockHttpServletRequest("POST", "/entry/api/v1/queue/1");
+        otherPath.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-4");
+        filter.doFilter(otherPath, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(store.values).isEmpty();
+    }
+
+    private MockHttpServletResponse send(String key, int status, String body) throws Exception {
+        return send(key, "{}", status, body);
+    }
+
+    private MockHttpServletResponse send(String key, String requestBody, int status, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", CONFIRM);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContent(requestBody.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            executions.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) res;
+            httpResponse.setStatus(status);
+            httpResponse.setContentType("application/json");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        });
+        return response;
+    }
+}
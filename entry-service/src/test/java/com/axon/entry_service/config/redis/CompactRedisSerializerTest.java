@@ -0,0 +1,82 @@
+package com.axon.entry_service.config.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.axon.entry_service.dto.Payment.PaymentApprovalPayload;
+import com.axon.entry_service.dto.Payment.ReservationTokenPayload;
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.codec.CompactRedisSerializer;
+import com.axon.messaging.codec.UserCacheDtoCodec;
+import com.axon.messaging.dto.validation.Grade;
+import com.axon.messaging.dto.validation.UserCacheDto;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+class CompactRedisSerializerTest {
+
+    private final GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer();
+
+    private CompactRedisSerializer serializer(boolean writeBinary) {
+        return new CompactRedisSerializer(new GenericJackson2JsonRedisSerializer(), writeBinary)
+                .register(new UserCacheDtoCodec())
+                .register(new ReservationTokenPayloadCodec())
+                .register(new PaymentApprovalPayloadCodec());
+    }
+
+    @Test
+    void roundTripsRegisteredTypesIncludingNulls() {
+        CompactRedisSerializer serializer = serializer(true);
+        ReservationTokenPayload reservation = new ReservationTokenPayload(1L, 2L, null, CampaignActivityType.COUPON, null);
+        PaymentApprovalPayload approval = new PaymentApprovalPayload(-1L, Long.MAX_VALUE, 3L,
+                CampaignActivityType.FIRST_COME_FIRST_SERVE, 2, "토큰-abc");
+
+        byte[] bytes = serializer.serialize(reservation);
+
+        assertThat(bytes[0]).isEqualTo(CompactRedisSerializer.MAGIC);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(reservation);
+        assertThat(serializer.deserialize(serializer.serialize(approval))).isEqualTo(approval);
+        UserCacheDto user = (UserCacheDto) serializer.deserialize(serializer.serialize(new UserCacheDto(7L, Grade.VIP, 30)));
+        assertThat(user.getUserId()).isEqualTo(7L);
+        assertThat(user.getGrade()).isEqualTo(Grade.VIP);
+        assertThat(user.getAge()).isEqualTo(30);
+    }
+
+    @Test
+    void readsLegacyJsonAndWritesJsonForUnregisteredTypes() {
+        CompactRedisSerializer serializer = serializer(true);
+        ReservationTokenPayload reservation = new ReservationTokenPayload(1L, 2L, 3L, CampaignActivityType.COUPON, 1);
+
+        assertThat(serializer.deserialize(json.serialize(reservation))).isEqualTo(reservation);
+        assertThat(serializer.serialize("plain")).isEqualTo(json.serialize("plain"));
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @Test
+    void writesJsonWhenBinaryWritesAreOff() {
+        ReservationTokenPayload reservation = new ReservationTokenPayload(1L, 2L, 3L, CampaignActivityType.COUPON, 1);
+
+        byte[] bytes = serializer(false).serialize(reservation);
+
+        assertThat(bytes[0]).isEqualTo((byte) '{');
+        assertThat(serializer(true).deserialize(bytes)).isEqualTo(reservation);
+    }
+
+    @Test
+    void valuesWrittenInAnUnknownLayoutVersionAreRejected() {
+        CompactRedisSerializer serializer = serializer(true);
+        List<Object> values = List.of(
+                new UserCacheDto(7L, Grade.VIP, 30),
+                new ReservationTokenPayload(1L, 2L, 3L, CampaignActivityType.COUPON, 1),
+                new PaymentApprovalPayload(1L, 2L, 3L, CampaignActivityType.COUPON, 1, "token"));
+
+        for (Object value : values) {
+            byte[] bytes = serializer.serialize(value);
+            bytes[2] = 2; // [magic][type id][version]
+
+            assertThatThrownBy(() -> serializer.deserialize(bytes)).isInstanceOf(SerializationException.class);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.axon.entry_service.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.axon.entry_service.domain.behavior.UserBehaviorEvent;
+import com.axon.entry_service.dto.BehaviorEventBatchResponse;
+import com.axon.entry_service.service.behavior.ActivityCampaignIndex;
+import com.axon.entry_service.service.behavior.BehaviorEventIngestionPolicy;
+import com.axon.entry_service.service.behavior.BehaviorEventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+class BehaviorEventControllerTest {
+
+    @Mock
+    private BehaviorEventPublisher publisher;
+
+    @Mock
+    private ActivityCampaignIndex activityCampaignIndex;
+
+    @Mock
+    private BehaviorEventIngestionPolicy ingestionPolicy;
+
+    private BehaviorEventController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new BehaviorEventController(publisher, activityCampaignIndex, ingestionPolicy,
+                new ObjectMapper().registerModule(new JavaTimeModule()),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(controller, "maxBatchEvents", 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishesValidEventsAndReportsInvalidOnesByIndex() {
+        when(activityCampaignIndex.campaignIdOf(5L)).thenReturn(9L);
+        when(ingestionPolicy.filter(any())).then(returnsFirstArg());
+        String body = """
+                {"events": [
+                  {"triggerType": "PAGE_VIEW", "properties": {"activityId": "5"}},
+                  {"eventName": "missing trigger"},
+                  {"triggerType": "CLICK", "properties": {"activityId": 5}}
+                ]}""";
+
+        ResponseEntity<BehaviorEventBatchResponse> response = controller.recordBehaviorEvents(body,
+                (User) User.withUsername("42").password("x").roles("USER").build(), new MockHttpServletRequest());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getBody().getAccepted()).isEqualTo(2);
+        assertThat(response.getBody().getDropped()).isZero();
+        assertThat(response.getBody().getRejected()).extracting(BehaviorEventBatchResponse.Rejected::index).containsExactly(1);
+        ArgumentCaptor<List<UserBehaviorEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(publisher).publishAll(captor.capture());
+        assertThat(captor.getValue()).allSatisfy(event -> {
+            assertThat(event.getUserId()).isEqualTo(42L);
+            assertThat(event.getProperties()).containsEntry("campaignId", 9L);
+        });
+    }
+
+    @Test
+    void eventsDroppedByThePolicyAreNotCountedAsAccepted() {
+        when(ingestionPolicy.filter(any())).thenAnswer(invocation -> {
+            List<UserBehaviorEvent> events = invocation.getArgument(0);
+            return events.subList(0, 1);
+        });
+        String body = """
+                [{"triggerType": "PAGE_VIEW", "userId": 7, "eventId": 1},
+                 {"triggerType": "PAGE_VIEW", "userId": 7, "eventId": 1},
+                 {"eventName": "missing trigger"}]""";
+
+        ResponseEntity<BehaviorEventBatchResponse> response = controller.recordBehaviorEvents(body, null,
+                new MockHttpServletRequest());
+
+        assertThat(response.getBody().getAccepted()).isEqualTo(1);
+        assertThat(response.getBody().getDropped()).isEqualTo(1);
+        assertThat(response.getBody().getRejected()).extracting(BehaviorEventBatchResponse.Rejected::index).containsExactly(2);
+        verify(publisher).publishAll(argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void acceptsBareArraysAndRejectsOversizedOrMalformedBatches() {
+        when(ingestionPolicy.filter(any())).then(returnsFirstArg());
+        ResponseEntity<BehaviorEventBatchResponse> ok = controller.recordBehaviorEvents(
+                "[{\"triggerType\": \"PAGE_VIEW\", \"userId\": 7}]", null, new MockHttpServletRequest());
+        assertThat(ok.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        verify(publisher).publishAll(argThat(events -> events.size() == 1));
+
+        String oversized = "[{\"triggerType\":\"A\"},{\"triggerType\":\"B\"},{\"triggerType\":\"C\"},{\"triggerType\":\"D\"}]";
+        assertThat(controller.recordBehaviorEvents(oversized, null, new MockHttpServletRequest()).getStatusCode())
+                .isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(controller.recordBehaviorEvents("{not json", null, new MockHttpServletRequest()).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+}
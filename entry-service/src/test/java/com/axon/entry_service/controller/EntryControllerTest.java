@@ -3,6 +3,7 @@ package com.axon.entry_service.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -10,36 +11,40 @@ import static org.mockito.Mockito.when;
 import com.axon.entry_service.domain.CampaignActivityMeta;
 import com.axon.entry_service.domain.CampaignActivityStatus;
 import com.axon.entry_service.domain.ReservationResult;
-import com.axon.entry_service.domain.ReservationStatus;
 import com.axon.entry_service.dto.EntryRequestDto;
+import com.axon.entry_service.dto.Payment.PaymentConfirmationResponse;
+import com.axon.entry_service.dto.Payment.PendingReservationToken;
 import com.axon.entry_service.service.CampaignActivityMetaService;
-import com.axon.entry_service.service.CampaignActivityProducerService;
+import com.axon.entry_service.service.CoreValidationService;
+import com.axon.entry_service.service.CouponEntryService;
 import com.axon.entry_service.service.EntryReservationService;
-import com.axon.messaging.topic.KafkaTopics;
+import com.axon.entry_service.service.EntryStageMetrics;
+import com.axon.entry_service.service.FastValidationService;
+import com.axon.entry_service.service.Payment.ReservationTokenService;
+import com.axon.entry_service.service.SoldOutRegistry;
+import com.axon.entry_service.service.WaitingRoomService;
+import com.axon.messaging.CampaignActivityType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.User;
 
-@org.junit.jupiter.api.extension.ExtendWith(MockitoExtension.class)
 class EntryControllerTest {
 
-    @Mock
-    private CampaignActivityProducerService producer;
+    private static final PendingReservationToken PENDING_TOKEN =
+            new PendingReservationToken("token-1", "RESERVATION_TOKEN:token-1", new byte[0], 600);
 
-    @Mock
     private EntryReservationService reservationService;
-
-    @Mock
     private CampaignActivityMetaService campaignActivityMetaService;
-
-    @InjectMocks
+    private CoreValidationService coreValidationService;
+    private FastValidationService fastValidationService;
+    private ReservationTokenService reservationTokenService;
+    private SoldOutRegistry soldOutRegistry;
+    private WaitingRoomService waitingRoomService;
     private EntryController entryController;
 
     private EntryRequestDto requestDto;
@@ -48,6 +53,17 @@ class EntryControllerTest {
 
     @BeforeEach
     void setUp() {
+        reservationService = mock(EntryReservationService.class);
+        campaignActivityMetaService = mock(CampaignActivityMetaService.class);
+        coreValidationService = mock(CoreValidationService.class);
+        fastValidationService = mock(FastValidationService.class);
+        reservationTokenService = mock(ReservationTokenService.class);
+        soldOutRegistry = mock(SoldOutRegistry.class);
+        waitingRoomService = mock(WaitingRoomService.class);
+        entryController = new EntryController(reservationService, campaignActivityMetaService, coreValidationService,
+                fastValidationService, reservationTokenService, mock(CouponEntryService.class),
+                soldOutRegistry, waitingRoomService, new EntryStageMetrics(new SimpleMeterRegistry(), 0));
+
         requestDto = new EntryRequestDto();
         requestDto.setCampaignActivityId(1L);
         requestDto.setProductId(10L);
@@ -57,78 +73,137 @@ class EntryControllerTest {
                 .roles("USER")
                 .build();
 
-        activeMeta = new CampaignActivityMeta(1L, 100, CampaignActivityStatus.ACTIVE, null, null, null, false, false, 10L, com.axon.messaging.CampaignActivityType.FIRST_COME_FIRST_SERVE);
+        activeMeta = new CampaignActivityMeta(1L, null, 100, CampaignActivityStatus.ACTIVE, null, null, null, false, false, 10L, null, CampaignActivityType.FIRST_COME_FIRST_SERVE);
+        when(waitingRoomService.isAdmitted(eq(1L), eq(42L), any())).thenReturn(true);
+        when(reservationTokenService.prepareToken(any())).thenReturn(PENDING_TOKEN);
     }
 
     @Test
-    void createEntry_successReturnsAcceptedAndPublishesEvent() {
+    void createEntry_successReturnsReservationToken() {
         when(campaignActivityMetaService.getMeta(1L)).thenReturn(activeMeta);
-        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class)))
+        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class), eq(PENDING_TOKEN)))
                 .thenReturn(ReservationResult.success(1L));
 
-        ResponseEntity<?> response = entryController.createEntry(requestDto,"FAKETOKEN",userDetails);
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        PaymentConfirmationResponse body = (PaymentConfirmationResponse) response.getBody();
+        assertThat(body.getReservationToken()).isEqualTo("token-1");
+        assertThat(body.getIsRetry()).isFalse();
+    }
+
+    @Test
+    void createEntry_retryReturnsExistingToken() {
+        when(campaignActivityMetaService.getMeta(1L)).thenReturn(activeMeta);
+        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class), eq(PENDING_TOKEN)))
+                .thenReturn(ReservationResult.retry());
+        when(reservationTokenService.retryToken(PENDING_TOKEN)).thenReturn("token-1");
+
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
 
-        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
-        ArgumentCaptor<com.axon.messaging.dto.CampaignActivityKafkaProducerDto> captor = ArgumentCaptor.forClass(com.axon.messaging.dto.CampaignActivityKafkaProducerDto.class);
-        verify(producer).send(eq(KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND), captor.capture());
-        assertThat(captor.getValue().getUserId()).isEqualTo(42L);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(((PaymentConfirmationResponse) response.getBody()).getIsRetry()).isTrue();
+    }
+
+    @Test
+    void createEntry_heldTokenIsReturnedBeforeValidation() {
+        CampaignActivityMeta validatedMeta = new CampaignActivityMeta(1L, null, 100, CampaignActivityStatus.ACTIVE, null, null, null, true, true, 10L, null, CampaignActivityType.FIRST_COME_FIRST_SERVE);
+        when(campaignActivityMetaService.getMeta(1L)).thenReturn(validatedMeta);
+        when(reservationTokenService.findRetryToken(PENDING_TOKEN)).thenReturn(Optional.of("token-1"));
+
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        PaymentConfirmationResponse body = (PaymentConfirmationResponse) response.getBody();
+        assertThat(body.getReservationToken()).isEqualTo("token-1");
+        assertThat(body.getIsRetry()).isTrue();
+        verify(fastValidationService, never()).fastValidation(any(Long.class), any());
+        verify(coreValidationService, never()).isEligible(any(), any(Long.class), any(Long.class));
+        verify(reservationService, never()).reserve(any(Long.class), any(Long.class), any(), any(), any());
     }
 
     @Test
     void createEntry_duplicateReturnsConflict() {
         when(campaignActivityMetaService.getMeta(1L)).thenReturn(activeMeta);
-        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class)))
+        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class), eq(PENDING_TOKEN)))
                 .thenReturn(ReservationResult.duplicated());
 
-        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN",userDetails);
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
-        verify(producer, never()).send(any(), any());
     }
 
     @Test
     void createEntry_soldOutReturnsGone() {
         when(campaignActivityMetaService.getMeta(1L)).thenReturn(activeMeta);
-        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class)))
+        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class), eq(PENDING_TOKEN)))
                 .thenReturn(ReservationResult.soldOut());
 
-        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN",userDetails);
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GONE);
-        verify(producer, never()).send(any(), any());
+    }
+
+    @Test
+    void createEntry_soldOutFlagReturnsGoneWithoutReserving() {
+        when(campaignActivityMetaService.getMeta(1L)).thenReturn(activeMeta);
+        when(soldOutRegistry.flagOf(1L)).thenReturn(SoldOutRegistry.Flag.SOLD_OUT);
+
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GONE);
+        verify(reservationService, never()).reserve(any(Long.class), any(Long.class), any(), any(), any());
+        verify(reservationTokenService, never()).findRetryToken(any());
+    }
+
+    @Test
+    void createEntry_soldOutButHoldingTokenReturnsRetryToken() {
+        requestDto.setReservationToken("token-1");
+        when(campaignActivityMetaService.getMeta(1L)).thenReturn(activeMeta);
+        when(soldOutRegistry.flagOf(1L)).thenReturn(SoldOutRegistry.Flag.SOLD_OUT);
+        when(waitingRoomService.isAdmitted(eq(1L), eq(42L), any())).thenReturn(false);
+        when(reservationTokenService.matchesHeldToken(PENDING_TOKEN, "token-1")).thenReturn(true);
+        when(reservationTokenService.findRetryToken(PENDING_TOKEN)).thenReturn(Optional.of("token-1"));
+
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        PaymentConfirmationResponse body = (PaymentConfirmationResponse) response.getBody();
+        assertThat(body.getReservationToken()).isEqualTo("token-1");
+        assertThat(body.getIsRetry()).isTrue();
+        verify(reservationService, never()).reserve(any(Long.class), any(Long.class), any(), any(), any());
     }
 
     @Test
     void createEntry_closedReturnsBadRequest() {
         when(campaignActivityMetaService.getMeta(1L)).thenReturn(activeMeta);
-        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class)))
+        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class), eq(PENDING_TOKEN)))
                 .thenReturn(ReservationResult.closed());
 
-        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails);
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
-        verify(producer, never()).send(any(), any());
     }
 
     @Test
     void createEntry_metaNotFoundReturnsNotFound() {
         when(campaignActivityMetaService.getMeta(1L)).thenReturn(null);
 
-        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails);
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
-        verify(producer, never()).send(any(), any());
+        verify(reservationService, never()).reserve(any(Long.class), any(Long.class), any(), any(), any());
+        verify(waitingRoomService, never()).isAdmitted(any(Long.class), any(Long.class), any());
     }
 
     @Test
     void createEntry_errorReturnsInternalServerError() {
         when(campaignActivityMetaService.getMeta(1L)).thenReturn(activeMeta);
-        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class)))
+        when(reservationService.reserve(eq(1L), eq(42L), eq(activeMeta), any(Instant.class), eq(PENDING_TOKEN)))
                 .thenReturn(ReservationResult.error());
 
-        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails);
+        ResponseEntity<?> response = entryController.createEntry(requestDto, "FAKETOKEN", userDetails, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
-        verify(producer, never()).send(any(), any());
     }
 }
@@ -2,11 +2,13 @@ package com.axon.entry_service.controller;
 
 import com.axon.entry_service.domain.CampaignActivityMeta;
 import com.axon.entry_service.domain.CampaignActivityStatus;
+import com.axon.entry_service.dto.EntryRequestDto;
 import com.axon.entry_service.dto.Payment.PaymentApprovalPayload;
 import com.axon.entry_service.dto.Payment.PaymentConfirmationRequest;
 import com.axon.entry_service.dto.Payment.PaymentPrepareRequest;
 import com.axon.entry_service.dto.Payment.ReservationTokenPayload;
 import com.axon.entry_service.service.CampaignActivityMetaService;
+import com.axon.entry_service.service.EntryReservationService;
 import com.axon.entry_service.service.Payment.PaymentService;
 import com.axon.entry_service.service.Payment.ReservationTokenService;
 import com.axon.messaging.CampaignActivityType;
@@ -24,14 +26,12 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
-import java.time.Instant;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -56,6 +56,9 @@ class PaymentFlowIntegrationTest {
     @Autowired
     private ReservationTokenService reservationTokenService;
 
+    @Autowired
+    private EntryReservationService reservationService;
+
     @MockitoBean
     private CampaignActivityMetaService campaignActivityMetaService;
 
@@ -74,6 +77,7 @@ class PaymentFlowIntegrationTest {
         LocalDateTime endTime = now.plusHours(10);
         CampaignActivityMeta meta = new CampaignActivityMeta(
             TEST_CAMPAIGN_ACTIVITY_ID,
+            null,
             100,
             CampaignActivityStatus.ACTIVE,
             startTime,
@@ -82,6 +86,7 @@ class PaymentFlowIntegrationTest {
             false,
             false,
             TEST_PRODUCT_ID,
+            null,
             CampaignActivityType.FIRST_COME_FIRST_SERVE
         );
         when(campaignActivityMetaService.getMeta(TEST_CAMPAIGN_ACTIVITY_ID)).thenReturn(meta);
@@ -91,19 +96,12 @@ class PaymentFlowIntegrationTest {
     @DisplayName("시나리오 1: 정상 플로우")
     @WithMockUser(username = "1")
     void paymentFlow_Success() throws Exception {
-        ReservationTokenPayload tokenPayload = ReservationTokenPayload.builder()
-            .userId(TEST_USER_ID)
-            .campaignActivityId(TEST_CAMPAIGN_ACTIVITY_ID)
-            .productId(TEST_PRODUCT_ID)
-            .campaignActivityType(CampaignActivityType.FIRST_COME_FIRST_SERVE)
-            .build();
-
-        String reservationToken = reservationTokenService.issueToken(tokenPayload);
+        String reservationToken = enter();
 
         PaymentPrepareRequest prepareRequest = new PaymentPrepareRequest();
         prepareRequest.setReservationToken(reservationToken);
 
-        ResultActions prepareActions = mockMvc.perform(post("/api/v1/payments/prepare")
+        ResultActions prepareActions = mockMvc.perform(post("/entry/api/v1/payments/prepare")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(prepareRequest)));
 
@@ -114,12 +112,12 @@ class PaymentFlowIntegrationTest {
         String approvalToken = objectMapper.readTree(prepareActions.andReturn().getResponse().getContentAsString())
                 .get("approvalToken").asText();
 
-        given(paymentService.sendToKafkaWithRetry(any(PaymentApprovalPayload.class), anyInt())).willReturn(true);
+        given(paymentService.submitApproval(any(PaymentApprovalPayload.class))).willReturn(true);
 
         PaymentConfirmationRequest confirmRequest = new PaymentConfirmationRequest();
         confirmRequest.setReservationToken(approvalToken);
 
-        ResultActions confirmActions = mockMvc.perform(post("/api/v1/payments/confirm")
+        ResultActions confirmActions = mockMvc.perform(post("/entry/api/v1/payments/confirm")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(confirmRequest)));
 
@@ -127,7 +125,7 @@ class PaymentFlowIntegrationTest {
                 .andExpect(jsonPath("$.reservationResult.status").value("SUCCESS"))
                 .andDo(print());
 
-        verify(paymentService, times(1)).sendToKafkaWithRetry(any(PaymentApprovalPayload.class), eq(3));
+        verify(paymentService, times(1)).submitApproval(any(PaymentApprovalPayload.class));
     }
 
     @Test
@@ -147,7 +145,7 @@ class PaymentFlowIntegrationTest {
         PaymentPrepareRequest prepareRequest = new PaymentPrepareRequest();
         prepareRequest.setReservationToken(reservationToken);
 
-        ResultActions prepareActions = mockMvc.perform(post("/api/v1/payments/prepare")
+        ResultActions prepareActions = mockMvc.perform(post("/entry/api/v1/payments/prepare")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(prepareRequest)));
 
@@ -173,7 +171,7 @@ class PaymentFlowIntegrationTest {
         PaymentPrepareRequest prepareRequest = new PaymentPrepareRequest();
         prepareRequest.setReservationToken(reservationToken);
 
-        ResultActions prepareActions = mockMvc.perform(post("/api/v1/payments/prepare")
+        ResultActions prepareActions = mockMvc.perform(post("/entry/api/v1/payments/prepare")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(prepareRequest)));
 
@@ -195,13 +193,14 @@ class PaymentFlowIntegrationTest {
             .build();
 
         String approvalToken = reservationTokenService.CreateApprovalToken(approvalPayload);
+        reservationService.scheduleRelease(TEST_CAMPAIGN_ACTIVITY_ID, TEST_USER_ID, Duration.ofMinutes(5));
 
-        given(paymentService.sendToKafkaWithRetry(any(PaymentApprovalPayload.class), anyInt())).willReturn(false);
+        given(paymentService.submitApproval(any(PaymentApprovalPayload.class))).willReturn(false);
 
         PaymentConfirmationRequest confirmRequest = new PaymentConfirmationRequest();
         confirmRequest.setReservationToken(approvalToken);
 
-        ResultActions confirmActions = mockMvc.perform(post("/api/v1/payments/confirm")
+        ResultActions confirmActions = mockMvc.perform(post("/entry/api/v1/payments/confirm")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(confirmRequest)));
 
@@ -226,15 +225,7 @@ class PaymentFlowIntegrationTest {
         String firstToken = reservationTokenService.issueToken(tokenPayload);
 
         // When: 재응모 (Entry 호출)
-        com.axon.entry_service.dto.EntryRequestDto entryRequest = new com.axon.entry_service.dto.EntryRequestDto();
-        entryRequest.setCampaignActivityId(TEST_CAMPAIGN_ACTIVITY_ID);
-        entryRequest.setProductId(TEST_PRODUCT_ID);
-        entryRequest.setCampaignActivityType(CampaignActivityType.FIRST_COME_FIRST_SERVE);
-
-        ResultActions entryActions = mockMvc.perform(post("/api/v1/entries")
-                .header("Authorization", "Bearer test-token")
-                .contentType(MediaType.APPLICATION_JSON)
-                .content(objectMapper.writeValueAsString(entryRequest)));
+        ResultActions entryActions = performEntry();
 
         // Then: 기존 1차 토큰 재사용 (검증 스킵됨)
         entryActions.andExpect(status().isOk())
@@ -252,19 +243,12 @@ class PaymentFlowIntegrationTest {
     @DisplayName("시나리오 6: 2차 토큰 TTL 갱신")
     @WithMockUser(username = "1")
     void retryPayment_ApprovalToken_TTL_Refresh() throws Exception {
-        ReservationTokenPayload tokenPayload = ReservationTokenPayload.builder()
-            .userId(TEST_USER_ID)
-            .campaignActivityId(TEST_CAMPAIGN_ACTIVITY_ID)
-            .productId(TEST_PRODUCT_ID)
-            .campaignActivityType(CampaignActivityType.FIRST_COME_FIRST_SERVE)
-            .build();
-
-        String reservationToken = reservationTokenService.issueToken(tokenPayload);
+        String reservationToken = enter();
 
         PaymentPrepareRequest prepareRequest1 = new PaymentPrepareRequest();
         prepareRequest1.setReservationToken(reservationToken);
 
-        mockMvc.perform(post("/api/v1/payments/prepare")
+        mockMvc.perform(post("/entry/api/v1/payments/prepare")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(prepareRequest1)))
             .andExpect(status().isOk());
@@ -272,7 +256,7 @@ class PaymentFlowIntegrationTest {
         PaymentPrepareRequest prepareRequest2 = new PaymentPrepareRequest();
         prepareRequest2.setReservationToken(reservationToken);
 
-        ResultActions prepareActions = mockMvc.perform(post("/api/v1/payments/prepare")
+        ResultActions prepareActions = mockMvc.perform(post("/entry/api/v1/payments/prepare")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(prepareRequest2)));
 
@@ -287,6 +271,29 @@ class PaymentFlowIntegrationTest {
         assertThat(payload).isPresent();
     }
 
+    /**
+     * 응모 API로 재고를 확보하고 1차 토큰을 받는다 (재고 복구 예약까지 실제 플로우 그대로)
+     */
+    private String enter() throws Exception {
+        String body = performEntry()
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isRetry").value(false))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("reservationToken").asText();
+    }
+
+    private ResultActions performEntry() throws Exception {
+        EntryRequestDto entryRequest = new EntryRequestDto();
+        entryRequest.setCampaignActivityId(TEST_CAMPAIGN_ACTIVITY_ID);
+        entryRequest.setProductId(TEST_PRODUCT_ID);
+        entryRequest.setCampaignActivityType(CampaignActivityType.FIRST_COME_FIRST_SERVE);
+
+        return mockMvc.perform(post("/entry/api/v1/entries")
+                .header("Authorization", "Bearer test-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(entryRequest)));
+    }
+
     @Test
     @DisplayName("시나리오 7: 결정론적 토큰 - 같은 사용자 같은 토큰")
     void deterministicToken_SameUserSameToken() {
@@ -0,0 +1,73 @@
+package com.axon.entry_service.domain.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.axon.messaging.dto.validation.Grade;
+import com.axon.messaging.dto.validation.UserCacheDto;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ParticipationRulesTest {
+
+    private static final UserCacheDto USER = UserCacheDto.builder()
+            .userId(1L)
+            .grade(Grade.GOLD)
+            .age(30)
+            .build();
+
+    private static Map<String, Object> fast(String type, String operator, List<String> values) {
+        return Map.of("phase", "FAST", "type", type, "operator", operator, "values", values);
+    }
+
+    private static FastRule firstFailure(Map<String, Object> filter) {
+        return ParticipationRules.compile(List.of(filter), null, null).firstFailedFastRule(USER);
+    }
+
+    @Test
+    @DisplayName("나이 조건은 정수 범위로 컴파일되어 기존 연산자 의미를 유지한다")
+    void ageOperatorsKeepSemantics() {
+        assertThat(firstFailure(fast("AGE", "GTE", List.of("30")))).isNull();
+        assertThat(firstFailure(fast("AGE", "LTE", List.of("29")))).isNotNull();
+        assertThat(firstFailure(fast("AGE", "BETWEEN", List.of("20", "30")))).isNull();
+        assertThat(firstFailure(fast("AGE", "NOT_BETWEEN", List.of("20", "30")))).isNotNull();
+        assertThat(firstFailure(fast("AGE", "NOT_GTE", List.of("31")))).isNull();
+        assertThat(firstFailure(fast("AGE", "BETWEEN", List.of("20")))).isNotNull();
+        assertThat(firstFailure(fast("AGE", "GTE", List.of("abc")))).isNotNull();
+    }
+
+    @Test
+    @DisplayName("등급 조건은 EnumSet으로 컴파일되고 NOT_IN은 여집합이 된다")
+    void gradeOperatorsCompileToEnumSet() {
+        assertThat(firstFailure(fast("GRADE", "IN", List.of("GOLD", "VIP")))).isNull();
+        assertThat(firstFailure(fast("GRADE", "NOT_IN", List.of("GOLD")))).isNotNull();
+        assertThat(firstFailure(fast("GRADE", "NOT_IN", List.of("BRONZE")))).isNull();
+        assertThat(firstFailure(fast("GRADE", "NOT_IN", List.of())).type()).isEqualTo("GRADE");
+    }
+
+    @Test
+    @DisplayName("필터가 없거나 지원하지 않는 타입이면 기존 실패 유형을 그대로 반환한다")
+    void missingOrUnknownFiltersReject() {
+        assertThat(ParticipationRules.compile(null, null, null).firstFailedFastRule(USER).type())
+                .isEqualTo("NULL FILTER");
+        assertThat(firstFailure(fast("REGION", "IN", List.of("SEOUL"))).type()).isEqualTo("NULL TYPE");
+        assertThat(firstFailure(Map.of("phase", "HEAVY", "type", "RECENT_PURCHASE"))).isNull();
+    }
+
+    @Test
+    @DisplayName("참여 기간은 epoch millis 경계로 포함 비교한다")
+    void windowUsesEpochMillisBounds() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 1, 1, 12, 0);
+        ParticipationRules rules = ParticipationRules.compile(List.of(), start, end);
+        ZoneId zone = ZoneId.systemDefault();
+
+        assertThat(rules.isWithinWindow(start.atZone(zone).toInstant().toEpochMilli())).isTrue();
+        assertThat(rules.isWithinWindow(end.atZone(zone).toInstant().toEpochMilli())).isTrue();
+        assertThat(rules.isWithinWindow(end.plusSeconds(1).atZone(zone).toInstant().toEpochMilli())).isFalse();
+        assertThat(rules.isWithinWindow(start.minusSeconds(1).atZone(zone).toInstant().toEpochMilli())).isFalse();
+    }
+}
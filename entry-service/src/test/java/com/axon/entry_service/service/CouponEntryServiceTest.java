@@ -0,0 +1,77 @@
+package com.axon.entry_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.axon.entry_service.domain.CampaignActivityMeta;
+import com.axon.entry_service.domain.CampaignActivityStatus;
+import com.axon.entry_service.domain.ReservationResult;
+import com.axon.entry_service.domain.ReservationStatus;
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import com.axon.messaging.topic.KafkaTopics;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CouponEntryServiceTest {
+
+    private static final CampaignActivityMeta COUPON_META = new CampaignActivityMeta(7L, 3L, 100,
+            CampaignActivityStatus.ACTIVE, null, null, null, false, false, null, 55L, CampaignActivityType.COUPON);
+
+    @Mock
+    private CampaignActivityProducerService producerService;
+
+    @Mock
+    private EntryReservationService reservationService;
+
+    @InjectMocks
+    private CouponEntryService couponEntryService;
+
+    @Test
+    void onlyWinnersArePublished() {
+        Instant now = Instant.now();
+        when(reservationService.reserve(7L, 42L, COUPON_META, now)).thenReturn(ReservationResult.success(1L));
+
+        ReservationResult result = couponEntryService.issue(COUPON_META, 42L, now);
+
+        assertThat(result.status()).isEqualTo(ReservationStatus.SUCCESS);
+        ArgumentCaptor<CampaignActivityKafkaProducerDto> message = ArgumentCaptor.forClass(CampaignActivityKafkaProducerDto.class);
+        verify(producerService).send(eq(KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND), message.capture());
+        assertThat(message.getValue().getUserId()).isEqualTo(42L);
+        assertThat(message.getValue().getProductId()).isEqualTo(55L);
+    }
+
+    @Test
+    void duplicateAndSoldOutRequestsNeverReachKafka() {
+        Instant now = Instant.now();
+        when(reservationService.reserve(7L, 42L, COUPON_META, now)).thenReturn(ReservationResult.duplicated());
+        when(reservationService.reserve(7L, 43L, COUPON_META, now)).thenReturn(ReservationResult.soldOut());
+
+        assertThat(couponEntryService.issue(COUPON_META, 42L, now).status()).isEqualTo(ReservationStatus.DUPLICATED);
+        assertThat(couponEntryService.issue(COUPON_META, 43L, now).status()).isEqualTo(ReservationStatus.SOLD_OUT);
+        verify(producerService, never()).send(any(), any());
+    }
+
+    @Test
+    void couponIsReturnedToStockWhenCommandCannotBeJournaled() {
+        Instant now = Instant.now();
+        when(reservationService.reserve(7L, 42L, COUPON_META, now)).thenReturn(ReservationResult.success(1L));
+        doThrow(new IllegalStateException("outbox full")).when(producerService).send(any(), any());
+
+        assertThatThrownBy(() -> couponEntryService.issue(COUPON_META, 42L, now))
+                .isInstanceOf(IllegalStateException.class);
+        verify(reservationService).releaseReservation(7L, 42L);
+    }
+}
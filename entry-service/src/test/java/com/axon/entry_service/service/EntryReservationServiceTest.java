@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
@@ -27,6 +29,15 @@ class EntryReservationServiceTest {
     @Mock
     private StringRedisTemplate redisTemplate;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ShardedStockService shardedStockService;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
     @InjectMocks
     private EntryReservationService reservationService;
 
@@ -34,7 +45,7 @@ class EntryReservationServiceTest {
 
     @BeforeEach
     void setUp() {
-        activeMeta = new CampaignActivityMeta(1L, 3, CampaignActivityStatus.ACTIVE, null, null, null, false, false, 10L, com.axon.messaging.CampaignActivityType.FIRST_COME_FIRST_SERVE);
+        activeMeta = new CampaignActivityMeta(1L, null, 3, CampaignActivityStatus.ACTIVE, null, null, null, false, false, 10L, null, com.axon.messaging.CampaignActivityType.FIRST_COME_FIRST_SERVE);
     }
 
     @Test
@@ -80,7 +91,7 @@ class EntryReservationServiceTest {
 
     @Test
     void reserveClosedWhenActivityInactive() {
-        CampaignActivityMeta meta = new CampaignActivityMeta(1L, 3, CampaignActivityStatus.PAUSED, null, null, null, false, false, 10L, com.axon.messaging.CampaignActivityType.FIRST_COME_FIRST_SERVE);
+        CampaignActivityMeta meta = new CampaignActivityMeta(1L, null, 3, CampaignActivityStatus.PAUSED, null, null, null, false, false, 10L, null, com.axon.messaging.CampaignActivityType.FIRST_COME_FIRST_SERVE);
 
         ReservationResult result = reservationService.reserve(1L, 100L, meta, Instant.now());
 
@@ -91,6 +102,7 @@ class EntryReservationServiceTest {
     void reserveClosedWhenOutsideSchedule() {
         CampaignActivityMeta meta = new CampaignActivityMeta(
                 1L,
+                null,
                 3,
                 CampaignActivityStatus.ACTIVE,
                 Instant.now().plusSeconds(3600).atZone(java.time.ZoneId.systemDefault()).toLocalDateTime(),
@@ -99,6 +111,7 @@ class EntryReservationServiceTest {
                 false,
                 false,
                 10L,
+                null,
                 com.axon.messaging.CampaignActivityType.FIRST_COME_FIRST_SERVE
         );
 
@@ -113,4 +126,26 @@ class EntryReservationServiceTest {
 
         assertThat(result.status()).isEqualTo(ReservationStatus.ERROR);
     }
+
+    @Test
+    void releaseClearsSoldOutFlagEvenWhenThisPodHasNone() {
+        when(shardedStockService.recordedShardCount(1L)).thenReturn(4);
+        when(shardedStockService.release(1L, 100L, 4)).thenReturn(true);
+
+        boolean released = reservationService.releaseReservation(1L, 100L);
+
+        assertThat(released).isTrue();
+        verify(soldOutRegistry).clear(1L);
+    }
+
+    @Test
+    void releaseWithoutHeldSlotLeavesFlagAlone() {
+        when(shardedStockService.recordedShardCount(1L)).thenReturn(4);
+        when(shardedStockService.release(1L, 100L, 4)).thenReturn(false);
+
+        boolean released = reservationService.releaseReservation(1L, 100L);
+
+        assertThat(released).isFalse();
+        verify(soldOutRegistry, never()).clear(1L);
+    }
 }
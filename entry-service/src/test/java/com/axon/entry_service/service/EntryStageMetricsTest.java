@@ -0,0 +1,38 @@
+package com.axon.entry_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.axon.messaging.CampaignActivityType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class EntryStageMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsStagesPerActivityTypeAndOutcome() {
+        EntryStageMetrics metrics = new EntryStageMetrics(meterRegistry, 0.0);
+
+        long start = metrics.start();
+        long next = metrics.stop(start, EntryStageMetrics.RESERVE, CampaignActivityType.FIRST_COME_FIRST_SERVE, "SOLD_OUT");
+        metrics.stop(next, EntryStageMetrics.RESERVE, CampaignActivityType.FIRST_COME_FIRST_SERVE, "SOLD_OUT");
+        metrics.stop(start, EntryStageMetrics.META, null, EntryStageMetrics.NOT_FOUND);
+
+        Timer reserve = meterRegistry.get("axon.entry.stage")
+                .tags("stage", "reserve", "activity_type", "FIRST_COME_FIRST_SERVE", "outcome", "SOLD_OUT").timer();
+        assertThat(reserve.count()).isEqualTo(2);
+        assertThat(next).isGreaterThanOrEqualTo(start);
+        assertThat(meterRegistry.get("axon.entry.stage").tags("stage", "meta", "activity_type", "UNKNOWN").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void neverSamplesDebugLinesWhenRateIsZero() {
+        EntryStageMetrics metrics = new EntryStageMetrics(meterRegistry, 0.0);
+
+        assertThat(metrics.debugSampled(LoggerFactory.getLogger(EntryStageMetricsTest.class))).isFalse();
+    }
+}
@@ -0,0 +1,42 @@
+package com.axon.entry_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.axon.entry_service.service.IdempotencyStore.StoredResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyStoreTest {
+
+    @Test
+    void storedResponseKeepsItsRequestHash() {
+        byte[] hash = new byte[32];
+        hash[0] = 7;
+        StoredResponse decoded = IdempotencyStore.decode(IdempotencyStore.encode(
+                new StoredResponse(200, "application/json", bytes("{\"ok\":true}"), hash)));
+
+        assertThat(decoded.status()).isEqualTo(200);
+        assertThat(decoded.contentType()).isEqualTo("application/json");
+        assertThat(decoded.body()).isEqualTo(bytes("{\"ok\":true}"));
+        assertThat(decoded.matches(hash)).isTrue();
+        assertThat(decoded.matches(new byte[32])).isFalse();
+    }
+
+    @Test
+    void responseStoredWithoutHashMatchesAnyRequest() {
+        byte[] versionOne = ByteBuffer.allocate(1 + 2 + 2 + 2)
+                .put((byte) 1).putShort((short) 200).putShort((short) 0).put(bytes("{}"))
+                .array();
+
+        StoredResponse decoded = IdempotencyStore.decode(versionOne);
+
+        assertThat(decoded.body()).isEqualTo(bytes("{}"));
+        assertThat(decoded.requestHash()).isNull();
+        assertThat(decoded.matches(new byte[32])).isTrue();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,49 @@
+package com.axon.entry_service.service.Payment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.axon.entry_service.service.Payment.SignedTokenCodec.Kind;
+import com.axon.entry_service.service.Payment.SignedTokenCodec.TokenClaims;
+import com.axon.messaging.CampaignActivityType;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+class SignedTokenCodecTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    private final SignedTokenCodec codec = new SignedTokenCodec("test-secret");
+
+    @Test
+    void roundTripsAllFields() {
+        TokenClaims claims = new TokenClaims(Kind.RESERVATION, 42L, 7L, 10L, 2,
+                CampaignActivityType.FIRST_COME_FIRST_SERVE, NOW + 300);
+
+        String token = codec.encode(claims);
+
+        assertThat(token).hasSize(74);
+        assertThat(codec.decode(token, Kind.RESERVATION, NOW)).contains(claims);
+    }
+
+    @Test
+    void keepsMissingOptionalFieldsAsNull() {
+        TokenClaims claims = new TokenClaims(Kind.APPROVAL, 42L, 7L, null, null, null, NOW + 300);
+
+        assertThat(codec.decode(codec.encode(claims), Kind.APPROVAL, NOW)).contains(claims);
+    }
+
+    @Test
+    void rejectsWrongKindExpiredOrTamperedTokens() {
+        String token = codec.encode(new TokenClaims(Kind.RESERVATION, 42L, 7L, 10L, 1,
+                CampaignActivityType.COUPON, NOW + 300));
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        bytes[3] ^= 1; // userId 변조
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        assertThat(codec.decode(token, Kind.APPROVAL, NOW)).isEmpty();
+        assertThat(codec.decode(token, Kind.RESERVATION, NOW + 300)).isEmpty();
+        assertThat(codec.decode(tampered, Kind.RESERVATION, NOW)).isEmpty();
+        assertThat(new SignedTokenCodec("other-secret").decode(token, Kind.RESERVATION, NOW)).isEmpty();
+        assertThat(codec.decode("not a token", Kind.RESERVATION, NOW)).isEmpty();
+    }
+}
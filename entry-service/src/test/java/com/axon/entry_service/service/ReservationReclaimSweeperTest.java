@@ -0,0 +1,74 @@
+package com.axon.entry_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ReservationReclaimSweeperTest {
+
+    private StringRedisTemplate redisTemplate;
+    private ZSetOperations<String, String> zSetOps;
+    private ShardedStockService shardedStockService;
+    private SoldOutRegistry soldOutRegistry;
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationReclaimSweeper sweeper;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        zSetOps = mock(ZSetOperations.class);
+        shardedStockService = mock(ShardedStockService.class);
+        soldOutRegistry = mock(SoldOutRegistry.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOps);
+        sweeper = new ReservationReclaimSweeper(redisTemplate, shardedStockService, soldOutRegistry, meterRegistry);
+        ReflectionTestUtils.setField(sweeper, "batchSize", 10);
+        ReflectionTestUtils.setField(sweeper, "leaseMillis", 30_000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shardedLeaseIsDroppedOnlyAfterItsReleaseSucceeded() {
+        when(shardedStockService.recordedShardCount(1L)).thenReturn(4);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), eq("0"), any()))
+                .thenReturn(List.of("100", "200", 0L, 1_000L, 2_000L));
+        when(shardedStockService.release(1L, 100L, 4)).thenReturn(true);
+        when(shardedStockService.release(1L, 200L, 4)).thenThrow(new RedisConnectionFailureException("down"));
+
+        sweeper.sweepActivity(1L);
+
+        verify(zSetOps).remove(ReservationReclaimSweeper.reclaimingKey(1L), "100");
+        verify(zSetOps, never()).remove(ReservationReclaimSweeper.reclaimingKey(1L), "100", "200");
+        verify(soldOutRegistry).clear(1L);
+        assertThat(meterRegistry.counter("axon.reservation.reclaimed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void unshardedReleaseInScriptClearsSoldOutFlag() {
+        when(shardedStockService.recordedShardCount(1L)).thenReturn(1);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), eq("1"), any()))
+                .thenReturn(List.of("100", 1L, 1_000L, 2_000L));
+
+        sweeper.sweepActivity(1L);
+
+        verify(soldOutRegistry).clear(1L);
+        verify(shardedStockService, never()).release(any(Long.class), any(Long.class), any(Integer.class));
+    }
+}
@@ -0,0 +1,148 @@
+package com.axon.entry_service.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+class WaitingRoomServiceTest {
+
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(10);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private WaitingRoomService waitingRoomService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        waitingRoomService = new WaitingRoomService(redisTemplate, "test-secret", Duration.ofSeconds(5),
+                100, IDLE_EXPIRY, nanos::get);
+    }
+
+    @Test
+    void signedTicketVerifiesOnlyForSameActivityAndUser() {
+        String ticket = waitingRoomService.sign(1L, 42L, 7L);
+
+        assertThat(waitingRoomService.verify(1L, 42L, ticket)).isEqualTo(7L);
+        assertThat(waitingRoomService.verify(2L, 42L, ticket)).isEqualTo(-1L);
+        assertThat(waitingRoomService.verify(1L, 43L, ticket)).isEqualTo(-1L);
+    }
+
+    @Test
+    void tamperedOrMalformedTicketIsRejected() {
+        String forged = new WaitingRoomService(redisTemplate, "other-secret", Duration.ofSeconds(5),
+                100, IDLE_EXPIRY, nanos::get).sign(1L, 42L, 1L);
+
+        assertThat(waitingRoomService.verify(1L, 42L, forged)).isEqualTo(-1L);
+        assertThat(waitingRoomService.verify(1L, 42L, "not-a-ticket")).isEqualTo(-1L);
+        assertThat(waitingRoomService.verify(1L, 42L, null)).isEqualTo(-1L);
+    }
+
+    @Test
+    void activityWithoutRateHasNoWaitingRoom() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+
+        assertThat(waitingRoomService.isEnabled(1L)).isFalse();
+        assertThat(waitingRoomService.isAdmitted(1L, 42L, null)).isTrue();
+        assertThat(waitingRoomService.join(1L, 42L).isAdmitted()).isTrue();
+    }
+
+    @Test
+    void onlyTicketsAtOrBelowTheFrontierAreAdmitted() {
+        openRoom(1L, 5L);
+
+        assertThat(waitingRoomService.isAdmitted(1L, 42L, waitingRoomService.sign(1L, 42L, 5L))).isTrue();
+        assertThat(waitingRoomService.isAdmitted(1L, 42L, waitingRoomService.sign(1L, 42L, 6L))).isFalse();
+        assertThat(waitingRoomService.isAdmitted(1L, 42L, null)).isFalse();
+        assertThat(waitingRoomService.status(1L, 42L, waitingRoomService.sign(1L, 42L, 8L)).getAheadCount())
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void frontierAdvancesOnRefresh() {
+        openRoom(1L, 5L);
+        String ticket = waitingRoomService.sign(1L, 42L, 7L);
+        assertThat(waitingRoomService.isAdmitted(1L, 42L, ticket)).isFalse();
+
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(7L);
+        waitingRoomService.refreshRooms();
+
+        assertThat(waitingRoomService.isAdmitted(1L, 42L, ticket)).isTrue();
+    }
+
+    @Test
+    void idleRoomIsEvictedEvenThoughTheRefreshKeepsUpdatingIt() {
+        openRoom(1L, 5L);
+        openRoom(2L, 5L);
+        assertThat(waitingRoomService.trackedRooms()).isEqualTo(2L);
+
+        nanos.addAndGet(IDLE_EXPIRY.minusMinutes(1).toNanos());
+        waitingRoomService.refreshRooms();
+        waitingRoomService.isEnabled(2L);
+        nanos.addAndGet(Duration.ofMinutes(2).toNanos());
+
+        assertThat(waitingRoomService.trackedRooms()).isEqualTo(1L);
+        clearInvocations(redisTemplate);
+        waitingRoomService.refreshRooms();
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    @Test
+    void trackedRoomsAreBounded() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+
+        for (long campaignActivityId = 1; campaignActivityId <= 1_000; campaignActivityId++) {
+            waitingRoomService.isEnabled(campaignActivityId);
+        }
+
+        assertThat(waitingRoomService.trackedRooms()).isLessThanOrEqualTo(100L);
+    }
+
+    @Test
+    void settingAndClearingTheRateTakesEffectOnThisPodAtOnce() {
+        when(valueOperations.get(anyString())).thenReturn(null);
+        assertThat(waitingRoomService.isEnabled(1L)).isFalse();
+
+        waitingRoomService.setRate(1L, 10L);
+        verify(valueOperations).set("campaign:1:queue:rate", "10");
+        openRoom(1L, 0L);
+
+        waitingRoomService.clearRate(1L);
+        verify(redisTemplate).delete("campaign:1:queue:rate");
+        when(valueOperations.get(anyString())).thenReturn(null);
+        assertThat(waitingRoomService.isEnabled(1L)).isFalse();
+    }
+
+    @Test
+    void nonPositiveRateIsRejected() {
+        assertThatThrownBy(() -> waitingRoomService.setRate(1L, 0L)).isInstanceOf(IllegalArgumentException.class);
+        verify(valueOperations, never()).set(anyString(), anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void openRoom(long campaignActivityId, long frontier) {
+        when(valueOperations.get("campaign:" + campaignActivityId + ":queue:rate")).thenReturn("10");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any())).thenReturn(frontier);
+        assertThat(waitingRoomService.isEnabled(campaignActivityId)).isTrue();
+    }
+}
@@ -0,0 +1,86 @@
+package com.axon.entry_service.service.behavior;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.axon.entry_service.domain.behavior.UserBehaviorEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BehaviorEventIngestionPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    private BehaviorEventIngestionPolicy policy(int sessionLimit, String sampleRates) {
+        return new BehaviorEventIngestionPolicy(meterRegistry, clock, true, sessionLimit, 10_000, 0.0001, sampleRates);
+    }
+
+    private static UserBehaviorEvent event(long eventId, String sessionId, String triggerType, Long campaignId) {
+        return UserBehaviorEvent.builder()
+                .eventId(eventId)
+                .triggerType(triggerType)
+                .sessionId(sessionId)
+                .properties(campaignId == null ? Map.of() : Map.of("campaignId", campaignId))
+                .build();
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.counter("axon.behavior.events.dropped", "reason", reason).count();
+    }
+
+    @Test
+    void dropsDuplicateEventIdsUntilTheyAgeOut() {
+        BehaviorEventIngestionPolicy policy = policy(1000, "");
+
+        assertThat(policy.admit(event(1, "s", "CLICK", null))).isTrue();
+        assertThat(policy.admit(event(1, "s", "CLICK", null))).isFalse();
+        policy.rotateDedupeWindow();
+        assertThat(policy.admit(event(1, "s", "CLICK", null))).isFalse();
+        policy.rotateDedupeWindow();
+        policy.rotateDedupeWindow();
+        assertThat(policy.admit(event(1, "s", "CLICK", null))).isTrue();
+        assertThat(dropped("duplicate")).isEqualTo(2);
+    }
+
+    @Test
+    void capsEventsPerSessionPerSecond() {
+        BehaviorEventIngestionPolicy policy = policy(3, "");
+
+        List<UserBehaviorEvent> burst = IntStream.range(0, 5).mapToObj(i -> event(i, "spammy", "SCROLL", null)).toList();
+        assertThat(policy.filter(burst)).hasSize(3);
+        assertThat(policy.admit(event(100, "other", "SCROLL", null))).isTrue();
+        assertThat(dropped("rate_limited")).isEqualTo(2);
+    }
+
+    @Test
+    void samplesConfiguredTriggerTypesPerCampaign() {
+        BehaviorEventIngestionPolicy policy = policy(1000, "SCROLL=0, SCROLL@7=1");
+
+        assertThat(policy.admit(event(1, "s", "SCROLL", 3L))).isFalse();
+        assertThat(policy.admit(event(2, "s", "SCROLL", 7L))).isTrue();
+        assertThat(policy.admit(event(3, "s", "CLICK", 3L))).isTrue();
+        assertThat(meterRegistry.counter("axon.behavior.events.sampled", "triggerType", "SCROLL").count()).isEqualTo(1);
+    }
+
+    @Test
+    void bloomFilterStaysNearItsFalsePositiveRate() {
+        RotatingBloomFilter filter = new RotatingBloomFilter(100_000, 0.001);
+        for (long id = 0; id < 100_000; id++) {
+            filter.putIfAbsentMightContain(id);
+        }
+        long falsePositives = 0;
+        for (long id = 1_000_000; id < 1_010_000; id++) {
+            if (filter.putIfAbsentMightContain(id)) {
+                falsePositives++;
+            }
+        }
+        // 기대값 약 10건 (1만 건 × 0.1%), 조회하면서 추가되는 키를 감안해 여유를 둔다
+        assertThat(falsePositives).isLessThan(40);
+    }
+}
@@ -0,0 +1,87 @@
+package com.axon.entry_service.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CommandJournalTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @TempDir
+    Path dir;
+
+    private CommandJournal open() {
+        return new CommandJournal(dir.toString(), SEGMENT_SIZE, true, 4096);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void replaysUndeliveredRecordsAfterRestart() {
+        CommandJournal journal = open();
+        long first = journal.append("topic", null, bytes("one"));
+        journal.append("topic", "key", bytes("two"));
+        journal.commit(first);
+
+        List<CommandJournal.Entry> entries = open().read(first, 10);
+
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).topic()).isEqualTo("topic");
+        assertThat(entries.get(0).key()).isEqualTo("key");
+        assertThat(entries.get(0).value()).isEqualTo(bytes("two"));
+        assertThat(open().checkpoint()).isEqualTo(first);
+    }
+
+    @Test
+    void rollsSegmentsAndDeletesDeliveredOnes() throws Exception {
+        CommandJournal journal = open();
+        byte[] value = new byte[100];
+        for (int i = 0; i < 5; i++) {
+            journal.append("t", null, value);
+        }
+
+        List<CommandJournal.Entry> entries = journal.read(0, 10);
+        assertThat(entries).hasSize(5);
+        journal.commit(entries.get(3).nextOffset());
+
+        try (var files = Files.list(dir)) {
+            assertThat(files.filter(p -> p.getFileName().toString().startsWith("segment-")).count()).isEqualTo(2);
+        }
+        assertThat(journal.read(journal.checkpoint(), 10)).hasSize(1);
+    }
+
+    @Test
+    void discardsTornTailOnRecovery() throws Exception {
+        CommandJournal journal = open();
+        long end = journal.append("topic", null, bytes("kept"));
+        journal.append("topic", null, bytes("torn"));
+
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve("segment-0000000000000000000.log").toFile(), "rw")) {
+            file.seek(end + 4);
+            file.writeInt(12345); // CRC 불일치
+        }
+
+        CommandJournal reopened = open();
+        assertThat(reopened.read(0, 10)).extracting(e -> new String(e.value(), StandardCharsets.UTF_8)).containsExactly("kept");
+        assertThat(reopened.append("topic", null, bytes("next"))).isGreaterThan(end);
+        assertThat(open().read(0, 10)).hasSize(2);
+    }
+
+    @Test
+    void rejectsAppendsWhenBacklogIsFull() {
+        CommandJournal journal = new CommandJournal(dir.toString(), SEGMENT_SIZE, false, 64);
+        journal.append("t", null, new byte[30]);
+
+        assertThatThrownBy(() -> journal.append("t", null, new byte[30])).isInstanceOf(IllegalStateException.class);
+    }
+}
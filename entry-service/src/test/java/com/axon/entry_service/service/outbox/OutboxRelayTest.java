@@ -0,0 +1,146 @@
+package com.axon.entry_service.service.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.axon.messaging.CampaignActivityType;
+import com.axon.messaging.codec.CampaignActivityCommandCodec;
+import com.axon.messaging.dto.CampaignActivityKafkaProducerDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class OutboxRelayTest {
+
+    private static final String TOPIC = "axon.campaign-activity.command";
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CommandJournal journal;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        journal = new CommandJournal(dir.toString(), 4096, false, 1 << 20);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(journal, kafkaTemplate, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "ackTimeoutMillis", 1000L);
+        ReflectionTestUtils.setField(relay, "failureBackoffMillis", 60_000L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void undecodableRecordIsQuarantinedAndTheNextOneIsPublished() throws Exception {
+        journal.append(TOPIC, "1:1", "not json".getBytes(StandardCharsets.UTF_8));
+        long end = journal.append(TOPIC, "1:2", objectMapper.writeValueAsBytes(command(2L)));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.relay();
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(any(), any(), sent.capture());
+        assertThat(((CampaignActivityKafkaProducerDto) sent.getValue()).getUserId()).isEqualTo(2L);
+        assertThat(journal.checkpoint()).isEqualTo(end);
+        assertThat(meterRegistry.counter("axon.outbox.quarantined").count()).isEqualTo(1.0);
+        List<String> deadLetters = Files.readAllLines(dir.resolve("dead-letter.log"));
+        assertThat(deadLetters).hasSize(1);
+        assertThat(deadLetters.get(0)).startsWith("0\t" + TOPIC + "\t1:1\t");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void binaryRecordIsSentAsJournaled() {
+        byte[] encoded = CampaignActivityCommandCodec.encode(command(3L));
+        long end = journal.append(TOPIC, "1:3", encoded);
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.relay();
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq(TOPIC), eq("1:3"), sent.capture());
+        assertThat(sent.getValue()).isEqualTo(encoded);
+        assertThat(journal.checkpoint()).isEqualTo(end);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void binaryRecordIsDecodedForJsonProducers() {
+        journal.append(TOPIC, "1:3", CampaignActivityCommandCodec.encode(command(3L)));
+        ReflectionTestUtils.setField(relay, "commandCodec", "json");
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.relay();
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(any(), any(), sent.capture());
+        assertThat(((CampaignActivityKafkaProducerDto) sent.getValue()).getUserId()).isEqualTo(3L);
+    }
+
+    @Test
+    void brokerFailureKeepsTheRecordForRetry() throws Exception {
+        journal.append(TOPIC, "1:2", objectMapper.writeValueAsBytes(command(2L)));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenThrow(new TimeoutException("no metadata"));
+
+        relay.relay();
+
+        assertThat(journal.checkpoint()).isZero();
+        assertThat(meterRegistry.counter("axon.outbox.quarantined").count()).isZero();
+        assertThat(meterRegistry.counter("axon.outbox.publish.failures").count()).isEqualTo(1.0);
+        assertThat(dir.resolve("dead-letter.log")).doesNotExist();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void drainRetriesUntilTheBacklogIsDelivered() throws Exception {
+        long end = journal.append(TOPIC, "1:2", objectMapper.writeValueAsBytes(command(2L)));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenThrow(new TimeoutException("no metadata"))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        ReflectionTestUtils.setField(relay, "failureBackoffMillis", 10L);
+        ReflectionTestUtils.setField(relay, "drainTimeoutMillis", 5_000L);
+
+        relay.drain();
+
+        assertThat(journal.checkpoint()).isEqualTo(end);
+        assertThat(journal.backlogBytes()).isZero();
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any());
+    }
+
+    private static CampaignActivityKafkaProducerDto command(Long userId) {
+        return CampaignActivityKafkaProducerDto.builder()
+                .campaignActivityType(CampaignActivityType.FIRST_COME_FIRST_SERVE)
+                .campaignActivityId(1L)
+                .userId(userId)
+                .productId(1L)
+                .timestamp(System.currentTimeMillis())
+                .build();
+    }
+}
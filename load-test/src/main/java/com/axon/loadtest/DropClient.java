@@ -0,0 +1,245 @@
+package com.axon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.crypto.SecretKey;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Plays one FCFS drop against entry-service: every user runs
+ * entry -> payment prepare -> payment confirm once, on its own virtual thread,
+ * all released by the same start gate (optionally spread over {@code burstMillis}).
+ */
+final class DropClient {
+
+    enum Step { ENTRY, PREPARE, CONFIRM, USER }
+
+    enum Outcome { CONFIRMED, SOLD_OUT, DUPLICATED, REJECTED, EXPIRED, FAILED }
+
+    /**
+     * Latencies and outcomes of one run. Histograms are in microseconds.
+     */
+    static final class Result {
+        final Map<Step, Histogram> latencies = new EnumMap<>(Step.class);
+        final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+        final LongAdder retries = new LongAdder();
+        /** userId -> epoch millis at which its confirm returned 200 */
+        final Map<Long, Long> confirmedAt = new ConcurrentHashMap<>();
+        long elapsedNanos;
+
+        Result() {
+            for (Step step : Step.values()) {
+                latencies.put(step, new ConcurrentHistogram(3));
+            }
+            for (Outcome outcome : Outcome.values()) {
+                outcomes.put(outcome, new LongAdder());
+            }
+        }
+
+        long count(Outcome outcome) {
+            return outcomes.get(outcome).sum();
+        }
+    }
+
+    private record Response(int status, JsonNode body, String retryAfter) {
+    }
+
+    private static final long MAX_RETRY_AFTER_MILLIS = 2_000;
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final String entryBaseUrl;
+    private final SecretKey jwtKey;
+    private final LoadTestConfig config;
+    private final String runId = UUID.randomUUID().toString();
+
+    DropClient(HttpClient http, ObjectMapper objectMapper, String entryBaseUrl, String jwtSecret, LoadTestConfig config) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.entryBaseUrl = entryBaseUrl;
+        this.jwtKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.config = config;
+    }
+
+    /**
+     * Runs {@code users} users with ids {@code firstUserId..} against {@code activity} and waits for all of them.
+     */
+    Result run(Seeder.Activity activity, long firstUserId, int users, long burstMillis) throws InterruptedException {
+        Result result = new Result();
+        CountDownLatch startGate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(users);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                long userId = firstUserId + i;
+                String bearer = "Bearer " + token(userId);
+                executor.execute(() -> {
+                    try {
+                        startGate.await();
+                        if (burstMillis > 0) {
+                            Thread.sleep(ThreadLocalRandom.current().nextLong(burstMillis));
+                        }
+                        long start = System.nanoTime();
+                        Outcome outcome = play(activity, userId, bearer, result);
+                        result.latencies.get(Step.USER).recordValue(micros(start));
+                        result.outcomes.get(outcome).increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            long start = System.nanoTime();
+            startGate.countDown();
+            done.await();
+            result.elapsedNanos = System.nanoTime() - start;
+        }
+        return result;
+    }
+
+    private Outcome play(Seeder.Activity activity, long userId, String bearer, Result result) throws InterruptedException {
+        Map<String, Object> entry = Map.of(
+                "campaignActivityId", activity.id(),
+                "productId", activity.productId(),
+                "campaignActivityType", "FIRST_COME_FIRST_SERVE",
+                "quantity", 1);
+        Response response = send(Step.ENTRY, "/entry/api/v1/entries", bearer, entry, result);
+        if (response == null) {
+            return Outcome.FAILED;
+        }
+        switch (response.status()) {
+            case 200 -> {
+            }
+            case 409 -> {
+                return Outcome.DUPLICATED;
+            }
+            case 410 -> {
+                return Outcome.SOLD_OUT;
+            }
+            default -> {
+                return response.status() >= 500 || response.status() == 429 ? Outcome.FAILED : Outcome.REJECTED;
+            }
+        }
+
+        String reservationToken = response.body().path("reservationToken").asText();
+        response = send(Step.PREPARE, "/entry/api/v1/payments/prepare", bearer,
+                Map.of("reservationToken", reservationToken), result);
+        if (response == null || response.status() >= 500) {
+            return Outcome.FAILED;
+        }
+        if (response.status() != 200) {
+            return Outcome.EXPIRED;
+        }
+
+        // retried confirms carry the same Idempotency-Key, so they replay the first answer instead of a 410
+        String approvalToken = response.body().path("approvalToken").asText();
+        response = send(Step.CONFIRM, "/entry/api/v1/payments/confirm", bearer,
+                Map.of("reservationToken", approvalToken), result);
+        if (response == null || response.status() >= 500) {
+            return Outcome.FAILED;
+        }
+        if (response.status() != 200) {
+            return Outcome.EXPIRED;
+        }
+        result.confirmedAt.put(userId, System.currentTimeMillis());
+        return Outcome.CONFIRMED;
+    }
+
+    /**
+     * Sends one step, retrying on 429, 5xx and I/O errors with the same {@code Idempotency-Key}.
+     *
+     * @return the final response, or {@code null} if every attempt failed with an I/O error
+     */
+    private Response send(Step step, String path, String bearer, Object body, Result result)
+            throws InterruptedException {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(entryBaseUrl + path))
+                .timeout(Duration.ofMillis(config.requestTimeoutMillis()))
+                .header("Content-Type", "application/json")
+                .header("Authorization", bearer)
+                // entry-service scopes keys per user and endpoint, so the step and run are enough
+                .header("Idempotency-Key", step.name() + "-" + runId)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build();
+        int attempts = config.maxRetries() + 1;
+        Response response = null;
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            if (attempt > 0) {
+                result.retries.increment();
+                Thread.sleep(backoffMillis(attempt, response));
+            }
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> raw = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                result.latencies.get(step).recordValue(micros(start));
+                JsonNode node = raw.body().length == 0 ? objectMapper.nullNode() : objectMapper.readTree(raw.body());
+                response = new Response(raw.statusCode(), node, raw.headers().firstValue("Retry-After").orElse(null));
+            } catch (IOException e) {
+                result.latencies.get(step).recordValue(micros(start));
+                response = null;
+                continue;
+            }
+            if (!retryable(response.status())) {
+                return response;
+            }
+        }
+        return response;
+    }
+
+    private static boolean retryable(int status) {
+        return status == 429 || status == 500 || status == 502 || status == 503 || status == 504;
+    }
+
+    private long backoffMillis(int attempt, Response previous) {
+        if (previous != null && previous.retryAfter() != null) {
+            try {
+                return Math.min(MAX_RETRY_AFTER_MILLIS, Long.parseLong(previous.retryAfter()) * 1000);
+            } catch (NumberFormatException ignored) {
+                // HTTP-date form is not used by entry-service
+            }
+        }
+        long base = config.retryBackoffMillis() << (attempt - 1);
+        return base + ThreadLocalRandom.current().nextLong(base + 1);
+    }
+
+    private String token(long userId) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject(String.valueOf(userId))
+                .claim("auth", "ROLE_USER")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(jwtKey)
+                .compact();
+    }
+
+    private static long micros(long startNanos) {
+        return Math.max(1, (System.nanoTime() - startNanos) / 1_000);
+    }
+}
@@ -0,0 +1,66 @@
+package com.axon.loadtest;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of one load-test run, read from {@code axon.loadtest.*} system properties
+ * (the Gradle task forwards {@code -P<name>=...}).
+ *
+ * @param coreJar              core-service boot jar
+ * @param entryJar             entry-service boot jar
+ * @param workDir              service logs, entry outbox and the report
+ * @param coreLoaderPath       extra jars for core-service (the H2 driver)
+ * @param users                clients taking part in the drop, one attempt each
+ * @param stock                limit of the drop activity
+ * @param warmupUsers          clients run against a separate unlimited activity first (JIT, pools, caches)
+ * @param burstMillis          window over which the drop clients are released; 0 releases all at once
+ * @param maxRetries           retries per request on 429, 5xx and I/O errors
+ * @param retryBackoffMillis   base backoff between retries, doubled per attempt with jitter
+ * @param requestTimeoutMillis HTTP request timeout
+ * @param lagTimeoutSeconds    how long to wait for confirmed entries to reach the database
+ * @param kafkaPartitions      partitions of the embedded broker's topics
+ * @param serviceLogLevel      root log level of both services
+ */
+record LoadTestConfig(Path coreJar,
+                      Path entryJar,
+                      Path workDir,
+                      String coreLoaderPath,
+                      int users,
+                      int stock,
+                      int warmupUsers,
+                      long burstMillis,
+                      int maxRetries,
+                      long retryBackoffMillis,
+                      long requestTimeoutMillis,
+                      long lagTimeoutSeconds,
+                      int kafkaPartitions,
+                      String serviceLogLevel) {
+
+    private static final String PREFIX = "axon.loadtest.";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Path.of(required("coreJar")),
+                Path.of(required("entryJar")),
+                Path.of(System.getProperty(PREFIX + "workDir", "build/load-test")),
+                System.getProperty(PREFIX + "coreLoaderPath", ""),
+                Integer.getInteger(PREFIX + "users", 2000),
+                Integer.getInteger(PREFIX + "stock", 100),
+                Integer.getInteger(PREFIX + "warmupUsers", 300),
+                Long.getLong(PREFIX + "burstMillis", 0L),
+                Integer.getInteger(PREFIX + "maxRetries", 3),
+                Long.getLong(PREFIX + "retryBackoffMillis", 50L),
+                Long.getLong(PREFIX + "requestTimeoutMillis", 10_000L),
+                Long.getLong(PREFIX + "lagTimeoutSeconds", 60L),
+                Integer.getInteger(PREFIX + "kafkaPartitions", 3),
+                System.getProperty(PREFIX + "serviceLogLevel", "WARN"));
+    }
+
+    private static String required(String name) {
+        String value = System.getProperty(PREFIX + name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Missing system property " + PREFIX + name + " (run through `gradle loadTest`)");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,301 @@
+package com.axon.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Self-contained FCFS drop: starts Redis, Kafka and H2 in this JVM, boots core-service
+ * and entry-service against them, seeds an activity with {@code stock} units, warms the
+ * services up on a separate activity and then lets {@code users} clients race for the stock.
+ *
+ * <p>After the drop it checks the invariants the flow has to keep:
+ * <ul>
+ *   <li>no oversell: the Redis counter {@code campaign:{id}:counter}, the confirmed clients
+ *       and the {@code campaign_activity_entries} rows never exceed the stock;</li>
+ *   <li>no undersell: with at least as many users as units, all units are sold;</li>
+ *   <li>no lost or phantom entries: every confirmed client has exactly one row once the
+ *       Kafka consumer caught up, within {@code lagTimeoutSeconds}.</li>
+ * </ul>
+ * The summary (throughput, p50/p90/p99/p99.9 per step, confirm-to-row lag) is printed and
+ * written to {@code <workDir>/report.json}. The exit code is 1 if an invariant is broken.
+ */
+public final class LoadTestMain {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestMain.class);
+
+    private static final String JWT_SECRET = "load-test-jwt-secret-that-is-long-enough-for-hs256";
+    private static final String PAYMENT_TOKEN_SECRET = "load-test-payment-token-secret";
+    private static final long WARMUP_USER_ID_BASE = 1_000_000_000L;
+    private static final long DROP_USER_ID_BASE = 1L;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        Files.createDirectories(config.workDir());
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // Tomcat does not speak h2c; the default HTTP/2 upgrade attempt only adds a round trip
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        boolean passed;
+        try (LocalInfrastructure infra = LocalInfrastructure.start(config);
+             ServiceProcess core = startCore(config, infra, http);
+             ServiceProcess entry = startEntry(config, infra, core, http)) {
+
+            Seeder seeder = new Seeder(http, objectMapper, core.baseUrl(), infra.jdbcUrl());
+            long campaignId = seeder.createCampaign("load-test drop");
+            DropClient client = new DropClient(http, objectMapper, entry.baseUrl(), JWT_SECRET, config);
+
+            if (config.warmupUsers() > 0) {
+                Seeder.Activity warmup = seeder.createFcfsActivity(campaignId, "warm-up", config.warmupUsers());
+                DropClient.Result result = client.run(warmup, WARMUP_USER_ID_BASE, config.warmupUsers(), 0);
+                log.info("Warm-up: {} users, {} confirmed in {} ms", config.warmupUsers(),
+                        result.count(DropClient.Outcome.CONFIRMED), TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos));
+            }
+
+            Seeder.Activity drop = seeder.createFcfsActivity(campaignId, "drop", config.stock());
+            log.info("Drop: {} users racing for {} units of activity {}", config.users(), config.stock(), drop.id());
+            DropClient.Result result = client.run(drop, DROP_USER_ID_BASE, config.users(), config.burstMillis());
+
+            Verification verification = verify(config, infra, drop, result);
+            core.saveMetrics(http, config.workDir());
+            entry.saveMetrics(http, config.workDir());
+            ObjectNode report = report(objectMapper, config, drop, result, verification);
+            Files.writeString(config.workDir().resolve("report.json"),
+                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+            print(config, result, verification);
+            passed = verification.violations().isEmpty();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static ServiceProcess startCore(LoadTestConfig config, LocalInfrastructure infra, HttpClient http)
+            throws Exception {
+        int corePort = LocalInfrastructure.freePort();
+        ServiceProcess core = ServiceProcess.start("core-service", config.coreJar(), config.coreLoaderPath(), corePort,
+                config.workDir(), List.of(
+                        "--spring.datasource.url=" + infra.jdbcUrl(),
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.batch.job.enabled=false",
+                        "--spring.batch.jdbc.initialize-schema=always",
+                        "--spring.data.redis.host=localhost",
+                        "--spring.data.redis.port=" + infra.redisPort(),
+                        "--spring.kafka.bootstrap-servers=" + infra.kafkaBootstrapServers(),
+                        "--spring.kafka.consumer.auto-offset-reset=earliest",
+                        "--jwt.secret=" + JWT_SECRET,
+                        "--axon.entry-service-url=http://localhost:0",
+                        // Elasticsearch (behavior analytics) is not part of the drop path
+                        "--management.health.elasticsearch.enabled=false",
+                        "--logging.level.root=" + config.serviceLogLevel()));
+        core.awaitHealthy(http, STARTUP_TIMEOUT);
+        return core;
+    }
+
+    /**
+     * Started once core-service is healthy, so the activity-campaign index and meta lookups succeed from the start.
+     */
+    private static ServiceProcess startEntry(LoadTestConfig config, LocalInfrastructure infra, ServiceProcess core,
+                                             HttpClient http) throws Exception {
+        int entryPort = LocalInfrastructure.freePort();
+        ServiceProcess entry = ServiceProcess.start("entry-service", config.entryJar(), null, entryPort, config.workDir(), List.of(
+                "--spring.data.redis.host=localhost",
+                "--spring.data.redis.port=" + infra.redisPort(),
+                "--spring.kafka.bootstrap-servers=" + infra.kafkaBootstrapServers(),
+                "--jwt.secret=" + JWT_SECRET,
+                "--payment.token.secret=" + PAYMENT_TOKEN_SECRET,
+                "--axon.core-service.base-url=" + core.baseUrl(),
+                "--axon.outbox.dir=" + config.workDir().resolve("outbox"),
+                "--management.health.elasticsearch.enabled=false",
+                "--logging.level.root=" + config.serviceLogLevel()));
+        entry.awaitHealthy(http, STARTUP_TIMEOUT);
+        return entry;
+    }
+
+    record Verification(String redisCounter, long rows, long duplicateRows, long missingRows, Histogram lagMillis,
+                        long drainMillis, List<String> violations) {
+    }
+
+    private static Verification verify(LoadTestConfig config, LocalInfrastructure infra, Seeder.Activity drop,
+                                       DropClient.Result result) throws SQLException, InterruptedException {
+        long confirmed = result.count(DropClient.Outcome.CONFIRMED);
+        long lastConfirm = result.confirmedAt.values().stream().mapToLong(Long::longValue).max().orElse(System.currentTimeMillis());
+
+        // wait for the outbox relay and the Kafka consumer to persist every confirmed entry
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.lagTimeoutSeconds());
+        long rows = countRows(infra, drop.id());
+        while (rows < confirmed && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            rows = countRows(infra, drop.id());
+        }
+        long drainMillis = Math.max(0, System.currentTimeMillis() - lastConfirm);
+
+        Histogram lag = new Histogram(3);
+        Map<Long, Integer> rowsPerUser = new HashMap<>();
+        try (Connection connection = DriverManager.getConnection(infra.jdbcUrl(), "sa", "");
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT user_id, created_at FROM campaign_activity_entries WHERE campaign_activity_id = ?")) {
+            statement.setLong(1, drop.id());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    long userId = rs.getLong(1);
+                    rowsPerUser.merge(userId, 1, Integer::sum);
+                    Long confirmedAt = result.confirmedAt.get(userId);
+                    if (confirmedAt != null && rs.getTimestamp(2) != null) {
+                        lag.recordValue(Math.max(0, rs.getTimestamp(2).getTime() - confirmedAt));
+                    }
+                }
+            }
+        }
+        long duplicateRows = rowsPerUser.values().stream().filter(n -> n > 1).mapToLong(n -> n - 1).sum();
+        long missingRows = result.confirmedAt.keySet().stream().filter(id -> !rowsPerUser.containsKey(id)).count();
+
+        String counter;
+        RedisClient redisClient = RedisClient.create("redis://localhost:" + infra.redisPort());
+        try (StatefulRedisConnection<String, String> connection = redisClient.connect()) {
+            counter = connection.sync().get("campaign:" + drop.id() + ":counter");
+        } finally {
+            redisClient.shutdown();
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (counter != null && Long.parseLong(counter) > config.stock()) {
+            violations.add("oversell: Redis counter " + counter + " > stock " + config.stock());
+        }
+        if (confirmed > config.stock()) {
+            violations.add("oversell: " + confirmed + " confirmed payments > stock " + config.stock());
+        }
+        if (rows > config.stock()) {
+            violations.add("oversell: " + rows + " entry rows > stock " + config.stock());
+        }
+        if (config.users() >= config.stock() && rows < config.stock()) {
+            violations.add("undersell: " + rows + " entry rows < stock " + config.stock() + " with "
+                    + config.users() + " users");
+        }
+        if (missingRows > 0) {
+            violations.add("lost: " + missingRows + " confirmed payments without an entry row after "
+                    + config.lagTimeoutSeconds() + "s");
+        }
+        if (rowsPerUser.size() > confirmed) {
+            violations.add("phantom: " + (rowsPerUser.size() - confirmed) + " users with an entry row but no confirmed payment");
+        }
+        if (duplicateRows > 0) {
+            violations.add("duplicate: " + duplicateRows + " extra entry rows for the same user");
+        }
+        return new Verification(counter, rows, duplicateRows, missingRows, lag, drainMillis, violations);
+    }
+
+    private static long countRows(LocalInfrastructure infra, long activityId) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(infra.jdbcUrl(), "sa", "");
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM campaign_activity_entries WHERE campaign_activity_id = ?")) {
+            statement.setLong(1, activityId);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static ObjectNode report(ObjectMapper objectMapper, LoadTestConfig config, Seeder.Activity drop,
+                                     DropClient.Result result, Verification verification) {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("activityId", drop.id());
+        report.put("users", config.users());
+        report.put("stock", config.stock());
+        report.put("burstMillis", config.burstMillis());
+        report.put("elapsedMillis", TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos));
+        report.put("usersPerSecond", usersPerSecond(config, result));
+        report.put("retries", result.retries.sum());
+        ObjectNode outcomes = report.putObject("outcomes");
+        result.outcomes.forEach((outcome, count) -> outcomes.put(outcome.name(), count.sum()));
+        ObjectNode latencies = report.putObject("latencyMillis");
+        result.latencies.forEach((step, histogram) -> percentiles(latencies.putObject(step.name()), histogram, 1_000.0));
+        report.put("redisCounter", verification.redisCounter());
+        report.put("entryRows", verification.rows());
+        report.put("missingRows", verification.missingRows());
+        report.put("duplicateRows", verification.duplicateRows());
+        report.put("drainMillis", verification.drainMillis());
+        percentiles(report.putObject("confirmToRowLagMillis"), verification.lagMillis(), 1.0);
+        verification.violations().forEach(report.putArray("violations")::add);
+        return report;
+    }
+
+    private static void percentiles(ObjectNode node, Histogram histogram, double unitsPerMilli) {
+        node.put("count", histogram.getTotalCount());
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        node.put("p50", histogram.getValueAtPercentile(50) / unitsPerMilli);
+        node.put("p90", histogram.getValueAtPercentile(90) / unitsPerMilli);
+        node.put("p99", histogram.getValueAtPercentile(99) / unitsPerMilli);
+        node.put("p999", histogram.getValueAtPercentile(99.9) / unitsPerMilli);
+        node.put("max", histogram.getMaxValue() / unitsPerMilli);
+    }
+
+    private static double usersPerSecond(LoadTestConfig config, DropClient.Result result) {
+        return result.elapsedNanos == 0 ? 0 : config.users() * 1e9 / result.elapsedNanos;
+    }
+
+    private static void print(LoadTestConfig config, DropClient.Result result, Verification verification) {
+        StringBuilder out = new StringBuilder("\n=== FCFS drop: ").append(config.users()).append(" users, ")
+                .append(config.stock()).append(" units ===\n");
+        out.append("elapsed %d ms, %.0f users/s, %d retries%n".formatted(
+                TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos), usersPerSecond(config, result), result.retries.sum()));
+        result.outcomes.forEach((outcome, count) -> out.append("  %-10s %d%n".formatted(outcome, count.sum())));
+        out.append("latency (ms)      count      p50      p90      p99    p99.9      max\n");
+        result.latencies.forEach((step, h) -> out.append(row(step.name(), h, 1_000.0)));
+        out.append(row("ROW_LAG", verification.lagMillis(), 1.0));
+        out.append("redis counter %s, entry rows %d, missing %d, duplicate %d, drained %d ms after the last confirm%n"
+                .formatted(verification.redisCounter(), verification.rows(), verification.missingRows(),
+                        verification.duplicateRows(), verification.drainMillis()));
+        if (verification.violations().isEmpty()) {
+            out.append("PASS\n");
+        } else {
+            verification.violations().forEach(v -> out.append("FAIL ").append(v).append('\n'));
+        }
+        out.append("report: ").append(config.workDir().resolve("report.json")).append('\n');
+        System.out.println(out);
+    }
+
+    private static String row(String name, Histogram h, double unitsPerMilli) {
+        if (h.getTotalCount() == 0) {
+            return "  %-12s %8d%n".formatted(name, 0);
+        }
+        return "  %-12s %8d %8.2f %8.2f %8.2f %8.2f %8.2f%n".formatted(name, h.getTotalCount(),
+                h.getValueAtPercentile(50) / unitsPerMilli, h.getValueAtPercentile(90) / unitsPerMilli,
+                h.getValueAtPercentile(99) / unitsPerMilli, h.getValueAtPercentile(99.9) / unitsPerMilli,
+                h.getMaxValue() / unitsPerMilli);
+    }
+}
@@ -0,0 +1,84 @@
+package com.axon.loadtest;
+
+import com.axon.messaging.topic.KafkaTopics;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.SQLException;
+import org.h2.tools.Server;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import redis.embedded.RedisServer;
+
+/**
+ * In-JVM stand-ins for the docker-compose stack: an embedded Redis server, a
+ * single-node KRaft Kafka broker and an H2 TCP server in MySQL mode that
+ * core-service connects to like it would to MySQL.
+ */
+final class LocalInfrastructure implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalInfrastructure.class);
+
+    private final int redisPort;
+    private final RedisServer redis;
+    private final EmbeddedKafkaKraftBroker kafka;
+    private final Server h2;
+
+    private LocalInfrastructure(int redisPort, RedisServer redis, EmbeddedKafkaKraftBroker kafka, Server h2) {
+        this.redisPort = redisPort;
+        this.redis = redis;
+        this.kafka = kafka;
+        this.h2 = h2;
+    }
+
+    static LocalInfrastructure start(LoadTestConfig config) throws IOException, SQLException {
+        int redisPort = freePort();
+        RedisServer redis = new RedisServer(redisPort);
+        redis.start();
+        log.info("Redis started on port {}", redisPort);
+
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, config.kafkaPartitions(),
+                KafkaTopics.CAMPAIGN_ACTIVITY_COMMAND, KafkaTopics.BEHAVIOR_EVENT, KafkaTopics.COMMERCE_EVENT);
+        kafka.afterPropertiesSet();
+        log.info("Kafka started at {}", kafka.getBrokersAsString());
+
+        Server h2 = Server.createTcpServer("-tcpPort", String.valueOf(freePort()), "-ifNotExists").start();
+        log.info("H2 started on port {}", h2.getPort());
+        return new LocalInfrastructure(redisPort, redis, kafka, h2);
+    }
+
+    int redisPort() {
+        return redisPort;
+    }
+
+    String kafkaBootstrapServers() {
+        return kafka.getBrokersAsString();
+    }
+
+    String jdbcUrl() {
+        return "jdbc:h2:tcp://localhost:" + h2.getPort()
+                + "/mem:axon;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            kafka.destroy();
+        } catch (Exception e) {
+            log.warn("Failed to stop Kafka", e);
+        }
+        try {
+            redis.stop();
+        } catch (IOException e) {
+            log.warn("Failed to stop Redis", e);
+        }
+        h2.stop();
+    }
+}
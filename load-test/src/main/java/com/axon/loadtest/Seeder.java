@@ -0,0 +1,97 @@
+package com.axon.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Creates the product, campaign and FCFS activities of a run: the product row goes
+ * straight into the database, campaign and activities through core-service's admin API
+ * so its caches and Redis meta are populated the same way as in production.
+ */
+final class Seeder {
+
+    record Activity(long id, long productId, int limit) {
+    }
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final String coreBaseUrl;
+    private final String jdbcUrl;
+
+    Seeder(HttpClient http, ObjectMapper objectMapper, String coreBaseUrl, String jdbcUrl) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.coreBaseUrl = coreBaseUrl;
+        this.jdbcUrl = jdbcUrl;
+    }
+
+    long createCampaign(String name) throws IOException, InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", name);
+        // @Future on both dates; the activity's own window is what entry-service checks
+        body.put("startAt", now.plusMinutes(1));
+        body.put("endAt", now.plusDays(1));
+        body.put("budget", 0);
+        return post("/api/v1/campaign", body).get("id").asLong();
+    }
+
+    Activity createFcfsActivity(long campaignId, String name, int limit) throws IOException, InterruptedException, SQLException {
+        long productId = insertProduct(name + " product", limit);
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", name);
+        body.put("limitCount", limit);
+        body.put("status", "ACTIVE");
+        body.put("startDate", now.minusMinutes(1));
+        body.put("endDate", now.plusDays(1));
+        body.put("activityType", "FIRST_COME_FIRST_SERVE");
+        body.put("price", 1000);
+        body.put("productId", productId);
+        body.put("quantity", 1);
+        return new Activity(post("/api/v1/campaign/" + campaignId + "/activities", body).get("id").asLong(),
+                productId, limit);
+    }
+
+    private long insertProduct(String name, int stock) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, "sa", "");
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO products (product_name, stock, price) VALUES (?, ?, ?)",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            statement.setString(1, name);
+            statement.setLong(2, stock);
+            statement.setLong(3, 1000);
+            statement.executeUpdate();
+            try (ResultSet keys = statement.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private JsonNode post(String path, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(coreBaseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("POST " + path + " -> " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -0,0 +1,121 @@
+package com.axon.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A service boot jar running as a child process, with its output in {@code <workDir>/<name>.log}.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceProcess.class);
+    private static final String PROPERTIES_LAUNCHER = "org.springframework.boot.loader.launch.PropertiesLauncher";
+
+    private final String name;
+    private final int port;
+    private final Process process;
+    private final Path logFile;
+
+    private ServiceProcess(String name, int port, Process process, Path logFile) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Starts {@code jar} with {@code PropertiesLauncher}, so {@code loaderPath} jars are added to its classpath.
+     */
+    static ServiceProcess start(String name, Path jar, String loaderPath, int port, Path workDir,
+                                List<String> arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx768m");
+        if (loaderPath != null && !loaderPath.isBlank()) {
+            command.add("-Dloader.path=" + loaderPath);
+        }
+        command.add("-cp");
+        command.add(jar.toString());
+        command.add(PROPERTIES_LAUNCHER);
+        command.add("--server.port=" + port);
+        command.addAll(arguments);
+
+        Path logFile = workDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        log.info("{} starting on port {} (log: {})", name, port, logFile);
+        return new ServiceProcess(name, port, process, logFile);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    /**
+     * Waits until {@code /actuator/health} answers 200.
+     */
+    void awaitHealthy(HttpClient http, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + logFile
+                        + "\n" + tail());
+            }
+            try {
+                if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("{} is up", name);
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(name + " did not become healthy within " + timeout + ", see " + logFile
+                + "\n" + tail());
+    }
+
+    /**
+     * Saves {@code /actuator/prometheus} to {@code <workDir>/<name>-metrics.txt}, e.g. for the
+     * {@code axon.entry.stage} timers of the run.
+     */
+    void saveMetrics(HttpClient http, Path workDir) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/actuator/prometheus"))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        try {
+            http.send(request, HttpResponse.BodyHandlers.ofFile(workDir.resolve(name + "-metrics.txt")));
+        } catch (IOException e) {
+            log.warn("Could not save {} metrics: {}", name, e.getMessage());
+        }
+    }
+
+    private String tail() throws IOException {
+        List<String> lines = Files.readAllLines(logFile);
+        return String.join("\n", lines.subList(Math.max(0, lines.size() - 40), lines.size()));
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(15, java.util.concurrent.TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
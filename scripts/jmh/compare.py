@@ -0,0 +1,51 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files (e.g. from two commits).
+
+Usage: compare.py BASE.json NEW.json [--threshold 10]
+
+Prints one line per benchmark/params with both scores and the change. For
+time-per-op modes a higher score is worse, for throughput a lower one; rows
+beyond the threshold (percent) are flagged and make the exit code 1.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = json.load(f)
+    rows = {}
+    for r in results:
+        params = ",".join(f"{k}={v}" for k, v in sorted((r.get("params") or {}).items()))
+        rows[(r["benchmark"], params, r["mode"])] = r["primaryMetric"]
+    return rows
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("base")
+    parser.add_argument("new")
+    parser.add_argument("--threshold", type=float, default=10.0, help="regression threshold in percent")
+    args = parser.parse_args()
+
+    base, new = load(args.base), load(args.new)
+    regressions = 0
+    print(f"{'benchmark':70} {'base':>14} {'new':>14} {'change':>9}")
+    for key in sorted(base.keys() & new.keys()):
+        name, params, mode = key
+        b, n = base[key], new[key]
+        change = (n["score"] - b["score"]) / b["score"] * 100 if b["score"] else 0.0
+        worse = change > 0 if mode != "thrpt" else change < 0
+        flag = "  REGRESSION" if worse and abs(change) > args.threshold else ""
+        regressions += bool(flag)
+        label = name.rsplit(".", 2)[-2] + "." + name.rsplit(".", 1)[-1] + (f" [{params}]" if params else "")
+        print(f"{label:70} {b['score']:>10.3f} {b['scoreUnit']:>3} {n['score']:>10.3f} {n['scoreUnit']:>3} "
+              f"{change:>+8.1f}%{flag}")
+    for key in sorted(base.keys() ^ new.keys()):
+        print(f"{key[0]} [{key[1]}] only in {'base' if key in base else 'new'}")
+    sys.exit(1 if regressions else 0)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,28 @@
+#!/bin/bash
+
+# Axon JMH runner
+# Runs the benchmarks of entry-service and core-service and keeps the JSON results per commit.
+# Usage: ./run-all.sh [jmh args...]     e.g. ./run-all.sh -f 1 -wi 2 -i 3
+#        ./run-all.sh Cohort -prof gc   (first argument may be a benchmark name regex)
+# Results: jmh-results/<commit>/{entry-service,core-service}.json
+# Compare: python3 scripts/jmh/compare.py jmh-results/<old>/core-service.json jmh-results/<new>/core-service.json
+
+set -euo pipefail
+
+ROOT=$(cd "$(dirname "$0")/../.." && pwd)
+COMMIT=$(git -C "$ROOT" rev-parse --short HEAD)
+if [ -n "$(git -C "$ROOT" status --porcelain -- entry-service core-service common-messaging)" ]; then
+    COMMIT="${COMMIT}-dirty"
+fi
+OUT="$ROOT/jmh-results/$COMMIT"
+mkdir -p "$OUT"
+
+for SERVICE in entry-service core-service; do
+    echo "=========================================="
+    echo "⏱  $SERVICE benchmarks → $OUT/$SERVICE.json"
+    echo "=========================================="
+    (cd "$ROOT/$SERVICE" && gradle -q jmh -PjmhArgs="$* -rf json -rff $OUT/$SERVICE.json")
+done
+
+echo ""
+echo "✅ Results saved under $OUT"